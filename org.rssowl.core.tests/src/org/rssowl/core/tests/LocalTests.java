@@ -54,12 +54,18 @@ import org.rssowl.core.tests.model.PreferencesDAOTestLBS;
 import org.rssowl.core.tests.model.PreferencesScopeTest;
 import org.rssowl.core.tests.model.PreferencesScopeTestLBS;
 import org.rssowl.core.tests.persist.INewsTest;
+import org.rssowl.core.tests.persist.DescriptionCacheTest;
+import org.rssowl.core.tests.persist.DescriptionDAOTest;
+import org.rssowl.core.tests.persist.DescriptionStoreTest;
+import org.rssowl.core.tests.persist.DB4OIDGeneratorTest;
+import org.rssowl.core.tests.persist.NewsMatcherTest;
 import org.rssowl.core.tests.persist.LongArrayListTest;
 import org.rssowl.core.tests.persist.MigrationsTest;
 import org.rssowl.core.tests.ui.ExpandingReaderTests;
 import org.rssowl.core.tests.ui.RetentionStrategyTests;
 import org.rssowl.core.tests.ui.TreeTraversalTest;
 import org.rssowl.core.tests.util.CoreUtilsTest;
+import org.rssowl.core.tests.util.JobQueueTest;
 import org.rssowl.core.tests.util.MergeUtilsTest;
 import org.rssowl.core.tests.util.StringUtilsTest;
 import org.rssowl.core.tests.util.SyncUtilsTest;
@@ -105,8 +111,14 @@ import org.rssowl.core.tests.util.URIUtilsTest;
   SyncUtilsTest.class,
   CoreUtilsTest.class,
   URIUtilsTest.class,
+  JobQueueTest.class,
   MigrationsTest.class,
   LongArrayListTest.class,
+  DescriptionCacheTest.class,
+  DescriptionStoreTest.class,
+  DescriptionDAOTest.class,
+  DB4OIDGeneratorTest.class,
+  NewsMatcherTest.class,
   RetentionStrategyTests.class,
   TreeTraversalTest.class,
   ExpandingReaderTests.class
@@ -29,7 +29,9 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 import org.rssowl.core.tests.importer.FileImportTest;
 import org.rssowl.core.tests.importer.ImportExportOPMLTest;
+import org.rssowl.core.tests.ui.AdaptiveReloadIntervalTest;
 import org.rssowl.core.tests.ui.CleanUpTests;
+import org.rssowl.core.tests.ui.DownloadPartTest;
 import org.rssowl.core.tests.ui.DownloadServiceTests;
 import org.rssowl.core.tests.ui.EntityPropertyPageTests;
 import org.rssowl.core.tests.ui.FolderMarkGroupFilterTest;
@@ -38,6 +40,7 @@ import org.rssowl.core.tests.ui.MiscUITests;
 import org.rssowl.core.tests.ui.ModelUtilsTest;
 import org.rssowl.core.tests.ui.NewsBrowserViewModelTests;
 import org.rssowl.core.tests.ui.NewsGroupFilterTest;
+import org.rssowl.core.tests.ui.ReloadSchedulerTest;
 import org.rssowl.core.tests.ui.SyncServiceTest;
 import org.rssowl.core.tests.ui.UndoTest;
 
@@ -60,7 +63,10 @@ import org.rssowl.core.tests.ui.UndoTest;
   ImportExportOPMLTest.class,
   FileImportTest.class,
   DownloadServiceTests.class,
+  DownloadPartTest.class,
   NewsBrowserViewModelTests.class,
   SyncServiceTest.class,
-  UndoTest.class })
+  UndoTest.class,
+  AdaptiveReloadIntervalTest.class,
+  ReloadSchedulerTest.class })
 public class UITests {}
\ No newline at end of file
@@ -27,10 +27,13 @@ package org.rssowl.core.tests.connection;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionRegistry;
@@ -420,6 +423,41 @@ public class ConnectionTests {
     }
   }
 
+  /**
+   * Test that Feeds are loaded through a shared, pooled HTTP Client that is
+   * only recreated when connection settings change.
+   *
+   * @throws Exception
+   */
+  @Test
+  @SuppressWarnings("nls")
+  public void testSharedHttpClient() throws Exception {
+    IConnectionService conManager = Owl.getConnectionService();
+    CloseableHttpClient client = conManager.getHttpClient();
+    assertNotNull(client);
+
+    for (int i = 0; i < 3; i++) {
+      URI feedUrl = new URI((i % 2 == 0 ? TestWebServer.rootHttp : TestWebServer.rootHttps) + "/feed/some_feed.xml");
+      IFeed feed = new Feed(feedUrl);
+
+      InputStream inS = conManager.getHandler(feed.getLink()).openStream(feed.getLink(), null, null);
+      assertNotNull(inS);
+
+      Owl.getInterpreter().interpret(inS, feed, null);
+      assertEquals("RSS 2.0", feed.getFormat());
+      assertSame(client, conManager.getHttpClient());
+    }
+
+    conManager.resetHttpClient();
+    assertNotSame(client, conManager.getHttpClient());
+
+    URI feedUrl = new URI(TestWebServer.rootHttp + "/feed/some_feed.xml");
+    IFeed feed = new Feed(feedUrl);
+    InputStream inS = conManager.getHandler(feed.getLink()).openStream(feed.getLink(), null, null);
+    Owl.getInterpreter().interpret(inS, feed, null);
+    assertEquals("RSS 2.0", feed.getFormat());
+  }
+
   /**
    * Test a normal Feed via FILE Protocol.
    *
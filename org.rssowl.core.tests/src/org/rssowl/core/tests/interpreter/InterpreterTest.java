@@ -24,6 +24,7 @@
 
 package org.rssowl.core.tests.interpreter;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
@@ -32,6 +33,8 @@ import static org.junit.Assert.assertNotNull;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.rssowl.core.Owl;
+import org.rssowl.core.internal.interpreter.DefaultSaxParserImpl;
+import org.rssowl.core.internal.interpreter.InterpreterServiceImpl;
 import org.rssowl.core.internal.interpreter.json.JSONObject;
 import org.rssowl.core.internal.persist.Feed;
 import org.rssowl.core.interpreter.UnknownFormatException;
@@ -47,7 +50,9 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.GregorianCalendar;
+import java.util.Map;
 import java.util.TimeZone;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -540,6 +545,90 @@ public class InterpreterTest {
     assertEquals("entities_item1.description#\u00F6\u00E4\u00FC&<>", news1.getDescription());
   }
 
+  /**
+   * Test that streaming Feeds into their Interpreter yields the same Feeds as
+   * interpreting the complete Document.
+   *
+   * @throws Exception
+   */
+  @Test
+  @SuppressWarnings("nls")
+  public void testStreaming() throws Exception {
+    String[] files = new String[] { "feed_atom.xml", "feed_atom_namespaces.xml", "feed_rss.xml", "feed_rss_namespaces.xml", "feed_entities.xml", "feed_media.xml", "feed_rdf.xml", "feed_cdf.xml" };
+    Map<Object, Object> streaming = Collections.singletonMap((Object) InterpreterServiceImpl.USE_STREAMING, (Object) Boolean.TRUE);
+
+    for (String file : files) {
+      IFeed feed = new Feed(new URI("http://www.data.interpreter." + file));
+      Owl.getInterpreter().interpret(getClass().getResourceAsStream("/data/interpreter/" + file), feed, null);
+
+      IFeed streamedFeed = new Feed(new URI("http://www.data.interpreter." + file));
+      Owl.getInterpreter().interpret(getClass().getResourceAsStream("/data/interpreter/" + file), streamedFeed, streaming);
+
+      assertEquals(file, feed.getFormat(), streamedFeed.getFormat());
+      assertEquals(file, feed.getTitle(), streamedFeed.getTitle());
+      assertEquals(file, feed.getDescription(), streamedFeed.getDescription());
+      assertEquals(file, feed.getHomepage(), streamedFeed.getHomepage());
+      assertEquals(file, feed.getBase(), streamedFeed.getBase());
+      assertEquals(file, feed.getCategories().size(), streamedFeed.getCategories().size());
+      assertEquals(file, feed.getNews().size(), streamedFeed.getNews().size());
+
+      for (int i = 0; i < feed.getNews().size(); i++) {
+        INews news = feed.getNews().get(i);
+        INews streamedNews = streamedFeed.getNews().get(i);
+        assertEquals(file, news.getTitle(), streamedNews.getTitle());
+        assertEquals(file, news.getDescription(), streamedNews.getDescription());
+        assertEquals(file, news.getLink(), streamedNews.getLink());
+        assertEquals(file, news.getBase(), streamedNews.getBase());
+        assertEquals(file, news.getPublishDate(), streamedNews.getPublishDate());
+        assertEquals(file, news.getGuid() != null ? news.getGuid().getValue() : null, streamedNews.getGuid() != null ? streamedNews.getGuid().getValue() : null);
+        assertEquals(file, news.getAuthor() != null ? news.getAuthor().getName() : null, streamedNews.getAuthor() != null ? streamedNews.getAuthor().getName() : null);
+        assertEquals(file, news.getCategories().size(), streamedNews.getCategories().size());
+        assertEquals(file, news.getAttachments().size(), streamedNews.getAttachments().size());
+      }
+    }
+
+    /* Undeclared Entities are resolved from the default DTD */
+    IFeed feed = new Feed(new URI("http://www.data.interpreter.feed_undeclared_entities.xml"));
+    Owl.getInterpreter().interpret(getClass().getResourceAsStream("/data/interpreter/feed_undeclared_entities.xml"), feed, streaming);
+
+    assertEquals("entities_title#\u00F6\u00E4\u00FC&<>", feed.getTitle());
+    assertEquals(1, feed.getNews().size());
+    assertEquals("entities_item1.description#\u00F6\u00E4\u00FC&<>", feed.getNews().get(0).getDescription());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  @SuppressWarnings("nls")
+  public void testParserReuse() throws Exception {
+    DefaultSaxParserImpl parser = new DefaultSaxParserImpl(1);
+    parser.init();
+
+    /* Second Parse reuses the Builder of the first */
+    for (int i = 0; i < 2; i++) {
+      IFeed feed = new Feed(new URI("http://www.data.interpreter.feed_entities.xml"));
+      Owl.getInterpreter().interpretJDomDocument(parser.parse(getClass().getResourceAsStream("/data/interpreter/feed_entities.xml"), null), feed);
+
+      assertEquals("entities_title#\u00F6\u00E4\u00FC&<>", feed.getTitle());
+      assertEquals(1, feed.getNews().size());
+      assertEquals("entities_item1.description#\u00F6\u00E4\u00FC&<>", feed.getNews().get(0).getDescription());
+    }
+
+    assertEquals(1, parser.getBuilderHits());
+    assertEquals(1, parser.getBuilderMisses());
+    assertEquals(2, parser.getDTDResolutions());
+
+    /* Pooling disabled */
+    parser = new DefaultSaxParserImpl(0);
+    parser.init();
+    for (int i = 0; i < 2; i++)
+      assertNotNull(parser.parse(getClass().getResourceAsStream("/data/interpreter/feed_entities.xml"), null));
+
+    assertEquals(0, parser.getBuilderHits());
+    assertEquals(2, parser.getBuilderMisses());
+  }
+
   /**
    * See Bug 1078.
    *
@@ -704,6 +793,8 @@ public class InterpreterTest {
     assertEquals("sub_channel_leveld", feed.getProperty("sub_channel_leveld"));
     assertEquals("custom_skipHoursAttribute", feed.getProperty("custom_skipHoursAttribute"));
     assertEquals("custom_skipDaysAttribute", feed.getProperty("custom_skipDaysAttribute"));
+    assertArrayEquals(new int[] { 0, 8, 16 }, feed.getHoursToSkip());
+    assertArrayEquals(new int[] { IFeed.MONDAY, IFeed.WEDNESDAY, IFeed.FRIDAY }, feed.getDaysToSkip());
 
     assertEquals(1, feed.getCategories().size());
     assertEquals("custom_categoryAttribute", feed.getCategories().get(0).getProperty("custom_categoryAttribute"));
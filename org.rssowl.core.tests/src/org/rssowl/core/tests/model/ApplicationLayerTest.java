@@ -34,11 +34,15 @@ import static org.junit.Assert.fail;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.junit.Before;
 import org.junit.Test;
+import org.rssowl.core.FeedReload;
 import org.rssowl.core.IApplicationService;
 import org.rssowl.core.Owl;
 import org.rssowl.core.internal.persist.Feed;
+import org.rssowl.core.internal.persist.LongArrayList;
 import org.rssowl.core.internal.persist.MergeResult;
 import org.rssowl.core.internal.persist.pref.DefaultPreferences;
+import org.rssowl.core.internal.persist.service.DBHelper;
+import org.rssowl.core.internal.persist.service.DBManager;
 import org.rssowl.core.internal.persist.service.PersistenceServiceImpl;
 import org.rssowl.core.persist.IAttachment;
 import org.rssowl.core.persist.IBookMark;
@@ -73,6 +77,15 @@ import org.rssowl.core.persist.reference.NewsReference;
 import org.rssowl.core.tests.TestUtils;
 import org.rssowl.core.util.ReparentInfo;
 
+import com.db4o.events.CommitEventArgs;
+import com.db4o.events.Event4;
+import com.db4o.events.EventArgs;
+import com.db4o.events.EventListener4;
+import com.db4o.events.EventRegistry;
+import com.db4o.events.EventRegistryFactory;
+import com.db4o.ext.ObjectInfo;
+import com.db4o.foundation.Iterator4;
+
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -162,6 +175,146 @@ public class ApplicationLayerTest extends LargeBlockSizeTest {
     assertEquals(lastUpdatedDate, mark1.getMostRecentNewsDate().getTime());
   }
 
+  /**
+   * Tests that
+   * {@link IApplicationService#handleFeedReloads(List, org.eclipse.core.runtime.IProgressMonitor)}
+   * saves all reloaded Feeds and notifies listeners once.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testHandleFeedReloads() throws Exception {
+    NewsListener newsListener = null;
+    try {
+      IFolder folder = fFactory.createFolder(null, null, "Folder");
+      IFeed feed1 = fFactory.createFeed(null, new URI("http://www.feed1.com"));
+      OwlDAO.save(feed1);
+      IBookMark mark1 = fFactory.createBookMark(null, folder, new FeedLinkReference(feed1.getLink()), "Mark1");
+      IFeed feed2 = fFactory.createFeed(null, new URI("http://www.feed2.com"));
+      OwlDAO.save(feed2);
+      IBookMark mark2 = fFactory.createBookMark(null, folder, new FeedLinkReference(feed2.getLink()), "Mark2");
+      OwlDAO.save(folder);
+
+      final int[] newsAddedEvents = new int[2];
+      newsListener = new NewsAdapter() {
+        @Override
+        public void entitiesAdded(Set<NewsEvent> events) {
+          newsAddedEvents[0]++;
+          newsAddedEvents[1] += events.size();
+        }
+      };
+      OwlDAO.addEntityListener(INews.class, newsListener);
+
+      feed1 = fFactory.createFeed(null, new URI("http://www.feed1.com"));
+      fFactory.createNews(null, feed1, new Date()).setLink(new URI("http://www.news1.com"));
+      fFactory.createNews(null, feed1, new Date()).setLink(new URI("http://www.news2.com"));
+      feed2 = fFactory.createFeed(null, new URI("http://www.feed2.com"));
+      fFactory.createNews(null, feed2, new Date()).setLink(new URI("http://www.news3.com"));
+
+      List<FeedReload> reloads = new ArrayList<FeedReload>();
+      reloads.add(new FeedReload(mark1, feed1, null, false, true));
+      reloads.add(new FeedReload(mark2, feed2, null, false, true));
+      fAppService.handleFeedReloads(reloads, new NullProgressMonitor());
+
+      assertEquals(1, newsAddedEvents[0]);
+      assertEquals(3, newsAddedEvents[1]);
+      assertEquals(2, mark1.getFeedLinkReference().resolve().getNews().size());
+      assertEquals(1, mark2.getFeedLinkReference().resolve().getNews().size());
+      assertNotNull(mark1.getMostRecentNewsDate());
+      assertNotNull(mark2.getMostRecentNewsDate());
+    } finally {
+      if (newsListener != null)
+        OwlDAO.removeEntityListener(INews.class, newsListener);
+    }
+  }
+
+  /**
+   * Tests that
+   * {@link IApplicationService#handleFeedReloads(List, org.eclipse.core.runtime.IProgressMonitor)}
+   * still saves the other reloaded Feeds if one of them fails to save, and
+   * that the state updated before the failed commit is rolled back.
+   *
+   * @throws Exception
+   */
+  @Test
+  @SuppressWarnings("nls")
+  public void testHandleFeedReloadsWithFailingFeed() throws Exception {
+    final String failingLink = "http://www.feed2.com";
+    EventRegistry eventRegistry = EventRegistryFactory.forObjectContainer(DBManager.getInstance().getObjectContainer());
+    EventListener4 failingListener = new EventListener4() {
+      @Override
+      public void onEvent(Event4 e, EventArgs args) {
+        Iterator4 it = ((CommitEventArgs) args).added().iterator();
+        while (it.moveNext()) {
+          Object object = ((ObjectInfo) it.current()).getObject();
+          if (object instanceof INews && failingLink.equals(((INews) object).getFeedLinkAsText()))
+            throw new IllegalStateException("Failing to commit " + failingLink);
+        }
+      }
+    };
+
+    try {
+      IFolder folder = fFactory.createFolder(null, null, "Folder");
+      IFeed feed1 = fFactory.createFeed(null, new URI("http://www.feed1.com"));
+      OwlDAO.save(feed1);
+      IBookMark mark1 = fFactory.createBookMark(null, folder, new FeedLinkReference(feed1.getLink()), "Mark1");
+      IFeed feed2 = fFactory.createFeed(null, new URI(failingLink));
+      OwlDAO.save(feed2);
+      IBookMark mark2 = fFactory.createBookMark(null, folder, new FeedLinkReference(feed2.getLink()), "Mark2");
+      IFeed feed3 = fFactory.createFeed(null, new URI("http://www.feed3.com"));
+      OwlDAO.save(feed3);
+      IBookMark mark3 = fFactory.createBookMark(null, folder, new FeedLinkReference(feed3.getLink()), "Mark3");
+      OwlDAO.save(folder);
+
+      feed1 = fFactory.createFeed(null, new URI("http://www.feed1.com"));
+      fFactory.createNews(null, feed1, new Date()).setLink(new URI("http://www.news1.com"));
+      fFactory.createNews(null, feed1, new Date()).setLink(new URI("http://www.news2.com"));
+      feed2 = fFactory.createFeed(null, new URI(failingLink));
+      fFactory.createNews(null, feed2, new Date()).setLink(new URI("http://www.news3.com"));
+      feed3 = fFactory.createFeed(null, new URI("http://www.feed3.com"));
+      fFactory.createNews(null, feed3, new Date()).setLink(new URI("http://www.news4.com"));
+
+      List<FeedReload> reloads = new ArrayList<FeedReload>();
+      reloads.add(new FeedReload(mark1, feed1, null, false, true));
+      reloads.add(new FeedReload(mark2, feed2, null, false, true));
+      reloads.add(new FeedReload(mark3, feed3, null, false, true));
+
+      eventRegistry.committing().addListener(failingListener);
+      fAppService.handleFeedReloads(reloads, new NullProgressMonitor());
+      eventRegistry.committing().removeListener(failingListener);
+
+      /* The other Feeds are persisted */
+      int[] persistedNews = new int[3];
+      for (INews news : OwlDAO.getDAO(INewsDAO.class).loadAll()) {
+        String link = news.getFeedLinkAsText();
+        if (link.equals("http://www.feed1.com"))
+          persistedNews[0]++;
+        else if (link.equals(failingLink))
+          persistedNews[1]++;
+        else if (link.equals("http://www.feed3.com"))
+          persistedNews[2]++;
+      }
+      assertEquals(2, persistedNews[0]);
+      assertEquals(0, persistedNews[1]);
+      assertEquals(1, persistedNews[2]);
+
+      /* The News Counter only counts the persisted News */
+      NewsCounter newsCounter = OwlDAO.getDAO(INewsCounterDAO.class).load();
+      assertEquals(2, newsCounter.getNewCount("http://www.feed1.com"));
+      assertEquals(0, newsCounter.getNewCount(failingLink));
+      assertEquals(1, newsCounter.getNewCount("http://www.feed3.com"));
+
+      /* The News of the failing Feed are not queued for indexing */
+      LongArrayList persistedIds = DBHelper.getEntitiesToBeIndexedDAO().load().getPersistedEntityIds();
+      for (INews news : mark2.getFeedLinkReference().resolve().getNews()) {
+        if (news.getId() != null)
+          assertFalse(persistedIds.contains(news.getId()));
+      }
+    } finally {
+      eventRegistry.committing().removeListener(failingListener);
+    }
+  }
+
   /**
    * See bug #317 : Retention strategy works incorrectly if news is deleted
    * before being saved.
@@ -26,6 +26,7 @@ package org.rssowl.core.tests.model;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -35,6 +36,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.rssowl.core.Owl;
 import org.rssowl.core.internal.persist.dao.CachingDAO;
+import org.rssowl.core.internal.persist.dao.DescriptionCache;
+import org.rssowl.core.internal.persist.dao.IDescriptionDAO;
+import org.rssowl.core.internal.persist.service.DBHelper;
 import org.rssowl.core.internal.persist.service.DBManager;
 import org.rssowl.core.internal.persist.service.PersistenceServiceImpl;
 import org.rssowl.core.persist.IBookMark;
@@ -68,6 +72,7 @@ import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -1413,4 +1418,50 @@ public class CachingDAOTest extends LargeBlockSizeTest {
     assertEquals("Foo Bar", label3.getName());
     assertEquals("value", label3.getProperty("key"));
   }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testDescriptionCache() throws Exception {
+    IFeed feed = fFactory.createFeed(null, new URI("http://www.feed.com/feed.xml"));
+    INews news1 = fFactory.createNews(null, feed, new Date());
+    news1.setDescription("Description 1");
+    INews news2 = fFactory.createNews(null, feed, new Date());
+    news2.setDescription("Description 2");
+    INews news3 = fFactory.createNews(null, feed, new Date());
+    OwlDAO.save(feed);
+
+    IDescriptionDAO dao = DBHelper.getDescriptionDAO();
+    DescriptionCache cache = dao.getCache();
+    cache.clear();
+
+    /* Bulk Load */
+    Map<Long, String> values = dao.loadValues(new long[] { news1.getId(), news2.getId(), news3.getId() });
+    assertEquals(2, values.size());
+    assertEquals("Description 1", values.get(news1.getId()));
+    assertEquals("Description 2", values.get(news2.getId()));
+    assertEquals(3, cache.getCount());
+
+    /* Served from Cache */
+    long hits = cache.getHits();
+    assertEquals("Description 1", news1.getDescription());
+    assertNull(news3.getDescription());
+    assertEquals(hits + 2, cache.getHits());
+
+    /* Update invalidates */
+    news1.setDescription("Updated Description 1");
+    OwlDAO.save(news1);
+    assertEquals("Updated Description 1", news1.getDescription());
+    assertEquals("Updated Description 1", dao.loadValue(news1.getId()));
+
+    news3.setDescription("Description 3");
+    OwlDAO.save(news3);
+    assertEquals("Description 3", news3.getDescription());
+
+    /* Delete invalidates */
+    long news2Id = news2.getId();
+    OwlDAO.delete(news2);
+    assertNull(dao.loadValue(news2Id));
+  }
 }
\ No newline at end of file
@@ -45,6 +45,7 @@ import org.rssowl.core.persist.ILabel;
 import org.rssowl.core.persist.INews;
 import org.rssowl.core.persist.INews.State;
 import org.rssowl.core.persist.IPerson;
+import org.rssowl.core.persist.ISearch;
 import org.rssowl.core.persist.ISearchCondition;
 import org.rssowl.core.persist.ISearchField;
 import org.rssowl.core.persist.SearchSpecifier;
@@ -62,7 +63,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test searching types from the persistence layer.
@@ -1159,6 +1162,56 @@ public class ModelSearchTest4 extends AbstractModelSearchTest {
     assertEquals("Foo", result.get(0).getResult().resolve().getTitle());
   }
 
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testReindexAllWithSeveralThreads() throws Exception {
+    IFeed feed = fFactory.createFeed(null, new URI("http://www.feed.com/feed.xml"));
+    for (int i = 0; i < 1200; i++)
+      createNews(feed, "Title " + i + (i % 3 == 0 ? " Foo" : ""), "Description " + i + (i % 4 == 0 ? " Bar" : ""), "http://www.news.com/news" + i + ".html", State.NEW);
+    OwlDAO.save(feed);
+
+    waitForIndexer();
+
+    ISearchField titleField = fFactory.createSearchField(INews.TITLE, fNewsEntityName);
+    ISearchCondition titleCondition = fFactory.createSearchCondition(titleField, SearchSpecifier.CONTAINS, "foo");
+
+    ISearchField descriptionField = fFactory.createSearchField(INews.DESCRIPTION, fNewsEntityName);
+    ISearchCondition descriptionCondition = fFactory.createSearchCondition(descriptionField, SearchSpecifier.CONTAINS, "bar");
+
+    final AtomicInteger worked = new AtomicInteger();
+    System.setProperty("reindexThreads", "3");
+    try {
+      fModelSearch.reindexAll(new NullProgressMonitor() {
+        @Override
+        public void worked(int work) {
+          worked.addAndGet(work);
+        }
+      });
+    } finally {
+      System.clearProperty("reindexThreads");
+    }
+
+    assertEquals(1200, worked.get());
+
+    assertEquals(400, fModelSearch.searchNews(list(titleCondition), false).size());
+    assertEquals(300, fModelSearch.searchNews(list(descriptionCondition), false).size());
+    assertEquals(100, fModelSearch.searchNews(list(titleCondition, descriptionCondition), true).size());
+
+    /* Metadata Updates take the Description from the rebuilt Index */
+    for (INews news : feed.getNews()) {
+      if (news.getTitle().endsWith(" Foo"))
+        news.setState(State.READ);
+    }
+    OwlDAO.save(feed);
+    waitForIndexer();
+
+    ISearchField stateField = fFactory.createSearchField(INews.STATE, fNewsEntityName);
+    ISearchCondition stateCondition = fFactory.createSearchCondition(stateField, SearchSpecifier.IS, EnumSet.of(State.READ));
+    assertEquals(100, fModelSearch.searchNews(list(stateCondition, descriptionCondition), true).size());
+  }
+
   /**
    * @throws Exception
    */
@@ -4396,4 +4449,118 @@ public class ModelSearchTest4 extends AbstractModelSearchTest {
     result = fModelSearch.searchNews(list(conditionNoMatch, condition1, condition2), stickyCondition, true);
     assertTrue(result.isEmpty());
   }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testSearchNewsBatch() throws Exception {
+    IFeed feed = fFactory.createFeed(null, new URI("http://www.feed.com/feed.xml"));
+    INews news1 = createNews(feed, "Foo Bar", "http://www.news.com/news1.html", State.NEW);
+    INews news2 = createNews(feed, "Foo", "http://www.news.com/news2.html", State.READ);
+    INews news3 = createNews(feed, "Bar", "http://www.news.com/news3.html", State.UNREAD);
+    OwlDAO.save(feed);
+
+    /* Wait for Indexer */
+    waitForIndexer();
+
+    ISearchField titleField = fFactory.createSearchField(INews.TITLE, fNewsEntityName);
+
+    ISearch search1 = fFactory.createSearch(null);
+    search1.addSearchCondition(fFactory.createSearchCondition(titleField, SearchSpecifier.CONTAINS, "foo"));
+
+    ISearch search2 = fFactory.createSearch(null);
+    search2.addSearchCondition(fFactory.createSearchCondition(titleField, SearchSpecifier.CONTAINS, "bar"));
+
+    ISearch search3 = fFactory.createSearch(null);
+    search3.addSearchCondition(fFactory.createSearchCondition(titleField, SearchSpecifier.CONTAINS, "foo"));
+    search3.addSearchCondition(fFactory.createSearchCondition(titleField, SearchSpecifier.CONTAINS, "bar"));
+    search3.setMatchAllConditions(true);
+
+    ISearch search4 = fFactory.createSearch(null);
+    search4.addSearchCondition(fFactory.createSearchCondition(titleField, SearchSpecifier.CONTAINS, "other"));
+
+    /* All Results */
+    List<List<SearchHit<NewsReference>>> results = fModelSearch.searchNews(Arrays.asList(search1, search2, search3, search4), null);
+    assertEquals(4, results.size());
+    assertSame(results.get(0), news1, news2);
+    assertSame(results.get(1), news1, news3);
+    assertSame(results.get(2), news1);
+    assertTrue(results.get(3).isEmpty());
+
+    /* Same Results as searching one by one */
+    assertEquals(fModelSearch.searchNews(search1).size(), results.get(0).size());
+
+    /* Results restricted to News with given IDs */
+    results = fModelSearch.searchNews(Arrays.asList(search1, search2, search3, search4), new HashSet<Long>(Arrays.asList(news2.getId(), news3.getId())));
+    assertEquals(4, results.size());
+    assertSame(results.get(0), news2);
+    assertSame(results.get(1), news3);
+    assertTrue(results.get(2).isEmpty());
+    assertTrue(results.get(3).isEmpty());
+
+    /* No News to check */
+    results = fModelSearch.searchNews(Arrays.asList(search1, search2), Collections.<Long> emptySet());
+    assertEquals(2, results.size());
+    assertTrue(results.get(0).isEmpty());
+    assertTrue(results.get(1).isEmpty());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testSearchNewsAfterMetadataUpdate() throws Exception {
+    searchNewsAfterMetadataUpdate();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testSearchNewsAfterMetadataUpdateWithTermVectors() throws Exception {
+    System.setProperty("rssowl.descriptionTermVectors", "true");
+    try {
+      searchNewsAfterMetadataUpdate();
+    } finally {
+      System.clearProperty("rssowl.descriptionTermVectors");
+    }
+  }
+
+  private void searchNewsAfterMetadataUpdate() throws Exception {
+    IFeed feed = fFactory.createFeed(null, new URI("http://www.feed.com/feed.xml"));
+    INews news1 = createNews(feed, "News1", "This is a longer name like <b>Michael</b> Jackson.", "http://www.news.com/news1.html", State.NEW);
+    INews news2 = createNews(feed, "News2", "Another description", "http://www.news.com/news2.html", State.NEW);
+    OwlDAO.save(feed);
+    waitForIndexer();
+
+    ISearchField descriptionField = fFactory.createSearchField(INews.DESCRIPTION, fNewsEntityName);
+    ISearchCondition descriptionCondition = fFactory.createSearchCondition(descriptionField, SearchSpecifier.CONTAINS, "\"name like Michael\"");
+    assertSame(fModelSearch.searchNews(list(descriptionCondition), true), news1);
+
+    /* Update State and Flag */
+    news1.setState(State.READ);
+    news1.setFlagged(true);
+    OwlDAO.save(news1);
+    waitForIndexer();
+
+    ISearchField stateField = fFactory.createSearchField(INews.STATE, fNewsEntityName);
+    ISearchCondition stateCondition = fFactory.createSearchCondition(stateField, SearchSpecifier.IS, EnumSet.of(State.READ));
+    assertSame(fModelSearch.searchNews(list(descriptionCondition, stateCondition), true), news1);
+
+    ISearchField flagField = fFactory.createSearchField(INews.IS_FLAGGED, fNewsEntityName);
+    ISearchCondition flagCondition = fFactory.createSearchCondition(flagField, SearchSpecifier.IS, true);
+    assertSame(fModelSearch.searchNews(list(descriptionCondition, flagCondition), true), news1);
+
+    /* Update State again */
+    news1.setState(State.UNREAD);
+    news2.setState(State.READ);
+    OwlDAO.save(feed);
+    waitForIndexer();
+
+    assertSame(fModelSearch.searchNews(list(descriptionCondition, stateCondition), true));
+    assertSame(fModelSearch.searchNews(list(stateCondition), true), news2);
+    ISearchCondition unreadCondition = fFactory.createSearchCondition(stateField, SearchSpecifier.IS, EnumSet.of(State.UNREAD));
+    assertSame(fModelSearch.searchNews(list(descriptionCondition, unreadCondition), true), news1);
+  }
 }
\ No newline at end of file
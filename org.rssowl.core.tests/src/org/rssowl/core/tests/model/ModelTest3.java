@@ -35,6 +35,7 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.rssowl.core.Owl;
+import org.rssowl.core.internal.persist.Feed;
 import org.rssowl.core.internal.persist.MergeResult;
 import org.rssowl.core.internal.persist.dao.EntitiesToBeIndexedDAOImpl;
 import org.rssowl.core.internal.persist.service.DBHelper;
@@ -882,6 +883,45 @@ public class ModelTest3 extends LargeBlockSizeTest {
     }
   }
 
+  /**
+   * Test that the News a Feed expects to add from a reloaded Feed are exactly
+   * the News that are added when merging the reloaded Feed.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testGetNewsToAdd() throws Exception {
+    IFeed feed = fFactory.createFeed(null, new URI("http://www.feed.com"));
+    INews news1 = fFactory.createNews(null, feed, new Date());
+    news1.setLink(new URI("http://www.news1.com/index.html"));
+    INews news2 = fFactory.createNews(null, feed, new Date());
+    news2.setLink(new URI("http://www.news2.com/index.html"));
+    FeedReference feedRef = new FeedReference(OwlDAO.save(feed).getId());
+
+    IFeed reloadedFeed = fFactory.createFeed(null, new URI("http://www.feed.com"));
+    INews reloadedNews2 = fFactory.createNews(null, reloadedFeed, new Date());
+    reloadedNews2.setLink(new URI("http://www.news2.com/index.html"));
+    INews reloadedNews3 = fFactory.createNews(null, reloadedFeed, new Date());
+    reloadedNews3.setLink(new URI("http://www.news3.com/index.html"));
+    INews reloadedNews3Duplicate = fFactory.createNews(null, reloadedFeed, new Date());
+    reloadedNews3Duplicate.setLink(new URI("http://www.news3.com/index.html/"));
+    INews reloadedNews4 = fFactory.createNews(null, reloadedFeed, new Date());
+    reloadedNews4.setTitle("News4 Title");
+
+    Feed savedFeed = (Feed) feedRef.resolve();
+    List<INews> newsToAdd = savedFeed.getNewsToAdd(reloadedFeed);
+    assertEquals(2, newsToAdd.size());
+    assertTrue(newsToAdd.get(0) == reloadedNews3);
+    assertTrue(newsToAdd.get(1) == reloadedNews4);
+    assertEquals(2, savedFeed.getNews().size());
+
+    savedFeed.mergeAndCleanUp(reloadedFeed);
+    List<INews> mergedNews = savedFeed.getNews();
+    assertEquals(4, mergedNews.size());
+    assertTrue(mergedNews.get(2) == reloadedNews3);
+    assertTrue(mergedNews.get(3) == reloadedNews4);
+  }
+
   /**
    * Test setting a News' state to deleted and then check wether the DB is
    * correctly deleting it completly from the DB, if no longer contained in the
@@ -35,6 +35,7 @@ import org.junit.Test;
 import org.rssowl.core.Owl;
 import org.rssowl.core.internal.persist.LazyList;
 import org.rssowl.core.internal.persist.NewsBin;
+import org.rssowl.core.internal.persist.service.FolderNewsCounterService;
 import org.rssowl.core.internal.persist.service.PersistenceServiceImpl;
 import org.rssowl.core.persist.IBookMark;
 import org.rssowl.core.persist.ICategory;
@@ -452,6 +453,58 @@ public class ModelTest4 extends LargeBlockSizeTest {
     assertEquals("Child 1", child.getFolders().get(1).getName());
   }
 
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testFolderNewsCounter() throws Exception {
+    IFeed feed1 = fFactory.createFeed(null, new URI("feed1"));
+    INews news1 = fFactory.createNews(null, feed1, new Date());
+    INews news2 = fFactory.createNews(null, feed1, new Date());
+    news2.setFlagged(true);
+    IFeed feed2 = fFactory.createFeed(null, new URI("feed2"));
+    fFactory.createNews(null, feed2, new Date());
+    OwlDAO.save(feed1);
+    OwlDAO.save(feed2);
+
+    IFolder root = fFactory.createFolder(null, null, "Root");
+    IFolder child1 = fFactory.createFolder(null, root, "Child 1");
+    IFolder child2 = fFactory.createFolder(null, root, "Child 2");
+    fFactory.createBookMark(null, child1, new FeedLinkReference(feed1.getLink()), "Mark 1");
+    IBookMark mark2 = fFactory.createBookMark(null, child2, new FeedLinkReference(feed2.getLink()), "Mark 2");
+    root = OwlDAO.save(root);
+
+    FolderNewsCounterService counterService = FolderNewsCounterService.getInstance();
+    assertEquals(3, counterService.getNewCount(root));
+    assertEquals(3, counterService.getUnreadCount(root));
+    assertEquals(1, counterService.getStickyCount(root));
+    assertEquals(2, counterService.getUnreadCount(child1));
+    assertEquals(1, counterService.getUnreadCount(child2));
+
+    /* News State changed */
+    OwlDAO.getDAO(INewsDAO.class).setState(Collections.singleton(news1), INews.State.READ, true, false);
+    assertEquals(2, counterService.getNewCount(root));
+    assertEquals(2, counterService.getUnreadCount(root));
+    assertEquals(1, counterService.getUnreadCount(child1));
+
+    /* Sticky State changed */
+    news2.setFlagged(false);
+    OwlDAO.save(news2);
+    assertEquals(0, counterService.getStickyCount(root));
+    assertEquals(0, counterService.getStickyCount(child1));
+
+    /* Folder reparented */
+    OwlDAO.getDAO(IFolderDAO.class).reparent(Collections.singletonList(ReparentInfo.create((IFolderChild) child1, child2, null, null)));
+    assertEquals(2, counterService.getUnreadCount(root));
+    assertEquals(2, counterService.getUnreadCount(child2));
+    assertEquals(1, counterService.getUnreadCount(child1));
+
+    /* Bookmark deleted */
+    OwlDAO.delete(mark2);
+    assertEquals(1, counterService.getUnreadCount(root));
+    assertEquals(1, counterService.getUnreadCount(child2));
+  }
+
   /**
    * @throws Exception
    */
@@ -1003,6 +1003,53 @@ public class NewsFilterTest extends LargeBlockSizeTest {
     assertTrue(labelFound);
   }
 
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testChangedFilterOnNewsWithDescription() throws Exception {
+    ILabel label = fFactory.createLabel(null, "New Label");
+    OwlDAO.save(label);
+
+    ISearchFilter filter = fFactory.createSearchFilter(null, createDescriptionSearch("description"), "Some News");
+    filter.setEnabled(true);
+
+    IFilterAction action = fFactory.createFilterAction(LABEL_NEWS_ID);
+    action.setData(label.getId());
+    filter.addAction(action);
+
+    OwlDAO.save(filter);
+
+    /* Reload with the Filter as saved */
+    IBookMark bm1 = createBookMark("local1");
+    IFeed feed1 = fFactory.createFeed(null, bm1.getFeedLinkReference().getLink());
+    INews news1 = createNews(feed1, "News1");
+    news1.setDescription("Description");
+    INews news2 = createNews(feed1, "News2");
+    news2.setDescription("Foo");
+
+    fAppService.handleFeedReload(bm1, feed1, null, false, true, new NullProgressMonitor());
+
+    for (INews newsitem : bm1.getFeedLinkReference().resolve().getNews())
+      assertEquals(news1.equals(newsitem), !newsitem.getLabels().isEmpty());
+
+    /* Reload after the Condition of the Filter changed */
+    filter.getSearch().getSearchConditions().get(0).setValue("foo");
+    OwlDAO.save(filter);
+
+    IBookMark bm2 = createBookMark("local2");
+    IFeed feed2 = fFactory.createFeed(null, bm2.getFeedLinkReference().getLink());
+    INews news3 = createNews(feed2, "News3");
+    news3.setDescription("Description");
+    INews news4 = createNews(feed2, "News4");
+    news4.setDescription("Foo");
+
+    fAppService.handleFeedReload(bm2, feed2, null, false, true, new NullProgressMonitor());
+
+    for (INews newsitem : bm2.getFeedLinkReference().resolve().getNews())
+      assertEquals(news4.equals(newsitem), !newsitem.getLabels().isEmpty());
+  }
+
   /**
    * @throws Exception
    */
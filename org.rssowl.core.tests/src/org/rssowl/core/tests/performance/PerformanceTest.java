@@ -24,21 +24,45 @@
 
 package org.rssowl.core.tests.performance;
 
+import static org.junit.Assert.assertEquals;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.BasicHttpClientConnectionManager;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.junit.Before;
 import org.junit.Test;
 import org.rssowl.core.Owl;
 import org.rssowl.core.internal.InternalOwl;
+import org.rssowl.core.internal.interpreter.DefaultSaxParserImpl;
+import org.rssowl.core.internal.interpreter.InterpreterServiceImpl;
 import org.rssowl.core.internal.persist.BookMark;
 import org.rssowl.core.internal.persist.Feed;
 import org.rssowl.core.internal.persist.Folder;
 import org.rssowl.core.internal.persist.News;
 import org.rssowl.core.internal.persist.pref.DefaultPreferences;
+import org.rssowl.core.internal.persist.search.Indexer;
+import org.rssowl.core.internal.persist.search.NewsDocument;
+import org.rssowl.core.internal.persist.search.NewsIdStateCache;
+import org.rssowl.core.internal.persist.search.SearchDocument;
 import org.rssowl.core.internal.persist.service.PersistenceServiceImpl;
 import org.rssowl.core.persist.IAttachment;
 import org.rssowl.core.persist.IBookMark;
@@ -73,9 +97,13 @@ import org.rssowl.core.persist.service.IModelSearch;
 import org.rssowl.core.persist.service.PersistenceException;
 import org.rssowl.core.tests.Activator;
 import org.rssowl.core.tests.TestUtils;
+import org.rssowl.core.util.CoreUtils;
 import org.rssowl.core.util.ITask;
 import org.rssowl.core.util.TaskAdapter;
 import org.rssowl.ui.internal.Controller;
+import org.rssowl.ui.internal.editors.feed.NewsColumn;
+import org.rssowl.ui.internal.editors.feed.NewsComparator;
+import org.rssowl.ui.internal.editors.feed.NewsSortKeys;
 import org.rssowl.ui.internal.services.SavedSearchService;
 
 import java.io.BufferedInputStream;
@@ -88,10 +116,17 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.List;
@@ -101,6 +136,10 @@ import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * @author bpasero
  */
@@ -602,6 +641,292 @@ public class PerformanceTest {
       throw ex.get(0);
   }
 
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void reindexAll() throws Exception {
+    final List<Exception> ex = new ArrayList<Exception>();
+
+    /* Save and Index 216 Feeds */
+    List<ITask> tasks = getSaveAndIndexFeedsTasks(ex);
+    TestUtils.executeAndWait(tasks, 1);
+
+    int newsCount = OwlDAO.getDAO(INewsDAO.class).loadAll().size();
+
+    /* First run is warm up */
+    fModelSearch.reindexAll(new NullProgressMonitor());
+
+    /* Reindex with 1, 2, 4,... Threads up to the number of Processors (at least 4) */
+    int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+    try {
+      for (int threads = 1;; threads = Math.min(threads * 2, maxThreads)) {
+        System.setProperty("reindexThreads", String.valueOf(threads));
+
+        long start = System.currentTimeMillis();
+        fModelSearch.reindexAll(new NullProgressMonitor());
+        long took = Math.max(1, System.currentTimeMillis() - start);
+
+        System.out.println("Reindexing " + newsCount + " News [" + threads + " Threads] took: " + took + "ms (" + (newsCount * 1000L / took) + " News/s)");
+
+        if (threads >= maxThreads)
+          break;
+      }
+    } finally {
+      System.clearProperty("reindexThreads");
+    }
+
+    System.out.println();
+
+    if (ex.size() > 0)
+      throw ex.get(0);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void indexNewsWithTermVectors() throws Exception {
+    int runs = 3;
+
+    /* Save the Feeds to assign IDs to their News */
+    List<INews> newsList = new ArrayList<INews>();
+    for (IFeed feed : interpretFeedsHelper()) {
+      OwlDAO.save(feed);
+      newsList.addAll(feed.getNews());
+    }
+
+    /* Index all News with and without a Term Vector for the Description */
+    try {
+      for (boolean termVectors : new boolean[] { false, true }) {
+        System.setProperty("rssowl.descriptionTermVectors", String.valueOf(termVectors));
+        long duration = 0;
+        long indexSize = 0;
+        for (int run = 0; run < runs + 1; run++) {
+          RAMDirectory directory = new RAMDirectory();
+          IndexWriter writer = new IndexWriter(directory, Indexer.createAnalyzer(), true);
+          long start = System.currentTimeMillis();
+          for (INews news : newsList) {
+            NewsDocument document = new NewsDocument(news);
+            if (document.addFields())
+              writer.addDocument(document.getDocument());
+          }
+          writer.close();
+
+          /* First run is warm up */
+          if (run > 0)
+            duration += System.currentTimeMillis() - start;
+
+          indexSize = 0;
+          for (String file : directory.list())
+            indexSize += directory.fileLength(file);
+          directory.close();
+        }
+
+        System.out.println("Indexing " + newsList.size() + " News [" + (termVectors ? "with" : "without") + " Term Vectors] took: " + duration / runs + "ms (" + indexSize / 1024 + " KB Index)");
+      }
+    } finally {
+      System.clearProperty("rssowl.descriptionTermVectors");
+    }
+
+    System.out.println();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void updateIndexedNews() throws Exception {
+    int runs = 3;
+    IModelFactory factory = Owl.getModelFactory();
+
+    /* Searching flushes the Index, so that metadata Updates find the indexed Descriptions */
+    List<ISearchCondition> conditions = new ArrayList<ISearchCondition>();
+    ISearchField field = factory.createSearchField(INews.STATE, INews.class.getName());
+    conditions.add(factory.createSearchCondition(field, SearchSpecifier.IS, EnumSet.allOf(INews.State.class)));
+
+    /* Change the Flag of all News with and without replaying their Descriptions from Term Vectors (first pass is warm up) */
+    try {
+      for (int pass = 0; pass < 2; pass++) {
+        for (boolean termVectors : new boolean[] { true, false }) {
+          System.setProperty("rssowl.descriptionTermVectors", String.valueOf(termVectors));
+          ((PersistenceServiceImpl) Owl.getPersistenceService()).recreateSchemaForTests();
+          fModelSearch.startup();
+
+          /* Save and index the Feeds */
+          List<INews> newsList = new ArrayList<INews>();
+          for (IFeed feed : interpretFeedsHelper())
+            newsList.addAll(OwlDAO.save(feed).getNews());
+
+          long duration = 0;
+          for (int run = 0; run < runs + 1; run++) {
+            fModelSearch.searchNews(conditions, false);
+            long start = System.currentTimeMillis();
+            for (INews news : newsList)
+              news.setFlagged(!news.isFlagged());
+            OwlDAO.saveAll(newsList);
+            fModelSearch.searchNews(conditions, false);
+
+            /* First run is warm up */
+            if (run > 0)
+              duration += System.currentTimeMillis() - start;
+          }
+
+          if (pass > 0)
+            System.out.println("Flagging " + newsList.size() + " News [" + (termVectors ? "metadata Update from Term Vectors" : "Description analyzed again") + "] took: " + duration / runs + "ms");
+        }
+      }
+    } finally {
+      System.clearProperty("rssowl.descriptionTermVectors");
+    }
+
+    System.out.println();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void sortNews() throws Exception {
+    int runs = 5;
+    int[] counts = new int[] { 10000, 50000 };
+    NewsColumn[] columns = new NewsColumn[] { NewsColumn.TITLE, NewsColumn.DATE, NewsColumn.LABELS };
+
+    /* Interpret the Feeds until there are enough distinct News */
+    List<INews> newsList = new ArrayList<INews>();
+    while (newsList.size() < counts[counts.length - 1]) {
+      for (IFeed feed : interpretFeedsHelper())
+        newsList.addAll(feed.getNews());
+    }
+
+    /* Assign some Labels */
+    ILabel[] labels = new ILabel[5];
+    for (int i = 0; i < labels.length; i++) {
+      labels[i] = Owl.getModelFactory().createLabel(null, "Label " + i);
+      labels[i].setOrder(i);
+    }
+
+    Random random = new Random(0);
+    for (INews news : newsList) {
+      int count = random.nextInt(3);
+      for (int i = 0; i < count; i++)
+        news.addLabel(labels[random.nextInt(labels.length)]);
+    }
+
+    for (int count : counts) {
+      INews[] news = newsList.subList(0, count).toArray(new INews[count]);
+      for (NewsColumn column : columns) {
+        long perComparison = 0;
+        long cold = 0;
+        long warm = 0;
+        for (int run = 0; run < runs + 1; run++) {
+
+          /* Keys computed on every Comparison */
+          NewsComparator comparator = new NewsComparator();
+          comparator.setSortBy(column);
+          INews[] elements = shuffle(news, random);
+          long start = System.currentTimeMillis();
+          Arrays.sort(elements, comparator);
+          long perComparisonDuration = System.currentTimeMillis() - start;
+
+          /* Keys computed once (cold) and kept for the next Sort (warm) */
+          comparator.setSortKeys(new NewsSortKeys());
+          elements = shuffle(news, random);
+          start = System.currentTimeMillis();
+          comparator.sort(null, elements);
+          long coldDuration = System.currentTimeMillis() - start;
+
+          elements = shuffle(news, random);
+          start = System.currentTimeMillis();
+          comparator.sort(null, elements);
+          long warmDuration = System.currentTimeMillis() - start;
+
+          /* First run is warm up */
+          if (run > 0) {
+            perComparison += perComparisonDuration;
+            cold += coldDuration;
+            warm += warmDuration;
+          }
+        }
+
+        System.out.println("Sorting " + count + " News by " + column + " took: " + perComparison / runs + "ms (Keys per Comparison), " + cold / runs + "ms (Keys cold), " + warm / runs + "ms (Keys warm)");
+      }
+    }
+
+    System.out.println();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void readNewsFields() throws Exception {
+    int runs = 5;
+    int count = 100000;
+    int iterations = 10;
+
+    /* Interpret the Feeds until there are enough News */
+    List<INews> newsList = new ArrayList<INews>();
+    while (newsList.size() < count) {
+      for (IFeed feed : interpretFeedsHelper())
+        newsList.addAll(feed.getNews());
+    }
+    INews[] news = newsList.subList(0, count).toArray(new INews[count]);
+    newsList = null;
+
+    /* Call five Getters that return a single Field */
+    long duration = 0;
+    long sink = 0;
+    for (int run = 0; run < runs + 1; run++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        for (INews item : news) {
+          sink += item.getTitle() != null ? 1 : 0;
+          sink += item.getState().ordinal();
+          sink += item.getRating();
+          sink += item.isFlagged() ? 1 : 0;
+          sink += item.getPublishDate() != null ? 1 : 0;
+        }
+      }
+
+      /* First run is warm up */
+      if (run > 0)
+        duration += System.nanoTime() - start;
+    }
+
+    long calls = 5L * iterations * count * runs;
+    System.out.println("Reading Fields of " + count + " News took: " + duration / runs / 1000000 + "ms (" + calls * 1000 / duration + " Calls/us, " + sink % 2 + ")");
+
+    /* Retained Heap of News that are created but not read */
+    news = new INews[count];
+    IFeed feed = new Feed(new URI("http://www.rssowl.org"));
+    long before = usedMemory();
+    for (int i = 0; i < count; i++)
+      news[i] = new News(feed);
+    long after = usedMemory();
+
+    System.out.println("Creating " + count + " News retains: " + (after - before) / count + " Bytes per News (" + news.length + ")\n");
+  }
+
+  private long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++)
+      System.gc();
+
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private INews[] shuffle(INews[] news, Random random) {
+    INews[] elements = news.clone();
+    Collections.shuffle(Arrays.asList(elements), random);
+    return elements;
+  }
+
   private List<ITask> getSaveAndIndexFeedsTasks(final List<Exception> ex) {
     List<ITask> tasks = new ArrayList<ITask>();
     List<IFeed> feeds = interpretFeedsHelper();
@@ -851,6 +1176,126 @@ public class PerformanceTest {
     System.out.println("Reloading Feeds (With Retention): " + FEEDS + " Feeds [Warm - " + JOBS + " Jobs] took: " + (l1 + l2) / 2 + "ms\n");
   }
 
+  /**
+   * Reloads Feeds from a local Server once with a new HTTP client per reload,
+   * as before the client was shared, and once with the shared pooled client of
+   * the connection service. Reports the time taken and the number of
+   * connections the Server had to accept.
+   *
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void reloadFeedsWithSharedHttpClient() throws Exception {
+    final List<Exception> ex = new ArrayList<Exception>();
+    final int reloads = 1000;
+    final int hosts = 10;
+
+    Server server = startFeedServer(0, JOBS);
+    try {
+      ServerConnector connector = (ServerConnector) server.getConnectors()[0];
+      ConnectionStatistics statistics = connector.getBean(ConnectionStatistics.class);
+
+      /* Warm up */
+      TestUtils.executeAndWait(getHttpClientReloadTasks(FEEDS, hosts, connector.getLocalPort(), true, ex), JOBS);
+
+      /* New Client per Reload */
+      List<ITask> tasks = getHttpClientReloadTasks(reloads, hosts, connector.getLocalPort(), false, ex);
+      statistics.reset();
+      long took = TestUtils.executeAndWait(tasks, JOBS);
+      System.out.println("Reloading Feeds: " + reloads + " Reloads [Client per Reload - " + JOBS + " Jobs] took: " + took + "ms, Connections: " + statistics.getConnectionsTotal());
+
+      /* Shared pooled Client */
+      Owl.getConnectionService().resetHttpClient();
+      tasks = getHttpClientReloadTasks(reloads, hosts, connector.getLocalPort(), true, ex);
+      statistics.reset();
+      took = TestUtils.executeAndWait(tasks, JOBS);
+      System.out.println("Reloading Feeds: " + reloads + " Reloads [Shared Client - " + JOBS + " Jobs] took: " + took + "ms, Connections: " + statistics.getConnectionsTotal() + "\n");
+    } finally {
+      server.stop();
+    }
+
+    if (ex.size() > 0)
+      throw ex.get(0);
+  }
+
+  @SuppressWarnings("nls")
+  private List<ITask> getHttpClientReloadTasks(int reloads, int hosts, int port, final boolean sharedClient, final List<Exception> ex) throws URISyntaxException {
+    List<ITask> tasks = new ArrayList<ITask>(reloads);
+    for (int i = 0; i < reloads; i++) {
+      final URI feedLink = new URI("http://127.0.1." + (i % hosts + 1) + ":" + port + "/feed/" + i);
+      tasks.add(new TaskAdapter() {
+        @Override
+        public IStatus run(IProgressMonitor monitor) {
+          CloseableHttpClient client;
+          if (sharedClient)
+            client = Owl.getConnectionService().getHttpClient();
+          else
+            client = HttpClients.custom().setConnectionManager(new BasicHttpClientConnectionManager()).build();
+
+          try {
+            CloseableHttpResponse response = client.execute(new HttpGet(feedLink));
+            InputStream inS = response.getEntity().getContent();
+            try {
+              Owl.getInterpreter().interpret(inS, new Feed(feedLink), null);
+            } finally {
+              inS.close();
+              response.close();
+            }
+
+            if (!sharedClient)
+              client.close();
+          } catch (Exception e) {
+            ex.add(e);
+          }
+
+          return Status.OK_STATUS;
+        }
+      });
+    }
+
+    return tasks;
+  }
+
+  /*
+   * Starts a Server on a random port that answers requests for /feed/<i> with
+   * the contents of one of the Feeds in data/performance after the given delay
+   * in milliseconds.
+   */
+  @SuppressWarnings("nls")
+  private Server startFeedServer(final int delay, int jobs) throws Exception {
+    final byte[][] feeds = new byte[FEEDS][];
+    for (int i = 0; i < FEEDS; i++)
+      feeds[i] = Files.readAllBytes(new File(fPluginLocation.resolve("data/performance/" + (i + 1) + ".xml")).toPath());
+
+    Server server = new Server(new QueuedThreadPool(jobs + 20));
+    ServerConnector connector = new ServerConnector(server);
+    connector.setPort(0);
+    connector.addBean(new ConnectionStatistics());
+    server.addConnector(connector);
+    server.setHandler(new AbstractHandler() {
+      @Override
+      public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        if (delay > 0) {
+          try {
+            Thread.sleep(delay);
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+
+        int feed = Integer.parseInt(target.substring(target.lastIndexOf('/') + 1)) % FEEDS;
+        response.setContentType("text/xml");
+        response.setContentLength(feeds[feed].length);
+        response.getOutputStream().write(feeds[feed]);
+        baseRequest.setHandled(true);
+      }
+    });
+    server.start();
+
+    return server;
+  }
+
   private List<ITask> getReloadFeedsTasks(boolean withRetention) {
     List<ITask> tasks = new ArrayList<ITask>();
     Random rand = new Random();
@@ -1120,6 +1565,320 @@ public class PerformanceTest {
       throw ex.get(0);
   }
 
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void parseFeeds() throws Exception {
+    final List<Exception> ex = new ArrayList<Exception>();
+
+    /* Without and with reusing Builders */
+    for (int maxPooledBuilders : new int[] { 0, JOBS }) {
+      final DefaultSaxParserImpl parser = new DefaultSaxParserImpl(maxPooledBuilders);
+      parser.init();
+
+      /* Prepare Tasks */
+      List<ITask> tasks = new ArrayList<ITask>();
+      for (int i = 1; i < FEEDS + 1; i++) {
+        final int c = i;
+        tasks.add(new TaskAdapter() {
+          @Override
+          public IStatus run(IProgressMonitor monitor) {
+            try {
+              URI feedLink = fPluginLocation.resolve("data/performance/" + c + ".xml").toURL().toURI();
+              parser.parse(loadFileProtocol(feedLink), null);
+            } catch (Exception e) {
+              ex.add(e);
+            }
+            return Status.OK_STATUS;
+          }
+        });
+      }
+
+      /* Warm-Start: Parse 216 Feeds */
+      TestUtils.executeAndWait(tasks, JOBS);
+      long l1 = TestUtils.executeAndWait(tasks, JOBS);
+      long l2 = TestUtils.executeAndWait(tasks, JOBS);
+
+      System.out.println("Parsing " + FEEDS + " Feeds [" + maxPooledBuilders + " pooled Builders - " + JOBS + " Jobs] took: " + (l1 + l2) / 2 + "ms (Builder Hits: " + parser.getBuilderHits() + ", Misses: " + parser.getBuilderMisses() + ", DTD Resolutions: " + parser.getDTDResolutions() + ")");
+    }
+
+    System.out.println();
+
+    if (ex.size() > 0)
+      throw ex.get(0);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void interpretFeedsStreaming() throws Exception {
+    DefaultSaxParserImpl parser = new DefaultSaxParserImpl();
+    parser.init();
+    Map<Object, Object> streaming = Collections.singletonMap((Object) InterpreterServiceImpl.USE_STREAMING, (Object) Boolean.TRUE);
+    int runs = 3;
+
+    /* Time to interpret all Feeds */
+    long documentDuration = 0;
+    long streamingDuration = 0;
+    for (int run = 0; run < runs + 1; run++) {
+      long start = System.currentTimeMillis();
+      for (int i = 1; i < FEEDS + 1; i++) {
+        IFeed feed = new Feed(fPluginLocation.resolve("data/performance/" + i + ".xml").toURL().toURI());
+        org.jdom.Document document = parser.parse(loadFileProtocol(feed.getLink()), null);
+        Owl.getInterpreter().interpretJDomDocument(document, feed);
+      }
+
+      /* First run is warm up */
+      if (run > 0)
+        documentDuration += System.currentTimeMillis() - start;
+
+      start = System.currentTimeMillis();
+      for (int i = 1; i < FEEDS + 1; i++) {
+        IFeed feed = new Feed(fPluginLocation.resolve("data/performance/" + i + ".xml").toURL().toURI());
+        Owl.getInterpreter().interpret(loadFileProtocol(feed.getLink()), feed, streaming);
+      }
+
+      /* First run is warm up */
+      if (run > 0)
+        streamingDuration += System.currentTimeMillis() - start;
+    }
+
+    /* Peak Heap while interpreting, keeping the Feeds but not the Documents */
+    List<IFeed> interpreted = new ArrayList<IFeed>();
+    long baseline = resetPeakHeap();
+    long allocated = getAllocatedBytes();
+    for (int i = 1; i < FEEDS + 1; i++) {
+      IFeed feed = new Feed(fPluginLocation.resolve("data/performance/" + i + ".xml").toURL().toURI());
+      org.jdom.Document document = parser.parse(loadFileProtocol(feed.getLink()), null);
+      Owl.getInterpreter().interpretJDomDocument(document, feed);
+      interpreted.add(feed);
+    }
+    long documentHeap = getPeakHeap() - baseline;
+    long documentAllocated = getAllocatedBytes() - allocated;
+
+    interpreted.clear();
+    baseline = resetPeakHeap();
+    allocated = getAllocatedBytes();
+    for (int i = 1; i < FEEDS + 1; i++) {
+      IFeed feed = new Feed(fPluginLocation.resolve("data/performance/" + i + ".xml").toURL().toURI());
+      Owl.getInterpreter().interpret(loadFileProtocol(feed.getLink()), feed, streaming);
+      interpreted.add(feed);
+    }
+    long streamingHeap = getPeakHeap() - baseline;
+    long streamingAllocated = getAllocatedBytes() - allocated;
+
+    System.out.println("Interpreting " + FEEDS + " Feeds from a Document took: " + documentDuration / runs + "ms (" + documentHeap / 1024 + " KB Peak Heap, " + documentAllocated / 1024 + " KB allocated)");
+    System.out.println("Interpreting " + FEEDS + " Feeds while streaming took: " + streamingDuration / runs + "ms (" + streamingHeap / 1024 + " KB Peak Heap, " + streamingAllocated / 1024 + " KB allocated)\n");
+  }
+
+  /* Collects garbage, resets the Peak Heap and returns the Heap in use */
+  private long resetPeakHeap() {
+    for (int i = 0; i < 3; i++)
+      System.gc();
+
+    long used = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+        used += pool.getUsage().getUsed();
+      }
+    }
+
+    return used;
+  }
+
+  /* Returns the Bytes allocated by the current Thread so far */
+  private long getAllocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /* Returns the Peak Heap in use since the last reset */
+  private long getPeakHeap() {
+    long peak = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP)
+        peak += pool.getPeakUsage().getUsed();
+    }
+
+    return peak;
+  }
+
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void mergeNews() throws Exception {
+    int existingNewsCount = 10000;
+    int incomingNewsCount = 500;
+    int runs = 10;
+
+    long duration = 0;
+    for (int run = 0; run < runs + 1; run++) {
+      URI feedLink = new URI("http://www.rssowl.org/merge.xml");
+      IFeed existingFeed = createMergeFeed(feedLink, 0, existingNewsCount);
+
+      /* Incoming News overlap with the most recent existing News */
+      IFeed incomingFeed = createMergeFeed(feedLink, existingNewsCount - incomingNewsCount / 2, incomingNewsCount);
+
+      long start = System.currentTimeMillis();
+      existingFeed.mergeAndCleanUp(incomingFeed);
+
+      /* First run is warm up */
+      if (run > 0)
+        duration += System.currentTimeMillis() - start;
+
+      assertEquals(existingNewsCount + incomingNewsCount / 2, existingFeed.getNews().size());
+    }
+
+    System.out.println("Merging " + incomingNewsCount + " News into " + existingNewsCount + " News took: " + duration / runs + "ms\n");
+  }
+
+  private IFeed createMergeFeed(URI feedLink, int offset, int count) {
+    IModelFactory factory = Owl.getModelFactory();
+    IFeed feed = factory.createFeed(null, feedLink);
+    for (int i = offset; i < offset + count; i++) {
+      INews news = factory.createNews(null, feed, new Date());
+      news.setTitle("News " + i); //$NON-NLS-1$
+
+      /* Mix News identified by GUID, Link and Title */
+      if (i % 3 == 0)
+        factory.createGuid(news, "http://www.rssowl.org/guid/" + i, true); //$NON-NLS-1$
+      else if (i % 3 == 1)
+        news.setLink(URI.create("http://www.rssowl.org/link/" + i)); //$NON-NLS-1$
+    }
+
+    return feed;
+  }
+
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void lookupBookMarksByFeed() throws Exception {
+    int bookMarkCount = 5000;
+    int lookups = 10000;
+
+    IModelFactory factory = Owl.getModelFactory();
+    IFolder root = factory.createFolder(null, null, "Root");
+    for (int i = 0; i < bookMarkCount; i++)
+      factory.createBookMark(null, root, new FeedLinkReference(new URI("http://www.rssowl.org/feed/" + i + ".xml")), "Mark " + i);
+    OwlDAO.save(root);
+
+    Random random = new Random(0);
+    String[] links = new String[lookups];
+    for (int i = 0; i < lookups; i++)
+      links[i] = "http://www.rssowl.org/feed/" + random.nextInt(bookMarkCount) + ".xml";
+
+    /* Iterate over all Bookmarks */
+    long start = System.currentTimeMillis();
+    for (String link : links) {
+      IBookMark match = null;
+      for (IBookMark mark : OwlDAO.loadAll(IBookMark.class)) {
+        if (mark.getFeedLinkReference().getLinkAsText().equals(link)) {
+          match = mark;
+          break;
+        }
+      }
+      assertEquals(link, match.getFeedLinkReference().getLinkAsText());
+    }
+    System.out.println("Looking up " + lookups + " Bookmarks in " + bookMarkCount + " Bookmarks [Iteration] took: " + (System.currentTimeMillis() - start) + "ms");
+
+    /* Use the Feed Link Index */
+    start = System.currentTimeMillis();
+    for (String link : links)
+      assertEquals(link, CoreUtils.getBookMark(link).getFeedLinkReference().getLinkAsText());
+    System.out.println("Looking up " + lookups + " Bookmarks in " + bookMarkCount + " Bookmarks [Index] took: " + (System.currentTimeMillis() - start) + "ms\n");
+  }
+
+  /**
+   * @throws Exception
+   */
+  @SuppressWarnings("nls")
+  @Test
+  public void resolveNewsIdsAndStates() throws Exception {
+    int docCount = 500000;
+    int runs = 5;
+    INews.State[] states = INews.State.values();
+    String stateField = String.valueOf(INews.STATE);
+
+    /* Build an Index with ID and State of News */
+    RAMDirectory directory = new RAMDirectory();
+    IndexWriter writer = new IndexWriter(directory, Indexer.createAnalyzer(), true);
+    for (int i = 0; i < docCount; i++) {
+      Document document = new Document();
+      document.add(new Field(SearchDocument.ENTITY_ID_TEXT, String.valueOf(i + 1), Field.Store.YES, Field.Index.UN_TOKENIZED));
+      document.add(new Field(stateField, String.valueOf(states[i % states.length].ordinal()), Field.Store.YES, Field.Index.UN_TOKENIZED));
+      writer.addDocument(document);
+    }
+    writer.optimize();
+    writer.close();
+
+    IndexReader reader = IndexReader.open(directory);
+    try {
+
+      /* Stored Fields */
+      long storedFieldsDuration = 0;
+      for (int run = 0; run < runs + 1; run++) {
+        long start = System.currentTimeMillis();
+        long idSum = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+          Document document = reader.document(doc);
+          idSum += Long.parseLong(document.get(SearchDocument.ENTITY_ID_TEXT));
+          idSum += Byte.parseByte(document.get(stateField));
+        }
+
+        /* First run is warm up */
+        if (run > 0)
+          storedFieldsDuration += System.currentTimeMillis() - start;
+
+        assertEquals(expectedIdStateSum(docCount, states.length), idSum);
+      }
+
+      /* ID and State Cache (loaded once per Reader) */
+      long start = System.currentTimeMillis();
+      NewsIdStateCache cache = new NewsIdStateCache(reader);
+      cache.load();
+      long cacheLoadDuration = System.currentTimeMillis() - start;
+
+      long cacheDuration = 0;
+      for (int run = 0; run < runs + 1; run++) {
+        start = System.currentTimeMillis();
+        long idSum = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+          idSum += cache.getId(doc);
+          idSum += cache.getState(doc);
+        }
+
+        /* First run is warm up */
+        if (run > 0)
+          cacheDuration += System.currentTimeMillis() - start;
+
+        assertEquals(expectedIdStateSum(docCount, states.length), idSum);
+      }
+
+      System.out.println("Resolving ID and State of " + docCount + " News from stored fields took: " + storedFieldsDuration / runs + "ms");
+      System.out.println("Loading ID and State of " + docCount + " News into cache took: " + cacheLoadDuration + "ms");
+      System.out.println("Resolving ID and State of " + docCount + " News from cache took: " + cacheDuration / runs + "ms\n");
+    } finally {
+      reader.close();
+      directory.close();
+    }
+  }
+
+  private long expectedIdStateSum(int docCount, int statesCount) {
+    long sum = 0;
+    for (int i = 0; i < docCount; i++)
+      sum += (i + 1) + (i % statesCount);
+
+    return sum;
+  }
+
   /**
    * @throws Exception
    */
@@ -0,0 +1,215 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.tests.persist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rssowl.core.internal.persist.service.Counter;
+import org.rssowl.core.internal.persist.service.DB4OIDGenerator;
+import org.rssowl.core.internal.persist.service.DBManager;
+import org.rssowl.core.internal.persist.service.DatabaseEvent;
+
+import com.db4o.Db4o;
+import com.db4o.ObjectContainer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Unit tests for DB4OIDGenerator on a database of its own.
+ */
+public class DB4OIDGeneratorTest {
+  private File fFile;
+  private ObjectContainer fDb;
+  private DB4OIDGenerator fGenerator;
+
+  /**
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    fFile = File.createTempFile("idgenerator", ".db");
+    fFile.delete();
+    open();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    close();
+    fFile.delete();
+  }
+
+  private void open() {
+    fDb = Db4o.openFile(Db4o.newConfiguration(), fFile.getAbsolutePath());
+    fGenerator = new DB4OIDGenerator();
+    fGenerator.databaseOpened(new DatabaseEvent(fDb, new ReentrantReadWriteLock()));
+  }
+
+  private void close() {
+    if (fGenerator != null) {
+      DBManager.getInstance().removeEntityStoreListener(fGenerator);
+      fGenerator.databaseClosed(new DatabaseEvent(fDb, new ReentrantReadWriteLock()));
+      fGenerator = null;
+    }
+
+    if (fDb != null) {
+      fDb.close();
+      fDb = null;
+    }
+  }
+
+  private long getCounter() {
+    List<Counter> counters = fDb.ext().query(Counter.class);
+    assertEquals(1, counters.size());
+    return counters.get(0).getValue();
+  }
+
+  /**
+   * Tests that reserved ranges are contiguous and never overlap with other IDs.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testGetNextAndReserve() throws Exception {
+    Set<Long> ids = new HashSet<Long>();
+    for (int i = 0; i < 10; i++)
+      assertTrue(ids.add(fGenerator.getNext()));
+
+    long first = fGenerator.reserve(500);
+    for (long id = first; id < first + 500; id++)
+      assertTrue(ids.add(id));
+
+    first = fGenerator.reserve(3, false);
+    for (long id = first; id < first + 3; id++)
+      assertTrue(ids.add(id));
+
+    for (int i = 0; i < 1000; i++)
+      assertTrue(ids.add(fGenerator.getNext(i % 2 == 0)));
+
+    /* Handed out IDs are covered by the stored Counter */
+    long max = 0;
+    for (Long id : ids)
+      max = Math.max(max, id);
+    assertTrue(getCounter() >= max);
+  }
+
+  /**
+   * Tests that IDs allocated from several Threads are unique.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testConcurrentAllocation() throws Exception {
+    final int threadCount = 4;
+    final int iterations = 20000;
+    final Set<Long> ids = java.util.Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+    final List<Throwable> errors = java.util.Collections.synchronizedList(new ArrayList<Throwable>());
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < threadCount; i++) {
+      final boolean reserve = (i % 2 == 0);
+      Thread thread = new Thread() {
+        @Override
+        public void run() {
+          try {
+            for (int j = 0; j < iterations; j++) {
+              if (reserve) {
+                long first = fGenerator.reserve(7, false);
+                for (long id = first; id < first + 7; id++) {
+                  if (!ids.add(id))
+                    throw new IllegalStateException("Duplicate ID: " + id);
+                }
+              } else if (!ids.add(fGenerator.getNext(false)))
+                throw new IllegalStateException("Duplicate ID");
+            }
+          } catch (Throwable t) {
+            errors.add(t);
+          }
+        }
+      };
+      threads.add(thread);
+      thread.start();
+    }
+
+    for (Thread thread : threads)
+      thread.join();
+
+    assertEquals(0, errors.size());
+    assertEquals(threadCount / 2 * iterations * 7 + threadCount / 2 * iterations, ids.size());
+  }
+
+  /**
+   * Tests that IDs handed out before are not handed out again after the
+   * database was opened again, with and without a proper shutdown.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testNoReuseAfterReopen() throws Exception {
+    long max = 0;
+    for (int i = 0; i < 150; i++)
+      max = fGenerator.getNext();
+
+    /* Without Shutdown */
+    close();
+    open();
+    long next = fGenerator.getNext();
+    assertTrue(next > max);
+
+    max = fGenerator.reserve(10) + 9;
+
+    /* With Shutdown */
+    fGenerator.shutdown();
+    close();
+    open();
+    assertTrue(fGenerator.getNext() > max);
+  }
+
+  /**
+   * Tests that blocks of IDs grow while they are used up quickly.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testBlocksGrowWhileUsedQuickly() throws Exception {
+    long last = 0;
+    for (int i = 0; i < 20000; i++)
+      last = fGenerator.getNext(false);
+
+    assertTrue(getCounter() - last > 100);
+  }
+}
\ No newline at end of file
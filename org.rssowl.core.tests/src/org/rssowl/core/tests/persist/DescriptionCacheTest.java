@@ -0,0 +1,116 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.tests.persist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.rssowl.core.internal.persist.dao.DescriptionCache;
+
+/**
+ * Unit tests for DescriptionCache.
+ */
+public class DescriptionCacheTest {
+
+  /**
+   * Tests that values and news without description are cached.
+   */
+  @Test
+  public void testPutAndGet() {
+    DescriptionCache cache = new DescriptionCache(1000);
+    assertNull(cache.get(1));
+
+    cache.put(1, "Description", cache.getStamp());
+    cache.put(2, null, cache.getStamp());
+
+    assertEquals("Description", cache.get(1));
+    assertTrue(DescriptionCache.isNoDescription(cache.get(2)));
+    assertEquals(2, cache.getCount());
+    assertEquals(1, cache.getMisses());
+    assertEquals(2, cache.getHits());
+  }
+
+  /**
+   * Tests that the least recently used descriptions are evicted once the
+   * capacity in characters is exceeded.
+   */
+  @Test
+  public void testEviction() {
+    DescriptionCache cache = new DescriptionCache(300);
+    cache.put(1, createValue(100), cache.getStamp());
+    cache.put(2, createValue(100), cache.getStamp());
+
+    /* Use 1 to make 2 the least recently used */
+    cache.get(1);
+
+    cache.put(3, createValue(100), cache.getStamp());
+    assertEquals(2, cache.getCount());
+    assertTrue(cache.getSize() <= cache.getCapacity());
+    assertEquals(100, cache.get(1).length());
+    assertNull(cache.get(2));
+    assertEquals(100, cache.get(3).length());
+
+    /* Values larger than the Cache are not cached */
+    cache.put(4, createValue(1000), cache.getStamp());
+    assertNull(cache.get(4));
+    assertEquals(2, cache.getCount());
+  }
+
+  /**
+   * Tests that removing a value invalidates outstanding stamps.
+   */
+  @Test
+  public void testRemove() {
+    DescriptionCache cache = new DescriptionCache(1000);
+    cache.put(1, "Description", cache.getStamp());
+
+    long stamp = cache.getStamp();
+    cache.remove(1);
+    assertNull(cache.get(1));
+    assertEquals(0, cache.getSize());
+
+    /* Value loaded before the removal must not be cached */
+    cache.put(1, "Description", stamp);
+    assertNull(cache.get(1));
+
+    cache.put(1, "Updated Description", cache.getStamp());
+    assertEquals("Updated Description", cache.get(1));
+
+    cache.clear();
+    assertEquals(0, cache.getCount());
+    assertEquals(0, cache.getSize());
+  }
+
+  private String createValue(int length) {
+    StringBuilder value = new StringBuilder(length);
+    for (int i = 0; i < length; i++)
+      value.append('x');
+
+    return value.toString();
+  }
+}
@@ -0,0 +1,223 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.tests.persist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rssowl.core.Owl;
+import org.rssowl.core.internal.persist.dao.IDescriptionDAO;
+import org.rssowl.core.internal.persist.service.DBHelper;
+import org.rssowl.core.internal.persist.service.DBManager;
+import org.rssowl.core.internal.persist.service.PersistenceServiceImpl;
+import org.rssowl.core.persist.IFeed;
+import org.rssowl.core.persist.IModelFactory;
+import org.rssowl.core.persist.INews;
+import org.rssowl.core.persist.dao.OwlDAO;
+import org.rssowl.core.tests.TestUtils.NullProgressLongOperationMonitor;
+
+import com.db4o.ObjectContainer;
+import com.db4o.events.CommitEventArgs;
+import com.db4o.events.Event4;
+import com.db4o.events.EventArgs;
+import com.db4o.events.EventListener4;
+import com.db4o.events.EventRegistry;
+import com.db4o.events.EventRegistryFactory;
+
+import java.net.URI;
+import java.util.Date;
+
+/**
+ * Tests that descriptions kept in the DescriptionStore follow the transactions
+ * of the database.
+ */
+public class DescriptionDAOTest {
+  private static final String STORE_PROPERTY = "rssowl.descriptionStore";
+
+  private IModelFactory fFactory;
+  private IDescriptionDAO fDescriptionDAO;
+
+  /**
+   * @throws Exception
+   */
+  @Before
+  @SuppressWarnings("nls")
+  public void setUp() throws Exception {
+    System.setProperty(STORE_PROPERTY, "true");
+    ((PersistenceServiceImpl) Owl.getPersistenceService()).recreateSchemaForTests();
+    fFactory = Owl.getModelFactory();
+    fDescriptionDAO = DBHelper.getDescriptionDAO();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    System.clearProperty(STORE_PROPERTY);
+    ((PersistenceServiceImpl) Owl.getPersistenceService()).recreateSchemaForTests();
+  }
+
+  /**
+   * Tests that a description saved in a transaction that is rolled back is not
+   * kept in the store.
+   *
+   * @throws Exception
+   */
+  @Test
+  @SuppressWarnings("nls")
+  public void testRolledBackValueNotStored() throws Exception {
+    INews news = saveNews("Description");
+    long newsId = news.getId();
+
+    fDescriptionDAO.saveValue(newsId, "Updated Description");
+    assertEquals("Updated Description", fDescriptionDAO.loadValue(newsId));
+    DBHelper.rollbackAndPE(DBManager.getInstance().getObjectContainer(), new Exception());
+    assertEquals("Description", fDescriptionDAO.loadValue(newsId));
+
+    /* A committed Value is kept */
+    news.setDescription("Updated Description");
+    OwlDAO.save(news);
+    fDescriptionDAO.getCache().clear();
+    assertEquals("Updated Description", fDescriptionDAO.loadValue(newsId));
+  }
+
+  /**
+   * Tests that a description saved to the database in a transaction that is
+   * rolled back is not kept in the cache.
+   *
+   * @throws Exception
+   */
+  @Test
+  @SuppressWarnings("nls")
+  public void testRolledBackDatabaseValueNotCached() throws Exception {
+    System.setProperty(STORE_PROPERTY, "false");
+    ((PersistenceServiceImpl) Owl.getPersistenceService()).recreateSchemaForTests();
+    fDescriptionDAO = DBHelper.getDescriptionDAO();
+
+    long newsId = saveNews("Description").getId();
+    fDescriptionDAO.saveValue(newsId, "Updated Description");
+    assertEquals("Updated Description", fDescriptionDAO.loadValue(newsId));
+    DBHelper.rollbackAndPE(DBManager.getInstance().getObjectContainer(), new Exception());
+    assertEquals("Description", fDescriptionDAO.loadValue(newsId));
+  }
+
+  /**
+   * Tests that the description of a news is kept if deleting the news fails.
+   *
+   * @throws Exception
+   */
+  @Test
+  @SuppressWarnings("nls")
+  public void testFailedNewsDeletionKeepsValue() throws Exception {
+    INews news = saveNews("Description");
+    long newsId = news.getId();
+
+    ObjectContainer db = DBManager.getInstance().getObjectContainer();
+    EventRegistry eventRegistry = EventRegistryFactory.forObjectContainer(db);
+    EventListener4 failingListener = new EventListener4() {
+      @Override
+      public void onEvent(Event4 e, EventArgs args) {
+        if (((CommitEventArgs) args).deleted().iterator().moveNext())
+          throw new IllegalStateException("Failing to delete News");
+      }
+    };
+
+    eventRegistry.committing().addListener(failingListener);
+    try {
+      OwlDAO.delete(news);
+    } finally {
+      eventRegistry.committing().removeListener(failingListener);
+    }
+
+    fDescriptionDAO.getCache().clear();
+    assertEquals("Description", fDescriptionDAO.loadValue(newsId));
+  }
+
+  /**
+   * Tests that deleting a news removes its description from the store.
+   *
+   * @throws Exception
+   */
+  @Test
+  @SuppressWarnings("nls")
+  public void testNewsDeletionRemovesValue() throws Exception {
+    INews news = saveNews("Description");
+    long newsId = news.getId();
+
+    OwlDAO.delete(news);
+    fDescriptionDAO.getCache().clear();
+    assertNull(fDescriptionDAO.loadValue(newsId));
+  }
+
+  /**
+   * Tests that a description in the database takes precedence over the value
+   * of a store that is no longer enabled.
+   *
+   * @throws Exception
+   */
+  @Test
+  @SuppressWarnings("nls")
+  public void testDatabaseValueTakesPrecedence() throws Exception {
+    long newsId = saveNews("Description").getId();
+
+    /* Update the Description while the Store is disabled */
+    restart(false);
+    INews news = OwlDAO.load(INews.class, newsId);
+    news.setDescription("Updated Description");
+    OwlDAO.save(news);
+    restart(true);
+    assertEquals("Updated Description", fDescriptionDAO.loadValue(newsId));
+    assertEquals("Updated Description", fDescriptionDAO.loadValues(new long[] { newsId }).get(newsId));
+
+    /* Remove the Description while the Store is disabled */
+    restart(false);
+    news = OwlDAO.load(INews.class, newsId);
+    news.setDescription(null);
+    OwlDAO.save(news);
+    restart(true);
+    assertNull(fDescriptionDAO.loadValue(newsId));
+    assertNull(fDescriptionDAO.load(newsId).getValue());
+  }
+
+  private void restart(boolean storeEnabled) {
+    System.setProperty(STORE_PROPERTY, String.valueOf(storeEnabled));
+    Owl.getPersistenceService().shutdown(false);
+    Owl.getPersistenceService().startup(new NullProgressLongOperationMonitor(), false, false);
+  }
+
+  @SuppressWarnings("nls")
+  private INews saveNews(String description) throws Exception {
+    IFeed feed = fFactory.createFeed(null, new URI("http://www.feed.com"));
+    INews news = fFactory.createNews(null, feed, new Date());
+    news.setDescription(description);
+    OwlDAO.save(feed);
+
+    return feed.getNews().get(0);
+  }
+}
@@ -0,0 +1,244 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.tests.persist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.rssowl.core.internal.persist.service.DescriptionStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+/**
+ * Unit tests for DescriptionStore.
+ */
+public class DescriptionStoreTest {
+
+  /**
+   * Tests that values are stored, replaced and removed.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testPutGetAndRemove() throws Exception {
+    File file = createFile();
+    DescriptionStore store = new DescriptionStore(file, true);
+    try {
+      assertNull(store.get(1));
+
+      store.put(1, "<p>Description with <a href=\"http://www.rssowl.org\">Link</a></p>");
+      store.put(2, "");
+      store.put(3, "Unicode \u00e4\u00f6\u00fc \u65e5\u672c");
+      store.put(4, createValue(100000));
+
+      assertEquals("<p>Description with <a href=\"http://www.rssowl.org\">Link</a></p>", store.get(1));
+      assertEquals("", store.get(2));
+      assertEquals("Unicode \u00e4\u00f6\u00fc \u65e5\u672c", store.get(3));
+      assertEquals(createValue(100000), store.get(4));
+      assertEquals(4, store.size());
+
+      /* Values are compressed */
+      assertTrue(store.getFileSize() < 10000);
+
+      store.put(1, "Updated Description");
+      assertEquals("Updated Description", store.get(1));
+
+      assertTrue(store.remove(2));
+      assertFalse(store.remove(2));
+      assertFalse(store.contains(2));
+      assertNull(store.get(2));
+
+      store.put(3, null);
+      assertNull(store.get(3));
+      assertEquals(2, store.size());
+    } finally {
+      store.close();
+    }
+  }
+
+  /**
+   * Tests that values survive closing the store and an incomplete record at the
+   * end of the file is dropped.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testReopen() throws Exception {
+    File file = createFile();
+    DescriptionStore store = new DescriptionStore(file, true);
+    store.put(1, "Description 1");
+    store.put(2, "Description 2");
+    store.put(1, "Updated Description 1");
+    store.remove(2);
+    store.put(3, "Description 3");
+    long size = store.getFileSize();
+    store.close();
+
+    /* Simulate a Record that was not written completely */
+    RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try {
+      raf.seek(size);
+      raf.writeLong(4);
+      raf.writeInt(100);
+      raf.writeInt(50);
+      raf.write(new byte[10]);
+    } finally {
+      raf.close();
+    }
+
+    store = new DescriptionStore(file, true);
+    try {
+      assertEquals("Updated Description 1", store.get(1));
+      assertNull(store.get(2));
+      assertEquals("Description 3", store.get(3));
+      assertFalse(store.contains(4));
+      assertEquals(size, store.getFileSize());
+      assertEquals(size, file.length());
+
+      store.put(4, "Description 4");
+      assertEquals("Description 4", store.get(4));
+    } finally {
+      store.close();
+    }
+  }
+
+  /**
+   * Tests that values appended after the file was mapped are read before and
+   * after the file is mapped again.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testReadAppendedValues() throws Exception {
+    File file = createFile();
+    DescriptionStore store = new DescriptionStore(file, true);
+    try {
+      store.put(0, "Description 0");
+      assertEquals("Description 0", store.get(0));
+
+      /* Values that do not compress well to grow the Store by some MB */
+      Random random = new Random(0);
+      String[] values = new String[60];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = createRandomValue(random, 200000);
+        store.put(i + 1, values[i]);
+        assertEquals(values[i], store.get(i + 1));
+        assertEquals("Description 0", store.get(0));
+      }
+
+      assertTrue(store.getFileSize() > 8 * 1024 * 1024);
+      for (int i = 0; i < values.length; i++)
+        assertEquals(values[i], store.get(i + 1));
+    } finally {
+      store.close();
+    }
+  }
+
+  /**
+   * Tests that compacting keeps the live values only.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testCompact() throws Exception {
+    File file = createFile();
+    DescriptionStore store = new DescriptionStore(file, false);
+    try {
+      for (int i = 0; i < 100; i++)
+        store.put(i, "Description " + i);
+      for (int i = 0; i < 100; i++)
+        store.put(i, "Updated Description " + i);
+      for (int i = 0; i < 50; i++)
+        store.remove(i);
+
+      long size = store.getFileSize();
+      store.compact();
+      assertTrue(store.getFileSize() < size);
+      assertEquals(store.getFileSize(), file.length());
+      assertEquals(50, store.size());
+      assertNull(store.get(0));
+      assertEquals("Updated Description 99", store.get(99));
+    } finally {
+      store.close();
+    }
+
+    store = new DescriptionStore(file, true);
+    try {
+      assertEquals(50, store.size());
+      assertEquals("Updated Description 50", store.get(50));
+    } finally {
+      store.close();
+    }
+  }
+
+  /**
+   * Tests that a file which is not a store is rejected.
+   *
+   * @throws Exception
+   */
+  @Test(expected = IOException.class)
+  public void testNoStore() throws Exception {
+    File file = createFile();
+    RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try {
+      raf.writeLong(0);
+    } finally {
+      raf.close();
+    }
+
+    new DescriptionStore(file, true);
+  }
+
+  private File createFile() throws IOException {
+    File file = File.createTempFile("rssowldescriptions", "tmp");
+    file.delete();
+    file.deleteOnExit();
+
+    return file;
+  }
+
+  private String createRandomValue(Random random, int length) {
+    StringBuilder value = new StringBuilder(length);
+    for (int i = 0; i < length; i++)
+      value.append((char) (' ' + random.nextInt(95)));
+
+    return value.toString();
+  }
+
+  private String createValue(int length) {
+    StringBuilder value = new StringBuilder(length);
+    for (int i = 0; i < length; i++)
+      value.append((char) ('a' + i % 26));
+
+    return value.toString();
+  }
+}
@@ -30,6 +30,7 @@ import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 import org.rssowl.core.internal.persist.DefaultModelFactory;
+import org.rssowl.core.internal.persist.News;
 import org.rssowl.core.persist.IFeed;
 import org.rssowl.core.persist.IFolder;
 import org.rssowl.core.persist.ILabel;
@@ -238,4 +239,38 @@ public class INewsTest {
     assertTrue(news.isFlagged());
     assertEquals("Updated Comments *Update*", news.getComments());
   }
+
+  /**
+   * Tests that getters work while the special read lock is held and that
+   * setters fail from the thread holding it.
+   * @throws Exception
+   */
+  @Test
+  public void testReadLockSpecial() throws Exception {
+    IFeed feed = fFactory.createFeed(null, new URI("http://www.feed.com"));
+    News news = (News) fFactory.createNews(null, feed, new Date());
+    news.setTitle("Title");
+
+    news.acquireReadLockSpecial();
+    try {
+      assertEquals("Title", news.getTitle());
+      assertEquals(INews.State.NEW, news.getState());
+      assertTrue(news.getLabels().isEmpty());
+
+      boolean failed = false;
+      try {
+        news.setTitle("Other Title");
+      } catch (IllegalStateException e) {
+        failed = true;
+      }
+
+      assertTrue(failed);
+      assertEquals("Title", news.getTitle());
+    } finally {
+      news.releaseReadLockSpecial();
+    }
+
+    news.setTitle("Other Title");
+    assertEquals("Other Title", news.getTitle());
+  }
 }
\ No newline at end of file
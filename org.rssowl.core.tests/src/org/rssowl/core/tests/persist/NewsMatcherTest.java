@@ -0,0 +1,278 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.tests.persist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryParser.QueryParser;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreRangeQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.HitCollector;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.Test;
+import org.rssowl.core.internal.persist.Category;
+import org.rssowl.core.internal.persist.Feed;
+import org.rssowl.core.internal.persist.Label;
+import org.rssowl.core.internal.persist.News;
+import org.rssowl.core.internal.persist.Person;
+import org.rssowl.core.internal.persist.search.Indexer;
+import org.rssowl.core.internal.persist.search.NewsDocument;
+import org.rssowl.core.internal.persist.search.NewsMatcher;
+import org.rssowl.core.internal.persist.search.NewsTerms;
+import org.rssowl.core.internal.persist.search.SearchDocument;
+import org.rssowl.core.persist.INews;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Unit tests for NewsMatcher and NewsTerms.
+ */
+public class NewsMatcherTest {
+  private static final String TITLE = String.valueOf(INews.TITLE);
+  private static final String AUTHOR = String.valueOf(INews.AUTHOR);
+  private static final String CATEGORIES = String.valueOf(INews.CATEGORIES);
+  private static final String LABEL = String.valueOf(INews.LABEL);
+  private static final String LINK = String.valueOf(INews.LINK);
+  private static final String RECEIVE_DATE = String.valueOf(INews.RECEIVE_DATE);
+
+  private static final String[] WORDS = new String[] { "hello", "world", "java", "rss", "owl", "the", "foo-bar", "\u00dcber", "e-mail", "c++", "x.y", "2010", "ice", "cream" };
+
+  /**
+   * Tests that news match the same queries as when searching an index of them.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testMatchesLikeIndex() throws Exception {
+    Analyzer analyzer = Indexer.createAnalyzer();
+    List<INews> news = createNews(100);
+
+    List<Query> queries = new ArrayList<Query>();
+    String[] expressions = new String[] { "hello", "hello world", "\"hello world\"", "\"the java\"", "java*", "h?llo", "*o*", "+java -rss", "ice AND cream", "\u00fcber", "foo-bar", "e-mail", "c++", "x.y", "NOT hello", "hello OR (java AND NOT owl)" };
+    for (String field : new String[] { TITLE, AUTHOR, CATEGORIES, LABEL }) {
+      QueryParser parser = new QueryParser(field, analyzer);
+      parser.setAllowLeadingWildcard(true);
+      for (String expression : expressions)
+        queries.add(parser.parse(expression));
+    }
+
+    queries.add(new WildcardQuery(new Term(LINK, "*example.com/hello*")));
+    queries.add(new ConstantScoreRangeQuery(RECEIVE_DATE, "20010912", "20010915", true, false));
+    queries.add(new ConstantScoreRangeQuery(RECEIVE_DATE, "20010912", null, false, true));
+    queries.add(new ConstantScoreRangeQuery(RECEIVE_DATE, null, "20010915", true, true));
+
+    /* Single Clause with unsatisfiable minimum */
+    BooleanQuery singleClause = new BooleanQuery();
+    singleClause.add(new TermQuery(new Term(TITLE, "hello")), Occur.SHOULD);
+    singleClause.setMinimumNumberShouldMatch(2);
+    queries.add(singleClause);
+
+    /* Minimum of optional Clauses */
+    BooleanQuery minimum = new BooleanQuery();
+    minimum.add(new TermQuery(new Term(TITLE, "hello")), Occur.SHOULD);
+    minimum.add(new TermQuery(new Term(TITLE, "world")), Occur.SHOULD);
+    minimum.add(new TermQuery(new Term(TITLE, "java")), Occur.SHOULD);
+    minimum.setMinimumNumberShouldMatch(2);
+    queries.add(minimum);
+
+    BitSet[] expected = search(news, queries, analyzer);
+    for (int i = 0; i < queries.size(); i++) {
+      NewsMatcher matcher = NewsMatcher.compile(queries.get(i));
+      assertNotNull(queries.get(i).toString(), matcher);
+
+      BitSet actual = new BitSet();
+      for (int j = 0; j < news.size(); j++) {
+        if (matcher.matches(new NewsTerms(news.get(j), false, analyzer)))
+          actual.set(j);
+      }
+
+      assertEquals(queries.get(i).toString(), expected[i], actual);
+    }
+  }
+
+  /**
+   * Tests that queries which need an index are not compiled.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testUnsupportedQueries() throws Exception {
+    assertNull(NewsMatcher.compile(new FuzzyQuery(new Term(TITLE, "helo"))));
+
+    PhraseQuery sloppyPhrase = new PhraseQuery();
+    sloppyPhrase.add(new Term(TITLE, "hello"));
+    sloppyPhrase.add(new Term(TITLE, "world"));
+    sloppyPhrase.setSlop(2);
+    assertNull(NewsMatcher.compile(sloppyPhrase));
+
+    BooleanQuery query = new BooleanQuery();
+    query.add(new TermQuery(new Term(TITLE, "hello")), Occur.MUST);
+    query.add(new FuzzyQuery(new Term(TITLE, "helo")), Occur.SHOULD);
+    assertNull(NewsMatcher.compile(query));
+  }
+
+  /**
+   * Tests phrases against the positions of terms across several values of a
+   * field.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testPhrases() throws Exception {
+    Analyzer analyzer = Indexer.createAnalyzer();
+    News news = new News(1L, new Feed(1L, new URI("http://www.example.com/feed.xml")), new Date());
+    news.setTitle("The quick brown Fox");
+    news.addCategory(createCategory(1L, "hello"));
+    news.addCategory(createCategory(2L, "world"));
+
+    NewsTerms terms = new NewsTerms(news, false, analyzer);
+    assertTrue(matches(new QueryParser(TITLE, analyzer).parse("\"quick brown\""), terms));
+    assertTrue(matches(new QueryParser(TITLE, analyzer).parse("\"the quick\""), terms));
+    assertFalse(matches(new QueryParser(TITLE, analyzer).parse("\"brown quick\""), terms));
+    assertFalse(matches(new QueryParser(TITLE, analyzer).parse("\"quick fox\""), terms));
+
+    /* Values of the same Field follow each other without a Gap */
+    assertTrue(matches(new TermQuery(new Term(CATEGORIES, "world")), terms));
+    PhraseQuery phrase = new PhraseQuery();
+    phrase.add(new Term(CATEGORIES, "hello"));
+    phrase.add(new Term(CATEGORIES, "world"));
+    assertTrue(search(news, phrase, analyzer));
+    assertTrue(matches(phrase, terms));
+  }
+
+  private boolean matches(Query query, NewsTerms terms) throws IOException {
+    return NewsMatcher.compile(query).matches(terms);
+  }
+
+  private boolean search(INews news, Query query, Analyzer analyzer) throws IOException {
+    List<INews> newsList = new ArrayList<INews>(1);
+    newsList.add(news);
+    List<Query> queries = new ArrayList<Query>(1);
+    queries.add(query);
+
+    return search(newsList, queries, analyzer)[0].get(0);
+  }
+
+  private BitSet[] search(List<INews> news, List<Query> queries, Analyzer analyzer) throws IOException {
+    RAMDirectory directory = new RAMDirectory();
+    try {
+      IndexWriter writer = new IndexWriter(directory, analyzer);
+      for (int i = 0; i < news.size(); i++) {
+        NewsDocument document = new NewsDocument(news.get(i));
+        document.addFields(false);
+        document.getDocument().getField(SearchDocument.ENTITY_ID_TEXT).setValue(String.valueOf(i));
+        writer.addDocument(document.getDocument());
+      }
+      writer.close();
+
+      final IndexSearcher searcher = new IndexSearcher(directory);
+      BitSet[] results = new BitSet[queries.size()];
+      for (int i = 0; i < queries.size(); i++) {
+        final BitSet result = new BitSet();
+        searcher.search(queries.get(i), new HitCollector() {
+          @Override
+          public void collect(int doc, float score) {
+            try {
+              result.set(Integer.parseInt(searcher.doc(doc).get(SearchDocument.ENTITY_ID_TEXT)));
+            } catch (IOException e) {
+              throw new IllegalStateException(e);
+            }
+          }
+        });
+        results[i] = result;
+      }
+      searcher.close();
+
+      return results;
+    } finally {
+      directory.close();
+    }
+  }
+
+  private List<INews> createNews(int count) throws Exception {
+    Feed feed = new Feed(1L, new URI("http://www.example.com/feed.xml"));
+    List<INews> news = new ArrayList<INews>(count);
+    for (int i = 0; i < count; i++) {
+      News item = new News((long) i + 1, feed, new Date(1000000000000L + i * 10000000L));
+      item.setTitle(createText(i, 1 + i % 7));
+      if (i % 3 == 0) {
+        Person author = new Person((long) i + 1);
+        author.setName(createText(i + 1, 2));
+        item.setAuthor(author);
+      }
+
+      for (int j = 0; j < i % 3; j++)
+        item.addCategory(createCategory((long) j + 1, createText(i + j, 1 + j)));
+
+      if (i % 4 == 0)
+        item.addLabel(new Label((long) i % 3 + 1, WORDS[i % WORDS.length]));
+
+      if (i % 2 == 0)
+        item.setLink(new URI("http://www.example.com/" + WORDS[i % 5]));
+
+      news.add(item);
+    }
+
+    return news;
+  }
+
+  private Category createCategory(long id, String name) {
+    Category category = new Category(id);
+    category.setName(name);
+    return category;
+  }
+
+  /* Pseudo random Text from the Words */
+  private String createText(int seed, int length) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      if (i > 0)
+        text.append(' ');
+      text.append(WORDS[(seed * 7 + i * 11 + seed * i) % WORDS.length]);
+    }
+
+    return text.toString();
+  }
+}
\ No newline at end of file
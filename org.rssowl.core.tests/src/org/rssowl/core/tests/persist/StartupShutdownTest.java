@@ -56,7 +56,10 @@ import org.rssowl.core.persist.INews;
 import org.rssowl.core.persist.INews.State;
 import org.rssowl.core.persist.IPersistable;
 import org.rssowl.core.persist.IPerson;
+import org.rssowl.core.persist.ISearchCondition;
+import org.rssowl.core.persist.ISearchField;
 import org.rssowl.core.persist.ISource;
+import org.rssowl.core.persist.SearchSpecifier;
 import org.rssowl.core.persist.dao.OwlDAO;
 import org.rssowl.core.persist.reference.FeedLinkReference;
 import org.rssowl.core.tests.TestUtils.NullProgressLongOperationMonitor;
@@ -72,6 +75,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -138,6 +142,32 @@ public class StartupShutdownTest extends LargeBlockSizeTest {
     assertEquals(0, entitiesToBeIndexed.size());
   }
 
+  /**
+   * Tests that News flushed for a search are committed to the index and removed
+   * from the list of outstanding News without closing the IndexWriter.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testFlushedEntitiesCommitted() throws Exception {
+    IFeed feed = fFactory.createFeed(null, new URI("http://www.feed.com/feed.xml"));
+    createNews(feed, "Foo", null, "http://www.news.com/news1.html", State.READ);
+    createNews(feed, "Bar", null, "http://www.news.com/news2.html", State.NEW);
+    OwlDAO.save(feed);
+
+    ISearchField field = fFactory.createSearchField(INews.TITLE, INews.class.getName());
+    ISearchCondition condition = fFactory.createSearchCondition(field, SearchSpecifier.CONTAINS, "foo");
+    assertEquals(1, Owl.getPersistenceService().getModelSearch().searchNews(Collections.singletonList(condition), true).size());
+    assertEquals(0, DBHelper.getEntitiesToBeIndexedDAO().load().size());
+
+    /* Emergency Shutdown does not commit outstanding News */
+    Owl.getPersistenceService().shutdown(true);
+    Owl.getPersistenceService().startup(new NullProgressLongOperationMonitor(), false, false);
+
+    assertEquals(0, DBHelper.getEntitiesToBeIndexedDAO().load().size());
+    assertEquals(1, Owl.getPersistenceService().getModelSearch().searchNews(Collections.singletonList(condition), true).size());
+  }
+
   /**
    * @throws Exception
    */
@@ -299,6 +329,51 @@ public class StartupShutdownTest extends LargeBlockSizeTest {
       marker.createNewFile();
   }
 
+  /**
+   * Tests that restoring a backup restores the descriptions kept in the
+   * DescriptionStore along with the database.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testRestoreProfileWithDescriptionStore() throws Exception {
+    System.setProperty("rssowl.descriptionStore", "true");
+    try {
+      ((PersistenceServiceImpl) Owl.getPersistenceService()).recreateSchemaForTests();
+
+      IFeed feed = OwlDAO.save(createFeed());
+      INews news = createNews(feed, "Title", "Description", "http://www.news.com", State.NEW);
+      OwlDAO.save(news);
+      long newsId = news.getId();
+
+      /* Backup the Profile together with its Descriptions */
+      Owl.getPersistenceService().shutdown(false);
+      File backup = File.createTempFile("rssowldb", "tmp");
+      backup.deleteOnExit();
+      DBHelper.copyFileIO(new File(DBManager.getDBFilePath()), backup, new NullProgressMonitor());
+      File descriptionStoreBackup = DBManager.getDescriptionStoreFile(backup);
+      descriptionStoreBackup.deleteOnExit();
+      DBHelper.copyFileIO(DBManager.getDescriptionStoreFile(), descriptionStoreBackup, new NullProgressMonitor());
+      Owl.getPersistenceService().startup(new NullProgressLongOperationMonitor(), false, false);
+
+      news = OwlDAO.load(INews.class, newsId);
+      news.setDescription("Updated Description");
+      OwlDAO.save(news);
+
+      /* Restore the Backup */
+      InternalOwl.getInstance().restoreProfile(backup);
+      assertFalse(descriptionStoreBackup.exists());
+      assertTrue(DBManager.getDescriptionStoreFile(new File(DBManager.getDBRestoreFilePath())).exists());
+      InternalOwl.getInstance().startup(new LongOperationMonitor(new NullProgressMonitor()) {}, true, false);
+      assertFalse(DBManager.getDescriptionStoreFile(new File(DBManager.getDBRestoreFilePath())).exists());
+
+      assertEquals("Description", DBHelper.getDescriptionDAO().loadValue(newsId));
+    } finally {
+      System.clearProperty("rssowl.descriptionStore");
+      ((PersistenceServiceImpl) Owl.getPersistenceService()).recreateSchemaForTests();
+    }
+  }
+
   private INews createNews(IFeed feed, String title, String description, String link, INews.State state) throws URISyntaxException {
     INews news = fFactory.createNews(null, feed, new Date(System.currentTimeMillis()));
     news.setState(state);
@@ -0,0 +1,130 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.tests.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.rssowl.core.internal.persist.Feed;
+import org.rssowl.core.persist.IFeed;
+import org.rssowl.ui.internal.services.AdaptiveReloadInterval;
+
+import java.net.URI;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Tests for the adaptive Reload Intervals of the FeedReloadService.
+ */
+public class AdaptiveReloadIntervalTest {
+  private static final long MINUTE = 60 * 1000L;
+  private static final long HOUR = 60 * MINUTE;
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testBackoffWithoutNewNews() throws Exception {
+    AdaptiveReloadInterval interval = new AdaptiveReloadInterval();
+    assertEquals(30 * MINUTE, interval.getInterval(30 * MINUTE));
+
+    assertTrue(interval.observe(new Date(1000)));
+    assertEquals(30 * MINUTE, interval.getInterval(30 * MINUTE));
+
+    /* Interval grows while the Feed does not change */
+    assertFalse(interval.observe(new Date(1000)));
+    assertEquals(45 * MINUTE, interval.getInterval(30 * MINUTE));
+    for (int i = 0; i < 20; i++)
+      assertFalse(interval.observe(new Date(1000)));
+
+    /* Capped at 8 times the Interval of the User */
+    assertEquals(240 * MINUTE, interval.getInterval(30 * MINUTE));
+
+    /* Capped at one Day */
+    assertEquals(24 * HOUR, interval.getInterval(12 * HOUR));
+
+    /* Never below the Interval of the User */
+    assertEquals(48 * HOUR, interval.getInterval(48 * HOUR));
+
+    /* New News reset the Interval */
+    assertTrue(interval.observe(new Date(2000)));
+    assertEquals(30 * MINUTE, interval.getInterval(30 * MINUTE));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testBackoffBoundByCadence() throws Exception {
+    AdaptiveReloadInterval interval = new AdaptiveReloadInterval();
+
+    /* Feed changes every 2 Hours */
+    for (int i = 0; i < 4; i++)
+      assertTrue(interval.observe(new Date(i * 2 * HOUR)));
+
+    for (int i = 0; i < 20; i++)
+      interval.observe(new Date(6 * HOUR));
+
+    assertEquals(HOUR, interval.getInterval(30 * MINUTE));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testFeedHints() throws Exception {
+    IFeed feed = new Feed(new URI("http://www.feed.com")); //$NON-NLS-1$
+    feed.setTTL(120);
+    feed.addHourToSkip(0);
+    feed.addHourToSkip(1);
+    feed.addDayToSkip(IFeed.SATURDAY);
+
+    AdaptiveReloadInterval interval = new AdaptiveReloadInterval();
+    assertFalse(interval.hasFeedHints());
+    interval.setFeedHints(feed);
+    assertTrue(interval.hasFeedHints());
+
+    /* TTL is respected */
+    assertEquals(120 * MINUTE, interval.getInterval(30 * MINUTE));
+
+    /* Thursday, 22:30 GMT + 2 Hours is a skipped Hour: next Reload on Friday 02:00 */
+    Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT")); //$NON-NLS-1$
+    calendar.clear();
+    calendar.set(2009, Calendar.JANUARY, 1, 22, 30);
+    long now = calendar.getTimeInMillis();
+    calendar.set(2009, Calendar.JANUARY, 2, 2, 0);
+    assertEquals(calendar.getTimeInMillis(), interval.getNextDueTime(now, 30 * MINUTE));
+
+    /* Friday, 22:30 GMT + 2 Hours is on Saturday: next Reload on Sunday 02:00 */
+    calendar.set(2009, Calendar.JANUARY, 2, 22, 30);
+    now = calendar.getTimeInMillis();
+    calendar.set(2009, Calendar.JANUARY, 4, 2, 0);
+    assertEquals(calendar.getTimeInMillis(), interval.getNextDueTime(now, 30 * MINUTE));
+  }
+}
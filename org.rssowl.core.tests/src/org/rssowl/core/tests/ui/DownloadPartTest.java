@@ -0,0 +1,160 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.tests.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rssowl.ui.internal.services.DownloadPart;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.URI;
+
+/**
+ * Tests for the resumable Parts of the DownloadService.
+ */
+public class DownloadPartTest {
+  private static final URI LINK = URI.create("http://www.rssowl.org/download/file.zip");
+
+  private File fFile;
+
+  /**
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    fFile = File.createTempFile("rssowl", ".part");
+  }
+
+  /**
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    new DownloadPart(fFile, LINK, -1).delete();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testSplit() throws Exception {
+    DownloadPart part = new DownloadPart(fFile, LINK, 1000);
+    part.split(3);
+
+    assertEquals(3, part.getSegmentCount());
+    assertEquals(0, part.getPosition(0));
+    assertEquals(333, part.getEnd(0));
+    assertEquals(333, part.getPosition(1));
+    assertEquals(666, part.getEnd(1));
+    assertEquals(666, part.getPosition(2));
+    assertEquals(1000, part.getEnd(2));
+    assertEquals("bytes=333-665", part.getRange(1));
+
+    part.advance(0, 333);
+    part.advance(2, 100);
+    assertTrue(part.isComplete(0));
+    assertFalse(part.isComplete(1));
+    assertFalse(part.isComplete());
+    assertEquals(1, part.getIncompleteSegment());
+    assertEquals(433, part.getDownloaded());
+    assertEquals("bytes=766-999", part.getRange(2));
+
+    /* Unknown Length is never split */
+    part = new DownloadPart(fFile, LINK, -1);
+    part.split(3);
+    assertEquals(1, part.getSegmentCount());
+    assertEquals(-1, part.getEnd(0));
+
+    part.advance(0, 10);
+    assertFalse(part.isComplete());
+    part.finish(0);
+    assertTrue(part.isComplete());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testSaveAndLoad() throws Exception {
+    DownloadPart part = new DownloadPart(fFile, LINK, 1000);
+    part.split(2);
+    part.setValidators("\"etag\"", "Sat, 01 Jan 2011 00:00:00 GMT");
+    part.setContentDisposition("attachment; filename=\"file.zip\"");
+    part.advance(0, 100);
+    part.advance(1, 50);
+
+    /* Part File must contain what was downloaded */
+    part.save();
+    assertNull(DownloadPart.load(fFile));
+
+    RandomAccessFile file = new RandomAccessFile(fFile, "rw");
+    file.setLength(550);
+    file.close();
+
+    DownloadPart loaded = DownloadPart.load(fFile);
+    assertEquals(LINK, loaded.getLink());
+    assertEquals(1000, loaded.getLength());
+    assertEquals(2, loaded.getSegmentCount());
+    assertEquals(100, loaded.getPosition(0));
+    assertEquals(550, loaded.getPosition(1));
+    assertEquals(1000, loaded.getEnd(1));
+    assertEquals("\"etag\"", loaded.getValidator());
+    assertEquals("attachment; filename=\"file.zip\"", loaded.getContentDisposition());
+
+    /* Completed Parts forget their Metadata */
+    loaded.deleteInfo();
+    assertNull(DownloadPart.load(fFile));
+    assertTrue(fFile.exists());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testValidator() throws Exception {
+    DownloadPart part = new DownloadPart(fFile, LINK, 1000);
+    assertNull(part.getValidator());
+
+    part.setValidators(null, "Sat, 01 Jan 2011 00:00:00 GMT");
+    assertEquals("Sat, 01 Jan 2011 00:00:00 GMT", part.getValidator());
+
+    /* Weak Entity Tags can not be used to resume */
+    part.setValidators("W/\"etag\"", "Sat, 01 Jan 2011 00:00:00 GMT");
+    assertEquals("Sat, 01 Jan 2011 00:00:00 GMT", part.getValidator());
+
+    part.setValidators("W/\"etag\"", null);
+    assertNull(part.getValidator());
+
+    part.setValidators("\"etag\"", "Sat, 01 Jan 2011 00:00:00 GMT");
+    assertEquals("\"etag\"", part.getValidator());
+  }
+}
\ No newline at end of file
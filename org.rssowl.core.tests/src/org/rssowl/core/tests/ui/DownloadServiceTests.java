@@ -24,6 +24,8 @@
 
 package org.rssowl.core.tests.ui;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Before;
@@ -33,12 +35,18 @@ import org.rssowl.core.persist.IAttachment;
 import org.rssowl.core.persist.IFeed;
 import org.rssowl.core.persist.IModelFactory;
 import org.rssowl.core.persist.INews;
+import org.rssowl.core.tests.TestWebServer;
 import org.rssowl.ui.internal.Controller;
+import org.rssowl.ui.internal.services.DownloadPart;
 import org.rssowl.ui.internal.services.DownloadService;
 import org.rssowl.ui.internal.services.DownloadService.DownloadRequest;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -220,6 +228,65 @@ public class DownloadServiceTests {
     download.delete();
   }
 
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testResumePart() throws Exception {
+    TestWebServer.required(true);
+
+    File tmpDir = getTmpDir();
+    String link = TestWebServer.rootHttp + "/feed/rssowl.db";
+    byte[] content = readFile(new File("data/rssowl.db"));
+    int half = content.length / 2;
+
+    /* Validator of the Content as served */
+    HttpURLConnection connection = (HttpURLConnection) URI.create(link).toURL().openConnection();
+    connection.setRequestMethod("HEAD");
+    String lastModified = connection.getHeaderField("Last-Modified");
+    String entityTag = connection.getHeaderField("ETag");
+    connection.disconnect();
+
+    /* Part with the first Half downloaded (zeroed to tell it from the Content) */
+    File partFile = new File(tmpDir, "resume.db.part");
+    FileOutputStream out = new FileOutputStream(partFile);
+    out.write(new byte[half]);
+    out.close();
+
+    DownloadPart part = new DownloadPart(partFile, URI.create(link), content.length);
+    part.setValidators(entityTag, lastModified);
+    part.advance(0, half);
+    part.save();
+
+    DownloadRequest request = getAttachmentDownloadRequest(link, null, content.length, tmpDir, "resume.db");
+    fService.download(request);
+
+    File download = new File(tmpDir, "resume.db");
+    assertTrue(download.exists());
+    assertFalse(partFile.exists());
+    assertTrue(DownloadPart.load(partFile) == null);
+
+    /* Only the second Half was downloaded */
+    byte[] expected = content.clone();
+    for (int i = 0; i < half; i++)
+      expected[i] = 0;
+    assertArrayEquals(expected, readFile(download));
+
+    download.delete();
+  }
+
+  private byte[] readFile(File file) throws IOException {
+    byte[] bytes = new byte[(int) file.length()];
+    DataInputStream in = new DataInputStream(new FileInputStream(file));
+    try {
+      in.readFully(bytes);
+    } finally {
+      in.close();
+    }
+
+    return bytes;
+  }
+
   private File getTmpDir() throws IOException {
     if (fTmpDir == null) {
       File tmpFile = File.createTempFile("rssowl", "tmp");
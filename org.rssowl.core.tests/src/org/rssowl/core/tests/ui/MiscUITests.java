@@ -66,8 +66,10 @@ import org.rssowl.ui.internal.actions.ToggleReadStateAction;
 import org.rssowl.ui.internal.editors.feed.NewsColumn;
 import org.rssowl.ui.internal.editors.feed.NewsColumnViewModel;
 import org.rssowl.ui.internal.editors.feed.NewsComparator;
+import org.rssowl.ui.internal.editors.feed.NewsSortKeys;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -459,6 +461,84 @@ public class MiscUITests {
     assertEquals("B News", ((INews) elements[2]).getTitle());
   }
 
+  /**
+   * Tests the {@link NewsComparator} with {@link NewsSortKeys}.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testNewsComparatorWithSortKeys() throws Exception {
+    IFeed feed = Owl.getModelFactory().createFeed(null, new URI("feed"));
+
+    INews news1 = Owl.getModelFactory().createNews(null, feed, new Date(0));
+    news1.setTitle("b News");
+
+    INews news2 = Owl.getModelFactory().createNews(null, feed, new Date(100));
+    news2.setTitle("A News");
+
+    INews news3 = Owl.getModelFactory().createNews(null, feed, new Date(200));
+    news3.setTitle("\u00c4 News");
+    OwlDAO.save(feed);
+
+    NewsSortKeys sortKeys = new NewsSortKeys();
+    NewsComparator comp = new NewsComparator();
+    comp.setSortKeys(sortKeys);
+
+    /* By Title ignoring Case */
+    comp.setSortBy(NewsColumn.TITLE);
+    comp.setAscending(true);
+    comp.setRightToLeftSorting(false);
+    Object[] elements = new Object[] { news1, news2, news3 };
+    comp.sort(null, elements);
+
+    assertEquals(news2, elements[0]);
+    assertEquals(news1, elements[1]);
+    assertEquals(news3, elements[2]);
+
+    assertTrue(comp.compare(news2, news1) < 0);
+    assertTrue(comp.compare(news1, news2) > 0);
+
+    /* Keys are kept until invalidated */
+    news1.setTitle("0 News");
+    comp.sort(null, elements);
+
+    assertEquals(news2, elements[0]);
+    assertEquals(news1, elements[1]);
+    assertEquals(news3, elements[2]);
+
+    sortKeys.invalidate(Collections.singleton(news1));
+    comp.sort(null, elements);
+
+    assertEquals(news1, elements[0]);
+    assertEquals(news2, elements[1]);
+    assertEquals(news3, elements[2]);
+
+    news1.setTitle("\u00e4\u00e4 News");
+    sortKeys.clear();
+    comp.sort(null, elements);
+
+    assertEquals(news2, elements[0]);
+    assertEquals(news3, elements[1]);
+    assertEquals(news1, elements[2]);
+
+    /* Right to Left */
+    comp.setRightToLeftSorting(true);
+    news2.setTitle("News A");
+    sortKeys.invalidate(Collections.singleton(news2));
+    comp.sort(null, elements);
+
+    assertEquals(news2, elements[0]);
+
+    /* By Date */
+    comp.setSortBy(NewsColumn.DATE);
+    comp.setAscending(false);
+    comp.sort(null, elements);
+
+    assertEquals(news3, elements[0]);
+    assertEquals(news2, elements[1]);
+    assertEquals(news1, elements[2]);
+  }
+
   /**
    * TODO Not complete because the ApplicationServer requires a
    * {@link NewsBrowserViewer} instance to function.
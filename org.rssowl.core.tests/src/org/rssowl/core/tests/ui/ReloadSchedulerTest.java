@@ -0,0 +1,187 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.tests.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.rssowl.core.Owl;
+import org.rssowl.core.persist.IBookMark;
+import org.rssowl.core.persist.IFolder;
+import org.rssowl.core.persist.IModelFactory;
+import org.rssowl.core.persist.reference.FeedLinkReference;
+import org.rssowl.ui.internal.services.ReloadScheduler;
+import org.rssowl.ui.internal.services.ReloadScheduler.ScheduledReload;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Tests for the Scheduler of automatic Reloads of the FeedReloadService.
+ */
+public class ReloadSchedulerTest {
+  private static final long HOUR = 60 * 60 * 1000L;
+
+  private ReloadScheduler fScheduler;
+  private IBookMark fMark1;
+  private IBookMark fMark2;
+  private IBookMark fMark3;
+
+  /**
+   * @throws Exception
+   */
+  @Before
+  @SuppressWarnings("nls")
+  public void setUp() throws Exception {
+    IModelFactory factory = Owl.getModelFactory();
+    IFolder folder = factory.createFolder(null, null, "Folder");
+    fMark1 = factory.createBookMark(null, folder, new FeedLinkReference(new URI("http://www.feed1.com")), "Mark1");
+    fMark2 = factory.createBookMark(null, folder, new FeedLinkReference(new URI("http://www.feed2.com")), "Mark2");
+    fMark3 = factory.createBookMark(null, folder, new FeedLinkReference(new URI("http://www.feed3.com")), "Mark3");
+    fScheduler = new ReloadScheduler();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testDueReloadsOrderedByDueTime() throws Exception {
+    long now = System.currentTimeMillis();
+    fScheduler.schedule(fMark3, now - 1000);
+    fScheduler.schedule(fMark1, now - 3000);
+    fScheduler.schedule(fMark2, now - 2000);
+
+    List<ScheduledReload> dueReloads = fScheduler.takeDueReloads();
+    assertEquals(3, dueReloads.size());
+    assertSame(fMark1, dueReloads.get(0).getBookMark());
+    assertSame(fMark2, dueReloads.get(1).getBookMark());
+    assertSame(fMark3, dueReloads.get(2).getBookMark());
+    assertEquals(now - 3000, dueReloads.get(0).getDueTime());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testReloadsWithinBatchWindowCoalesced() throws Exception {
+    long now = System.currentTimeMillis();
+    fScheduler.schedule(fMark1, now - 1000);
+    fScheduler.schedule(fMark2, now + ReloadScheduler.BATCH_WINDOW / 2);
+    fScheduler.schedule(fMark3, now + ReloadScheduler.BATCH_WINDOW + HOUR);
+
+    /* The Reload due soon is batched with the due one, the later one is not */
+    List<ScheduledReload> dueReloads = fScheduler.takeDueReloads();
+    assertEquals(2, dueReloads.size());
+    assertSame(fMark1, dueReloads.get(0).getBookMark());
+    assertSame(fMark2, dueReloads.get(1).getBookMark());
+
+    fScheduler.schedule(fMark1, now - 1000);
+    dueReloads = fScheduler.takeDueReloads();
+    assertEquals(1, dueReloads.size());
+    assertSame(fMark1, dueReloads.get(0).getBookMark());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testCancelledReloadSkipped() throws Exception {
+    long now = System.currentTimeMillis();
+    fScheduler.schedule(fMark1, now - 2000);
+    fScheduler.schedule(fMark2, now - 1000);
+    fScheduler.cancel(fMark1);
+
+    List<ScheduledReload> dueReloads = fScheduler.takeDueReloads();
+    assertEquals(1, dueReloads.size());
+    assertSame(fMark2, dueReloads.get(0).getBookMark());
+
+    /* A Reload taken before being cancelled is not scheduled again */
+    fScheduler.cancel(fMark2);
+    assertFalse(fScheduler.reschedule(dueReloads.get(0), now - 1000));
+    fScheduler.schedule(fMark3, now - 1000);
+    dueReloads = fScheduler.takeDueReloads();
+    assertEquals(1, dueReloads.size());
+    assertSame(fMark3, dueReloads.get(0).getBookMark());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testRescheduledReloadReplacesPreviousOne() throws Exception {
+    long now = System.currentTimeMillis();
+    fScheduler.schedule(fMark1, now - 2000);
+    fScheduler.schedule(fMark1, now + HOUR);
+    fScheduler.schedule(fMark2, now - 1000);
+
+    List<ScheduledReload> dueReloads = fScheduler.takeDueReloads();
+    assertEquals(1, dueReloads.size());
+    assertSame(fMark2, dueReloads.get(0).getBookMark());
+
+    /* A Reload taken is scheduled again unless its BookMark was rescheduled */
+    assertTrue(fScheduler.reschedule(dueReloads.get(0), now - 500));
+    fScheduler.schedule(fMark1, now - 1000);
+    dueReloads = fScheduler.takeDueReloads();
+    assertEquals(2, dueReloads.size());
+    assertSame(fMark1, dueReloads.get(0).getBookMark());
+    assertSame(fMark2, dueReloads.get(1).getBookMark());
+
+    fScheduler.schedule(fMark2, now + HOUR);
+    assertFalse(fScheduler.reschedule(dueReloads.get(1), now - 500));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testStopWakesUpScheduler() throws Exception {
+    final Object[] result = new Object[] { new Object() };
+    final boolean[] done = new boolean[1];
+    fScheduler.schedule(fMark1, System.currentTimeMillis() + HOUR);
+
+    Thread thread = new Thread() {
+      @Override
+      public void run() {
+        try {
+          result[0] = fScheduler.takeDueReloads();
+          done[0] = true;
+        } catch (InterruptedException e) {
+          /* Ignore */
+        }
+      }
+    };
+    thread.start();
+
+    fScheduler.stop();
+    thread.join(10000);
+    assertTrue(done[0]);
+    assertNull(result[0]);
+  }
+}
\ No newline at end of file
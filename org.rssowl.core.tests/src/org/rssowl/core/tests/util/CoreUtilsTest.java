@@ -57,6 +57,7 @@ import org.rssowl.core.persist.ISearchField;
 import org.rssowl.core.persist.ISearchFilter;
 import org.rssowl.core.persist.ISearchMark;
 import org.rssowl.core.persist.SearchSpecifier;
+import org.rssowl.core.persist.dao.IBookMarkDAO;
 import org.rssowl.core.persist.dao.OwlDAO;
 import org.rssowl.core.persist.event.NewsAdapter;
 import org.rssowl.core.persist.event.NewsEvent;
@@ -668,6 +669,34 @@ public class CoreUtilsTest {
     assertNull(CoreUtils.getBookMark("feed3"));
   }
 
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testGetBookMarkAfterFeedChange() throws Exception {
+    IFeed feed1 = OwlDAO.save(fFactory.createFeed(null, new URI("feed1")));
+    IFeed feed2 = OwlDAO.save(fFactory.createFeed(null, new URI("feed2")));
+
+    IFolder root = fFactory.createFolder(null, null, "root");
+    IBookMark mark = fFactory.createBookMark(null, root, new FeedLinkReference(feed1.getLink()), "Mark 1");
+    OwlDAO.save(root);
+
+    assertEquals(mark, CoreUtils.getBookMark(feed1.getLink().toString()));
+
+    mark.setFeedLinkReference(new FeedLinkReference(feed2.getLink()));
+    OwlDAO.save(mark);
+
+    assertNull(CoreUtils.getBookMark(feed1.getLink().toString()));
+    assertEquals(mark, CoreUtils.getBookMark(feed2.getLink().toString()));
+    assertTrue(OwlDAO.getDAO(IBookMarkDAO.class).exists(new FeedLinkReference(feed2.getLink())));
+    assertFalse(OwlDAO.getDAO(IBookMarkDAO.class).exists(new FeedLinkReference(feed1.getLink())));
+
+    OwlDAO.delete(mark);
+
+    assertNull(CoreUtils.getBookMark(feed2.getLink().toString()));
+    assertTrue(OwlDAO.getDAO(IBookMarkDAO.class).loadAll(new FeedLinkReference(feed2.getLink())).isEmpty());
+  }
+
   /**
    * @throws Exception
    */
@@ -0,0 +1,398 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.tests.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rssowl.core.util.IGroupedTask;
+import org.rssowl.core.util.ITask;
+import org.rssowl.core.util.JobQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the {@link JobQueue}.
+ */
+public class JobQueueTest {
+  private JobQueue fQueue;
+  private CountDownLatch fBlockerStarted;
+  private CountDownLatch fReleaseBlocker;
+  private List<Integer> fRuns;
+
+  /* A Task that is equal to other Tasks with the same ID */
+  private class Task implements ITask {
+    private final int fId;
+    private final Priority fPriority;
+
+    Task(int id, Priority priority) {
+      fId = id;
+      fPriority = priority;
+    }
+
+    @Override
+    public IStatus run(IProgressMonitor monitor) {
+      fRuns.add(fId);
+      return Status.OK_STATUS;
+    }
+
+    @Override
+    public String getName() {
+      return String.valueOf(fId);
+    }
+
+    @Override
+    public Priority getPriority() {
+      return fPriority;
+    }
+
+    @Override
+    public int hashCode() {
+      return fId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Task && ((Task) obj).fId == fId;
+    }
+  }
+
+  /* A Task of a group, e.g. a Host */
+  private class GroupedTask extends Task implements IGroupedTask {
+    private final String fGroup;
+
+    GroupedTask(int id, String group, Priority priority) {
+      super(id, priority);
+      fGroup = group;
+    }
+
+    @Override
+    public Object getGroup() {
+      return fGroup;
+    }
+  }
+
+  /* Occupies the only Job of the Queue until released */
+  private class BlockingTask extends Task {
+    BlockingTask() {
+      super(-1, Priority.DEFAULT);
+    }
+
+    @Override
+    public IStatus run(IProgressMonitor monitor) {
+      fBlockerStarted.countDown();
+      try {
+        fReleaseBlocker.await();
+      } catch (InterruptedException e) {
+        return Status.CANCEL_STATUS;
+      }
+
+      return Status.OK_STATUS;
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    fQueue = new JobQueue("Test Queue", 1, Integer.MAX_VALUE, false, 0);
+    fBlockerStarted = new CountDownLatch(1);
+    fReleaseBlocker = new CountDownLatch(1);
+    fRuns = Collections.synchronizedList(new ArrayList<Integer>());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @After
+  public void tearDown() throws Exception {
+    fReleaseBlocker.countDown();
+    fQueue.cancel(true, true);
+  }
+
+  private void block() throws InterruptedException {
+    fQueue.schedule(new BlockingTask());
+    assertTrue(fBlockerStarted.await(10, TimeUnit.SECONDS));
+  }
+
+  private void releaseAndWait(int expectedRuns) throws InterruptedException {
+    fReleaseBlocker.countDown();
+
+    long timeout = System.currentTimeMillis() + 30000;
+    while (fRuns.size() < expectedRuns && System.currentTimeMillis() < timeout)
+      Thread.sleep(20);
+
+    /* Give the Queue a Chance to run more Tasks than expected */
+    Thread.sleep(100);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testIsQueued() throws Exception {
+    block();
+
+    Task task1 = new Task(1, ITask.Priority.DEFAULT);
+    Task task2 = new Task(2, ITask.Priority.SHORT);
+    fQueue.schedule(Arrays.<ITask> asList(task1, task2));
+
+    assertTrue(fQueue.isQueued(task1));
+    assertTrue(fQueue.isQueued(new Task(2, ITask.Priority.DEFAULT)));
+    assertFalse(fQueue.isQueued(new Task(3, ITask.Priority.DEFAULT)));
+    assertFalse(fQueue.isQueued(new BlockingTask())); // Running, not queued
+
+    releaseAndWait(2);
+
+    assertFalse(fQueue.isQueued(task1));
+    assertFalse(fQueue.isQueued(task2));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testNoCoalescing() throws Exception {
+    block();
+
+    fQueue.schedule(new Task(1, ITask.Priority.DEFAULT));
+    fQueue.schedule(new Task(1, ITask.Priority.DEFAULT));
+    fQueue.schedule(new Task(2, ITask.Priority.DEFAULT));
+
+    releaseAndWait(3);
+
+    assertEquals(Arrays.asList(1, 1, 2), fRuns);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testCoalescing() throws Exception {
+    fQueue.setCoalescing(true);
+    block();
+
+    fQueue.schedule(new Task(1, ITask.Priority.DEFAULT));
+    fQueue.schedule(new Task(1, ITask.Priority.DEFAULT));
+    fQueue.schedule(Arrays.<ITask> asList(new Task(2, ITask.Priority.DEFAULT), new Task(1, ITask.Priority.DEFAULT), new Task(2, ITask.Priority.DEFAULT)));
+
+    releaseAndWait(2);
+
+    assertEquals(Arrays.asList(1, 2), fRuns);
+
+    /* Tasks that ran can be queued again */
+    fQueue.schedule(new Task(1, ITask.Priority.DEFAULT));
+
+    long timeout = System.currentTimeMillis() + 30000;
+    while (fRuns.size() < 3 && System.currentTimeMillis() < timeout)
+      Thread.sleep(20);
+
+    assertEquals(Arrays.asList(1, 2, 1), fRuns);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testPriorityOrder() throws Exception {
+    block();
+
+    fQueue.schedule(new Task(1, ITask.Priority.DEFAULT));
+    fQueue.schedule(new Task(2, ITask.Priority.SHORT));
+    fQueue.schedule(new Task(3, ITask.Priority.INTERACTIVE));
+    fQueue.schedule(new Task(4, ITask.Priority.DEFAULT));
+    fQueue.schedule(new Task(5, ITask.Priority.SHORT));
+    fQueue.schedule(new Task(6, null));
+
+    releaseAndWait(6);
+
+    assertEquals(Arrays.asList(3, 2, 5, 1, 4, 6), fRuns);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testCoalescingManyTasks() throws Exception {
+    final int count = 10000;
+    fQueue.setCoalescing(true);
+    block();
+
+    List<ITask> tasks = new ArrayList<ITask>(count);
+    for (int i = 0; i < count; i++)
+      tasks.add(new Task(i, ITask.Priority.DEFAULT));
+
+    /* Each Task is only queued once */
+    fQueue.schedule(tasks);
+    fQueue.schedule(tasks);
+    for (ITask task : tasks)
+      fQueue.schedule(task);
+
+    for (ITask task : tasks)
+      assertTrue(fQueue.isQueued(task));
+    assertFalse(fQueue.isQueued(new Task(count, ITask.Priority.DEFAULT)));
+
+    releaseAndWait(count);
+
+    assertEquals(count, fRuns.size());
+    for (int i = 0; i < count; i++)
+      assertEquals(Integer.valueOf(i), fRuns.get(i));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testCoalescingRaisesPriority() throws Exception {
+    fQueue.setCoalescing(true);
+    block();
+
+    fQueue.schedule(new Task(1, ITask.Priority.DEFAULT));
+    fQueue.schedule(new Task(2, ITask.Priority.DEFAULT));
+    fQueue.schedule(new Task(2, ITask.Priority.INTERACTIVE));
+    fQueue.schedule(new Task(1, ITask.Priority.DEFAULT));
+
+    releaseAndWait(2);
+
+    assertEquals(Arrays.asList(2, 1), fRuns);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testGroupsTakeTurns() throws Exception {
+    block();
+
+    fQueue.schedule(Arrays.<ITask> asList(new GroupedTask(1, "a", ITask.Priority.DEFAULT), new GroupedTask(2, "a", ITask.Priority.DEFAULT), new GroupedTask(3, "a", ITask.Priority.DEFAULT), new GroupedTask(4, "a", ITask.Priority.DEFAULT)));
+    fQueue.schedule(Arrays.<ITask> asList(new GroupedTask(11, "b", ITask.Priority.DEFAULT), new GroupedTask(12, "b", ITask.Priority.DEFAULT)));
+    fQueue.schedule(new GroupedTask(21, "c", ITask.Priority.DEFAULT));
+    fQueue.schedule(new GroupedTask(31, "c", ITask.Priority.INTERACTIVE));
+
+    releaseAndWait(8);
+
+    assertEquals(Arrays.asList(31, 1, 11, 21, 2, 12, 3, 4), fRuns);
+
+    Map<Object, JobQueue.WaitTime> waitTimes = fQueue.getWaitTimes();
+    assertEquals(4, waitTimes.get("a").getTasks());
+    assertEquals(2, waitTimes.get("b").getTasks());
+    assertEquals(2, waitTimes.get("c").getTasks());
+    assertTrue(waitTimes.get("a").getMax() >= waitTimes.get("a").getAverage());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testMaxConcurrentTasksPerGroup() throws Exception {
+    final int tasksPerGroup = 10;
+    fQueue = new JobQueue("Test Queue", 4, Integer.MAX_VALUE, false, 0);
+    fQueue.setMaxConcurrentTasksPerGroup(1);
+
+    final Map<Object, AtomicInteger> running = new ConcurrentHashMap<Object, AtomicInteger>();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(tasksPerGroup * 2);
+
+    List<ITask> tasks = new ArrayList<ITask>();
+    for (int i = 0; i < tasksPerGroup * 2; i++) {
+      final String group = (i % 2 == 0) ? "a" : "b";
+      running.put(group, new AtomicInteger());
+      tasks.add(new GroupedTask(i, group, ITask.Priority.DEFAULT) {
+        @Override
+        public IStatus run(IProgressMonitor monitor) {
+          int concurrent = running.get(group).incrementAndGet();
+          synchronized (maxRunning) {
+            maxRunning.set(Math.max(maxRunning.get(), concurrent));
+          }
+
+          try {
+            Thread.sleep(10);
+          } catch (InterruptedException e) {
+            return Status.CANCEL_STATUS;
+          } finally {
+            running.get(group).decrementAndGet();
+            done.countDown();
+          }
+
+          return Status.OK_STATUS;
+        }
+      });
+    }
+
+    fQueue.schedule(tasks);
+
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    assertEquals(1, maxRunning.get());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void testBackoff() throws Exception {
+    final int backoff = 500;
+    final long[] finished = new long[2];
+    final CountDownLatch done = new CountDownLatch(2);
+
+    long start = System.currentTimeMillis();
+    fQueue.backoff("a", backoff);
+    fQueue.schedule(new GroupedTask(1, "a", ITask.Priority.INTERACTIVE) {
+      @Override
+      public IStatus run(IProgressMonitor monitor) {
+        finished[0] = System.currentTimeMillis();
+        done.countDown();
+        return Status.OK_STATUS;
+      }
+    });
+    fQueue.schedule(new GroupedTask(2, "b", ITask.Priority.DEFAULT) {
+      @Override
+      public IStatus run(IProgressMonitor monitor) {
+        finished[1] = System.currentTimeMillis();
+        done.countDown();
+        return Status.OK_STATUS;
+      }
+    });
+
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    assertTrue(finished[0] - start >= backoff);
+    assertTrue(finished[1] < finished[0]);
+  }
+}
\ No newline at end of file
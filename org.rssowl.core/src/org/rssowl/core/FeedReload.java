@@ -0,0 +1,103 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core;
+
+import org.eclipse.core.runtime.Assert;
+import org.rssowl.core.persist.IBookMark;
+import org.rssowl.core.persist.IConditionalGet;
+import org.rssowl.core.persist.IFeed;
+
+/**
+ * Instances of <code>FeedReload</code> describe a feed that has been reloaded
+ * and is waiting to be handled by
+ * {@link IApplicationService#handleFeedReloads(java.util.List, org.eclipse.core.runtime.IProgressMonitor)}
+ * . The parameters are the same as for
+ * {@link IApplicationService#handleFeedReload(IBookMark, IFeed, IConditionalGet, boolean, boolean, org.eclipse.core.runtime.IProgressMonitor)}
+ * .
+ */
+public final class FeedReload {
+  private final IBookMark fBookMark;
+  private final IFeed fInterpretedFeed;
+  private final IConditionalGet fConditionalGet;
+  private final boolean fDeleteConditionalGet;
+  private final boolean fRunRetention;
+
+  /**
+   * @param bookMark The BookMark that contains the feed that has been reloaded.
+   * @param interpretedFeed The IFeed object that has been supplied by the
+   * interpreter based on its online contents.
+   * @param conditionalGet IConditionalObject associated with the IFeed or
+   * <code>null</code> if there isn't one.
+   * @param deleteConditionalGet if <code>true</code> an existing
+   * IConditionalGet object associated with the IFeed will be deleted.
+   * @param runRetention if <code>true</code> causes the feed to be cleaned up.
+   */
+  public FeedReload(IBookMark bookMark, IFeed interpretedFeed, IConditionalGet conditionalGet, boolean deleteConditionalGet, boolean runRetention) {
+    Assert.isNotNull(bookMark);
+    Assert.isNotNull(interpretedFeed);
+    fBookMark = bookMark;
+    fInterpretedFeed = interpretedFeed;
+    fConditionalGet = conditionalGet;
+    fDeleteConditionalGet = deleteConditionalGet;
+    fRunRetention = runRetention;
+  }
+
+  /**
+   * @return The BookMark that contains the feed that has been reloaded.
+   */
+  public IBookMark getBookMark() {
+    return fBookMark;
+  }
+
+  /**
+   * @return The IFeed object that has been supplied by the interpreter.
+   */
+  public IFeed getInterpretedFeed() {
+    return fInterpretedFeed;
+  }
+
+  /**
+   * @return IConditionalObject associated with the IFeed or <code>null</code>
+   * if there isn't one.
+   */
+  public IConditionalGet getConditionalGet() {
+    return fConditionalGet;
+  }
+
+  /**
+   * @return <code>true</code> if an existing IConditionalGet object associated
+   * with the IFeed should be deleted.
+   */
+  public boolean isDeleteConditionalGet() {
+    return fDeleteConditionalGet;
+  }
+
+  /**
+   * @return <code>true</code> if the feed should be cleaned up.
+   */
+  public boolean isRunRetention() {
+    return fRunRetention;
+  }
+}
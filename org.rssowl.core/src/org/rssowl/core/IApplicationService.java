@@ -29,6 +29,8 @@ import org.rssowl.core.persist.IBookMark;
 import org.rssowl.core.persist.IConditionalGet;
 import org.rssowl.core.persist.IFeed;
 
+import java.util.List;
+
 /**
  * The {@link IApplicationService} interface is providing methods that access
  * the Persistance Layer as required by the Application. It is very important
@@ -62,4 +64,17 @@ public interface IApplicationService {
    * @param monitor a monitor to show progress and react on cancellation.
    */
   void handleFeedReload(IBookMark bookMark, IFeed interpretedFeed, IConditionalGet conditionalGet, boolean deleteConditionalGet, boolean runRetention, IProgressMonitor monitor);
+
+  /**
+   * Handles all the persistence-related operations for a number of feeds that
+   * have been provided by the interpreter in the same way as
+   * {@link #handleFeedReload(IBookMark, IFeed, IConditionalGet, boolean, boolean, IProgressMonitor)}
+   * but saves them in a single transaction and notifies listeners once for all
+   * feeds. If saving the feeds together fails, each feed is saved on its own so
+   * that a failing feed does not prevent the others from being saved.
+   *
+   * @param reloads The list of reloaded feeds to handle.
+   * @param monitor a monitor to show progress and react on cancellation.
+   */
+  void handleFeedReloads(List<FeedReload> reloads, IProgressMonitor monitor);
 }
\ No newline at end of file
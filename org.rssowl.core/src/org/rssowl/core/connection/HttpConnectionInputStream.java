@@ -59,6 +59,8 @@ public class HttpConnectionInputStream extends FilterInputStream implements ICon
   private static final String HEADER_RESPONSE_CONTENT_TYPE = "Content-Type"; //$NON-NLS-1$
   private static final String HEADER_RESPONSE_CONTENT_DISPOSITION = "Content-Disposition"; //$NON-NLS-1$
   private static final String HEADER_RESPONSE_CONTENT_ENCODING = "Content-Encoding"; //$NON-NLS-1$
+  private static final String HEADER_RESPONSE_CONTENT_RANGE = "Content-Range"; //$NON-NLS-1$
+  private static final String HEADER_RESPONSE_ACCEPT_RANGES = "Accept-Ranges"; //$NON-NLS-1$
 
   private final HttpRequestBase fMethod;
   private final CloseableHttpResponse fResponse;
@@ -200,6 +202,13 @@ public class HttpConnectionInputStream extends FilterInputStream implements ICon
     return super.available();
   }
 
+  /**
+   * @return the HTTP status code of the response served by this stream.
+   */
+  public int getStatusCode() {
+    return fResponse.getStatusLine().getStatusCode();
+  }
+
   /**
    * @return the content length of the content served by this stream or -1 if
    * not available.
@@ -253,4 +262,28 @@ public class HttpConnectionInputStream extends FilterInputStream implements ICon
 
     return null;
   }
+
+  /**
+   * @return the content range of a partial content served by this stream or
+   * null if not available.
+   */
+  public String getContentRange() {
+    Header header = fResponse.getFirstHeader(HEADER_RESPONSE_CONTENT_RANGE);
+    if (header != null)
+      return header.getValue();
+
+    return null;
+  }
+
+  /**
+   * @return the range units the server accepts for the content served by this
+   * stream (e.g. "bytes") or null if not available.
+   */
+  public String getAcceptRanges() {
+    Header header = fResponse.getFirstHeader(HEADER_RESPONSE_ACCEPT_RANGES);
+    if (header != null)
+      return header.getValue();
+
+    return null;
+  }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@
 package org.rssowl.core.connection;
 
 import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.rssowl.core.persist.IConditionalGet;
@@ -145,6 +146,24 @@ public interface IConnectionService {
    */
   ConnectionSocketFactory ConnectionSocketFactory();
 
+  /**
+   * Returns the shared HTTP client that is used to load resources over HTTP
+   * and HTTPS. The client keeps connections alive in a pool per route, so
+   * that subsequent requests to the same host can reuse them. Callers must not
+   * close the client.
+   *
+   * @return the shared HTTP client that is used to load resources over HTTP
+   * and HTTPS.
+   */
+  CloseableHttpClient getHttpClient();
+
+  /**
+   * Notify the service that proxy or credential settings have changed. The
+   * shared HTTP client is recreated and pooled connections of the previous
+   * client are closed as soon as they are no longer in use.
+   */
+  void resetHttpClient();
+
   /**
    * Return the Authentication Credentials for the given Feed or NULL if none.
    *
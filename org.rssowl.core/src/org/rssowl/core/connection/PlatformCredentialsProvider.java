@@ -427,6 +427,10 @@ public class PlatformCredentialsProvider implements ICredentialsProvider {
       }
     }
 
+    /* Connections authenticated with previous Credentials must not be reused */
+    if (persist)
+      Owl.getConnectionService().resetHttpClient();
+
     /* Uncache */
     removeUnprotected(link, realm);
   }
@@ -466,6 +470,9 @@ public class PlatformCredentialsProvider implements ICredentialsProvider {
     /* Delete from Cache */
     removeUnprotected(link, realm);
 
+    /* Connections authenticated with previous Credentials must not be reused */
+    Owl.getConnectionService().resetHttpClient();
+
     /* Check if Bundle is Stopped */
     ISecurePreferences securePreferences = getSecurePreferences();
     if (securePreferences == null)
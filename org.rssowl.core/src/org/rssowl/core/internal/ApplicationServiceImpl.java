@@ -24,6 +24,7 @@
 
 package org.rssowl.core.internal;
 
+import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.CorruptIndexException;
 import org.apache.lucene.index.IndexWriter;
@@ -40,24 +41,30 @@ import org.eclipse.core.runtime.InvalidRegistryObjectException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.osgi.util.NLS;
+import org.rssowl.core.FeedReload;
 import org.rssowl.core.IApplicationService;
 import org.rssowl.core.INewsAction;
 import org.rssowl.core.Owl;
 import org.rssowl.core.internal.persist.Description;
+import org.rssowl.core.internal.persist.Feed;
 import org.rssowl.core.internal.persist.MergeResult;
 import org.rssowl.core.internal.persist.News;
 import org.rssowl.core.internal.persist.SortedLongArrayList;
+import org.rssowl.core.internal.persist.dao.EntitiesToBeIndexedDAOImpl;
 import org.rssowl.core.internal.persist.pref.DefaultPreferences;
 import org.rssowl.core.internal.persist.search.Indexer;
 import org.rssowl.core.internal.persist.search.ModelSearchImpl;
 import org.rssowl.core.internal.persist.search.ModelSearchQueries;
 import org.rssowl.core.internal.persist.search.NewsDocument;
+import org.rssowl.core.internal.persist.search.NewsMatcher;
+import org.rssowl.core.internal.persist.search.NewsTerms;
 import org.rssowl.core.internal.persist.search.SearchDocument;
 import org.rssowl.core.internal.persist.service.DB4OIDGenerator;
 import org.rssowl.core.internal.persist.service.DBHelper;
 import org.rssowl.core.internal.persist.service.DBManager;
 import org.rssowl.core.internal.persist.service.DatabaseEvent;
 import org.rssowl.core.internal.persist.service.DatabaseListener;
+import org.rssowl.core.internal.persist.service.EntityIdsByEventType;
 import org.rssowl.core.internal.persist.service.EventManager;
 import org.rssowl.core.internal.persist.service.EventsMap;
 import org.rssowl.core.persist.IAttachment;
@@ -72,16 +79,23 @@ import org.rssowl.core.persist.INews;
 import org.rssowl.core.persist.ISearch;
 import org.rssowl.core.persist.ISearchCondition;
 import org.rssowl.core.persist.ISearchFilter;
+import org.rssowl.core.persist.NewsCounter;
 import org.rssowl.core.persist.dao.OwlDAO;
 import org.rssowl.core.persist.dao.INewsDAO;
 import org.rssowl.core.persist.dao.ISearchFilterDAO;
 import org.rssowl.core.persist.event.NewsEvent;
+import org.rssowl.core.persist.event.SearchConditionAdapter;
+import org.rssowl.core.persist.event.SearchConditionEvent;
+import org.rssowl.core.persist.event.SearchFilterAdapter;
+import org.rssowl.core.persist.event.SearchFilterEvent;
+import org.rssowl.core.persist.event.runnable.EventRunnable;
 import org.rssowl.core.persist.event.runnable.NewsEventRunnable;
 import org.rssowl.core.persist.reference.NewsReference;
 import org.rssowl.core.persist.service.IDGenerator;
 import org.rssowl.core.util.CoreUtils;
 import org.rssowl.core.util.DateUtils;
 import org.rssowl.core.util.LoggingSafeRunnable;
+import org.rssowl.core.util.Pair;
 import org.rssowl.core.util.RetentionStrategy;
 import org.rssowl.core.util.SyncUtils;
 
@@ -99,12 +113,15 @@ import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
@@ -121,6 +138,61 @@ public class ApplicationServiceImpl implements IApplicationService {
   private volatile ReadWriteLock fLock;
   private volatile Lock fWriteLock;
 
+  /* Serializes creation of Labels from synchronized Feeds that reload in parallel */
+  private final Object fSyncLabelsLock = new Object();
+
+  /* Queries of News Filters by Filter ID, compiled to a Matcher if supported */
+  private final Map<Long, Pair<Query, NewsMatcher>> fFilterQueries = new ConcurrentHashMap<Long, Pair<Query, NewsMatcher>>();
+  private final AtomicInteger fFilterQueriesGeneration = new AtomicInteger();
+  private volatile boolean fFilterListenersRegistered;
+
+  /* Analyzer for matching News against Filters, reuses Token Streams per Thread */
+  private final Analyzer fFilterAnalyzer = Indexer.createAnalyzer();
+
+  /* Result of preparing a Feed Reload outside the write lock */
+  private static final class PreparedReload {
+    private final boolean fIsSynced;
+    private final boolean fMarkReadDuplicates;
+
+    /* News expected to be added mapped to the State they are expected to have */
+    private final Map<INews, INews.State> fExpectedStates = new IdentityHashMap<INews, INews.State>();
+
+    /* News expected to be added mapped to the State of an equivalent existing News */
+    private final Map<INews, INews.State> fEquivalentStates = new IdentityHashMap<INews, INews.State>();
+
+    /* Matches of News Filters against the News expected to be added */
+    private List<Pair<ISearchFilter, Set<INews>>> fFilterMatches;
+
+    PreparedReload(boolean isSynced, boolean markReadDuplicates) {
+      fIsSynced = isSynced;
+      fMarkReadDuplicates = markReadDuplicates;
+    }
+
+    boolean isExpected(List<INews> news) {
+      for (INews item : news) {
+        if (fExpectedStates.get(item) != item.getState())
+          return false;
+      }
+
+      return true;
+    }
+  }
+
+  /* Result of merging a Feed Reload that is ready to be saved */
+  private static final class MergedReload {
+    private final MergeResult fMergeResult;
+    private final IBookMark fUpdatedBookMark;
+    private final IConditionalGet fConditionalGet;
+    private final boolean fDeleteConditionalGet;
+
+    MergedReload(MergeResult mergeResult, IBookMark updatedBookMark, IConditionalGet conditionalGet, boolean deleteConditionalGet) {
+      fMergeResult = mergeResult;
+      fUpdatedBookMark = updatedBookMark;
+      fConditionalGet = conditionalGet;
+      fDeleteConditionalGet = deleteConditionalGet;
+    }
+  }
+
   /**
    * Creates an instance of this class.
    */
@@ -167,242 +239,498 @@ public class ApplicationServiceImpl implements IApplicationService {
    */
   @Override
   public final void handleFeedReload(final IBookMark bookMark, IFeed interpretedFeed, IConditionalGet conditionalGet, boolean deleteConditionalGet, boolean runRetention, final IProgressMonitor monitor) {
+
+    /* Prepare the reload outside the write lock to allow for parallel reloads */
+    PreparedReload preparedReload = prepareFeedReload(bookMark, interpretedFeed, monitor);
+    if (preparedReload == null)
+      return;
+
+    /* Merge and save the reloaded Feed while holding the write lock */
     fWriteLock.lock();
-    MergeResult mergeResult = null;
+    MergedReload mergedReload = null;
     try {
+      mergedReload = mergeFeedReload(bookMark, interpretedFeed, preparedReload, conditionalGet, deleteConditionalGet, runRetention, monitor);
+      if (mergedReload == null)
+        return;
 
-      /* Resolve reloaded Feed */
-      IFeed feed = bookMark.getFeedLinkReference().resolve();
+      try {
+        lockNewsObjects(mergedReload.fMergeResult);
+        saveMergedReload(mergedReload);
+        DBHelper.preCommit(fDb);
+        fDb.commit();
+        DBHelper.postCommit();
+      } finally {
+        unlockNewsObjects(mergedReload.fMergeResult);
+      }
+    } catch (Db4oException e) {
+      DBHelper.rollbackAndPE(fDb, e);
+    } finally {
+      fWriteLock.unlock();
+    }
+    DBHelper.cleanUpAndFireEvents();
+  }
 
-      /* Feed could have been deleted meanwhile! */
-      if (feed == null)
-        return;
+  /*
+   * @see org.rssowl.core.IApplicationService#handleFeedReloads(java.util.List,
+   * org.eclipse.core.runtime.IProgressMonitor)
+   */
+  @Override
+  public final void handleFeedReloads(List<FeedReload> reloads, IProgressMonitor monitor) {
+
+    /* Prepare the reloads outside the write lock */
+    List<Pair<FeedReload, PreparedReload>> preparedReloads = new ArrayList<Pair<FeedReload, PreparedReload>>(reloads.size());
+    for (FeedReload reload : reloads) {
 
       /* Return early on cancellation */
       if (monitor.isCanceled() || Owl.isShuttingDown())
         return;
 
-      /* Copy over Properties to reloaded Feed to keep them */
-      Map<String, Serializable> feedProperties = feed.getProperties();
-      if (feedProperties != null) {
-        feedProperties.entrySet();
-        for (Map.Entry<String, Serializable> entry : feedProperties.entrySet())
-          interpretedFeed.setProperty(entry.getKey(), entry.getValue());
-      }
+      PreparedReload preparedReload = prepareFeedReload(reload.getBookMark(), reload.getInterpretedFeed(), monitor);
+      if (preparedReload != null)
+        preparedReloads.add(Pair.create(reload, preparedReload));
+    }
 
-      /* Return early on cancellation */
-      if (monitor.isCanceled() || Owl.isShuttingDown())
-        return;
+    if (preparedReloads.isEmpty())
+      return;
 
-      /* Create labels as necessary from Sync and assign to news */
-      boolean isSynced = SyncUtils.isSynchronized(bookMark);
-      if (isSynced) {
+    /* Merge and save all reloaded Feeds while holding the write lock */
+    List<EventRunnable<?>> eventRunnables = new ArrayList<EventRunnable<?>>();
+    fWriteLock.lock();
+    try {
+      List<MergedReload> mergedReloads = new ArrayList<MergedReload>(preparedReloads.size());
+      for (Pair<FeedReload, PreparedReload> preparedReload : preparedReloads) {
+        FeedReload reload = preparedReload.getFirst();
+        try {
+          MergedReload mergedReload = mergeFeedReload(reload.getBookMark(), reload.getInterpretedFeed(), preparedReload.getSecond(), reload.getConditionalGet(), reload.isDeleteConditionalGet(), reload.isRunRetention(), monitor);
+          if (mergedReload != null)
+            mergedReloads.add(mergedReload);
+        } catch (Db4oException e) {
+          Activator.getDefault().logError(e.getMessage(), e);
+        }
+      }
 
-        /* Determine those Labels the user has explicitly deleted and ignore */
-        String[] labelsToIgnore = Owl.getPreferenceService().getGlobalScope().getStrings(DefaultPreferences.DELETED_LABELS);
-        List<String> labelsToIgnoreList = (labelsToIgnore != null) ? new ArrayList<String>(labelsToIgnore.length) : Collections.<String> emptyList();
-        if (labelsToIgnore != null) {
-          for (String label : labelsToIgnore) {
-            labelsToIgnoreList.add(label);
-          }
+      List<MergedReload> lockedReloads = new ArrayList<MergedReload>(mergedReloads.size());
+      try {
+        for (MergedReload mergedReload : mergedReloads) {
+          lockNewsObjects(mergedReload.fMergeResult);
+          lockedReloads.add(mergedReload);
         }
 
-        /* Collect All Incoming Labels */
-        boolean hasLabels = false;
-        Set<String> incomingLabels = new HashSet<String>();
-        for (INews item : interpretedFeed.getNews()) {
-          Object labelsObj = item.getProperty(SyncUtils.GOOGLE_LABELS);
-          if (labelsObj != null && labelsObj instanceof String[]) {
-            String[] labels = (String[]) labelsObj;
-            for (String label : labels) {
-              if (!labelsToIgnoreList.contains(label))
-                incomingLabels.add(label);
+        /* Save all Feeds in a single Transaction */
+        try {
+          for (MergedReload mergedReload : mergedReloads) {
+            saveMergedReload(mergedReload);
+          }
+          DBHelper.preCommit(fDb);
+          fDb.commit();
+          DBHelper.postCommit();
+        } catch (Db4oException e) {
+          Activator.getDefault().logError(e.getMessage(), e);
+          DBHelper.rollbackAndPE(fDb, e);
+          refreshAfterRollback();
+
+          /* Isolate the failing Feed by saving each Feed on its own */
+          for (MergedReload mergedReload : mergedReloads) {
+            try {
+              saveMergedReload(mergedReload);
+              DBHelper.preCommit(fDb);
+              fDb.commit();
+              DBHelper.postCommit();
+              eventRunnables.addAll(DBHelper.cleanUpEvents());
+            } catch (Db4oException retryException) {
+              Activator.getDefault().logError(retryException.getMessage(), retryException);
+              DBHelper.rollbackAndPE(fDb, retryException);
+              refreshAfterRollback();
             }
-            hasLabels = true;
           }
         }
+      } finally {
+        for (MergedReload mergedReload : lockedReloads) {
+          unlockNewsObjects(mergedReload.fMergeResult);
+        }
+      }
+    } finally {
+      fWriteLock.unlock();
+    }
 
-        /* Determine the New Labels to Create */
-        if (!incomingLabels.isEmpty()) {
+    /* Notify listeners once for all Feeds unless saved on their own */
+    DBHelper.fireEvents(eventRunnables);
+    DBHelper.cleanUpAndFireEvents();
+  }
 
-          /* Existing Labels */
-          Collection<ILabel> existingLabels = OwlDAO.loadAll(ILabel.class);
-          Map<String, ILabel> mapNameToLabel = new HashMap<String, ILabel>();
-          for (ILabel label : existingLabels) {
-            mapNameToLabel.put(label.getName(), label);
-          }
+  /*
+   * Performs all work of a feed reload that does not need to hold the write
+   * lock: copying properties, creating labels from sync, finding the news that
+   * are going to be added, looking up the state of equivalent news and
+   * matching the news filters against the news that are going to be added.
+   * None of these steps changes the reloaded feed, so the merge can still
+   * decide differently if the feed changed meanwhile. Returns null if the
+   * reload should not proceed.
+   */
+  private PreparedReload prepareFeedReload(IBookMark bookMark, IFeed interpretedFeed, final IProgressMonitor monitor) {
 
-          /* New Labels to Create */
-          Set<ILabel> labelsToCreate = new HashSet<ILabel>();
-          for (String incomingLabel : incomingLabels) {
-            if (!mapNameToLabel.containsKey(incomingLabel)) {
-              ILabel newLabel = Owl.getModelFactory().createLabel(null, incomingLabel);
-              newLabel.setColor("0,0,0"); //$NON-NLS-1$
-              newLabel.setOrder(mapNameToLabel.size());
-              mapNameToLabel.put(incomingLabel, newLabel);
+    /* Resolve reloaded Feed */
+    IFeed feed = bookMark.getFeedLinkReference().resolve();
 
-              labelsToCreate.add(newLabel);
-            }
-          }
+    /* Feed could have been deleted meanwhile! */
+    if (feed == null)
+      return null;
 
-          /* Save new Labels */
-          if (!labelsToCreate.isEmpty())
-            OwlDAO.saveAll(labelsToCreate);
-
-          /* Assign Labels to News */
-          for (INews item : interpretedFeed.getNews()) {
-            Object labelsObj = item.getProperty(SyncUtils.GOOGLE_LABELS);
-            if (labelsObj != null && labelsObj instanceof String[]) {
-              String[] labels = (String[]) labelsObj;
-              for (String labelName : labels) {
-                ILabel label = mapNameToLabel.get(labelName);
-                if (label != null)
-                  item.addLabel(label);
-              }
-            }
-            item.removeProperty(SyncUtils.GOOGLE_LABELS);
-          }
-        }
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
 
-        /* Otherwise make sure to clean up properties for Labels */
-        else if (hasLabels) {
-          for (INews item : interpretedFeed.getNews()) {
-            item.removeProperty(SyncUtils.GOOGLE_LABELS);
-          }
-        }
+    /* Copy over Properties to reloaded Feed to keep them */
+    Map<String, Serializable> feedProperties = feed.getProperties();
+    if (feedProperties != null) {
+      for (Map.Entry<String, Serializable> entry : feedProperties.entrySet())
+        interpretedFeed.setProperty(entry.getKey(), entry.getValue());
+    }
 
-        /* Return early on cancellation */
-        if (monitor.isCanceled() || Owl.isShuttingDown())
-          return;
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
+
+    /* Create labels as necessary from Sync and assign to news */
+    boolean isSynced = SyncUtils.isSynchronized(bookMark);
+    if (isSynced) {
+      synchronized (fSyncLabelsLock) {
+        syncLabels(interpretedFeed);
       }
 
-      /* Merge with existing */
-      mergeResult = feed.mergeAndCleanUp(interpretedFeed);
-      final List<INews> newNewsAdded = getNewNewsAdded(feed);
+      /* Return early on cancellation */
+      if (monitor.isCanceled() || Owl.isShuttingDown())
+        return null;
+    }
 
-      /* Now adjust News State based on Sync */
-      if (isSynced) {
-        for (INews item : newNewsAdded) {
+    boolean markReadDuplicates = Owl.getPreferenceService().getGlobalScope().getBoolean(DefaultPreferences.MARK_READ_DUPLICATES);
+    final PreparedReload preparedReload = new PreparedReload(isSynced, markReadDuplicates);
 
-          /* News Marked Read */
-          if (item.getProperty(SyncUtils.GOOGLE_MARKED_READ) != null) {
-            item.setState(INews.State.READ);
-            item.removeProperty(SyncUtils.GOOGLE_MARKED_READ);
-          }
+    /* Find the News that are going to be added */
+    if (!(feed instanceof Feed))
+      return preparedReload;
 
-          /* News Marked Unread */
-          else if (item.getProperty(SyncUtils.GOOGLE_MARKED_UNREAD) != null) {
-            item.setState(INews.State.UNREAD);
-            item.removeProperty(SyncUtils.GOOGLE_MARKED_UNREAD);
-          }
+    final List<INews> newNews = new ArrayList<INews>();
+    for (INews news : ((Feed) feed).getNewsToAdd(interpretedFeed)) {
+      if (news.getState() == INews.State.NEW) {
+        newNews.add(news);
+        preparedReload.fExpectedStates.put(news, getSyncedState(news, isSynced));
+      }
+    }
+
+    if (newNews.isEmpty())
+      return preparedReload;
+
+    /* Lookup state of equivalent news */
+    if (markReadDuplicates) {
+      SafeRunner.run(new LoggingSafeRunnable() {
+        @Override
+        public void run() throws Exception { //See Bug 1216 (NPE in ModelSearchImpl.getCurrentSearcher)
+          preparedReload.fEquivalentStates.putAll(findStateOfEquivalentNews(newNews, monitor));
+        }
+      });
+
+      for (Map.Entry<INews, INews.State> entry : preparedReload.fEquivalentStates.entrySet())
+        preparedReload.fExpectedStates.put(entry.getKey(), entry.getValue());
+    }
+
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
+
+    /* Match News Filters against the News with their expected State */
+    SafeRunner.run(new LoggingSafeRunnable() {
+      @Override
+      public void run() throws Exception {
+        Map<INews, INews.State> actualStates = new IdentityHashMap<INews, INews.State>(newNews.size());
+        for (INews news : newNews) {
+          actualStates.put(news, news.getState());
+          news.setState(preparedReload.fExpectedStates.get(news));
+        }
+
+        try {
+          preparedReload.fFilterMatches = matchNewsFilters(newNews, bookMark.getFeedLinkReference().getLinkAsText(), monitor);
+        } finally {
+          for (INews news : newNews)
+            news.setState(actualStates.get(news));
         }
       }
+    });
 
-      /* Return early on cancellation */
-      if (monitor.isCanceled() || Owl.isShuttingDown())
-        return;
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
+
+    return preparedReload;
+  }
+
+  /*
+   * Merges the reloaded Feed into the existing one and runs retention and news
+   * filters. The caller must hold the write lock and save the returned result.
+   * Returns null if the reload should not proceed.
+   */
+  private MergedReload mergeFeedReload(final IBookMark bookMark, IFeed interpretedFeed, final PreparedReload preparedReload, IConditionalGet conditionalGet, boolean deleteConditionalGet, boolean runRetention, final IProgressMonitor monitor) {
+
+    /* Resolve reloaded Feed */
+    IFeed feed = bookMark.getFeedLinkReference().resolve();
+
+    /* Feed could have been deleted meanwhile! */
+    if (feed == null)
+      return null;
+
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
+
+    /* Merge with existing */
+    MergeResult mergeResult = feed.mergeAndCleanUp(interpretedFeed);
+    final List<INews> newNewsAdded = getNewNewsAdded(feed);
+
+    /* Now adjust News State based on Sync */
+    if (preparedReload.fIsSynced) {
+      for (INews item : newNewsAdded) {
+
+        /* News Marked Read */
+        if (item.getProperty(SyncUtils.GOOGLE_MARKED_READ) != null) {
+          item.setState(INews.State.READ);
+          item.removeProperty(SyncUtils.GOOGLE_MARKED_READ);
+        }
 
-      /* Update Date of last added news in Bookmark */
-      if (!newNewsAdded.isEmpty()) {
-        Date mostRecentDate = DateUtils.getRecentDate(newNewsAdded);
-        Date previousMostRecentDate = bookMark.getMostRecentNewsDate();
-        if (previousMostRecentDate == null || mostRecentDate.after(previousMostRecentDate)) {
-          bookMark.setMostRecentNewsDate(mostRecentDate);
-          fDb.set(bookMark);
+        /* News Marked Unread */
+        else if (item.getProperty(SyncUtils.GOOGLE_MARKED_UNREAD) != null) {
+          item.setState(INews.State.UNREAD);
+          item.removeProperty(SyncUtils.GOOGLE_MARKED_UNREAD);
         }
       }
+    }
 
-      /* Return early on cancellation */
-      if (monitor.isCanceled() || Owl.isShuttingDown())
-        return;
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
+
+    /* Update Date of last added news in Bookmark */
+    boolean bookMarkUpdated = false;
+    if (!newNewsAdded.isEmpty()) {
+      Date mostRecentDate = DateUtils.getRecentDate(newNewsAdded);
+      Date previousMostRecentDate = bookMark.getMostRecentNewsDate();
+      if (previousMostRecentDate == null || mostRecentDate.after(previousMostRecentDate)) {
+        bookMark.setMostRecentNewsDate(mostRecentDate);
+        bookMarkUpdated = true;
+      }
+    }
 
-      /* Update state of added news if equivalent news already exists */
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
+
+    /* Update state of added news if equivalent news already exists */
+    if (preparedReload.fMarkReadDuplicates) {
+      final List<INews> unpreparedNews = new ArrayList<INews>();
+      for (INews item : newNewsAdded) {
+        INews.State equivalentState = preparedReload.fEquivalentStates.get(item);
+        if (equivalentState != null)
+          item.setState(equivalentState);
+        else if (!preparedReload.fExpectedStates.containsKey(item))
+          unpreparedNews.add(item);
+      }
+
+      /* News that were not expected while preparing are looked up now */
       SafeRunner.run(new LoggingSafeRunnable() {
         @Override
         public void run() throws Exception { //See Bug 1216 (NPE in ModelSearchImpl.getCurrentSearcher)
-          if (Owl.getPreferenceService().getGlobalScope().getBoolean(DefaultPreferences.MARK_READ_DUPLICATES))
-            updateStateOfUnsavedNewNews(newNewsAdded, monitor);
+          updateStateOfUnsavedNewNews(unpreparedNews, monitor);
         }
       });
+    }
 
-      /* Return early on cancellation */
-      if (monitor.isCanceled() || Owl.isShuttingDown())
-        return;
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
+
+    /* Retention Policy */
+    final List<INews> deletedNews = runRetention ? RetentionStrategy.process(bookMark, feed) : Collections.<INews>emptyList();
+    for (INews news : deletedNews)
+      mergeResult.addUpdatedObject(news);
+
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
 
-      /* Retention Policy */
-      final List<INews> deletedNews = runRetention ? RetentionStrategy.process(bookMark, feed) : Collections.<INews>emptyList();
-      for (INews news : deletedNews)
-        mergeResult.addUpdatedObject(news);
+    /* Set ID to News and handle Description entity (reserving all IDs at once) */
+    IDGenerator generator = Owl.getPersistenceService().getIDGenerator();
+    long nextId = -1;
+    if (generator instanceof DB4OIDGenerator && !newNewsAdded.isEmpty())
+      nextId = ((DB4OIDGenerator) generator).reserve(newNewsAdded.size(), false);
+
+    for (INews news : newNewsAdded) {
 
       /* Return early on cancellation */
       if (monitor.isCanceled() || Owl.isShuttingDown())
-        return;
+        return null;
 
-      /* Set ID to News and handle Description entity */
-      IDGenerator generator = Owl.getPersistenceService().getIDGenerator();
-      for (INews news : newNewsAdded) {
+      long id;
+      if (nextId != -1)
+        id = nextId++;
+      else
+        id = generator.getNext();
 
-        /* Return early on cancellation */
-        if (monitor.isCanceled() || Owl.isShuttingDown())
-          return;
+      news.setId(id);
 
-        long id;
-        if (generator instanceof DB4OIDGenerator)
-          id = ((DB4OIDGenerator) generator).getNext(false);
-        else
-          id = generator.getNext();
+      String description = ((News) news).getTransientDescription();
+      if (description != null) {
+        mergeResult.addUpdatedObject(new Description(news, description));
+      }
+    }
 
-        news.setId(id);
+    /* Return early on cancellation */
+    if (monitor.isCanceled() || Owl.isShuttingDown())
+      return null;
 
-        String description = ((News) news).getTransientDescription();
-        if (description != null) {
-          mergeResult.addUpdatedObject(new Description(news, description));
+    /* Run News Filters (reuse prepared matches if the news are as expected) */
+    final List<Pair<ISearchFilter, Set<INews>>> filterMatches = preparedReload.fFilterMatches;
+    final AtomicBoolean someNewsFiltered = new AtomicBoolean(false);
+    SafeRunner.run(new LoggingSafeRunnable() {
+      @Override
+      public void run() throws Exception {
+        newNewsAdded.removeAll(deletedNews);
+        if (!newNewsAdded.isEmpty()) {
+          boolean result;
+          if (filterMatches != null && preparedReload.isExpected(newNewsAdded))
+            result = applyNewsFilters(filterMatches, newNewsAdded, monitor);
+          else
+            result = runNewsFilters(newNewsAdded, bookMark.getFeedLinkReference().getLinkAsText(), monitor);
+          someNewsFiltered.set(result);
         }
       }
+    });
 
-      /* Return early on cancellation */
-      if (monitor.isCanceled() || Owl.isShuttingDown())
-        return;
+    /* Return early on cancellation and if no filter was running */
+    if ((monitor.isCanceled() || Owl.isShuttingDown()) && !someNewsFiltered.get())
+      return null;
 
-      /* Run News Filters */
-      final AtomicBoolean someNewsFiltered = new AtomicBoolean(false);
-      SafeRunner.run(new LoggingSafeRunnable() {
-        @Override
-        public void run() throws Exception {
-          newNewsAdded.removeAll(deletedNews);
-          if (!newNewsAdded.isEmpty()) {
-            boolean result = runNewsFilters(newNewsAdded, bookMark.getFeedLinkReference().getLinkAsText(), monitor);
-            someNewsFiltered.set(result);
-          }
+    return new MergedReload(mergeResult, bookMarkUpdated ? bookMark : null, conditionalGet, deleteConditionalGet);
+  }
+
+  private void saveMergedReload(MergedReload mergedReload) {
+
+    /* Update Date of last added news in Bookmark */
+    if (mergedReload.fUpdatedBookMark != null)
+      fDb.set(mergedReload.fUpdatedBookMark);
+
+    saveFeed(mergedReload.fMergeResult);
+
+    /* Update Conditional GET */
+    if (mergedReload.fConditionalGet != null) {
+      if (mergedReload.fDeleteConditionalGet)
+        fDb.delete(mergedReload.fConditionalGet);
+      else
+        fDb.ext().set(mergedReload.fConditionalGet, 1);
+    }
+  }
+
+  /*
+   * A rollback does not revert the objects that preCommit() has updated in
+   * memory, so they are reloaded from the database.
+   */
+  private void refreshAfterRollback() {
+    NewsCounter newsCounter = Owl.getPersistenceService().getDAOService().getNewsCounterDAO().load();
+    if (newsCounter != null)
+      fDb.ext().refresh(newsCounter, Integer.MAX_VALUE);
+
+    EntitiesToBeIndexedDAOImpl entitiesToBeIndexedDAO = DBHelper.getEntitiesToBeIndexedDAO();
+    if (entitiesToBeIndexedDAO != null) {
+      EntityIdsByEventType entitiesToBeIndexed = entitiesToBeIndexedDAO.load();
+      if (entitiesToBeIndexed != null)
+        fDb.ext().refresh(entitiesToBeIndexed, Integer.MAX_VALUE);
+    }
+  }
+
+  private void syncLabels(IFeed interpretedFeed) {
+
+    /* Determine those Labels the user has explicitly deleted and ignore */
+    String[] labelsToIgnore = Owl.getPreferenceService().getGlobalScope().getStrings(DefaultPreferences.DELETED_LABELS);
+    List<String> labelsToIgnoreList = (labelsToIgnore != null) ? new ArrayList<String>(labelsToIgnore.length) : Collections.<String> emptyList();
+    if (labelsToIgnore != null) {
+      for (String label : labelsToIgnore) {
+        labelsToIgnoreList.add(label);
+      }
+    }
+
+    /* Collect All Incoming Labels */
+    boolean hasLabels = false;
+    Set<String> incomingLabels = new HashSet<String>();
+    for (INews item : interpretedFeed.getNews()) {
+      Object labelsObj = item.getProperty(SyncUtils.GOOGLE_LABELS);
+      if (labelsObj != null && labelsObj instanceof String[]) {
+        String[] labels = (String[]) labelsObj;
+        for (String label : labels) {
+          if (!labelsToIgnoreList.contains(label))
+            incomingLabels.add(label);
         }
-      });
+        hasLabels = true;
+      }
+    }
 
-      /* Return early on cancellation and if no filter was running */
-      if ((monitor.isCanceled() || Owl.isShuttingDown()) && !someNewsFiltered.get())
-        return;
+    /* Determine the New Labels to Create */
+    if (!incomingLabels.isEmpty()) {
 
-      try {
-        lockNewsObjects(mergeResult);
-        saveFeed(mergeResult);
+      /* Existing Labels */
+      Collection<ILabel> existingLabels = OwlDAO.loadAll(ILabel.class);
+      Map<String, ILabel> mapNameToLabel = new HashMap<String, ILabel>();
+      for (ILabel label : existingLabels) {
+        mapNameToLabel.put(label.getName(), label);
+      }
 
-        /* Update Conditional GET */
-        if (conditionalGet != null) {
-          if (deleteConditionalGet)
-            fDb.delete(conditionalGet);
-          else
-            fDb.ext().set(conditionalGet, 1);
+      /* New Labels to Create */
+      Set<ILabel> labelsToCreate = new HashSet<ILabel>();
+      for (String incomingLabel : incomingLabels) {
+        if (!mapNameToLabel.containsKey(incomingLabel)) {
+          ILabel newLabel = Owl.getModelFactory().createLabel(null, incomingLabel);
+          newLabel.setColor("0,0,0"); //$NON-NLS-1$
+          newLabel.setOrder(mapNameToLabel.size());
+          mapNameToLabel.put(incomingLabel, newLabel);
+
+          labelsToCreate.add(newLabel);
         }
-        DBHelper.preCommit(fDb);
-        fDb.commit();
-      } finally {
-        unlockNewsObjects(mergeResult);
       }
-    } catch (Db4oException e) {
-      DBHelper.rollbackAndPE(fDb, e);
-    } finally {
-      fWriteLock.unlock();
+
+      /* Save new Labels */
+      if (!labelsToCreate.isEmpty())
+        OwlDAO.saveAll(labelsToCreate);
+
+      /* Assign Labels to News */
+      for (INews item : interpretedFeed.getNews()) {
+        Object labelsObj = item.getProperty(SyncUtils.GOOGLE_LABELS);
+        if (labelsObj != null && labelsObj instanceof String[]) {
+          String[] labels = (String[]) labelsObj;
+          for (String labelName : labels) {
+            ILabel label = mapNameToLabel.get(labelName);
+            if (label != null)
+              item.addLabel(label);
+          }
+        }
+        item.removeProperty(SyncUtils.GOOGLE_LABELS);
+      }
     }
-    DBHelper.cleanUpAndFireEvents();
+
+    /* Otherwise make sure to clean up properties for Labels */
+    else if (hasLabels) {
+      for (INews item : interpretedFeed.getNews()) {
+        item.removeProperty(SyncUtils.GOOGLE_LABELS);
+      }
+    }
+  }
+
+  private INews.State getSyncedState(INews news, boolean isSynced) {
+    if (isSynced) {
+      if (news.getProperty(SyncUtils.GOOGLE_MARKED_READ) != null)
+        return INews.State.READ;
+
+      if (news.getProperty(SyncUtils.GOOGLE_MARKED_UNREAD) != null)
+        return INews.State.UNREAD;
+    }
+
+    return news.getState();
   }
 
   private Set<ISearchFilter> loadEnabledFilters(String feedLink) {
@@ -448,83 +776,95 @@ public class ApplicationServiceImpl implements IApplicationService {
     return firstFilter.getSearch() != null;
   }
 
-  private boolean runNewsFilters(final List<INews> news, String feedLink, final IProgressMonitor monitor) throws Exception {
+  private boolean runNewsFilters(List<INews> news, String feedLink, IProgressMonitor monitor) throws Exception {
+    List<Pair<ISearchFilter, Set<INews>>> filterMatches = matchNewsFilters(news, feedLink, monitor);
+
+    /* Return early on cancellation */
+    if (filterMatches == null)
+      return false;
+
+    return applyNewsFilters(filterMatches, news, monitor);
+  }
+
+  /*
+   * Returns the enabled filters scoped to the given feed in the order they
+   * apply, each paired with the news that match its search or with null if the
+   * filter matches all news. Returns null on cancellation.
+   */
+  private List<Pair<ISearchFilter, Set<INews>>> matchNewsFilters(final List<INews> news, String feedLink, final IProgressMonitor monitor) throws Exception {
 
     /* Load Enabled Filters that are scoped to given Feed */
     Set<ISearchFilter> enabledFilters = loadEnabledFilters(feedLink);
 
     /* Nothing to do */
     if (enabledFilters.isEmpty())
-      return false;
+      return Collections.emptyList();
 
     /* Return early on cancellation */
     if (monitor.isCanceled() || Owl.isShuttingDown())
-      return false;
+      return null;
+
+    /* News are analyzed once and matched against all Filters that support it */
+    boolean indexDescription = needToIndex(enabledFilters) && needToIndexDescription(enabledFilters);
+    NewsTerms[] newsTerms = null;
 
-    /* Need to index News and perform Searches */
+    /* Need to index News for Filters that can not be matched otherwise */
     RAMDirectory directory = null;
     final IndexSearcher[] searcher = new IndexSearcher[1];
-    if (needToIndex(enabledFilters)) {
-      boolean indexDescription = needToIndexDescription(enabledFilters);
-      directory = new RAMDirectory();
-      directory.setLockFactory(NoLockFactory.getNoLockFactory());
 
-      /* Index News */
-      try {
-        IndexWriter indexWriter = new IndexWriter(directory, Indexer.createAnalyzer());
-        for (int i = 0; i < news.size(); i++) {
+    /* Iterate over Filters */
+    List<Pair<ISearchFilter, Set<INews>>> filterMatches = new ArrayList<Pair<ISearchFilter, Set<INews>>>(enabledFilters.size());
+    try {
+      for (ISearchFilter filter : enabledFilters) {
 
-          /* Return early on cancellation */
-          if (monitor.isCanceled() || Owl.isShuttingDown())
-            return false;
+        /* No Search Required */
+        if (filter.getSearch() == null) {
+          filterMatches.add(Pair.<ISearchFilter, Set<INews>> create(filter, null));
 
-          NewsDocument document = new NewsDocument(news.get(i));
-          document.addFields(indexDescription);
-          document.getDocument().getField(SearchDocument.ENTITY_ID_TEXT).setValue(String.valueOf(i));
-          indexWriter.addDocument(document.getDocument());
+          /* Done - we only support 1 filter per News */
+          break;
         }
-        indexWriter.close();
 
-        searcher[0] = new IndexSearcher(directory);
-      } catch (Exception e) {
-        directory.close();
-        throw e;
-      }
-    }
+        /* Return early on cancellation */
+        if (monitor.isCanceled() || Owl.isShuttingDown())
+          return null;
 
-    /* Remember the news already filtered */
-    List<INews> filteredNews = new ArrayList<INews>(news.size());
-    boolean filterMatchedAll = false;
+        final Set<INews> matchingNews = Collections.newSetFromMap(new IdentityHashMap<INews, Boolean>());
+        Pair<Query, NewsMatcher> filterQuery = getFilterQuery(filter);
 
-    /* Iterate over Filters */
-    for (ISearchFilter filter : enabledFilters) {
+        /* Match News directly */
+        NewsMatcher matcher = filterQuery.getSecond();
+        if (matcher != null) {
+          if (newsTerms == null)
+            newsTerms = new NewsTerms[news.size()];
 
-      /* No Search Required */
-      if (filter.getSearch() == null) {
-        filterMatchedAll = true;
+          for (int i = 0; i < news.size(); i++) {
 
-        List<INews> remainingNews = new ArrayList<INews>(news);
-        remainingNews.removeAll(filteredNews);
-        if (!remainingNews.isEmpty())
-          applyFilter(filter, remainingNews);
+            /* Return early on cancellation */
+            if (monitor.isCanceled() || Owl.isShuttingDown())
+              return null;
 
-        /* Done - we only support 1 filter per News */
-        break;
-      }
+            if (newsTerms[i] == null)
+              newsTerms[i] = new NewsTerms(news.get(i), indexDescription, fFilterAnalyzer);
 
-      /* Search Required */
-      else if (directory != null && searcher[0] != null) {
+            if (matcher.matches(newsTerms[i]))
+              matchingNews.add(news.get(i));
+          }
+        }
 
-        /* Return early if cancelled and nothing filtered yet */
-        if ((monitor.isCanceled() || Owl.isShuttingDown()) && filteredNews.isEmpty())
-          return false;
+        /* Perform Query against the indexed News */
+        else {
+          if (directory == null) {
+            directory = indexNews(news, indexDescription, monitor);
 
-        try {
-          final List<INews> matchingNews = new ArrayList<INews>();
+            /* Return early on cancellation */
+            if (directory == null)
+              return null;
+
+            searcher[0] = new IndexSearcher(directory);
+          }
 
-          /* Perform Query */
-          Query query = ModelSearchQueries.createQuery(filter.getSearch());
-          searcher[0].search(query, new HitCollector() {
+          searcher[0].search(filterQuery.getFirst(), new HitCollector() {
             @Override
             public void collect(int doc, float score) {
               try {
@@ -538,23 +878,186 @@ public class ApplicationServiceImpl implements IApplicationService {
               }
             }
           });
-
-          /* Apply Filter */
-          matchingNews.removeAll(filteredNews);
-          if (!matchingNews.isEmpty()) {
-            applyFilter(filter, matchingNews);
-            filteredNews.addAll(matchingNews);
-          }
-        } catch (IOException e) {
-          directory.close();
-          throw e;
         }
+
+        filterMatches.add(Pair.create(filter, matchingNews));
+      }
+    } finally {
+
+      /* Free RAMDirectory if it was built */
+      if (directory != null)
+        directory.close();
+    }
+
+    return filterMatches;
+  }
+
+  /*
+   * Indexes the given News into a new RAMDirectory where the ID of each
+   * document is the index of its News. Returns null on cancellation.
+   */
+  private RAMDirectory indexNews(List<INews> news, boolean indexDescription, IProgressMonitor monitor) throws Exception {
+    RAMDirectory directory = new RAMDirectory();
+    directory.setLockFactory(NoLockFactory.getNoLockFactory());
+
+    boolean success = false;
+    try {
+      IndexWriter indexWriter = new IndexWriter(directory, fFilterAnalyzer);
+      for (int i = 0; i < news.size(); i++) {
+
+        /* Return early on cancellation */
+        if (monitor.isCanceled() || Owl.isShuttingDown())
+          return null;
+
+        NewsDocument document = new NewsDocument(news.get(i));
+        document.addFields(indexDescription);
+        document.getDocument().getField(SearchDocument.ENTITY_ID_TEXT).setValue(String.valueOf(i));
+        indexWriter.addDocument(document.getDocument());
       }
+      indexWriter.close();
+      success = true;
+    } finally {
+      if (!success)
+        directory.close();
+    }
+
+    return directory;
+  }
+
+  /*
+   * Returns the Query of the given Filter and the Matcher compiled from it, or
+   * null as Matcher if the Query needs to run against an index. Queries that
+   * only depend on the Filter are cached until the Filter or any search
+   * condition changes.
+   */
+  private Pair<Query, NewsMatcher> getFilterQuery(ISearchFilter filter) throws IOException {
+    Long id = filter.getId();
+    boolean cache = id != null && !isDynamic(filter.getSearch());
+    int generation = 0;
+    if (cache) {
+      registerFilterListeners();
+
+      Pair<Query, NewsMatcher> filterQuery = fFilterQueries.get(id);
+      if (filterQuery != null)
+        return filterQuery;
+
+      generation = fFilterQueriesGeneration.get();
+    }
+
+    Query query = ModelSearchQueries.createQuery(filter.getSearch());
+    Pair<Query, NewsMatcher> filterQuery = Pair.create(query, NewsMatcher.compile(query));
+
+    /* Do not cache if the Filters changed meanwhile */
+    if (cache && generation == fFilterQueriesGeneration.get())
+      fFilterQueries.put(id, filterQuery);
+
+    return filterQuery;
+  }
+
+  /* Queries of these Conditions depend on the current Time or the Folders */
+  private boolean isDynamic(ISearch search) {
+    for (ISearchCondition condition : search.getSearchConditions()) {
+      int fieldId = condition.getField().getId();
+      if (fieldId == INews.AGE_IN_DAYS || fieldId == INews.AGE_IN_MINUTES || fieldId == INews.LOCATION)
+        return true;
+    }
+
+    return false;
+  }
+
+  private void registerFilterListeners() {
+    if (fFilterListenersRegistered)
+      return;
+
+    synchronized (fFilterQueries) {
+      if (fFilterListenersRegistered)
+        return;
+
+      OwlDAO.addEntityListener(ISearchFilter.class, new SearchFilterAdapter() {
+        @Override
+        public void entitiesUpdated(Set<SearchFilterEvent> events) {
+          removeFilterQueries(events);
+        }
+
+        @Override
+        public void entitiesDeleted(Set<SearchFilterEvent> events) {
+          removeFilterQueries(events);
+        }
+      });
+
+      OwlDAO.addEntityListener(ISearchCondition.class, new SearchConditionAdapter() {
+        @Override
+        public void entitiesAdded(Set<SearchConditionEvent> events) {
+          clearFilterQueries();
+        }
+
+        @Override
+        public void entitiesUpdated(Set<SearchConditionEvent> events) {
+          clearFilterQueries();
+        }
+
+        @Override
+        public void entitiesDeleted(Set<SearchConditionEvent> events) {
+          clearFilterQueries();
+        }
+      });
+
+      fFilterListenersRegistered = true;
     }
+  }
+
+  private void removeFilterQueries(Set<SearchFilterEvent> events) {
+    fFilterQueriesGeneration.incrementAndGet();
+    for (SearchFilterEvent event : events) {
+      fFilterQueries.remove(event.getEntity().getId());
+    }
+  }
+
+  private void clearFilterQueries() {
+    fFilterQueriesGeneration.incrementAndGet();
+    fFilterQueries.clear();
+  }
+
+  private boolean applyNewsFilters(List<Pair<ISearchFilter, Set<INews>>> filterMatches, List<INews> news, IProgressMonitor monitor) {
+
+    /* Remember the news already filtered */
+    List<INews> filteredNews = new ArrayList<INews>(news.size());
+    boolean filterMatchedAll = false;
+
+    /* Iterate over Filters */
+    for (Pair<ISearchFilter, Set<INews>> filterMatch : filterMatches) {
+      ISearchFilter filter = filterMatch.getFirst();
+
+      /* Filter matches all News */
+      if (filterMatch.getSecond() == null) {
+        filterMatchedAll = true;
+
+        List<INews> remainingNews = new ArrayList<INews>(news);
+        remainingNews.removeAll(filteredNews);
+        if (!remainingNews.isEmpty())
+          applyFilter(filter, remainingNews);
+
+        /* Done - we only support 1 filter per News */
+        break;
+      }
 
-    /* Free RAMDirectory if it was built */
-    if (directory != null)
-      directory.close();
+      /* Return early if cancelled and nothing filtered yet */
+      if ((monitor.isCanceled() || Owl.isShuttingDown()) && filteredNews.isEmpty())
+        return false;
+
+      /* Apply Filter (keep the order of the given News) */
+      List<INews> matchingNews = new ArrayList<INews>();
+      for (INews item : news) {
+        if (filterMatch.getSecond().contains(item))
+          matchingNews.add(item);
+      }
+
+      matchingNews.removeAll(filteredNews);
+      if (!matchingNews.isEmpty()) {
+        applyFilter(filter, matchingNews);
+        filteredNews.addAll(matchingNews);
+      }
+    }
 
     return filterMatchedAll || !filteredNews.isEmpty();
   }
@@ -630,8 +1133,15 @@ public class ApplicationServiceImpl implements IApplicationService {
   }
 
   private void updateStateOfUnsavedNewNews(List<INews> news, IProgressMonitor monitor) {
+    Map<INews, INews.State> equivalentStates = findStateOfEquivalentNews(news, monitor);
+    for (Map.Entry<INews, INews.State> entry : equivalentStates.entrySet())
+      entry.getKey().setState(entry.getValue());
+  }
+
+  private Map<INews, INews.State> findStateOfEquivalentNews(List<INews> news, IProgressMonitor monitor) {
+    Map<INews, INews.State> equivalentStates = new IdentityHashMap<INews, INews.State>();
     if (news.isEmpty())
-      return;
+      return equivalentStates;
 
     /* Find Links and GUIDs */
     List<URI> links = new ArrayList<URI>();
@@ -647,7 +1157,7 @@ public class ApplicationServiceImpl implements IApplicationService {
     }
 
     if (links.isEmpty() && guids.isEmpty())
-      return;
+      return equivalentStates;
 
     /* Search existing News by Links and GUIDs */
     ModelSearchImpl modelSearch = (ModelSearchImpl) Owl.getPersistenceService().getModelSearch();
@@ -657,7 +1167,7 @@ public class ApplicationServiceImpl implements IApplicationService {
 
       /* Return early on cancellation */
       if (monitor.isCanceled() || Owl.isShuttingDown())
-        return;
+        break;
 
       /* Lookup equivalent news via GUID */
       List<NewsReference> equivalentNewsRefs = guidToNewsRefs.get(item.getGuid());
@@ -665,7 +1175,7 @@ public class ApplicationServiceImpl implements IApplicationService {
         NewsReference newsRef = equivalentNewsRefs.get(0);
         INews resolvedNews = newsRef.resolve();
         if (resolvedNews != null && resolvedNews.isVisible())
-          item.setState(resolvedNews.getState());
+          equivalentStates.put(item, resolvedNews.getState());
         else {
           logWarning(NLS.bind(Messages.ApplicationServiceImpl_ERROR_STALE_LUCENE_INDEX, newsRef.getId()));
           CoreUtils.reportIndexIssue();
@@ -679,7 +1189,7 @@ public class ApplicationServiceImpl implements IApplicationService {
           NewsReference newsRef = equivalentNewsRefs.get(0);
           INews resolvedNews = newsRef.resolve();
           if (resolvedNews != null && resolvedNews.isVisible())
-            item.setState(resolvedNews.getState());
+            equivalentStates.put(item, resolvedNews.getState());
           else {
             logWarning(NLS.bind(Messages.ApplicationServiceImpl_ERROR_STALE_LUCENE_INDEX, newsRef.getId()));
             CoreUtils.reportIndexIssue();
@@ -687,6 +1197,8 @@ public class ApplicationServiceImpl implements IApplicationService {
         }
       }
     }
+
+    return equivalentStates;
   }
 
   private void logWarning(String message) {
@@ -703,8 +1215,12 @@ public class ApplicationServiceImpl implements IApplicationService {
         EventManager.getInstance().addItemBeingDeleted(((INews) o).getFeedReference());
       else if (o instanceof IAttachment)
         EventManager.getInstance().addItemBeingDeleted(((IAttachment) o).getNews());
-      else if (o instanceof Description)
-        descriptionUpdatedIds.add(((Description) o).getNews().getId());
+      else if (o instanceof Description) {
+        long newsId = ((Description) o).getNewsId();
+        descriptionUpdatedIds.add(newsId);
+        DBHelper.getDescriptionDAO().saveValue(newsId, null);
+        continue;
+      }
 
       fDb.delete(o);
     }
@@ -714,12 +1230,12 @@ public class ApplicationServiceImpl implements IApplicationService {
     for (Object o : mergeResult.getUpdatedObjects()) {
       if (o instanceof INews)
         DBHelper.saveUpdatedNews(fDb, (INews) o);
-      else {
-        if (o instanceof Description)
-          descriptionUpdatedIds.add(((Description) o).getNews().getId());
-
+      else if (o instanceof Description) {
+        Description description = (Description) o;
+        descriptionUpdatedIds.add(description.getNewsId());
+        DBHelper.getDescriptionDAO().saveValue(description.getNewsId(), description.getValue());
+      } else
         otherObjects.add(o);
-      }
     }
 
     for (Object o : otherObjects) {
@@ -740,7 +1256,7 @@ public class ApplicationServiceImpl implements IApplicationService {
       long newsId = descriptionUpdatedIds.get(i);
       INews news = newsDao.load(newsId);
       INews oldNews = DBHelper.peekPersistedNews(fDb, news);
-      EventsMap.getInstance().putUpdateEvent(new NewsEvent(oldNews, news, false));
+      EventsMap.getInstance().putUpdateEvent(new NewsEvent(oldNews, news, false, true));
     }
   }
 }
\ No newline at end of file
@@ -24,7 +24,16 @@
 
 package org.rssowl.core.internal.connection;
 
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.eclipse.core.net.proxy.IProxyChangeEvent;
+import org.eclipse.core.net.proxy.IProxyChangeListener;
+import org.eclipse.core.net.proxy.IProxyService;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionRegistry;
@@ -53,14 +62,21 @@ import org.rssowl.core.persist.event.FeedAdapter;
 import org.rssowl.core.persist.event.FeedEvent;
 import org.rssowl.core.persist.event.FeedListener;
 import org.rssowl.core.util.ExtensionUtils;
+import org.rssowl.core.util.Pair;
 import org.rssowl.core.util.StringUtils;
 import org.rssowl.core.util.Triple;
+import org.rssowl.core.util.URIUtils;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The ConnectionManager is the main class of the connection plugin. It is
@@ -79,10 +95,35 @@ public class ConnectionServiceImpl implements IConnectionService {
   /* Extension Point: SSL Handler */
   private static final String SSL_HANDLER_EXTENSION_POINT = "org.rssowl.core.SSLHandler"; //$NON-NLS-1$
 
+  /* Default Max. number of pooled HTTP connections in total */
+  private static final int DEFAULT_MAX_CONNECTIONS = 40;
+
+  /* System Property to override default Max. number of pooled HTTP connections in total */
+  private static final String MAX_CONNECTIONS_PROPERTY = "maxConnections"; //$NON-NLS-1$
+
+  /* Default Max. number of pooled HTTP connections per Host */
+  private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 6;
+
+  /* System Property to override default Max. number of pooled HTTP connections per Host */
+  private static final String MAX_CONNECTIONS_PER_HOST_PROPERTY = "maxConnectionsPerHost"; //$NON-NLS-1$
+
+  /* Default Time in MS after which idle HTTP connections are closed */
+  private static final int DEFAULT_CON_IDLE_TIMEOUT = 60000;
+
+  /* System Property to override default Time in MS after which idle HTTP connections are closed */
+  private static final String CON_IDLE_TIMEOUT_PROPERTY = "conIdleTimeout"; //$NON-NLS-1$
+
+  /* Time in MS after which an idle HTTP connection is validated before being reused */
+  private static final int VALIDATE_AFTER_INACTIVITY = 2000;
+
   private final Map<String, IProtocolHandler> fProtocolHandler;
   private final Map<String, ICredentialsProvider> fCredentialsProvider;
   private final ConnectionSocketFactory fSecureProtocolSocketFactory;
   private final FeedListener fFeedListener;
+  private final IProxyChangeListener fProxyChangeListener;
+  private final Object fHttpClientLock = new Object();
+  private final List<Pair<CloseableHttpClient, PoolingHttpClientConnectionManager>> fRetiredHttpClients = new ArrayList<Pair<CloseableHttpClient, PoolingHttpClientConnectionManager>>();
+  private Pair<CloseableHttpClient, PoolingHttpClientConnectionManager> fHttpClient;
 
   /** Default Constructor */
   public ConnectionServiceImpl() {
@@ -91,6 +132,7 @@ public class ConnectionServiceImpl implements IConnectionService {
 
     /* Init */
     fFeedListener = createFeedListener();
+    fProxyChangeListener = createProxyChangeListener();
     startup();
     fSecureProtocolSocketFactory = loadSSLHandler();
   }
@@ -131,9 +173,23 @@ public class ConnectionServiceImpl implements IConnectionService {
     };
   }
 
+  private IProxyChangeListener createProxyChangeListener() {
+    return new IProxyChangeListener() {
+      @Override
+      public void proxyInfoChanged(IProxyChangeEvent event) {
+        resetHttpClient();
+      }
+    };
+  }
+
   private void registerListeners() {
     /* We register listeners as part of initialisation, we must use InternalOwl */
     InternalOwl.getInstance().getPersistenceService().getDAOService().getFeedDAO().addEntityListener(fFeedListener);
+
+    /* Recreate the HTTP Client when Proxy Settings change */
+    IProxyService proxyService = Activator.getDefault().getProxyService();
+    if (proxyService != null)
+      proxyService.addProxyChangeListener(fProxyChangeListener);
   }
 
   /*
@@ -142,11 +198,28 @@ public class ConnectionServiceImpl implements IConnectionService {
   @Override
   public void shutdown() {
     unregisterListeners();
+
+    /* Close all pooled Connections */
+    synchronized (fHttpClientLock) {
+      if (fHttpClient != null) {
+        closeHttpClient(fHttpClient);
+        fHttpClient = null;
+      }
+
+      for (Pair<CloseableHttpClient, PoolingHttpClientConnectionManager> retiredHttpClient : fRetiredHttpClients) {
+        closeHttpClient(retiredHttpClient);
+      }
+      fRetiredHttpClients.clear();
+    }
   }
 
   private void unregisterListeners() {
     if (Owl.isStarted())
       OwlDAO.removeEntityListener(IFeed.class, fFeedListener);
+
+    IProxyService proxyService = Activator.getDefault().getProxyService();
+    if (proxyService != null)
+      proxyService.removeProxyChangeListener(fProxyChangeListener);
   }
 
   /*
@@ -258,6 +331,110 @@ public class ConnectionServiceImpl implements IConnectionService {
     return fSecureProtocolSocketFactory;
   }
 
+  /*
+   * @see org.rssowl.core.connection.IConnectionService#getHttpClient()
+   */
+  @Override
+  public CloseableHttpClient getHttpClient() {
+    synchronized (fHttpClientLock) {
+
+      /* Close retired Clients once all their Connections got released */
+      closeRetiredHttpClients();
+
+      /* Lazily create the shared Client */
+      if (fHttpClient == null)
+        fHttpClient = createHttpClient();
+
+      return fHttpClient.getFirst();
+    }
+  }
+
+  /*
+   * @see org.rssowl.core.connection.IConnectionService#resetHttpClient()
+   */
+  @Override
+  public void resetHttpClient() {
+    synchronized (fHttpClientLock) {
+      if (fHttpClient == null)
+        return;
+
+      /*
+       * Connections that are currently leased must not be aborted, so the
+       * previous Client is retired and only closed when no longer in use.
+       */
+      fHttpClient.getSecond().closeIdleConnections(0, TimeUnit.MILLISECONDS);
+      fRetiredHttpClients.add(fHttpClient);
+      fHttpClient = null;
+
+      closeRetiredHttpClients();
+    }
+  }
+
+  private Pair<CloseableHttpClient, PoolingHttpClientConnectionManager> createHttpClient() {
+    RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder.<ConnectionSocketFactory> create();
+    registryBuilder.register(URIUtils.HTTP_SCHEME, PlainConnectionSocketFactory.getSocketFactory());
+    registryBuilder.register(URIUtils.FEED_SCHEME, PlainConnectionSocketFactory.getSocketFactory());
+
+    /*
+     * The secure Socket Factory is shared among all Connections, so that TLS
+     * Sessions of its SSL Context can be resumed when a Connection to a host
+     * needs to be opened again.
+     */
+    registryBuilder.register(URIUtils.HTTPS_SCHEME, fSecureProtocolSocketFactory);
+    Registry<ConnectionSocketFactory> socketFactoryRegistry = registryBuilder.build();
+
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+    connectionManager.setMaxTotal(getSystemProperty(MAX_CONNECTIONS_PROPERTY, 0, DEFAULT_MAX_CONNECTIONS));
+    connectionManager.setDefaultMaxPerRoute(getSystemProperty(MAX_CONNECTIONS_PER_HOST_PROPERTY, 0, DEFAULT_MAX_CONNECTIONS_PER_HOST));
+    connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY);
+
+    CloseableHttpClient client = HttpClients.custom() //
+        //.disableRedirectHandling() // does redirects by default, do not disable
+        .setConnectionManager(connectionManager) //
+        .evictExpiredConnections() //
+        .evictIdleConnections(getSystemProperty(CON_IDLE_TIMEOUT_PROPERTY, 0, DEFAULT_CON_IDLE_TIMEOUT), TimeUnit.MILLISECONDS) //
+        .build();
+
+    return Pair.create(client, connectionManager);
+  }
+
+  private void closeRetiredHttpClients() {
+    Iterator<Pair<CloseableHttpClient, PoolingHttpClientConnectionManager>> iterator = fRetiredHttpClients.iterator();
+    while (iterator.hasNext()) {
+      Pair<CloseableHttpClient, PoolingHttpClientConnectionManager> retiredHttpClient = iterator.next();
+      if (retiredHttpClient.getSecond().getTotalStats().getLeased() == 0) {
+        closeHttpClient(retiredHttpClient);
+        iterator.remove();
+      }
+    }
+  }
+
+  private void closeHttpClient(Pair<CloseableHttpClient, PoolingHttpClientConnectionManager> httpClient) {
+    try {
+      httpClient.getFirst().close(); // Also shuts down the Connection Manager
+    } catch (IOException e) {
+      Activator.getDefault().logError(e.getMessage(), e);
+    }
+  }
+
+  private int getSystemProperty(String key, int minValue, int defaultValue) {
+    String strVal = System.getProperty(key);
+    if (strVal != null) {
+      int intVal = 0;
+      try {
+        intVal = Integer.parseInt(strVal);
+      } catch (NumberFormatException e) {
+        Activator.getDefault().logError(e.getMessage(), e);
+        return defaultValue;
+      }
+
+      if (intVal > minValue)
+        return intVal;
+    }
+
+    return defaultValue;
+  }
+
   /*
    * @see
    * org.rssowl.core.connection.IConnectionService#getAuthCredentials(java.net
@@ -46,17 +46,11 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
-import org.apache.http.config.Registry;
-import org.apache.http.config.RegistryBuilder;
-import org.apache.http.conn.socket.ConnectionSocketFactory;
-import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.auth.NTLMScheme;
 import org.apache.http.impl.client.BasicAuthCache;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.BasicHttpClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -77,6 +71,7 @@ import org.rssowl.core.connection.IProxyCredentials;
 import org.rssowl.core.connection.MonitorCanceledException;
 import org.rssowl.core.connection.NotModifiedException;
 import org.rssowl.core.connection.ProxyAuthenticationRequiredException;
+import org.rssowl.core.connection.ServiceUnavailableException;
 import org.rssowl.core.connection.SyncConnectionException;
 import org.rssowl.core.internal.Activator;
 import org.rssowl.core.interpreter.EncodingException;
@@ -105,6 +100,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -133,6 +129,8 @@ public class DefaultProtocolHandler implements IProtocolHandler {
   private static final int HTTP_ERROR_AUTH_REQUIRED = 401;
   private static final int HTTP_ERROR_FORBIDDEN = 403;
   private static final int HTTP_ERROR_PROXY_AUTH_REQUIRED = 407;
+  private static final int HTTP_ERROR_TOO_MANY_REQUESTS = 429;
+  private static final int HTTP_ERROR_SERVICE_UNAVAILABLE = 503;
 
   /* Header Constants */
   private static final String HEADER_REQUEST_COOKIE = "Cookie"; //$NON-NLS-1$
@@ -146,6 +144,7 @@ public class DefaultProtocolHandler implements IProtocolHandler {
   /* Google Error Response Codes */
   private static final String HEADER_RESPONSE_ERROR = "Error"; //$NON-NLS-1$
   private static final String HEADER_RESPONSE_URL = "Url"; //$NON-NLS-1$
+  private static final String HEADER_RESPONSE_RETRY_AFTER = "Retry-After"; //$NON-NLS-1$
   private static final String ERROR_BAD_AUTH = "BadAuthentication"; //$NON-NLS-1$
   private static final String ERROR_NOT_VERIFIED = "NotVerified"; //$NON-NLS-1$
   private static final String ERROR_NO_TERMS = "TermsNotAgreed"; //$NON-NLS-1$
@@ -226,6 +225,9 @@ public class DefaultProtocolHandler implements IProtocolHandler {
         return null;
       }
 
+      /* Start over with an empty feed, the first try may have filled it partially */
+      feed = typesFactory.createFeed(null, link);
+
       /* Second try: Use platform encoding */
       Owl.getInterpreter().interpret(inS, feed, Collections.singletonMap((Object) USE_PLATFORM_ENCODING, (Object) Boolean.TRUE));
     }
@@ -464,25 +466,22 @@ public class DefaultProtocolHandler implements IProtocolHandler {
     if (URIUtils.FILE_SCHEME.equals(link.getScheme()))
       return loadFileProtocol(link);
 
-    RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder.<ConnectionSocketFactory> create();
-    registryBuilder.register(URIUtils.HTTP_SCHEME, PlainConnectionSocketFactory.getSocketFactory());
-    registryBuilder.register(URIUtils.HTTPS_SCHEME, Owl.getConnectionService().ConnectionSocketFactory());
+    /* Link that is actually requested from the shared HTTP Client */
+    URI requestLink = link;
 
     String strLink = link.toString();
     //feed:https from //https://en.wikipedia.org/wiki/Feed_URI_scheme
     //for easier support the additional https: is removed but internally it will use https sockets
     if (strLink.startsWith(URIUtils.FEED_SCHEME + ":" + URIUtils.HTTPS_SCHEME + ":")) { //$NON-NLS-1$ //$NON-NLS-2$
-      registryBuilder.register(URIUtils.FEED_SCHEME, Owl.getConnectionService().ConnectionSocketFactory());
       try {
         URI link2 = new URI(strLink.replaceFirst("https:", "")); //$NON-NLS-1$ //$NON-NLS-2$
         URI authLink2 = new URI(authLink.toString().replaceFirst("https:", "")); //$NON-NLS-1$ //$NON-NLS-2$
+        requestLink = new URI(strLink.substring(URIUtils.FEED_SCHEME.length() + 1));
         link = link2;
         authLink = authLink2;
       } catch (URISyntaxException e) {
         throw new RuntimeException("feed link problem", e); //$NON-NLS-1$
       }
-    } else {
-      registryBuilder.register(URIUtils.FEED_SCHEME, PlainConnectionSocketFactory.getSocketFactory());
     }
 
 //    if (URIUtils.HTTPS_SCHEME.equals(link.getScheme())) {
@@ -544,9 +543,9 @@ public class DefaultProtocolHandler implements IProtocolHandler {
       boolean isGetRequest = !isPostRequest;
 
       if (isPostRequest)
-        method = new HttpPost(link.toString());
+        method = new HttpPost(requestLink.toString());
       else
-        method = new HttpGet(link.toString());
+        method = new HttpGet(requestLink.toString());
 
       if (isGetRequest) {
         //method.getParams().setCookiePolicy(CookiePolicy.IGNORE_COOKIES);
@@ -585,13 +584,10 @@ public class DefaultProtocolHandler implements IProtocolHandler {
         ((HttpPost) method).setEntity(new UrlEncodedFormEntity(params));
       }
 
-      Registry<ConnectionSocketFactory> socketFactoryRegistry = registryBuilder.build();
-      BasicHttpClientConnectionManager basicHttpClientConnectionManager = new BasicHttpClientConnectionManager(socketFactoryRegistry);
-      CloseableHttpClient client = HttpClients.custom() //
-          //.disableRedirectHandling() // does redirects by default, do not disable
-          .setConnectionManager(basicHttpClientConnectionManager) //
-          .setDefaultCredentialsProvider(credentialsProvider) //
-          .build();
+      /* Connections are pooled, so Credentials are passed along with the request only */
+      CloseableHttpClient client = Owl.getConnectionService().getHttpClient();
+      HttpClientContext context = HttpClientContext.create();
+      context.setCredentialsProvider(credentialsProvider);
 
       /* --- Authentication if required */
 
@@ -620,19 +616,15 @@ public class DefaultProtocolHandler implements IProtocolHandler {
 
         //preemptive authentication
         HttpHost authTargetHost = org.apache.http.client.utils.URIUtils.extractHost(authLink);
-        HttpClientContext context = HttpClientContext.create();
         AuthCache authCache = new BasicAuthCache();
         authCache.put(authTargetHost, new BasicScheme());
         authCache.put(authTargetHost, new NTLMScheme());
         context.setAuthCache(authCache);
-        context.setCredentialsProvider(credentialsProvider);
 //        context.setAuthSchemeRegistry(authRegistry);
-
-        response = client.execute(method, context);
-      } else {
-        response = client.execute(method);
       }
 
+      response = client.execute(method, context);
+
       /* --- Open the connection */
       HttpEntity entity = response.getEntity();
       /* Finally retrieve the InputStream from the respond body */
@@ -681,6 +673,14 @@ public class DefaultProtocolHandler implements IProtocolHandler {
         throw new ProxyAuthenticationRequiredException(Activator.getDefault().createErrorStatus(Messages.DefaultProtocolHandler_ERROR_PROXY_AUTHENTICATION_REQUIRED, null));
       }
 
+      /* In case the Server asks to slow down or is unavailable */
+      else if (statusCode == HTTP_ERROR_TOO_MANY_REQUESTS || statusCode == HTTP_ERROR_SERVICE_UNAVAILABLE) {
+        long retryAfter = getRetryAfter(response);
+        abortAndRelease(method);
+
+        throw new ServiceUnavailableException(Activator.getDefault().createErrorStatus(NLS.bind(Messages.DefaultProtocolHandler_ERROR_HTTP_STATUS_MSG, String.valueOf(statusCode), method.getURI() + ": " + getError(statusCode)), null), retryAfter); //$NON-NLS-1$
+      }
+
       /*
        * If status code is 4xx, throw an IOException with the status code
        * included
@@ -813,6 +813,8 @@ public class DefaultProtocolHandler implements IProtocolHandler {
         return "Not Found"; //$NON-NLS-1$
       case 408:
         return "Request Timeout"; //$NON-NLS-1$
+      case 429:
+        return "Too Many Requests"; //$NON-NLS-1$
       case 500:
         return "Internal Server Error"; //$NON-NLS-1$
       case 502:
@@ -824,6 +826,24 @@ public class DefaultProtocolHandler implements IProtocolHandler {
     return null;
   }
 
+  /* Time in MS to wait as told by the Retry-After Header (Seconds or HTTP-Date) or -1 */
+  private long getRetryAfter(CloseableHttpResponse response) {
+    Header header = response.getFirstHeader(HEADER_RESPONSE_RETRY_AFTER);
+    if (header == null || !StringUtils.isSet(header.getValue()))
+      return -1;
+
+    String value = header.getValue().trim();
+    try {
+      return Math.max(0, Long.parseLong(value) * 1000);
+    } catch (NumberFormatException e) {
+      Date date = org.apache.http.client.utils.DateUtils.parseDate(value);
+      if (date != null)
+        return Math.max(0, date.getTime() - System.currentTimeMillis());
+    }
+
+    return -1;
+  }
+
   private InputStream loadFileProtocol(URI link) throws ConnectionException {
     try {
       File file = new File(link);
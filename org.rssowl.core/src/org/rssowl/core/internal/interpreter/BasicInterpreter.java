@@ -153,6 +153,25 @@ public abstract class BasicInterpreter implements IFormatInterpreter {
     return false;
   }
 
+  /**
+   * Check whether a contributed Element or Namespace Handler exists for the
+   * given Element without processing it.
+   * 
+   * @param element The Element to check.
+   * @return TRUE in case a Handler is provided for this Element, FALSE
+   * otherwise.
+   */
+  protected boolean hasElementExtern(Element element) {
+    String namespaceURI = element.getNamespaceURI();
+
+    /* Contributed Element Handlers */
+    if (getDefaultNamespaceUri().equals(namespaceURI))
+      return Owl.getInterpreter().getElementHandler(element.getName().toLowerCase(), getRootElementName()) != null;
+
+    /* Contributed Namespace Handlers */
+    return namespaceURI != null && Owl.getInterpreter().getNamespaceHandler(namespaceURI) != null;
+  }
+
   /**
    * Check the Attribute for contributed Namespace Handler.
    * 
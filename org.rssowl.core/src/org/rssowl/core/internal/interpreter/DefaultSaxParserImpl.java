@@ -36,19 +36,32 @@ import org.rssowl.core.interpreter.IXMLParser;
 import org.rssowl.core.interpreter.ParserException;
 import org.rssowl.core.util.StringUtils;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
 import org.xml.sax.ext.EntityResolver2;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Default Implementation of the ISAXParser Interface using the JDKs default XML
  * Parser. The implementation is smart enough to try the platforms default
  * encoding in case a first attempt of parsing the XML fails.
+ * <p>
+ * Builders are expensive to create, so a bounded number of idle Builders is
+ * kept for reuse by the next parse. The Entities DTD is read from the bundle
+ * only once and then resolved from memory.
+ * </p>
  *
  * @author bpasero
  */
@@ -60,6 +73,53 @@ public class DefaultSaxParserImpl implements IXMLParser {
   /* DTD to use for all XMLs */
   private static final String DEFAULT_DTD = "entities.dtd"; //$NON-NLS-1$
 
+  /* Property in SAX to set the Lexical Handler */
+  private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler"; //$NON-NLS-1$
+
+  /* Default Max. Number of idle Builders kept for Reuse (one per Reload Job) */
+  private static final int DEFAULT_MAX_POOLED_BUILDERS = 10;
+
+  /* Handler that ignores all Events, used to release the Handlers of a Builder */
+  private static final DefaultHandler2 NO_OP_HANDLER = new DefaultHandler2();
+
+  /* Holder for the in-memory Copy of the DTD, loaded on first Access */
+  private static class DefaultDTDHolder {
+    static final byte[] DTD = loadDefaultDTD();
+  }
+
+  /* A Builder that keeps its SAX Parser to reuse it for the next Parse */
+  private static class PooledBuilder extends SAXBuilder {
+    private XMLReader fParser;
+
+    PooledBuilder() {
+      setReuseParser(true);
+    }
+
+    @Override
+    protected XMLReader createParser() throws JDOMException {
+      fParser = super.createParser();
+      return fParser;
+    }
+
+    /* Release the Handlers of the last Parse, they reference its Document */
+    void release() {
+      if (fParser != null) {
+        fParser.setContentHandler(NO_OP_HANDLER);
+        fParser.setDTDHandler(NO_OP_HANDLER);
+        try {
+          fParser.setProperty(LEXICAL_HANDLER, NO_OP_HANDLER);
+        } catch (SAXException e) {
+          /* Ignore, Property is optional */
+        }
+      }
+    }
+  }
+
+  private final BlockingQueue<PooledBuilder> fBuilders;
+  private final AtomicLong fBuilderHits = new AtomicLong();
+  private final AtomicLong fBuilderMisses = new AtomicLong();
+  private final AtomicLong fDTDResolutions = new AtomicLong();
+
   /* A Stream that overrides close() to do nothing */
   private static class KeepAliveInputStream extends BufferedInputStream {
     KeepAliveInputStream(InputStream in) {
@@ -76,12 +136,81 @@ public class DefaultSaxParserImpl implements IXMLParser {
     }
   }
 
+  /**
+   * Creates a Parser that keeps a default number of idle Builders for reuse.
+   */
+  public DefaultSaxParserImpl() {
+    this(DEFAULT_MAX_POOLED_BUILDERS);
+  }
+
+  /**
+   * @param maxPooledBuilders the max. number of idle Builders to keep for reuse
+   * or <code>0</code> to create a new Builder for each parse.
+   */
+  public DefaultSaxParserImpl(int maxPooledBuilders) {
+    fBuilders = maxPooledBuilders > 0 ? new ArrayBlockingQueue<PooledBuilder>(maxPooledBuilders) : null;
+  }
+
   /*
    * @see org.rssowl.core.interpreter.ISAXParser#init()
    */
   @Override
   public void init() {
-  /* Nothing to do here */
+
+    /* Load the DTD now instead of during the first Parse */
+    getDefaultDTD();
+  }
+
+  /**
+   * @return the number of parses that reused an idle Builder.
+   */
+  public long getBuilderHits() {
+    return fBuilderHits.get();
+  }
+
+  /**
+   * @return the number of parses that had to create a new Builder.
+   */
+  public long getBuilderMisses() {
+    return fBuilderMisses.get();
+  }
+
+  /**
+   * @return the number of times the Entities DTD was resolved from memory.
+   */
+  public long getDTDResolutions() {
+    return fDTDResolutions.get();
+  }
+
+  /*
+   * Returns the in-memory Copy of the Entities DTD that is shared by all
+   * Parsers.
+   */
+  static byte[] getDefaultDTD() {
+    return DefaultDTDHolder.DTD;
+  }
+
+  private static byte[] loadDefaultDTD() {
+    InputStream inS = DefaultSaxParserImpl.class.getResourceAsStream(DEFAULT_DTD);
+    if (inS == null)
+      return new byte[0];
+
+    ByteArrayOutputStream outS = new ByteArrayOutputStream();
+    try {
+      try {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inS.read(buffer)) != -1)
+          outS.write(buffer, 0, read);
+      } finally {
+        inS.close();
+      }
+    } catch (IOException e) {
+      if (Activator.getDefault() != null)
+        Activator.getDefault().logError(e.getMessage(), e);
+    }
+
+    return outS.toByteArray();
   }
 
   /*
@@ -92,7 +221,7 @@ public class DefaultSaxParserImpl implements IXMLParser {
   public Document parse(InputStream inS, Map<Object, Object> properties) throws ParserException {
     Document document = null;
     Exception ex = null;
-    SAXBuilder builder = getBuilder();
+    PooledBuilder builder = borrowBuilder();
     boolean encodingIssue = false;
     boolean usePlatformEncoding = (properties != null && properties.containsKey(DefaultProtocolHandler.USE_PLATFORM_ENCODING));
 
@@ -137,6 +266,9 @@ public class DefaultSaxParserImpl implements IXMLParser {
       }
     }
 
+    /* Allow to reuse the Builder */
+    returnBuilder(builder);
+
     /* Close Stream */
     try {
       if (ex != null && inS instanceof IAbortable)
@@ -169,8 +301,28 @@ public class DefaultSaxParserImpl implements IXMLParser {
     return (StringUtils.isSet(name) && name.contains("MalformedByteSequenceException")); //$NON-NLS-1$
   }
 
-  private SAXBuilder getBuilder() {
-    SAXBuilder builder = new SAXBuilder();
+  private PooledBuilder borrowBuilder() {
+    PooledBuilder builder = (fBuilders != null) ? fBuilders.poll() : null;
+    if (builder != null) {
+      fBuilderHits.incrementAndGet();
+      return builder;
+    }
+
+    fBuilderMisses.incrementAndGet();
+    return createBuilder();
+  }
+
+  private void returnBuilder(PooledBuilder builder) {
+    if (fBuilders != null) {
+      builder.release();
+
+      /* Builder is left to the Garbage Collector if the Pool is full */
+      fBuilders.offer(builder);
+    }
+  }
+
+  private PooledBuilder createBuilder() {
+    PooledBuilder builder = new PooledBuilder();
 
     /* Support Java Encoding Names */
     builder.setFeature(ALLOW_JAVA_ENCODINGS, true);
@@ -185,7 +337,7 @@ public class DefaultSaxParserImpl implements IXMLParser {
        */
       @Override
       public InputSource getExternalSubset(String name, String baseURI) {
-        return new InputSource(getClass().getResourceAsStream(DEFAULT_DTD));
+        return createDTDInputSource();
       }
 
       /*
@@ -203,10 +355,15 @@ public class DefaultSaxParserImpl implements IXMLParser {
        */
       @Override
       public InputSource resolveEntity(String name, String publicId, String baseURI, String systemId) {
-        return new InputSource(getClass().getResourceAsStream(DEFAULT_DTD));
+        return createDTDInputSource();
       }
     });
 
     return builder;
   }
+
+  private InputSource createDTDInputSource() {
+    fDTDResolutions.incrementAndGet();
+    return new InputSource(new ByteArrayInputStream(getDefaultDTD()));
+  }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.internal.interpreter;
+
+import org.jdom.Element;
+import org.rssowl.core.interpreter.IFormatInterpreter;
+import org.rssowl.core.interpreter.InterpreterException;
+import org.rssowl.core.persist.IFeed;
+
+/**
+ * An extension to {@link IFormatInterpreter} for Interpreters that are able to
+ * interpret a Feed while it is being parsed. Instead of a complete
+ * <code>org.jdom.Document</code>, the Interpreter is given the Elements of the
+ * Document one after the other:
+ * <ul>
+ * <li>The root Element and all Elements whose children are streamed are passed
+ * to {@link #startElement(Element, IFeed)} as soon as their start tag was read.
+ * These Elements have their Attributes, but no content.</li>
+ * <li>All other children of streamed Elements are passed to
+ * {@link #processElement(Element, IFeed)} once they were read completely and are
+ * discarded afterwards.</li>
+ * </ul>
+ * Elements are always attached to their parent Element, so that the path to the
+ * root Element is available while processing.
+ */
+public interface IStreamingFormatInterpreter extends IFormatInterpreter {
+
+  /**
+   * Called with the root Element and with every child of a streamed Element as
+   * soon as its start tag was read.
+   *
+   * @param element The Element with its Attributes but without content.
+   * @param feed An instanceof IFeed that stores the interpreted Feed.
+   * @return <code>true</code> if the children of the given Element are to be
+   * streamed and <code>false</code> if the given Element is to be passed to
+   * {@link #processElement(Element, IFeed)} once it was read completely.
+   * @throws InterpreterException Checked Exception to be used in case of any
+   * Exception.
+   */
+  boolean startElement(Element element, IFeed feed) throws InterpreterException;
+
+  /**
+   * Called with every complete child of a streamed Element that is not
+   * streamed itself. In case the root Element is not streamed, the complete
+   * root Element is passed in.
+   *
+   * @param element The complete Element to interpret.
+   * @param feed An instanceof IFeed that stores the interpreted Feed.
+   * @throws InterpreterException Checked Exception to be used in case of any
+   * Exception.
+   */
+  void processElement(Element element, IFeed feed) throws InterpreterException;
+}
@@ -34,6 +34,7 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.osgi.util.NLS;
 import org.jdom.Document;
+import org.jdom.Element;
 import org.jdom.input.DOMBuilder;
 import org.rssowl.core.internal.Activator;
 import org.rssowl.core.internal.interpreter.json.JSONInterpreter;
@@ -99,12 +100,23 @@ public class InterpreterServiceImpl implements IInterpreterService {
   /* ID for ElementHandler Contributions */
   private static final String ELHANDLER_EXTENSION_POINT = "org.rssowl.core.ElementHandler"; //$NON-NLS-1$
 
+  /* System Property to stream Feeds into their Interpreter while parsing */
+  private static final String STREAMING_PROPERTY = "streamingInterpreter"; //$NON-NLS-1$
+
+  /**
+   * Property to stream a Feed into its Interpreter while parsing it, if the
+   * contributed XML Parser and Format Interpreter support this.
+   */
+  public static final String USE_STREAMING = "org.rssowl.core.internal.interpreter.InterpreterServiceImpl.UseStreaming"; //$NON-NLS-1$
+
   private volatile Map<String, IFormatInterpreter> fFormatInterpreters;
   private volatile Map<String, ITypeImporter> fTypeImporters;
   private volatile Map<String, ITypeExporter> fTypeExporters;
   private volatile Map<String, INamespaceHandler> fNamespaceHandlers;
   private volatile Map<String, IElementHandler> fElementHandlers;
   private volatile IXMLParser fXMLParserImpl;
+  private volatile StAXParserImpl fStreamingParser;
+  private volatile boolean fUseStreaming;
   private ITypeExporter fDefaultExporter = new OPMLExporter();
 
   /** */
@@ -119,6 +131,14 @@ public class InterpreterServiceImpl implements IInterpreterService {
    */
   @Override
   public void interpret(InputStream inS, IFeed feed, Map<Object, Object> properties) throws ParserException, InterpreterException {
+
+    /* Stream the Feed into the Interpreter of its Format */
+    StAXParserImpl streamingParser = fStreamingParser;
+    if (streamingParser != null && (fUseStreaming || (properties != null && properties.containsKey(USE_STREAMING)))) {
+      streamingParser.parse(inS, properties, new StreamingDispatcher(), feed);
+      return;
+    }
+
     Document document = fXMLParserImpl.parse(inS, properties);
 
     if (document != null)
@@ -273,6 +293,21 @@ public class InterpreterServiceImpl implements IInterpreterService {
       }
     });
 
+    /* Load StAX Parser to stream Feeds unless a 3d-Party XML Parser is contributed */
+    if (fXMLParserImpl instanceof StAXParserImpl) {
+      fStreamingParser = (StAXParserImpl) fXMLParserImpl;
+      fUseStreaming = true;
+    } else if (fXMLParserImpl instanceof DefaultSaxParserImpl) {
+      try {
+        StAXParserImpl streamingParser = new StAXParserImpl();
+        streamingParser.init();
+        fStreamingParser = streamingParser;
+        fUseStreaming = Boolean.getBoolean(STREAMING_PROPERTY);
+      } catch (ParserException e) {
+        Activator.getDefault().getLog().log(e.getStatus());
+      }
+    }
+
     /* Load Format Interpreters */
     fFormatInterpreters = new HashMap<String, IFormatInterpreter>();
     loadFormatInterpreters();
@@ -403,6 +438,59 @@ public class InterpreterServiceImpl implements IInterpreterService {
     }
   }
 
+  /* Passes the Elements of a Feed to the Interpreter of its Format */
+  private class StreamingDispatcher implements IStreamingFormatInterpreter {
+    private IFormatInterpreter fInterpreter;
+
+    /*
+     * @see
+     * org.rssowl.core.interpreter.IFormatInterpreter#interpret(org.jdom.Document
+     * , org.rssowl.core.persist.IFeed)
+     */
+    @Override
+    public void interpret(Document document, IFeed feed) throws InterpreterException {
+      interpretJDomDocument(document, feed);
+    }
+
+    /*
+     * @see
+     * org.rssowl.core.internal.interpreter.IStreamingFormatInterpreter#startElement
+     * (org.jdom.Element, org.rssowl.core.persist.IFeed)
+     */
+    @Override
+    public boolean startElement(Element element, IFeed feed) throws InterpreterException {
+
+      /* Determine Format of the Feed from the Root Element */
+      if (element.isRootElement()) {
+        String format = element.getName().toLowerCase();
+
+        /* A Interpreter is required */
+        fInterpreter = fFormatInterpreters.get(format);
+        if (fInterpreter == null)
+          throw new UnknownFormatException(Activator.getDefault().createErrorStatus(NLS.bind(Messages.InterpreterServiceImpl_ERROR_NO_INTERPRETER_FOUND, format), null), format);
+      }
+
+      /* Interpreters without Streaming Support get the complete Document */
+      if (fInterpreter instanceof IStreamingFormatInterpreter)
+        return ((IStreamingFormatInterpreter) fInterpreter).startElement(element, feed);
+
+      return false;
+    }
+
+    /*
+     * @see
+     * org.rssowl.core.internal.interpreter.IStreamingFormatInterpreter#processElement
+     * (org.jdom.Element, org.rssowl.core.persist.IFeed)
+     */
+    @Override
+    public void processElement(Element element, IFeed feed) throws InterpreterException {
+      if (fInterpreter instanceof IStreamingFormatInterpreter)
+        ((IStreamingFormatInterpreter) fInterpreter).processElement(element, feed);
+      else
+        fInterpreter.interpret(element.getDocument(), feed);
+    }
+  }
+
   /* Load XML Parser contribution */
   private IXMLParser loadXMLParserImpl() {
     return (IXMLParser) ExtensionUtils.loadSingletonExecutableExtension(SAXPARSER_EXTENSION_POINT);
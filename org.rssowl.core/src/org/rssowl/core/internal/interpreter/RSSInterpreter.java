@@ -53,7 +53,7 @@ import java.util.List;
  *
  * @author bpasero
  */
-public class RSSInterpreter extends BasicInterpreter {
+public class RSSInterpreter extends BasicInterpreter implements IStreamingFormatInterpreter {
   private int fNewsCounter;
 
   /*
@@ -64,13 +64,55 @@ public class RSSInterpreter extends BasicInterpreter {
   @Override
   public void interpret(Document document, IFeed feed) {
     Element root = document.getRootElement();
-    setDefaultNamespaceUri(root.getNamespace().getURI());
-    setRootElementName(root.getName());
-    feed.setFormat("RSS"); //$NON-NLS-1$
-    processFeed(root, feed);
+    startFeed(root, feed);
+
+    /* Interpret Children */
+    List<?> feedChildren = root.getChildren();
+    for (Iterator<?> iter = feedChildren.iterator(); iter.hasNext();)
+      processFeedChild((Element) iter.next(), feed);
+  }
+
+  /*
+   * @see
+   * org.rssowl.core.internal.interpreter.IStreamingFormatInterpreter#startElement
+   * (org.jdom.Element, org.rssowl.core.persist.IFeed)
+   */
+  @Override
+  public boolean startElement(Element element, IFeed feed) {
+    Element parent = element.getParentElement();
+
+    /* Root Element */
+    if (parent == null) {
+      startFeed(element, feed);
+      return true;
+    }
+
+    /* Stream the Children of the Channel (e.g. Items) */
+    if (parent.isRootElement() && "channel".equals(element.getName().toLowerCase()) && !hasElementExtern(element)) { //$NON-NLS-1$
+      processNamespaceAttributes(element, feed);
+      return true;
+    }
+
+    return false;
+  }
+
+  /*
+   * @see
+   * org.rssowl.core.internal.interpreter.IStreamingFormatInterpreter#processElement
+   * (org.jdom.Element, org.rssowl.core.persist.IFeed)
+   */
+  @Override
+  public void processElement(Element element, IFeed feed) {
+    if (element.getParentElement().isRootElement())
+      processFeedChild(element, feed);
+    else
+      processChannelChild(element, feed);
   }
 
-  private void processFeed(Element element, IFeed feed) {
+  private void startFeed(Element element, IFeed feed) {
+    setDefaultNamespaceUri(element.getNamespace().getURI());
+    setRootElementName(element.getName());
+    feed.setFormat("RSS"); //$NON-NLS-1$
 
     /* Interpret Attributes */
     List<?> attributes = element.getAttributes();
@@ -86,21 +128,18 @@ public class RSSInterpreter extends BasicInterpreter {
       else if ("version".equals(name)) //$NON-NLS-1$
         feed.setFormat(buildFormat("RSS", attribute.getValue())); //$NON-NLS-1$
     }
+  }
 
-    /* Interpret Children */
-    List<?> feedChildren = element.getChildren();
-    for (Iterator<?> iter = feedChildren.iterator(); iter.hasNext();) {
-      Element child = (Element) iter.next();
-      String name = child.getName().toLowerCase();
+  private void processFeedChild(Element child, IFeed feed) {
+    String name = child.getName().toLowerCase();
 
-      /* Check wether this Element is to be processed by a Contribution */
-      if (processElementExtern(child, feed))
-        continue;
+    /* Check wether this Element is to be processed by a Contribution */
+    if (processElementExtern(child, feed))
+      return;
 
-      /* Process Channel */
-      else if ("channel".equals(name)) //$NON-NLS-1$
-        processChannel(child, feed);
-    }
+    /* Process Channel */
+    else if ("channel".equals(name)) //$NON-NLS-1$
+      processChannel(child, feed);
   }
 
   private void processChannel(Element element, IFeed feed) {
@@ -116,159 +155,161 @@ public class RSSInterpreter extends BasicInterpreter {
 
     /* Interpret Children */
     List<?> channelChildren = element.getChildren();
-    for (Iterator<?> iter = channelChildren.iterator(); iter.hasNext();) {
-      Element child = (Element) iter.next();
-      String name = child.getName().toLowerCase();
+    for (Iterator<?> iter = channelChildren.iterator(); iter.hasNext();)
+      processChannelChild((Element) iter.next(), feed);
+  }
 
-      /* Check wether this Element is to be processed by a Contribution */
-      if (processElementExtern(child, feed))
-        continue;
+  private void processChannelChild(Element child, IFeed feed) {
+    String name = child.getName().toLowerCase();
 
-      /* Item */
-      else if ("item".equals(name)) //$NON-NLS-1$
-        processItems(child, feed);
+    /* Check wether this Element is to be processed by a Contribution */
+    if (processElementExtern(child, feed))
+      return;
 
-      /* Title */
-      else if ("title".equals(name)) { //$NON-NLS-1$
-        feed.setTitle(child.getText());
-        processNamespaceAttributes(child, feed);
-      }
+    /* Item */
+    else if ("item".equals(name)) //$NON-NLS-1$
+      processItems(child, feed);
 
-      /* Link */
-      else if ("link".equals(name)) { //$NON-NLS-1$
-        URI uri = URIUtils.createURI(child.getText());
+    /* Title */
+    else if ("title".equals(name)) { //$NON-NLS-1$
+      feed.setTitle(child.getText());
+      processNamespaceAttributes(child, feed);
+    }
 
-        /*
-         * Do not use the URI if it is empty. This is a workaround for
-         * FeedBurner feeds that use a Atom 1.0 Link Element in place of an RSS
-         * feed which RSSOwl 2 is not yet able to handle on this scope.
-         */
-        if (uri != null && StringUtils.isSet(uri.toString()))
-          feed.setHomepage(uri);
-        processNamespaceAttributes(child, feed);
-      }
+    /* Link */
+    else if ("link".equals(name)) { //$NON-NLS-1$
+      URI uri = URIUtils.createURI(child.getText());
+
+      /*
+       * Do not use the URI if it is empty. This is a workaround for
+       * FeedBurner feeds that use a Atom 1.0 Link Element in place of an RSS
+       * feed which RSSOwl 2 is not yet able to handle on this scope.
+       */
+      if (uri != null && StringUtils.isSet(uri.toString()))
+        feed.setHomepage(uri);
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Description */
-      else if ("description".equals(name)) { //$NON-NLS-1$
-        feed.setDescription(child.getText());
-        processNamespaceAttributes(child, feed);
-      }
+    /* Description */
+    else if ("description".equals(name)) { //$NON-NLS-1$
+      feed.setDescription(child.getText());
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Publish Date */
-      else if ("pubdate".equals(name)) { //$NON-NLS-1$
-        feed.setPublishDate(DateUtils.parseDate(child.getText()));
-        processNamespaceAttributes(child, feed);
-      }
+    /* Publish Date */
+    else if ("pubdate".equals(name)) { //$NON-NLS-1$
+      feed.setPublishDate(DateUtils.parseDate(child.getText()));
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Image */
-      else if ("image".equals(name)) //$NON-NLS-1$
-        processImage(child, feed);
+    /* Image */
+    else if ("image".equals(name)) //$NON-NLS-1$
+      processImage(child, feed);
 
-      /* Language */
-      else if ("language".equals(name)) { //$NON-NLS-1$
-        feed.setLanguage(child.getText());
-        processNamespaceAttributes(child, feed);
-      }
+    /* Language */
+    else if ("language".equals(name)) { //$NON-NLS-1$
+      feed.setLanguage(child.getText());
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Copyright */
-      else if ("copyright".equals(name)) { //$NON-NLS-1$
-        feed.setCopyright(child.getText());
-        processNamespaceAttributes(child, feed);
-      }
+    /* Copyright */
+    else if ("copyright".equals(name)) { //$NON-NLS-1$
+      feed.setCopyright(child.getText());
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Webmaster */
-      else if ("webmaster".equals(name)) { //$NON-NLS-1$
-        feed.setWebmaster(child.getText());
-        processNamespaceAttributes(child, feed);
-      }
+    /* Webmaster */
+    else if ("webmaster".equals(name)) { //$NON-NLS-1$
+      feed.setWebmaster(child.getText());
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Managing Editor */
-      else if ("managingeditor".equals(name)) { //$NON-NLS-1$
-        IPerson person = Owl.getModelFactory().createPerson(null, feed);
-        person.setName(child.getText());
+    /* Managing Editor */
+    else if ("managingeditor".equals(name)) { //$NON-NLS-1$
+      IPerson person = Owl.getModelFactory().createPerson(null, feed);
+      person.setName(child.getText());
 
-        processNamespaceAttributes(child, person);
-      }
+      processNamespaceAttributes(child, person);
+    }
 
-      /* Last Build Date */
-      else if ("lastbuilddate".equals(name)) { //$NON-NLS-1$
-        feed.setLastBuildDate(DateUtils.parseDate(child.getText()));
-        processNamespaceAttributes(child, feed);
-      }
+    /* Last Build Date */
+    else if ("lastbuilddate".equals(name)) { //$NON-NLS-1$
+      feed.setLastBuildDate(DateUtils.parseDate(child.getText()));
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Category */
-      else if ("category".equals(name)) //$NON-NLS-1$
-        processCategory(child, feed);
+    /* Category */
+    else if ("category".equals(name)) //$NON-NLS-1$
+      processCategory(child, feed);
 
-      /* Generator */
-      else if ("generator".equals(name)) { //$NON-NLS-1$
-        feed.setGenerator(child.getText());
-        processNamespaceAttributes(child, feed);
-      }
+    /* Generator */
+    else if ("generator".equals(name)) { //$NON-NLS-1$
+      feed.setGenerator(child.getText());
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Docs */
-      else if ("docs".equals(name)) { //$NON-NLS-1$
-        URI uri = URIUtils.createURI(child.getText());
-        if (uri != null)
-          feed.setDocs(uri);
-        processNamespaceAttributes(child, feed);
-      }
+    /* Docs */
+    else if ("docs".equals(name)) { //$NON-NLS-1$
+      URI uri = URIUtils.createURI(child.getText());
+      if (uri != null)
+        feed.setDocs(uri);
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Rating */
-      else if ("rating".equals(name)) { //$NON-NLS-1$
-        feed.setRating(child.getText());
-        processNamespaceAttributes(child, feed);
-      }
+    /* Rating */
+    else if ("rating".equals(name)) { //$NON-NLS-1$
+      feed.setRating(child.getText());
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* TTL */
-      else if ("ttl".equals(name)) {//$NON-NLS-1$
-        int ttl = StringUtils.stringToInt(child.getTextNormalize());
-        if (ttl >= 0)
-          feed.setTTL(ttl);
-        processNamespaceAttributes(child, feed);
-      }
+    /* TTL */
+    else if ("ttl".equals(name)) {//$NON-NLS-1$
+      int ttl = StringUtils.stringToInt(child.getTextNormalize());
+      if (ttl >= 0)
+        feed.setTTL(ttl);
+      processNamespaceAttributes(child, feed);
+    }
 
-      /* Skip Hours */
-      else if ("skiphours".equals(name)) { //$NON-NLS-1$
-        processNamespaceAttributes(child, feed);
-        List<?> skipHoursChildren = child.getChildren("hour"); //$NON-NLS-1$
+    /* Skip Hours */
+    else if ("skiphours".equals(name)) { //$NON-NLS-1$
+      processNamespaceAttributes(child, feed);
+      List<?> skipHoursChildren = child.getChildren("hour"); //$NON-NLS-1$
 
-        /* For each <hour> Element */
-        for (Iterator<?> iterator = skipHoursChildren.iterator(); iterator.hasNext();) {
-          Element skipHour = (Element) iterator.next();
-          processNamespaceAttributes(skipHour, feed);
+      /* For each <hour> Element */
+      for (Iterator<?> iterator = skipHoursChildren.iterator(); iterator.hasNext();) {
+        Element skipHour = (Element) iterator.next();
+        processNamespaceAttributes(skipHour, feed);
 
-          int hour = StringUtils.stringToInt(skipHour.getTextNormalize());
-          if (0 <= hour && hour < 24)
-            feed.addHourToSkip(hour);
-        }
+        int hour = StringUtils.stringToInt(skipHour.getTextNormalize());
+        if (0 <= hour && hour < 24)
+          feed.addHourToSkip(hour);
       }
+    }
 
-      /* Skip Days */
-      else if ("skipdays".equals(name)) { //$NON-NLS-1$
-        processNamespaceAttributes(child, feed);
-        List<?> skipDaysChildren = child.getChildren("day"); //$NON-NLS-1$
+    /* Skip Days */
+    else if ("skipdays".equals(name)) { //$NON-NLS-1$
+      processNamespaceAttributes(child, feed);
+      List<?> skipDaysChildren = child.getChildren("day"); //$NON-NLS-1$
 
-        /* For each <day> Element */
-        for (Iterator<?> iterator = skipDaysChildren.iterator(); iterator.hasNext();) {
-          Element skipDay = (Element) iterator.next();
-          processNamespaceAttributes(skipDay, feed);
+      /* For each <day> Element */
+      for (Iterator<?> iterator = skipDaysChildren.iterator(); iterator.hasNext();) {
+        Element skipDay = (Element) iterator.next();
+        processNamespaceAttributes(skipDay, feed);
 
-          String day = skipDay.getText().toLowerCase();
-          int index = IFeed.DAYS.indexOf(day);
-          if (index >= 0)
-            feed.addDayToSkip(index);
-        }
+        String day = skipDay.getText().toLowerCase();
+        int index = IFeed.DAYS.indexOf(day);
+        if (index >= 0)
+          feed.addDayToSkip(index);
       }
+    }
 
-      /* TextInput */
-      else if ("textinput".equals(name)) //$NON-NLS-1$
-        processTextInput(child, feed);
+    /* TextInput */
+    else if ("textinput".equals(name)) //$NON-NLS-1$
+      processTextInput(child, feed);
 
-      /* Cloud */
-      else if ("cloud".equals(name)) //$NON-NLS-1$
-        processCloud(child, feed);
-    }
+    /* Cloud */
+    else if ("cloud".equals(name)) //$NON-NLS-1$
+      processCloud(child, feed);
   }
 
   private void processCloud(Element element, IFeed feed) {
@@ -0,0 +1,357 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.internal.interpreter;
+
+import org.jdom.Attribute;
+import org.jdom.CDATA;
+import org.jdom.Comment;
+import org.jdom.Document;
+import org.jdom.Element;
+import org.jdom.Namespace;
+import org.jdom.Text;
+import org.rssowl.core.connection.IAbortable;
+import org.rssowl.core.internal.Activator;
+import org.rssowl.core.internal.connection.DefaultProtocolHandler;
+import org.rssowl.core.interpreter.EncodingException;
+import org.rssowl.core.interpreter.IXMLParser;
+import org.rssowl.core.interpreter.InterpreterException;
+import org.rssowl.core.interpreter.ParserException;
+import org.rssowl.core.persist.IFeed;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.CharConversionException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Implementation of the IXMLParser Interface using the JDKs StAX Parser. Besides
+ * parsing a complete Document, the implementation is able to stream the
+ * Elements of a Feed into an {@link IStreamingFormatInterpreter} while the Feed
+ * is read. Only the streamed Elements and the Element that is currently
+ * interpreted (e.g. a single Item) are kept in memory then.
+ * <p>
+ * Like the {@link DefaultSaxParserImpl}, the Entities declared in
+ * <code>entities.dtd</code> are supported even if the XML does not declare
+ * them.
+ * </p>
+ */
+public class StAXParserImpl implements IXMLParser {
+
+  /* Property in the JDKs StAX Parser to report CDATA Sections */
+  private static final String REPORT_CDATA_EVENT = "http://java.sun.com/xml/stream/properties/report-cdata-event"; //$NON-NLS-1$
+
+  /* Declaration of an Entity in the default DTD (e.g. <!ENTITY nbsp "&#160;">) */
+  private static final Pattern ENTITY_DECLARATION = Pattern.compile("<!ENTITY\\s+(\\w+)\\s+\"&#(\\d+);\"\\s*>"); //$NON-NLS-1$
+
+  private XMLInputFactory fFactory;
+  private Map<String, String> fEntities;
+
+  /*
+   * @see org.rssowl.core.interpreter.IXMLParser#init()
+   */
+  @Override
+  public void init() throws ParserException {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.TRUE);
+
+    /* Report undeclared Entities instead of failing */
+    factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.FALSE);
+
+    /* Keep CDATA Sections like the DefaultSaxParserImpl does */
+    if (factory.isPropertySupported(REPORT_CDATA_EVENT))
+      factory.setProperty(REPORT_CDATA_EVENT, Boolean.TRUE);
+
+    /* Custom Entitiy Resolution */
+    factory.setXMLResolver(new XMLResolver() {
+
+      /*
+       * @see javax.xml.stream.XMLResolver#resolveEntity(java.lang.String,
+       * java.lang.String, java.lang.String, java.lang.String)
+       */
+      @Override
+      public Object resolveEntity(String publicID, String systemID, String baseURI, String namespace) {
+        return new ByteArrayInputStream(DefaultSaxParserImpl.getDefaultDTD());
+      }
+    });
+
+    fEntities = loadEntities();
+    fFactory = factory;
+  }
+
+  private Map<String, String> loadEntities() throws ParserException {
+    Map<String, String> entities = new HashMap<String, String>();
+    InputStream inS = new ByteArrayInputStream(DefaultSaxParserImpl.getDefaultDTD());
+    try {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(inS, "US-ASCII")); //$NON-NLS-1$
+      try {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          Matcher matcher = ENTITY_DECLARATION.matcher(line);
+          if (matcher.find())
+            entities.put(matcher.group(1), new String(Character.toChars(Integer.parseInt(matcher.group(2)))));
+        }
+      } finally {
+        reader.close();
+      }
+    } catch (IOException e) {
+      throw new ParserException(Activator.getDefault().createErrorStatus(e.getMessage(), e));
+    }
+
+    return entities;
+  }
+
+  /*
+   * @see org.rssowl.core.interpreter.IXMLParser#parse(java.io.InputStream,
+   * java.util.Map)
+   */
+  @Override
+  public Document parse(InputStream inS, Map<Object, Object> properties) throws ParserException {
+    try {
+      return parse(inS, properties, null, null);
+    } catch (InterpreterException e) {
+      /* Can not happen without an Interpreter */
+      throw new ParserException(e.getStatus());
+    }
+  }
+
+  /**
+   * Parse the given InputStream and pass the Elements to the given Interpreter
+   * while they are read.
+   *
+   * @param inS The InputStream to parse.
+   * @param properties a map of properties to configure parsing or
+   * <code>null</code> if none.
+   * @param interpreter the Interpreter to stream the Elements into or
+   * <code>null</code> to build the complete Document.
+   * @param feed An instanceof IFeed that stores the interpreted Feed.
+   * @return The parsed Document. If an Interpreter is given, streamed Elements
+   * are part of the Document but without their children.
+   * @throws ParserException Checked Exception to be used in case of any
+   * Exception while parsing.
+   * @throws InterpreterException Checked Exception to be used in case of any
+   * Exception while interpreting.
+   */
+  public Document parse(InputStream inS, Map<Object, Object> properties, IStreamingFormatInterpreter interpreter, IFeed feed) throws ParserException, InterpreterException {
+    boolean usePlatformEncoding = (properties != null && properties.containsKey(DefaultProtocolHandler.USE_PLATFORM_ENCODING));
+    XMLStreamReader reader = null;
+    boolean success = false;
+    try {
+      reader = createReader(inS, usePlatformEncoding);
+      Document document = read(reader, interpreter, feed);
+      success = true;
+
+      return document;
+    } catch (XMLStreamException e) {
+
+      /*
+       * A second Run with the Platform Default Encoding is not possible from
+       * here, as the Interpreter might already have processed parts of the
+       * Feed. Indicate the Encoding Issue to let the caller start over.
+       */
+      if (!usePlatformEncoding && isEncodingIssue(e))
+        throw new EncodingException(Activator.getDefault().createErrorStatus(e.getMessage(), e));
+
+      throw new ParserException(Activator.getDefault().createErrorStatus(e.getMessage(), e));
+    } finally {
+      close(reader, inS, success);
+    }
+  }
+
+  private XMLStreamReader createReader(InputStream inS, boolean usePlatformEncoding) throws XMLStreamException {
+    synchronized (fFactory) {
+      if (usePlatformEncoding)
+        return fFactory.createXMLStreamReader(new InputStreamReader(inS));
+
+      return fFactory.createXMLStreamReader(inS);
+    }
+  }
+
+  private Document read(XMLStreamReader reader, IStreamingFormatInterpreter interpreter, IFeed feed) throws XMLStreamException, InterpreterException {
+    Document document = new Document();
+    StringBuilder text = new StringBuilder();
+    Element current = null;
+    Element streamed = null;
+
+    while (reader.hasNext()) {
+      switch (reader.next()) {
+        case XMLStreamConstants.START_ELEMENT:
+          Element element = createElement(reader);
+          if (current == null)
+            document.setRootElement(element);
+          else {
+            flushText(current, text);
+            current.addContent(element);
+          }
+
+          /* Ask the Interpreter whether to stream the children of this Element */
+          if (interpreter != null && current == streamed && interpreter.startElement(element, feed))
+            streamed = element;
+
+          current = element;
+          break;
+
+        case XMLStreamConstants.END_ELEMENT:
+          Element parent = current.getParentElement();
+
+          /* End of a streamed Element */
+          if (current == streamed)
+            streamed = parent;
+
+          /* Pass the complete Element to the Interpreter and discard it */
+          else {
+            flushText(current, text);
+            if (interpreter != null && parent == streamed) {
+              interpreter.processElement(current, feed);
+              if (parent != null)
+                current.detach();
+            }
+          }
+
+          current = parent;
+          break;
+
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.SPACE:
+          if (current != null && current != streamed)
+            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          break;
+
+        case XMLStreamConstants.ENTITY_REFERENCE:
+          if (current != null && current != streamed)
+            text.append(getEntityText(reader));
+          break;
+
+        case XMLStreamConstants.CDATA:
+          if (current != null && current != streamed) {
+            flushText(current, text);
+            current.addContent(new CDATA(reader.getText()));
+          }
+          break;
+
+        case XMLStreamConstants.COMMENT:
+          if (current != null && current != streamed) {
+            flushText(current, text);
+            current.addContent(new Comment(reader.getText()));
+          }
+          break;
+      }
+    }
+
+    return document;
+  }
+
+  private Element createElement(XMLStreamReader reader) {
+    Element element = new Element(reader.getLocalName(), getNamespace(reader.getPrefix(), reader.getNamespaceURI()));
+
+    /* Additional Namespace Declarations */
+    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+      Namespace namespace = getNamespace(reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+      if (!namespace.getPrefix().equals(element.getNamespacePrefix()) || !namespace.getURI().equals(element.getNamespaceURI()))
+        element.addNamespaceDeclaration(namespace);
+    }
+
+    /* Attributes */
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      Namespace namespace = getNamespace(reader.getAttributePrefix(i), reader.getAttributeNamespace(i));
+      element.setAttribute(new Attribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i), namespace));
+    }
+
+    return element;
+  }
+
+  private Namespace getNamespace(String prefix, String uri) {
+    return Namespace.getNamespace(prefix != null ? prefix : "", uri != null ? uri : ""); //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  private String getEntityText(XMLStreamReader reader) {
+
+    /* Entity declared by the XML */
+    String text = reader.getText();
+    if (text != null)
+      return text;
+
+    /* Entity declared by the default DTD */
+    String name = reader.getLocalName();
+    text = fEntities.get(name);
+    if (text != null)
+      return text;
+
+    /* Unknown Entity */
+    return "&" + name + ";"; //$NON-NLS-1$ //$NON-NLS-2$
+  }
+
+  private void flushText(Element element, StringBuilder text) {
+    if (text.length() > 0) {
+      element.addContent(new Text(text.toString()));
+      text.setLength(0);
+    }
+  }
+
+  private boolean isEncodingIssue(XMLStreamException ex) {
+    Throwable cause = ex.getNestedException();
+
+    /* Errors reading the Stream (e.g. Connection closed) are no Encoding Issue */
+    if (cause instanceof IOException)
+      return cause instanceof CharConversionException || cause instanceof UnsupportedEncodingException;
+
+    return true;
+  }
+
+  private void close(XMLStreamReader reader, InputStream inS, boolean success) throws ParserException {
+    try {
+      if (reader != null)
+        reader.close();
+    } catch (XMLStreamException e) {
+      /* Ignore, the Stream is closed below */
+    }
+
+    try {
+      if (!success && inS instanceof IAbortable)
+        ((IAbortable) inS).abort();
+      else
+        inS.close();
+    } catch (IOException e) {
+
+      /* Do not override a previous Exception */
+      if (success)
+        throw new ParserException(Activator.getDefault().createErrorStatus(e.getMessage(), e));
+    }
+  }
+}
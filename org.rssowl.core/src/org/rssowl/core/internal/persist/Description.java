@@ -53,6 +53,15 @@ public class Description extends Persistable {
     fValue = value;
   }
 
+  /**
+   * @param newsId the identifier of the news this description belongs to
+   * @param value the textual content of the description
+   */
+  public Description(long newsId, String value) {
+    fNewsId = newsId;
+    fValue = value;
+  }
+
   /**
    * @return the news reference this description belongs to.
    */
@@ -60,6 +69,13 @@ public class Description extends Persistable {
     return new NewsReference(fNewsId);
   }
 
+  /**
+   * @return the identifier of the news this description belongs to.
+   */
+  public synchronized long getNewsId() {
+    return fNewsId;
+  }
+
   /**
    * @return the textual content of this description.
    */
@@ -56,6 +56,15 @@ public final class DescriptionReference {
     return DBHelper.getDescriptionDAO().load(fNewsId);
   }
 
+  /**
+   * @return the textual content of the referenced description or
+   * <code>null</code> if none.
+   * @throws PersistenceException in case of an error loading the description.
+   */
+  public String resolveValue() throws PersistenceException {
+    return DBHelper.getDescriptionDAO().loadValue(fNewsId);
+  }
+
   /*
    * @see java.lang.Object#equals(java.lang.Object)
    */
@@ -74,6 +74,8 @@ public class Feed extends AbstractEntity implements IFeed {
   private String fWebmaster;
   private Date fLastModifiedDate;
   private int fTTL;
+  private int fHoursToSkip;
+  private int fDaysToSkip;
   private String fFormat;
   private String fBaseUri;
   private transient URI fLink;
@@ -133,15 +135,6 @@ public class Feed extends AbstractEntity implements IFeed {
     fNews.add(news);
   }
 
-  private int findNews(List<INews> newsList, INews news) {
-    for (int i = 0, c = newsList.size(); i < c; ++i) {
-      if (news.isEquivalent(newsList.get(i)))
-        return i;
-    }
-
-    return -1;
-  }
-
   /*
    * @see org.rssowl.core.model.types.IFeed#getNews()
    */
@@ -508,6 +501,8 @@ public class Feed extends AbstractEntity implements IFeed {
           && (fPublishDate == null ? f.fPublishDate == null : fPublishDate.equals(f.fPublishDate))
           && (fTitle == null ? f.fTitle == null : fTitle.equals(f.fTitle))
           && fTTL == f.fTTL
+          && fHoursToSkip == f.fHoursToSkip
+          && fDaysToSkip == f.fDaysToSkip
           && (fWebmaster == null ? f.fWebmaster == null : fWebmaster.equals(f.fWebmaster))
           && (getProperties() == null ? f.getProperties() == null : getProperties().equals(f.getProperties()));
     }
@@ -535,27 +530,23 @@ public class Feed extends AbstractEntity implements IFeed {
   @Override
   public void setTextInput(ITextInput input) {}
 
-  /**
-   * This type is not handled by the Application! Use Properties instead.
-   * <p>
-   * The Methods <code>setProperty()</code> and <code>getProperty()</code>
-   * allows to store and retrieve extensible Data that is not part of this Types
-   * model.
-   * </p>
+  /*
+   * @see org.rssowl.core.persist.IFeed#addHourToSkip(int)
    */
   @Override
-  public void addHourToSkip(int hour) {}
+  public synchronized void addHourToSkip(int hour) {
+    if (0 <= hour && hour < 24)
+      fHoursToSkip |= 1 << hour;
+  }
 
-  /**
-   * This type is not handled by the Application! Use Properties instead.
-   * <p>
-   * The Methods <code>setProperty()</code> and <code>getProperty()</code>
-   * allows to store and retrieve extensible Data that is not part of this Types
-   * model.
-   * </p>
+  /*
+   * @see org.rssowl.core.persist.IFeed#addDayToSkip(int)
    */
   @Override
-  public void addDayToSkip(int day) {}
+  public synchronized void addDayToSkip(int day) {
+    if (0 <= day && day < IFeed.DAYS.size())
+      fDaysToSkip |= 1 << day;
+  }
 
   /**
    * This type is not handled by the Application! Use Properties instead.
@@ -602,30 +593,46 @@ public class Feed extends AbstractEntity implements IFeed {
     return null;
   }
 
-  /**
-   * This type is not handled by the Application! Use Properties instead
-   * <p>
-   * The Methods <code>setProperty()</code> and <code>getProperty()</code>
-   * allows to store and retrieve extensible Data that is not part of this Types
-   * model.
-   * </p>
+  /*
+   * @see org.rssowl.core.persist.IFeed#getDaysToSkip()
    */
   @Override
-  public int[] getDaysToSkip() {
-    return null;
+  public synchronized int[] getDaysToSkip() {
+    return toArray(fDaysToSkip);
   }
 
-  /**
-   * This type is not handled by the Application! Use Properties instead
-   * <p>
-   * The Methods <code>setProperty()</code> and <code>getProperty()</code>
-   * allows to store and retrieve extensible Data that is not part of this Types
-   * model.
-   * </p>
+  /*
+   * @see org.rssowl.core.persist.IFeed#getHoursToSkip()
    */
   @Override
-  public int[] getHoursToSkip() {
-    return null;
+  public synchronized int[] getHoursToSkip() {
+    return toArray(fHoursToSkip);
+  }
+
+  /* Returns the positions of the set bits or null if none */
+  private static int[] toArray(int bits) {
+    if (bits == 0)
+      return null;
+
+    int[] values = new int[Integer.bitCount(bits)];
+    for (int i = 0, value = 0; i < values.length; value++) {
+      if ((bits & (1 << value)) != 0)
+        values[i++] = value;
+    }
+
+    return values;
+  }
+
+  /* Returns the given values as bits */
+  private static int toBits(int[] values) {
+    int bits = 0;
+    if (values != null) {
+      for (int value : values) {
+        bits |= 1 << value;
+      }
+    }
+
+    return bits;
   }
 
   /*
@@ -760,6 +767,8 @@ public class Feed extends AbstractEntity implements IFeed {
     fPublishDate = objectToMerge.getPublishDate();
     fTitle = objectToMerge.getTitle();
     fTTL = objectToMerge.getTTL();
+    fHoursToSkip = toBits(objectToMerge.getHoursToSkip());
+    fDaysToSkip = toBits(objectToMerge.getDaysToSkip());
     fWebmaster = objectToMerge.getWebmaster();
 
     ComplexMergeResult<?> propertiesResult = MergeUtils.mergeProperties(this, objectToMerge);
@@ -784,6 +793,8 @@ public class Feed extends AbstractEntity implements IFeed {
         MergeUtils.equals(fPublishDate, feed.getPublishDate()) &&
         MergeUtils.equals(fTitle, feed.getTitle()) &&
         MergeUtils.equals(fTTL, feed.getTTL()) &&
+        fHoursToSkip == toBits(feed.getHoursToSkip()) &&
+        fDaysToSkip == toBits(feed.getDaysToSkip()) &&
         MergeUtils.equals(fWebmaster, feed.getWebmaster());
   }
 
@@ -866,16 +877,25 @@ public class Feed extends AbstractEntity implements IFeed {
       }
     }
 
-    /* Non Synchronized Feed */
+    /* Non Synchronized Feed (speed up by indexing equivalence keys) */
     else {
+      NewsEquivalenceIndex index = new NewsEquivalenceIndex(newsListCopy.size());
+      for (INews news : newsListCopy) {
+        index.add(news);
+      }
+
+      boolean[] mergedNews = new boolean[newsListCopy.size()];
+      boolean hasMergedNews = false;
       for (int i = fNews.size() - 1; i >= 0; --i) {
         INews existingNews = fNews.get(i);
-        int existingNewsIndex = findNews(newsListCopy, existingNews);
+        int existingNewsIndex = index.find(existingNews);
 
         /* News exists in feed: Merge it */
         if (existingNewsIndex > -1) {
           mergeResult.addAll(existingNews.merge(newsListCopy.get(existingNewsIndex)));
-          newsListCopy.remove(existingNewsIndex);
+          index.remove(existingNewsIndex);
+          mergedNews[existingNewsIndex] = true;
+          hasMergedNews = true;
         }
 
         /* News does not exist in feed: Delete it */
@@ -884,6 +904,18 @@ public class Feed extends AbstractEntity implements IFeed {
           newsToCleanUp[newsToCleanUpSize++] = i;
         }
       }
+
+      /* Remove merged News from the List of new News keeping their Order */
+      if (hasMergedNews) {
+        List<INews> newNews = new ArrayList<INews>(newsListCopy.size());
+        for (int i = 0; i < mergedNews.length; i++) {
+          if (!mergedNews[i])
+            newNews.add(newsListCopy.get(i));
+        }
+
+        newsListCopy.clear();
+        newsListCopy.addAll(newNews);
+      }
     }
 
     /* Delete News as necessary */
@@ -934,25 +966,74 @@ public class Feed extends AbstractEntity implements IFeed {
     return mergeResult;
   }
 
+  /**
+   * Returns those news of the given feed that would be added to this feed if
+   * it was merged into this feed now. Neither this feed nor the given feed is
+   * changed by calling this method.
+   *
+   * @param objectToMerge the feed that is going to be merged into this feed.
+   * @return the news of the given feed that have no equivalent news in this
+   * feed in the order they would be added.
+   */
+  public synchronized List<INews> getNewsToAdd(IFeed objectToMerge) {
+    Assert.isNotNull(objectToMerge);
+    List<INews> newsListCopy = copyWithoutDuplicates(objectToMerge.getNews());
+
+    /* Synchronized Feed (rely on GUID) */
+    if (SyncUtils.isSynchronized(fLinkText)) {
+      Set<String> existingGuids = new HashSet<String>(fNews.size());
+      for (INews existingNews : fNews) {
+        if (existingNews.getGuid() != null)
+          existingGuids.add(existingNews.getGuid().getValue());
+      }
+
+      List<INews> newNews = new ArrayList<INews>(newsListCopy.size());
+      for (INews news : newsListCopy) {
+        if (news.getGuid() == null || !existingGuids.contains(news.getGuid().getValue()))
+          newNews.add(news);
+      }
+
+      return newNews;
+    }
+
+    /* Non Synchronized Feed (lookup equivalent News from an Index) */
+    NewsEquivalenceIndex index = new NewsEquivalenceIndex(newsListCopy.size());
+    for (INews news : newsListCopy) {
+      index.add(news);
+    }
+
+    boolean[] mergedNews = new boolean[newsListCopy.size()];
+    for (int i = fNews.size() - 1; i >= 0; --i) {
+      int existingNewsIndex = index.find(fNews.get(i));
+      if (existingNewsIndex > -1) {
+        index.remove(existingNewsIndex);
+        mergedNews[existingNewsIndex] = true;
+      }
+    }
+
+    List<INews> newNews = new ArrayList<INews>(newsListCopy.size());
+    for (int i = 0; i < mergedNews.length; i++) {
+      if (!mergedNews[i])
+        newNews.add(newsListCopy.get(i));
+    }
+
+    return newNews;
+  }
+
   private List<INews> copyWithoutDuplicates(List<INews> newsList) {
 
     /* Perform fast lookup for synchronized feeds using GUID */
     if (SyncUtils.isSynchronized(fLinkText))
       return copyWithoutDuplicatesSynced(newsList);
 
-    /* Otherwise search rawly */
+    /* Otherwise lookup equivalent News from an Index */
+    NewsEquivalenceIndex index = new NewsEquivalenceIndex(newsList.size());
     List<INews> newsListCopy = new ArrayList<INews>(newsList.size());
-    for (INews outerNews : newsList) {
-      boolean containsNews = false;
-      for (INews innerNews : newsListCopy) {
-        if (innerNews.isEquivalent(outerNews)) {
-          containsNews = true;
-          break;
-        }
+    for (INews news : newsList) {
+      if (index.find(news) < 0) {
+        index.add(news);
+        newsListCopy.add(news);
       }
-
-      if (!containsNews)
-        newsListCopy.add(outerNews);
     }
 
     return newsListCopy;
@@ -53,6 +53,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -68,9 +69,13 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  */
 public class News extends AbstractEntity implements INews {
 
-  /* A Lock used for read/write access of the News getters and setters */
-  static final class Lock {
-    private final transient ReentrantReadWriteLock fLock = new ReentrantReadWriteLock();
+  /*
+   * A Lock used for write access of the News setters and for read access of
+   * getters that need a consistent view of more than one field. Getters of a
+   * single field read it lock free because all such fields are volatile.
+   */
+  static final class Lock extends ReentrantReadWriteLock {
+    private static final long serialVersionUID = 1L;
     private volatile transient Thread fReadLockThread;
 
     void acquireWriteLock() {
@@ -78,61 +83,63 @@ public class News extends AbstractEntity implements INews {
         throw new IllegalStateException("Cannot acquire the write lock from the " + //$NON-NLS-1$
             "same thread as the read lock."); //$NON-NLS-1$
       }
-      fLock.writeLock().lock();
+      writeLock().lock();
     }
 
     void releaseWriteLock() {
-      fLock.writeLock().unlock();
+      writeLock().unlock();
     }
 
     void acquireReadLock() {
-      fLock.readLock().lock();
+      readLock().lock();
     }
 
     void acquireReadLockSpecial() {
-      fLock.readLock().lock();
+      readLock().lock();
       fReadLockThread = Thread.currentThread();
     }
 
     void releaseReadLock() {
-      fLock.readLock().unlock();
+      readLock().unlock();
     }
 
     void releaseReadLockSpecial() {
       fReadLockThread = null;
-      fLock.readLock().unlock();
+      readLock().unlock();
     }
   }
 
-  private String fTitle;
-  private String fLinkText;
-  private String fBaseUri;
-  private Date fReceiveDate;
-  private Date fPublishDate;
-  private Date fModifiedDate;
-  private String fComments;
-  private String fInReplyTo;
-  private boolean fIsFlagged;
-  private int fRating;
-  private int fStateOrdinal = INews.State.NEW.ordinal();
+  private volatile String fTitle;
+  private volatile String fLinkText;
+  private volatile String fBaseUri;
+  private volatile Date fReceiveDate;
+  private volatile Date fPublishDate;
+  private volatile Date fModifiedDate;
+  private volatile String fComments;
+  private volatile String fInReplyTo;
+  private volatile boolean fIsFlagged;
+  private volatile int fRating;
+  private volatile int fStateOrdinal = INews.State.NEW.ordinal();
   private String fGuidValue;
-  private transient IGuid fGuid;
+  private volatile transient IGuid fGuid;
   private boolean fGuidIsPermaLink;
-  private ISource fSource;
-  private String fFeedLink;
-  private IPerson fAuthor;
+  private volatile ISource fSource;
+  private volatile String fFeedLink;
+  private volatile IPerson fAuthor;
   private List<IAttachment> fAttachments;
   private List<ICategory> fCategories;
   private Set<ILabel> fLabels;
 
   /* This field is only non-zero if the parent is not a feed */
-  private long fParentId;
+  private volatile long fParentId;
 
   /* We can't use fDescription to support migration from M7 to M8 */
-  private transient String fTransientDescription;
-  private transient boolean fTransientDescriptionSet;
+  private volatile transient String fTransientDescription;
+  private volatile transient boolean fTransientDescriptionSet;
 
-  private transient final Lock fLock = new Lock();
+  /* Created on first use as most News are only ever read */
+  private volatile transient Lock fLock;
+  private static final AtomicReferenceFieldUpdater<News, Lock> LOCK_UPDATER = AtomicReferenceFieldUpdater.newUpdater(News.class, Lock.class, "fLock"); //$NON-NLS-1$
 
   /**
    * Constructor used by <code>DefaultModelFactory</code>
@@ -170,7 +177,7 @@ public class News extends AbstractEntity implements INews {
   public News(News news, long parentId) {
     super(null, news);
     fParentId = parentId;
-    news.fLock.acquireReadLock();
+    news.lock().acquireReadLock();
     try {
       for (IAttachment attachment : news.getAttachments())
         addAttachment(new Attachment(attachment, this));
@@ -212,7 +219,7 @@ public class News extends AbstractEntity implements INews {
       fStateOrdinal = news.fStateOrdinal;
       fTitle = news.fTitle;
     } finally {
-      news.fLock.releaseReadLock();
+      news.lock().releaseReadLock();
     }
     init();
   }
@@ -228,13 +235,10 @@ public class News extends AbstractEntity implements INews {
    * Initialises object after deserialization. Should not be used otherwise.
    */
   public final void init() {
-    fLock.acquireWriteLock();
-    try {
-      if (fGuidValue != null)
-        fGuid = new Guid(fGuidValue, fGuidIsPermaLink);
-    } finally {
-      fLock.releaseWriteLock();
-    }
+
+    /* Lock free to not create a Lock for every News that is activated */
+    if (fGuidValue != null)
+      fGuid = new Guid(fGuidValue, fGuidIsPermaLink);
   }
 
   /**
@@ -251,7 +255,7 @@ public class News extends AbstractEntity implements INews {
    * @see #releaseReadLockSpecial()
    */
   public final void acquireReadLockSpecial() {
-    fLock.acquireReadLockSpecial();
+    lock().acquireReadLockSpecial();
   }
 
   /**
@@ -263,7 +267,18 @@ public class News extends AbstractEntity implements INews {
    * @see #acquireReadLockSpecial()
    */
   public final void releaseReadLockSpecial() {
-    fLock.releaseReadLockSpecial();
+    lock().releaseReadLockSpecial();
+  }
+
+  private Lock lock() {
+    Lock lock = fLock;
+    if (lock == null) {
+      lock = new Lock();
+      if (!LOCK_UPDATER.compareAndSet(this, null, lock))
+        lock = fLock;
+    }
+
+    return lock;
   }
 
   private <T> Boolean isEquivalentCompare(T o1, T o2) {
@@ -279,11 +294,11 @@ public class News extends AbstractEntity implements INews {
   @Override
   @SuppressWarnings("all")
   public Map<String, Serializable> getProperties() {
-    fLock.acquireReadLock();
+    lock().acquireReadLock();
     try {
       return super.getProperties();
     } finally {
-      fLock.releaseReadLock();
+      lock().releaseReadLock();
     }
   }
 
@@ -293,11 +308,11 @@ public class News extends AbstractEntity implements INews {
   @Override
   @SuppressWarnings("all")
   public Object getProperty(String key) {
-    fLock.acquireReadLock();
+    lock().acquireReadLock();
     try {
       return super.getProperty(key);
     } finally {
-      fLock.releaseReadLock();
+      lock().releaseReadLock();
     }
   }
 
@@ -307,11 +322,11 @@ public class News extends AbstractEntity implements INews {
   @Override
   @SuppressWarnings("all")
   public Object removeProperty(String key) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       return super.removeProperty(key);
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -321,11 +336,11 @@ public class News extends AbstractEntity implements INews {
   @Override
   @SuppressWarnings("all")
   public void setProperty(String key, Serializable value) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       super.setProperty(key, value);
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -339,8 +354,8 @@ public class News extends AbstractEntity implements INews {
   @Override
   public boolean isEquivalent(INews o) {
     News other = (News) o;
-    fLock.acquireReadLock();
-    other.fLock.acquireReadLock();
+    lock().acquireReadLock();
+    other.lock().acquireReadLock();
     try {
       Assert.isNotNull(other, "other cannot be null"); //$NON-NLS-1$
 
@@ -370,12 +385,12 @@ public class News extends AbstractEntity implements INews {
 
       return false;
     } finally {
-      fLock.releaseReadLock();
-      other.fLock.releaseReadLock();
+      lock().releaseReadLock();
+      other.lock().releaseReadLock();
     }
   }
 
-  private String slashTrim(String str) {
+  static String slashTrim(String str) {
     if (StringUtils.isSet(str) && str.length() > 1 && str.charAt(str.length() - 1) == '/')
       return str.substring(0, str.length() - 1);
 
@@ -390,7 +405,7 @@ public class News extends AbstractEntity implements INews {
   @Override
   public void addAttachment(IAttachment attachment) {
     Assert.isNotNull(attachment, "Exception adding NULL as Attachment into News"); //$NON-NLS-1$
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       if (fAttachments == null)
         fAttachments = new ArrayList<IAttachment>(1);
@@ -399,7 +414,7 @@ public class News extends AbstractEntity implements INews {
       Assert.isTrue(equals(attachment.getNews()), "The Attachment has a different News set!"); //$NON-NLS-1$
       fAttachments.add(attachment);
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -408,7 +423,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public Set<ILabel> getLabels() {
-    fLock.acquireReadLock();
+    lock().acquireReadLock();
     try {
       if (fLabels == null)
         return new HashSet<ILabel>(0);
@@ -424,7 +439,7 @@ public class News extends AbstractEntity implements INews {
 
       return labels;
     } finally {
-      fLock.releaseReadLock();
+      lock().releaseReadLock();
     }
   }
 
@@ -434,26 +449,26 @@ public class News extends AbstractEntity implements INews {
   @Override
   public boolean addLabel(ILabel label) {
     Assert.isNotNull(label, "label"); //$NON-NLS-1$
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       if (fLabels == null)
         fLabels = new HashSet<ILabel>(1);
 
       return fLabels.add(label);
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
   void clearLabels() {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       if (fLabels == null)
         return;
 
       fLabels.clear();
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -463,14 +478,14 @@ public class News extends AbstractEntity implements INews {
   @Override
   public boolean removeLabel(ILabel label) {
     Assert.isNotNull(label, "label"); //$NON-NLS-1$
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       if (fLabels == null)
         return false;
 
       return fLabels.remove(label);
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -479,13 +494,13 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public List<IAttachment> getAttachments() {
-    fLock.acquireReadLock();
+    lock().acquireReadLock();
     try {
       if (fAttachments == null)
         return new ArrayList<IAttachment>(0);
       return new ArrayList<IAttachment>(fAttachments);
     } finally {
-      fLock.releaseReadLock();
+      lock().releaseReadLock();
     }
   }
 
@@ -494,12 +509,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public IPerson getAuthor() {
-    fLock.acquireReadLock();
-    try {
-      return fAuthor;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fAuthor;
   }
 
   /*
@@ -507,11 +517,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setAuthor(IPerson author) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fAuthor = author;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -520,19 +530,18 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public String getDescription() {
-    fLock.acquireReadLock();
+    lock().acquireReadLock();
     try {
       if (fTransientDescriptionSet)
         return fTransientDescription;
     } finally {
-      fLock.releaseReadLock();
+      lock().releaseReadLock();
     }
 
     if (getId() == null)
       return null;
 
-    Description description = loadDescription();
-    return description == null ? null : description.getValue();
+    return new DescriptionReference(getIdAsPrimitive()).resolveValue();
   }
 
   /*
@@ -540,12 +549,12 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setDescription(String description) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fTransientDescription = description;
       fTransientDescriptionSet = true;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -554,12 +563,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public URI getLink() {
-    fLock.acquireReadLock();
-    try {
-      return fLinkText == null ? null : createURI(fLinkText);
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fLinkText == null ? null : createURI(fLinkText);
   }
 
   /*
@@ -567,11 +571,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setLink(URI link) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fLinkText = link == null ? null : link.toString();
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -580,12 +584,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public Date getPublishDate() {
-    fLock.acquireReadLock();
-    try {
-      return fPublishDate;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fPublishDate;
   }
 
   /*
@@ -593,11 +592,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setPublishDate(Date publishDate) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fPublishDate = publishDate;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -606,12 +605,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public String getTitle() {
-    fLock.acquireReadLock();
-    try {
-      return fTitle;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fTitle;
   }
 
   /*
@@ -619,11 +613,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setTitle(String title) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fTitle = title;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -632,12 +626,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public FeedLinkReference getFeedReference() {
-    fLock.acquireReadLock();
-    try {
-      return fFeedLink == null ? null : new FeedLinkReference(createURI(fFeedLink));
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fFeedLink == null ? null : new FeedLinkReference(createURI(fFeedLink));
   }
 
   /*
@@ -645,11 +634,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setReceiveDate(Date receiveDate) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fReceiveDate = receiveDate;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -658,12 +647,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public Date getReceiveDate() {
-    fLock.acquireReadLock();
-    try {
-      return fReceiveDate;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fReceiveDate;
   }
 
   /*
@@ -671,11 +655,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setComments(String comments) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fComments = comments;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -684,13 +668,13 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setGuid(IGuid guid) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fGuid = guid;
       fGuidValue = (guid == null ? null : guid.getValue());
       fGuidIsPermaLink = (guid == null ? false : guid.isPermaLink());
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -699,11 +683,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setSource(ISource source) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fSource = source;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -712,11 +696,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setInReplyTo(String guid) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fInReplyTo = guid;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -725,11 +709,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setModifiedDate(Date modifiedDate) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fModifiedDate = modifiedDate;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -738,12 +722,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public Date getModifiedDate() {
-    fLock.acquireReadLock();
-    try {
-      return fModifiedDate;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fModifiedDate;
   }
 
   /**
@@ -768,13 +747,13 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void addCategory(ICategory category) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       if (fCategories == null)
         fCategories = new ArrayList<ICategory>(1);
       fCategories.add(category);
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -783,12 +762,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public String getComments() {
-    fLock.acquireReadLock();
-    try {
-      return fComments;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fComments;
   }
 
   /*
@@ -796,12 +770,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public boolean isFlagged() {
-    fLock.acquireReadLock();
-    try {
-      return fIsFlagged;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fIsFlagged;
   }
 
   /*
@@ -809,11 +778,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setFlagged(boolean isFlagged) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fIsFlagged = isFlagged;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -822,12 +791,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public IGuid getGuid() {
-    fLock.acquireReadLock();
-    try {
-      return fGuid;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fGuid;
   }
 
   /*
@@ -835,11 +799,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setBase(URI baseUri) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fBaseUri = getURIText(baseUri);
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -848,12 +812,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public URI getBase() {
-    fLock.acquireReadLock();
-    try {
-      return createURI(fBaseUri);
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return createURI(fBaseUri);
   }
 
   /*
@@ -861,13 +820,13 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public List<ICategory> getCategories() {
-    fLock.acquireReadLock();
+    lock().acquireReadLock();
     try {
       if (fCategories == null)
         return new ArrayList<ICategory>(0);
       return new ArrayList<ICategory>(fCategories);
     } finally {
-      fLock.releaseReadLock();
+      lock().releaseReadLock();
     }
   }
 
@@ -877,11 +836,11 @@ public class News extends AbstractEntity implements INews {
   @Override
   public void setState(State state) {
     Assert.isNotNull(state, "state cannot be null"); //$NON-NLS-1$
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fStateOrdinal = state.ordinal();
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -890,12 +849,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public State getState() {
-    fLock.acquireReadLock();
-    try {
-      return INews.State.getState(fStateOrdinal);
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return INews.State.getState(fStateOrdinal);
   }
 
   /*
@@ -903,11 +857,11 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void setRating(int rating) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fRating = rating;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -916,12 +870,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public int getRating() {
-    fLock.acquireReadLock();
-    try {
-      return fRating;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fRating;
   }
 
   /*
@@ -929,12 +878,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public ISource getSource() {
-    fLock.acquireReadLock();
-    try {
-      return fSource;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fSource;
   }
 
   /*
@@ -942,12 +886,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public String getInReplyTo() {
-    fLock.acquireReadLock();
-    try {
-      return fInReplyTo;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fInReplyTo;
   }
 
   /*
@@ -965,11 +904,11 @@ public class News extends AbstractEntity implements INews {
   @Override
   public void setParent(IFeed feed) {
     Assert.isNotNull(feed, "feed"); //$NON-NLS-1$
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       this.fFeedLink = feed.getLink().toString();
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -978,12 +917,12 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public void removeAttachment(IAttachment attachment) {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       if (fAttachments != null)
         fAttachments.remove(attachment);
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -992,12 +931,7 @@ public class News extends AbstractEntity implements INews {
    */
   @Override
   public long getParentId() {
-    fLock.acquireReadLock();
-    try {
-      return fParentId;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fParentId;
   }
 
   /**
@@ -1012,24 +946,19 @@ public class News extends AbstractEntity implements INews {
    * <code>null</code> if none.
    */
   public String getTransientDescription() {
-    fLock.acquireReadLock();
-    try {
-      return fTransientDescription;
-    } finally {
-      fLock.releaseReadLock();
-    }
+    return fTransientDescription;
   }
 
   /**
    * Removes the description element from this news to free memory.
    */
   public void clearTransientDescription() {
-    fLock.acquireWriteLock();
+    lock().acquireWriteLock();
     try {
       fTransientDescription = null;
       fTransientDescriptionSet = false;
     } finally {
-      fLock.releaseWriteLock();
+      lock().releaseWriteLock();
     }
   }
 
@@ -1069,8 +998,8 @@ public class News extends AbstractEntity implements INews {
       return false;
 
     News n = (News) news;
-    fLock.acquireReadLock();
-    n.fLock.acquireReadLock();
+    lock().acquireReadLock();
+    n.lock().acquireReadLock();
     try {
       return (getId() == null ? n.getId() == null : getId().equals(n.getId())) &&
           fFeedLink.equals(n.fFeedLink) &&
@@ -1086,8 +1015,8 @@ public class News extends AbstractEntity implements INews {
           getState() == n.getState() && fIsFlagged == n.fIsFlagged && fRating == n.fRating &&
           (getProperties() == null ? n.getProperties() == null : getProperties().equals(n.getProperties()));
     } finally {
-      fLock.releaseReadLock();
-      n.fLock.releaseReadLock();
+      lock().releaseReadLock();
+      n.lock().releaseReadLock();
     }
 
   }
@@ -1112,9 +1041,9 @@ public class News extends AbstractEntity implements INews {
       Assert.isLegal(this != news, "Trying to merge the same news, this is most likely a mistake, news: " + news); //$NON-NLS-1$
 
     News n = (News) news;
-    n.fLock.acquireReadLock();
+    n.lock().acquireReadLock();
     try {
-      fLock.acquireWriteLock();
+      lock().acquireWriteLock();
       try {
         boolean isSynchronized = SyncUtils.isSynchronized(this);
         boolean wasModified = !MergeUtils.equals(fModifiedDate, n.fModifiedDate) || !MergeUtils.equals(fPublishDate, n.fPublishDate) || !MergeUtils.equals(fTitle, n.fTitle);
@@ -1166,10 +1095,10 @@ public class News extends AbstractEntity implements INews {
 
         return newsMergeResult;
       } finally {
-        fLock.releaseWriteLock();
+        lock().releaseWriteLock();
       }
     } finally {
-      n.fLock.releaseReadLock();
+      n.lock().releaseReadLock();
     }
   }
 
@@ -1364,7 +1293,7 @@ public class News extends AbstractEntity implements INews {
   public synchronized String toString() {
     StringBuilder str = new StringBuilder();
     str.append("\n\n****************************** News ******************************\n"); //$NON-NLS-1$
-    fLock.acquireReadLock();
+    lock().acquireReadLock();
     try {
       str.append("\nNews ID: ").append(getId()); //$NON-NLS-1$
       if (getTitle() != null)
@@ -1372,7 +1301,7 @@ public class News extends AbstractEntity implements INews {
       if (getLinkAsText() != null)
         str.append("\nLink: ").append(getLinkAsText()); //$NON-NLS-1$
     } finally {
-      fLock.releaseReadLock();
+      lock().releaseReadLock();
     }
     return str.toString();
   }
@@ -1386,7 +1315,7 @@ public class News extends AbstractEntity implements INews {
     StringBuilder str = new StringBuilder();
 
     str.append("\n\n****************************** News ******************************\n"); //$NON-NLS-1$
-    fLock.acquireReadLock();
+    lock().acquireReadLock();
     try {
       str.append("\nNews ID: ").append(getId()); //$NON-NLS-1$
       if (fFeedLink != null)
@@ -1423,7 +1352,7 @@ public class News extends AbstractEntity implements INews {
       str.append("\nIs Flagged: ").append(fIsFlagged); //$NON-NLS-1$
       str.append("\nProperties: ").append(getProperties()); //$NON-NLS-1$
     } finally {
-      fLock.releaseReadLock();
+      lock().releaseReadLock();
     }
 
     return str.toString();
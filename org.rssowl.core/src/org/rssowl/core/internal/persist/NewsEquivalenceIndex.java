@@ -0,0 +1,225 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.internal.persist;
+
+import org.rssowl.core.persist.IGuid;
+import org.rssowl.core.persist.INews;
+import org.rssowl.core.util.ArrayUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * An index over a list of {@link INews} that answers which of the indexed news
+ * is equivalent to a given news in near constant time. The result is identical
+ * to scanning the list in order and returning the first news for which
+ * {@link News#isEquivalent(INews)} returns <code>true</code>.
+ * </p>
+ * <p>
+ * The index is based on the rules applied by {@link News#isEquivalent(INews)}:
+ * <ol>
+ * <li>News with the same GUID are equivalent.</li>
+ * <li>Otherwise, if both news have a GUID or only one of them has, the news are
+ * not equivalent as long as both GUIDs are perma links.</li>
+ * <li>Otherwise, news with the same link are equivalent and news with only one
+ * of them having a link are not.</li>
+ * <li>Otherwise, news without link from the same feed and with the same title
+ * are equivalent.</li>
+ * </ol>
+ * To resolve rule 2 without comparing, news are bucketed by their kind of GUID
+ * (none, perma link or not a perma link) under each link and title key.
+ * </p>
+ * <p>
+ * Note: This class is not thread-safe.
+ * </p>
+ */
+final class NewsEquivalenceIndex {
+
+  /* Kinds of GUIDs a news can have */
+  private static final int NO_GUID = 0;
+  private static final int PERMALINK_GUID = 1;
+  private static final int OTHER_GUID = 2;
+
+  /* Separates Feed Link and Title in Keys */
+  private static final char KEY_SEPARATOR = '\n';
+
+  private final Map<String, Bucket> fGuidBuckets;
+  private final Map<String, Bucket[]> fLinkBuckets;
+  private final Map<String, Bucket[]> fTitleBuckets;
+  private boolean[] fRemoved;
+  private int fSize;
+
+  /* Ascending indices of news sharing the same key */
+  private static final class Bucket {
+    private int[] fIndices = new int[1];
+    private int fSize;
+    private int fHead;
+
+    void add(int index) {
+      fIndices = ArrayUtils.ensureCapacity(fIndices, fSize + 1);
+      fIndices[fSize++] = index;
+    }
+
+    int first(boolean[] removed) {
+
+      /* Skip removed news at the head for good */
+      while (fHead < fSize && removed[fIndices[fHead]])
+        fHead++;
+
+      return fHead < fSize ? fIndices[fHead] : -1;
+    }
+  }
+
+  /**
+   * @param expectedSize the expected number of news to index.
+   */
+  NewsEquivalenceIndex(int expectedSize) {
+    fGuidBuckets = new HashMap<String, Bucket>(expectedSize);
+    fLinkBuckets = new HashMap<String, Bucket[]>(expectedSize);
+    fTitleBuckets = new HashMap<String, Bucket[]>();
+    fRemoved = new boolean[Math.max(expectedSize, 1)];
+  }
+
+  /**
+   * Adds the news to this index. The news is identified by the number of news
+   * that were added before it.
+   *
+   * @param news the news to add.
+   * @return the index of the added news.
+   */
+  int add(INews news) {
+    int index = fSize++;
+    if (index >= fRemoved.length) {
+      boolean[] removed = new boolean[fRemoved.length * 2];
+      System.arraycopy(fRemoved, 0, removed, 0, fRemoved.length);
+      fRemoved = removed;
+    }
+
+    String guid = getGuidValue(news);
+    if (guid != null)
+      getBucket(fGuidBuckets, guid).add(index);
+
+    int guidKind = getGuidKind(news);
+    String link = News.slashTrim(news.getLinkAsText());
+    if (link != null)
+      getBuckets(fLinkBuckets, link)[guidKind].add(index);
+    else if (news.getTitle() != null)
+      getBuckets(fTitleBuckets, toTitleKey(news))[guidKind].add(index);
+
+    return index;
+  }
+
+  /**
+   * Removes the news with the given index from this index.
+   *
+   * @param index the index of the news as returned from {@link #add(INews)}.
+   */
+  void remove(int index) {
+    fRemoved[index] = true;
+  }
+
+  /**
+   * @param news the news to find an equivalent news for.
+   * @return the lowest index of an indexed news that is equivalent to the
+   * given news or <code>-1</code> if none.
+   */
+  int find(INews news) {
+    int result = -1;
+
+    /* Rule 1: Same GUID */
+    String guid = getGuidValue(news);
+    if (guid != null)
+      result = first(fGuidBuckets.get(guid), result);
+
+    /* Rule 3 and 4: Same Link or same Title */
+    String link = News.slashTrim(news.getLinkAsText());
+    Bucket[] buckets = null;
+    if (link != null)
+      buckets = fLinkBuckets.get(link);
+    else if (news.getTitle() != null)
+      buckets = fTitleBuckets.get(toTitleKey(news));
+
+    /* Rule 2: Perma Link GUIDs that differ are never equivalent */
+    if (buckets != null) {
+      int guidKind = getGuidKind(news);
+      result = first(buckets[OTHER_GUID], result);
+      if (guidKind != PERMALINK_GUID)
+        result = first(buckets[NO_GUID], result);
+      if (guidKind == OTHER_GUID)
+        result = first(buckets[PERMALINK_GUID], result);
+    }
+
+    return result;
+  }
+
+  private int first(Bucket bucket, int result) {
+    if (bucket == null)
+      return result;
+
+    int index = bucket.first(fRemoved);
+    if (index >= 0 && (result < 0 || index < result))
+      return index;
+
+    return result;
+  }
+
+  private static Bucket getBucket(Map<String, Bucket> map, String key) {
+    Bucket bucket = map.get(key);
+    if (bucket == null) {
+      bucket = new Bucket();
+      map.put(key, bucket);
+    }
+
+    return bucket;
+  }
+
+  private static Bucket[] getBuckets(Map<String, Bucket[]> map, String key) {
+    Bucket[] buckets = map.get(key);
+    if (buckets == null) {
+      buckets = new Bucket[] { new Bucket(), new Bucket(), new Bucket() };
+      map.put(key, buckets);
+    }
+
+    return buckets;
+  }
+
+  private static String getGuidValue(INews news) {
+    IGuid guid = news.getGuid();
+    return guid != null ? News.slashTrim(guid.getValue()) : null;
+  }
+
+  private static int getGuidKind(INews news) {
+    IGuid guid = news.getGuid();
+    if (guid == null || guid.getValue() == null)
+      return NO_GUID;
+
+    return guid.isPermaLink() ? PERMALINK_GUID : OTHER_GUID;
+  }
+
+  private static String toTitleKey(INews news) {
+    return news.getFeedLinkAsText() + KEY_SEPARATOR + news.getTitle();
+  }
+}
@@ -177,6 +177,7 @@ public abstract class AbstractPersistableDAO<T extends IPersistable> implements
 
         preCommit();
         fDb.commit();
+        DBHelper.postCommit();
       } catch (Db4oException e) {
         throw DBHelper.rollbackAndPE(fDb, e);
       } finally {
@@ -245,6 +246,7 @@ public abstract class AbstractPersistableDAO<T extends IPersistable> implements
 
       preCommit();
       fDb.commit();
+      DBHelper.postCommit();
     } catch (Db4oException e) {
       DBHelper.rollbackAndPE(fDb, e);
     } finally {
@@ -38,16 +38,42 @@ import org.rssowl.core.util.CoreUtils;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
- * Caching DAO for {@link IBookMark}.
+ * Caching DAO for {@link IBookMark}. Next to the cache of all bookmarks, this
+ * DAO maintains an index from the link of a feed to the bookmarks referencing
+ * it, so that looking up bookmarks by feed does not need to iterate over all
+ * bookmarks.
  */
 public final class CachingBookMarkDAO extends CachingDAO<BookMarkDAOImpl, IBookMark, BookMarkListener, BookMarkEvent> implements IBookMarkDAO {
 
+  /* Feed Link -> Bookmarks referencing the Feed */
+  private final ConcurrentMap<String, Set<IBookMark>> fFeedLinkIndex = new ConcurrentHashMap<String, Set<IBookMark>>(16, 0.75f, 1);
+
+  /* Bookmark ID -> Feed Link the Bookmark is indexed with */
+  private final ConcurrentMap<Long, String> fIndexedFeedLinks = new ConcurrentHashMap<Long, String>(16, 0.75f, 1);
+
+  /* Guards writes to the Feed Link Index and the Cache updates they depend on */
+  private final Object fIndexLock = new Object();
+
   public CachingBookMarkDAO() {
     super(new BookMarkDAOImpl());
   }
 
+  /*
+   * @see
+   * org.rssowl.core.internal.persist.dao.CachingDAO#onDatabaseClosed(org.rssowl
+   * .core.internal.persist.service.DatabaseEvent)
+   */
+  @Override
+  protected void onDatabaseClosed(DatabaseEvent event) {
+    super.onDatabaseClosed(event);
+    clearIndex();
+  }
+
   /*
    * @see
    * org.rssowl.core.internal.persist.dao.CachingDAO#onDatabaseOpened(org.rssowl
@@ -66,6 +92,13 @@ public final class CachingBookMarkDAO extends CachingDAO<BookMarkDAOImpl, IBookM
         getCache().put(bookmark.getId(), bookmark);
       }
     }
+
+    /* Build the Feed Link Index from the Cache */
+    synchronized (fIndexLock) {
+      clearIndex();
+      for (IBookMark bookmark : getCache().values())
+        index(bookmark);
+    }
   }
 
   /*
@@ -76,19 +109,34 @@ public final class CachingBookMarkDAO extends CachingDAO<BookMarkDAOImpl, IBookM
     return new BookMarkListener() {
       @Override
       public void entitiesAdded(Set<BookMarkEvent> events) {
-        for (BookMarkEvent event : events)
-          getCache().put(event.getEntity().getId(), event.getEntity());
+        synchronized (fIndexLock) {
+          for (BookMarkEvent event : events) {
+            getCache().put(event.getEntity().getId(), event.getEntity());
+            index(event.getEntity());
+          }
+        }
       }
 
       @Override
       public void entitiesDeleted(Set<BookMarkEvent> events) {
-        for (BookMarkEvent event : events)
-          getCache().remove(event.getEntity().getId(), event.getEntity());
+        synchronized (fIndexLock) {
+          for (BookMarkEvent event : events) {
+            if (getCache().remove(event.getEntity().getId(), event.getEntity()))
+              unindex(event.getEntity());
+          }
+        }
       }
 
       @Override
       public void entitiesUpdated(Set<BookMarkEvent> events) {
-        /* No action needed */
+
+        /* Re-Index Bookmarks whose Feed Link changed unless deleted meanwhile */
+        synchronized (fIndexLock) {
+          for (BookMarkEvent event : events) {
+            if (getCache().containsKey(event.getEntity().getId()))
+              index(event.getEntity());
+          }
+        }
       }
     };
   }
@@ -100,13 +148,11 @@ public final class CachingBookMarkDAO extends CachingDAO<BookMarkDAOImpl, IBookM
    */
   @Override
   public Collection<IBookMark> loadAll(FeedLinkReference feedRef) {
-    Set<IBookMark> marks = new HashSet<IBookMark>(1);
-    for (IBookMark mark : getCache().values()) {
-      if (mark.getFeedLinkReference().equals(feedRef))
-        marks.add(mark);
-    }
+    Set<IBookMark> marks = fFeedLinkIndex.get(feedRef.getLinkAsText());
+    if (marks == null)
+      return new HashSet<IBookMark>(1);
 
-    return marks;
+    return new HashSet<IBookMark>(marks);
   }
 
   /*
@@ -116,12 +162,8 @@ public final class CachingBookMarkDAO extends CachingDAO<BookMarkDAOImpl, IBookM
    */
   @Override
   public boolean exists(FeedLinkReference feedRef) {
-    for (IBookMark mark : getCache().values()) {
-      if (mark.getFeedLinkReference().equals(feedRef))
-        return true;
-    }
-
-    return false;
+    Set<IBookMark> marks = fFeedLinkIndex.get(feedRef.getLinkAsText());
+    return marks != null && !marks.isEmpty();
   }
 
   /*
@@ -133,4 +175,49 @@ public final class CachingBookMarkDAO extends CachingDAO<BookMarkDAOImpl, IBookM
   public void visited(IBookMark mark) {
     getDAO().visited(mark);
   }
+
+  /* Adds the Bookmark to the Index or moves it if its Feed Link changed */
+  private void index(IBookMark mark) {
+    String feedLink = mark.getFeedLinkReference().getLinkAsText();
+    synchronized (fIndexLock) {
+      String indexedFeedLink = fIndexedFeedLinks.put(mark.getId(), feedLink);
+      if (feedLink.equals(indexedFeedLink))
+        return;
+
+      if (indexedFeedLink != null)
+        removeFromIndex(indexedFeedLink, mark);
+
+      Set<IBookMark> marks = fFeedLinkIndex.get(feedLink);
+      if (marks == null) {
+        marks = new CopyOnWriteArraySet<IBookMark>();
+        fFeedLinkIndex.put(feedLink, marks);
+      }
+
+      marks.add(mark);
+    }
+  }
+
+  private void unindex(IBookMark mark) {
+    synchronized (fIndexLock) {
+      String indexedFeedLink = fIndexedFeedLinks.remove(mark.getId());
+      if (indexedFeedLink != null)
+        removeFromIndex(indexedFeedLink, mark);
+    }
+  }
+
+  private void removeFromIndex(String feedLink, IBookMark mark) {
+    Set<IBookMark> marks = fFeedLinkIndex.get(feedLink);
+    if (marks != null) {
+      marks.remove(mark);
+      if (marks.isEmpty())
+        fFeedLinkIndex.remove(feedLink);
+    }
+  }
+
+  private void clearIndex() {
+    synchronized (fIndexLock) {
+      fFeedLinkIndex.clear();
+      fIndexedFeedLinks.clear();
+    }
+  }
 }
\ No newline at end of file
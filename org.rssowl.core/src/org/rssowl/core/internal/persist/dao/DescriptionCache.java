@@ -0,0 +1,212 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.internal.persist.dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A cache for the textual content of descriptions keyed by the identifier of
+ * the news they belong to. The cache is bounded by the number of characters it
+ * holds and evicts the least recently used descriptions first. News without
+ * description are cached as well.
+ * </p>
+ * <p>
+ * The cache is invalidated whenever a description is created, updated or
+ * deleted. To avoid caching a value that was loaded before such a change but
+ * is put after it, callers obtain a stamp from {@link #getStamp()} before
+ * loading a value and pass it into {@link #put(long, String, long)}.
+ * </p>
+ */
+public final class DescriptionCache {
+
+  /* Characters accounted for each entry in addition to its value */
+  private static final int ENTRY_OVERHEAD = 32;
+
+  /* Marker for News without Description */
+  private static final String NO_DESCRIPTION = new String();
+
+  private final long fCapacity;
+  private final LinkedHashMap<Long, String> fValues = new LinkedHashMap<Long, String>(256, 0.75f, true);
+  private long fSize;
+  private long fStamp;
+
+  /* Statistics */
+  private final AtomicLong fHits = new AtomicLong();
+  private final AtomicLong fMisses = new AtomicLong();
+
+  /**
+   * @param capacity the maximum number of characters to cache. A capacity of
+   * <code>0</code> disables caching.
+   */
+  public DescriptionCache(long capacity) {
+    fCapacity = capacity;
+  }
+
+  /**
+   * Returns the cached description of the given news. News without description
+   * are reported as the marker that {@link #isNoDescription(String)} detects.
+   *
+   * @param newsId the identifier of the news the description belongs to.
+   * @return the cached textual content of the description or <code>null</code>
+   * if the news is not cached.
+   */
+  public synchronized String get(long newsId) {
+    String value = fValues.get(newsId);
+    if (value == null)
+      fMisses.incrementAndGet();
+    else
+      fHits.incrementAndGet();
+
+    return value;
+  }
+
+  /**
+   * @param value a value as returned from {@link #get(long)}.
+   * @return <code>true</code> if the value marks a news without description.
+   */
+  public static boolean isNoDescription(String value) {
+    return value == NO_DESCRIPTION;
+  }
+
+  /**
+   * @return a stamp to pass into {@link #put(long, String, long)} for a value
+   * that is loaded after calling this method.
+   */
+  public synchronized long getStamp() {
+    return fStamp;
+  }
+
+  /**
+   * Caches the description of the given news unless the cache was invalidated
+   * since the stamp was obtained.
+   *
+   * @param newsId the identifier of the news the description belongs to.
+   * @param value the textual content of the description or <code>null</code>
+   * if none.
+   * @param stamp the stamp as returned from {@link #getStamp()} before the
+   * value was loaded.
+   */
+  public synchronized void put(long newsId, String value, long stamp) {
+    if (stamp != fStamp)
+      return;
+
+    long weight = weight(value);
+    if (weight > fCapacity)
+      return;
+
+    String previous = fValues.put(newsId, value != null ? value : NO_DESCRIPTION);
+    fSize += weight;
+    if (previous != null)
+      fSize -= weight(previous);
+
+    /* Evict least recently used Descriptions */
+    for (Iterator<String> it = fValues.values().iterator(); fSize > fCapacity && it.hasNext();) {
+      fSize -= weight(it.next());
+      it.remove();
+    }
+  }
+
+  /**
+   * Removes the description of the given news from the cache.
+   *
+   * @param newsId the identifier of the news the description belongs to.
+   */
+  public synchronized void remove(long newsId) {
+    fStamp++;
+    String previous = fValues.remove(newsId);
+    if (previous != null)
+      fSize -= weight(previous);
+  }
+
+  /**
+   * Removes all descriptions from the cache.
+   */
+  public synchronized void clear() {
+    fStamp++;
+    fValues.clear();
+    fSize = 0;
+  }
+
+  /**
+   * @return the number of descriptions in the cache.
+   */
+  public synchronized int getCount() {
+    return fValues.size();
+  }
+
+  /**
+   * @return the number of characters the cache currently accounts for.
+   */
+  public synchronized long getSize() {
+    return fSize;
+  }
+
+  /**
+   * @return the maximum number of characters to cache.
+   */
+  public long getCapacity() {
+    return fCapacity;
+  }
+
+  /**
+   * @return the number of lookups that were answered from the cache.
+   */
+  public long getHits() {
+    return fHits.get();
+  }
+
+  /**
+   * @return the number of lookups that were not answered from the cache.
+   */
+  public long getMisses() {
+    return fMisses.get();
+  }
+
+  /**
+   * @return the ratio of lookups that were answered from the cache or
+   * <code>0</code> if there were no lookups yet.
+   */
+  public double getHitRatio() {
+    long hits = fHits.get();
+    long lookups = hits + fMisses.get();
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  private static long weight(String value) {
+    return ENTRY_OVERHEAD + (value != null ? value.length() : 0);
+  }
+
+  /*
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public synchronized String toString() {
+    return "DescriptionCache (Descriptions: " + fValues.size() + ", Characters: " + fSize + "/" + fCapacity + ", Hit Ratio: " + getHitRatio() + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+  }
+}
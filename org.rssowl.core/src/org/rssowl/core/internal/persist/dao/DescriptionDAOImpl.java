@@ -24,24 +24,127 @@
 
 package org.rssowl.core.internal.persist.dao;
 
+import org.rssowl.core.internal.Activator;
 import org.rssowl.core.internal.persist.Description;
+import org.rssowl.core.internal.persist.service.DBManager;
+import org.rssowl.core.internal.persist.service.DatabaseEvent;
+import org.rssowl.core.internal.persist.service.DescriptionStore;
+import org.rssowl.core.persist.service.PersistenceException;
 
+import com.db4o.ext.Db4oIOException;
+import com.db4o.query.Constraint;
 import com.db4o.query.Query;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
 /**
- * A data-access-object for <code>Description</code>s.
+ * A data-access-object for <code>Description</code>s. The textual content of
+ * descriptions is cached in a {@link DescriptionCache}. If enabled, it is kept
+ * in a {@link DescriptionStore} instead of the database and existing
+ * <code>Description</code>s move into the store as they are saved again.
+ * <p>
+ * A <code>Description</code> in the database always takes precedence over a
+ * value in the store. Values are written to the store before the transaction
+ * commits and the <code>Description</code> is deleted with the transaction, so
+ * the database keeps its value until it is safely stored. If the transaction
+ * is rolled back, the previous values are written to the store again.
+ * </p>
  */
 public class DescriptionDAOImpl extends AbstractPersistableDAO<Description> implements IDescriptionDAO {
 
+  /* Maximum number of Characters to cache (defaults to about 4 MB) */
+  private static final int CACHE_CAPACITY = getSystemProperty("descriptionCacheSize", 0, 2000000); //$NON-NLS-1$
+
+  /* Maximum number of Descriptions to load with one Query */
+  private static final int BATCH_SIZE = 64;
+
+  private final DescriptionCache fCache = new DescriptionCache(CACHE_CAPACITY);
+
+  /* Store of Descriptions if enabled or not yet moved back into the Database */
+  private volatile DescriptionStore fStore;
+  private volatile boolean fStoreEnabled;
+
+  /* Values of the Store before the Transaction of the Thread changed them (null if none) */
+  private final ThreadLocal<Map<Long, String>> fPreviousStoreValues = new ThreadLocal<Map<Long, String>>();
+
+  /* News the Transaction of the Thread saved Descriptions of */
+  private final ThreadLocal<Set<Long>> fSavedNewsIds = new ThreadLocal<Set<Long>>();
+
   public DescriptionDAOImpl() {
     super(Description.class, true);
   }
 
+  /*
+   * @see
+   * org.rssowl.core.internal.persist.dao.AbstractPersistableDAO#onDatabaseOpened
+   * (org.rssowl.core.internal.persist.service.DatabaseEvent)
+   */
+  @Override
+  protected void onDatabaseOpened(DatabaseEvent event) {
+    super.onDatabaseOpened(event);
+    fCache.clear();
+    openStore();
+  }
+
+  /*
+   * @see
+   * org.rssowl.core.internal.persist.dao.AbstractPersistableDAO#onDatabaseClosed
+   * (org.rssowl.core.internal.persist.service.DatabaseEvent)
+   */
+  @Override
+  protected void onDatabaseClosed(DatabaseEvent event) {
+    super.onDatabaseClosed(event);
+    fCache.clear();
+    closeStore();
+  }
+
+  private void openStore() {
+    File file = DBManager.getInstance().getOpenDescriptionStoreFile();
+    fStoreEnabled = DescriptionStore.isEnabled();
+    if (fStoreEnabled || file.exists()) {
+      try {
+        fStore = new DescriptionStore(file, true);
+      } catch (IOException e) {
+        fStoreEnabled = false;
+        Activator.getDefault().logError(e.getMessage(), e);
+      }
+    }
+  }
+
+  private void closeStore() {
+    DescriptionStore store = fStore;
+    fStore = null;
+    if (store != null) {
+      try {
+        store.close();
+      } catch (IOException e) {
+        Activator.getDefault().logError(e.getMessage(), e);
+      }
+    }
+  }
+
   /*
    * @see org.rssowl.core.internal.persist.dao.IDescriptionDAO#load(long)
    */
   @Override
   public Description load(long newsId) {
+    Description description = loadFromDatabase(newsId);
+    if (description != null)
+      return description;
+
+    String value = loadStoredValue(newsId);
+    return value != null ? new Description(newsId, value) : null;
+  }
+
+  private Description loadFromDatabase(long newsId) {
     Query query = fDb.query();
     query.constrain(Description.class);
     query.descend("fNewsId").constrain(newsId); //$NON-NLS-1$
@@ -55,8 +158,218 @@ public class DescriptionDAOImpl extends AbstractPersistableDAO<Description> impl
    */
   @Override
   public String loadValue(long newsId) {
-    Description description = load(newsId);
-    return description == null ? null : description.getValue();
+    String value = fCache.get(newsId);
+    if (value != null)
+      return DescriptionCache.isNoDescription(value) ? null : value;
+
+    long stamp = fCache.getStamp();
+    Description description = loadFromDatabase(newsId);
+    value = description != null ? description.getValue() : loadStoredValue(newsId);
+    fCache.put(newsId, value, stamp);
+
+    return value;
+  }
+
+  /*
+   * @see
+   * org.rssowl.core.internal.persist.dao.IDescriptionDAO#loadValues(long[])
+   */
+  @Override
+  public Map<Long, String> loadValues(long[] newsIds) {
+    Map<Long, String> values = new HashMap<Long, String>(newsIds.length);
+
+    /* First ask the Cache */
+    List<Long> uncachedNewsIds = new ArrayList<Long>();
+    for (long newsId : newsIds) {
+      String value = fCache.get(newsId);
+      if (value == null)
+        uncachedNewsIds.add(newsId);
+      else if (!DescriptionCache.isNoDescription(value))
+        values.put(newsId, value);
+    }
+
+    /* Then load from the Database in Batches */
+    long stamp = fCache.getStamp();
+    for (int i = 0; i < uncachedNewsIds.size(); i += BATCH_SIZE) {
+      List<Long> batch = uncachedNewsIds.subList(i, Math.min(i + BATCH_SIZE, uncachedNewsIds.size()));
+
+      Query query = fDb.query();
+      query.constrain(Description.class);
+      Constraint constraint = null;
+      for (Long newsId : batch) {
+        if (constraint == null)
+          constraint = query.descend("fNewsId").constrain(newsId); //$NON-NLS-1$
+        else
+          constraint = query.descend("fNewsId").constrain(newsId).or(constraint); //$NON-NLS-1$
+      }
+
+      Set<Long> loadedNewsIds = new HashSet<Long>(batch.size());
+      for (Description description : getList(query)) {
+        fDb.activate(description, Integer.MAX_VALUE);
+        long newsId = description.getNewsId();
+        String value = description.getValue();
+        if (value != null)
+          values.put(newsId, value);
+
+        fCache.put(newsId, value, stamp);
+        loadedNewsIds.add(newsId);
+      }
+
+      /* Ask the Store for the others and remember News without Description */
+      for (Long newsId : batch) {
+        if (!loadedNewsIds.contains(newsId)) {
+          String value = loadStoredValue(newsId);
+          if (value != null)
+            values.put(newsId, value);
+
+          fCache.put(newsId, value, stamp);
+        }
+      }
+    }
+
+    return values;
+  }
+
+  /*
+   * @see
+   * org.rssowl.core.internal.persist.dao.IDescriptionDAO#saveValue(long,
+   * java.lang.String)
+   */
+  @Override
+  public void saveValue(long newsId, String value) {
+    Set<Long> savedNewsIds = fSavedNewsIds.get();
+    if (savedNewsIds == null) {
+      savedNewsIds = new HashSet<Long>();
+      fSavedNewsIds.set(savedNewsIds);
+    }
+    savedNewsIds.add(newsId);
+
+    DescriptionStore store = fStore;
+    Description description = loadFromDatabase(newsId);
+
+    /* Keep the Value in the Store and remove it from the Database */
+    if (store != null && fStoreEnabled) {
+      String storedValue = loadStoredValue(newsId);
+      if (storedValue == null ? value != null : !storedValue.equals(value))
+        putStoreValue(store, newsId, storedValue, value);
+
+      if (description != null)
+        fDb.delete(description);
+
+      return;
+    }
+
+    /* A Description without Value hides the Value of a disabled Store */
+    boolean isStored = (store != null && loadStoredValue(newsId) != null);
+
+    if (description == null) {
+      if (value != null || isStored)
+        fDb.store(new Description(newsId, value));
+    } else if (value == null && !isStored)
+      fDb.delete(description);
+    else {
+      description.setDescription(value);
+      fDb.store(description);
+    }
+  }
+
+  /*
+   * @see org.rssowl.core.internal.persist.dao.IDescriptionDAO#commitValues()
+   */
+  @Override
+  public void commitValues() {
+    fPreviousStoreValues.remove();
+    fSavedNewsIds.remove();
+  }
+
+  /*
+   * @see org.rssowl.core.internal.persist.dao.IDescriptionDAO#rollbackValues()
+   */
+  @Override
+  public void rollbackValues() {
+    Map<Long, String> previousValues = fPreviousStoreValues.get();
+    fPreviousStoreValues.remove();
+    DescriptionStore store = fStore;
+    if (previousValues != null && store != null) {
+      for (Entry<Long, String> previousValue : previousValues.entrySet()) {
+
+        /* The Description in the Database is restored with the Rollback and takes precedence if the Write fails */
+        try {
+          store.put(previousValue.getKey(), previousValue.getValue());
+        } catch (IOException e) {
+          Activator.getDefault().logError(e.getMessage(), e);
+        }
+      }
+    }
+
+    /* Descriptions keep the Values of the Transaction and other Threads might have cached them meanwhile */
+    Set<Long> savedNewsIds = fSavedNewsIds.get();
+    fSavedNewsIds.remove();
+    if (savedNewsIds != null) {
+      for (Long newsId : savedNewsIds) {
+        Description description = loadFromDatabase(newsId);
+        if (description != null)
+          fDb.ext().refresh(description, Integer.MAX_VALUE);
+
+        fCache.remove(newsId);
+      }
+    }
+  }
+
+  private void putStoreValue(DescriptionStore store, long newsId, String storedValue, String value) {
+    Map<Long, String> previousValues = fPreviousStoreValues.get();
+    if (previousValues == null) {
+      previousValues = new HashMap<Long, String>();
+      fPreviousStoreValues.set(previousValues);
+    }
+
+    if (!previousValues.containsKey(newsId))
+      previousValues.put(newsId, storedValue);
+
+    fCache.remove(newsId);
+    try {
+      store.put(newsId, value);
+    } catch (IOException e) {
+      throw new Db4oIOException(e);
+    }
+  }
+
+  private String loadStoredValue(long newsId) {
+    DescriptionStore store = fStore;
+    if (store == null)
+      return null;
+
+    try {
+      return store.get(newsId);
+    } catch (IOException e) {
+      throw new PersistenceException(e);
+    }
+  }
+
+  private static int getSystemProperty(String key, int minValue, int defaultValue) {
+    String strVal = System.getProperty(key);
+    if (strVal != null) {
+      int intVal = 0;
+      try {
+        intVal = Integer.parseInt(strVal);
+      } catch (NumberFormatException e) {
+        Activator.getDefault().logError(e.getMessage(), e);
+        return defaultValue;
+      }
+
+      if (intVal > minValue)
+        return intVal;
+    }
+
+    return defaultValue;
+  }
+
+  /*
+   * @see org.rssowl.core.internal.persist.dao.IDescriptionDAO#getCache()
+   */
+  @Override
+  public DescriptionCache getCache() {
+    return fCache;
   }
 
   /*
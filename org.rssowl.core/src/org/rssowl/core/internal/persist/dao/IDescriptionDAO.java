@@ -27,6 +27,8 @@ package org.rssowl.core.internal.persist.dao;
 import org.rssowl.core.internal.persist.Description;
 import org.rssowl.core.persist.dao.IPersistableDAO;
 
+import java.util.Map;
+
 /**
  * A data-access-object for <code>Description</code>s.
  */
@@ -43,4 +45,42 @@ public interface IDescriptionDAO extends IPersistableDAO<Description> {
    * @return the textual content of the resolved {@link Description}.
    */
   public String loadValue(long newsId);
+
+  /**
+   * Loads the textual content of the descriptions of many news in one pass.
+   *
+   * @param newsIds the identifiers of the news the descriptions belong to
+   * @return a map from news identifier to the textual content of its
+   * description. News without description are not contained.
+   */
+  public Map<Long, String> loadValues(long[] newsIds);
+
+  /**
+   * Makes the given value the textual content of the description of the news.
+   * Must be called from within a transaction and does not commit it.
+   *
+   * @param newsId the identifier of the news the description belongs to
+   * @param value the textual content of the description or <code>null</code>
+   * to remove the description.
+   */
+  public void saveValue(long newsId, String value);
+
+  /**
+   * Forgets the values saved from within the transaction of the current thread
+   * that is committed now.
+   */
+  public void commitValues();
+
+  /**
+   * Writes the previous values of the store of descriptions back that were
+   * replaced from within the transaction of the current thread and removes the
+   * values saved from within it from the cache. Must be called after the
+   * transaction was rolled back.
+   */
+  public void rollbackValues();
+
+  /**
+   * @return the cache for the textual content of descriptions.
+   */
+  public DescriptionCache getCache();
 }
\ No newline at end of file
@@ -203,6 +203,7 @@ public final class NewsDAOImpl extends AbstractEntityDAO<INews, NewsListener, Ne
         save(changedNews);
         preCommit();
         fDb.commit();
+        DBHelper.postCommit();
       } finally {
         postSaveAll(changedNews);
       }
@@ -343,6 +343,18 @@ public class DefaultPreferences {
   /** Global: Hide Completed Downloads */
   public static final String HIDE_COMPLETED_DOWNLOADS = Preference.HIDE_COMPLETED_DOWNLOADS.id();
 
+  /** Global: Max. number of concurrent Downloads */
+  public static final String MAX_CONCURRENT_DOWNLOADS = Preference.MAX_CONCURRENT_DOWNLOADS.id();
+
+  /** Global: Max. Rate of all Downloads in KB per Second (0 for no Limit) */
+  public static final String MAX_DOWNLOAD_RATE = Preference.MAX_DOWNLOAD_RATE.id();
+
+  /** Global: Number of Connections to download large Files over */
+  public static final String DOWNLOAD_CONNECTIONS = Preference.DOWNLOAD_CONNECTIONS.id();
+
+  /** Global: Downloads to resume on next Startup */
+  public static final String PENDING_DOWNLOADS = Preference.PENDING_DOWNLOADS.id();
+
   /** Global: List of Import Resources */
   public static final String IMPORT_RESOURCES = Preference.IMPORT_RESOURCES.id();
 
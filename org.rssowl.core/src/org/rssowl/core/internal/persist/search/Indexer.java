@@ -34,6 +34,9 @@ import org.apache.lucene.index.CorruptIndexException;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermDocs;
+import org.apache.lucene.index.TermFreqVector;
+import org.apache.lucene.index.TermPositionVector;
 import org.apache.lucene.store.Directory;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -96,18 +99,31 @@ public class Indexer {
   private static final String DISABLE_STOP_WORDS_PROPERTY = "disableStopWords"; //$NON-NLS-1$
   static final boolean DISABLE_STOP_WORDS = System.getProperty(DISABLE_STOP_WORDS_PROPERTY) != null;
 
+  /* Delay in millis before flushed News are committed to the list of outstanding News */
+  private static final String COMMIT_INTERVAL_PROPERTY = "indexCommitInterval"; //$NON-NLS-1$
+  private static final int DEFAULT_COMMIT_INTERVAL = 5000;
+
   /* The directory to the lucene index */
   private final Directory fIndexDirectory;
 
   /* The IndexWriter to add/update/delete Documents */
   private IndexWriter fIndexWriter;
 
+  /* The IndexReader to look up indexed Descriptions for metadata Updates */
+  private IndexReader fIndexReader;
+  private boolean fIndexReaderStale;
+
+  /* News added or updated since the last flush are not visible to the IndexReader */
+  private final Set<Long> fUnflushedNews = new HashSet<Long>();
+
   private final JobQueue fJobQueue;
   private NewsListener fNewsListener;
   private LabelAdapter fLabelListener;
   private final ModelSearchImpl fSearch;
   private final EntityIdsByEventType fUncommittedNews;
   private volatile boolean fFlushRequired;
+  private final int fCommitInterval;
+  private final Job fCommitJob;
 
   /* The Default Analyzer */
   private static class DefaultAnalyzer extends KeywordAnalyzer {
@@ -146,6 +162,28 @@ public class Indexer {
     fIndexDirectory = directory;
     fJobQueue = new JobQueue(Messages.Indexer_UPDATE_SAVED_SEARCHES, MAX_INDEX_JOBS_COUNT, Integer.MAX_VALUE, false, INDEX_JOB_PROGRESS_DELAY);
     fUncommittedNews = new EntityIdsByEventType(false);
+    fCommitInterval = getCommitInterval();
+    fCommitJob = new Job(Messages.Indexer_SAVE_INDEXER) {
+      @Override
+      protected IStatus run(IProgressMonitor monitor) {
+        commit();
+        return Status.OK_STATUS;
+      }
+    };
+    fCommitJob.setSystem(true);
+  }
+
+  private static int getCommitInterval() {
+    String strVal = System.getProperty(COMMIT_INTERVAL_PROPERTY);
+    if (strVal != null) {
+      try {
+        return Integer.parseInt(strVal);
+      } catch (NumberFormatException e) {
+        Activator.getDefault().logError(e.getMessage(), e);
+      }
+    }
+
+    return DEFAULT_COMMIT_INTERVAL;
   }
 
   /**
@@ -159,7 +197,74 @@ public class Indexer {
    * Index the List of Entities.
    */
   synchronized void index(List<INews> entities, boolean isUpdate, boolean acid) {
+    index(entities, isUpdate, acid, false);
+  }
+
+  /**
+   * Updates the List of Entities of which only metadata like state, flag,
+   * rating or labels changed. The Description is taken from the Document in the
+   * Index instead of loading and analyzing it again. Falls back to a complete
+   * update for Entities whose indexed Description is not available.
+   */
+  synchronized void updateMetadata(List<INews> entities) {
+    index(entities, true, true, true);
+  }
+
+  /**
+   * Adds the List of Entities to the Index without ACID Support while the Index
+   * is rebuilt. Unlike the other methods this one may be called from several
+   * Threads at the same time, because the IndexWriter analyzes Documents of
+   * different Threads in parallel. It must only be called while the Thread
+   * that rebuilds the Index holds the lock of this Indexer, so that the
+   * IndexWriter is not closed or replaced meanwhile. That Thread also keeps
+   * track of the added Entities that are not flushed yet (see
+   * {@link #addUnflushedNews(Collection)}).
+   *
+   * @return the IDs of the Entities that were added.
+   */
+  Set<Long> reindex(List<INews> entities) {
+    int docCount = 0;
+    Set<Long> newsIds = new HashSet<Long>(entities.size());
+    for (INews news : entities) {
+
+      /* React on shutting down while indexing */
+      if (Owl.isShuttingDown())
+        break;
+
+      NewsDocument newsDoc = new NewsDocument(news);
+      try {
+        if (newsDoc.addFields()) {
+          fIndexWriter.addDocument(newsDoc.getDocument());
+          newsIds.add(news.getId());
+          docCount++;
+        }
+      } catch (IOException e) {
+        Activator.getDefault().getLog().log(Activator.getDefault().createErrorStatus(e.getMessage(), e));
+      }
+    }
+
+    if (docCount > 0) {
+      fFlushRequired = true;
+
+      /* Notify Listeners */
+      fSearch.notifyIndexUpdated(docCount, newsIds);
+    }
+
+    return newsIds;
+  }
+
+  /**
+   * Remembers News added from {@link #reindex(List)} that are not flushed yet
+   * once the Index is rebuilt, so that metadata Updates do not take their
+   * Description from an IndexReader that does not see them.
+   */
+  synchronized void addUnflushedNews(Collection<Long> newsIds) {
+    fUnflushedNews.addAll(newsIds);
+  }
+
+  private void index(List<INews> entities, boolean isUpdate, boolean acid, boolean metadataOnly) {
     int docCount = 0;
+    Set<Long> newsIds = new HashSet<Long>(entities.size());
 
     /* For each Event */
     for (ListIterator<INews> it = entities.listIterator(entities.size()); it.hasPrevious();) {
@@ -172,8 +277,14 @@ public class Indexer {
 
       NewsDocument newsDoc = new NewsDocument(news);
       try {
-        if (newsDoc.addFields()) {
+        TokenStream descriptionTokens = (metadataOnly && NewsDocument.isTermVectorsEnabled()) ? getDescriptionTokens(news) : null;
+        if (descriptionTokens != null ? newsDoc.addFields(descriptionTokens) : newsDoc.addFields()) {
           docCount++;
+          newsIds.add(news.getId());
+
+          /* The Description of a metadata Update is unchanged in the IndexReader */
+          if (descriptionTokens == null)
+            fUnflushedNews.add(news.getId());
 
           /* Update Event */
           if (isUpdate) {
@@ -206,7 +317,7 @@ public class Indexer {
       fFlushRequired = true;
 
       /* Notify Listeners */
-      fSearch.notifyIndexUpdated(docCount);
+      fSearch.notifyIndexUpdated(docCount, newsIds);
     }
   }
 
@@ -215,9 +326,11 @@ public class Indexer {
    */
   synchronized void removeFromIndex(Collection<NewsReference> entities) throws IOException {
     int docCount = 0;
+    Set<Long> newsIds = new HashSet<Long>(entities.size());
 
     /* For each entity */
     for (NewsReference newsRef : entities) {
+      newsIds.add(newsRef.getId());
       Term term = createTerm(newsRef);
       fUncommittedNews.addRemovedEntityId(newsRef.getId());
       fIndexWriter.deleteDocuments(term);
@@ -230,15 +343,21 @@ public class Indexer {
       fFlushRequired = true;
 
       /* Notify Listeners */
-      fSearch.notifyIndexUpdated(docCount);
+      fSearch.notifyIndexUpdated(docCount, newsIds);
     }
   }
 
-  //TODO Consider renaming to commitIfNecessary
-  //TODO Remove fFlushRequired and rely on fUncommittedNews
-  //TODO Perhaps commit after fUncommittedNews has a certain size instead
-  //of relying always in this method. In most situations this method will
-  //be called often though
+  /**
+   * Flushes pending changes so that a reopened reader sees them. The
+   * IndexWriter stays open and commits on every flush, which is a lot cheaper
+   * than closing it, because buffered documents are written without waiting
+   * for merges to complete. Removing the flushed News from the list of
+   * outstanding News happens later from the commit job.
+   *
+   * @return <code>true</code> if the index has changed and <code>false</code>
+   * otherwise.
+   * @throws PersistenceException in case of an error
+   */
   boolean flushIfNecessary() throws PersistenceException {
     if (!fFlushRequired)
       return false;
@@ -251,15 +370,116 @@ public class Indexer {
       if (!fFlushRequired)
         return true;
 
-      dispose();
-      createIndexWriter(false);
-      saveCommittedNews(false, new EntityIdsByEventType(fUncommittedNews));
-      fUncommittedNews.clear();
+      flush();
+      scheduleCommit();
     }
     return true;
   }
 
+  private void flush() throws PersistenceException {
+
+    /*
+     * Reset the Flag before flushing, because Threads adding Documents from
+     * reindex() do not hold the lock and must not get their Flag overwritten.
+     */
+    fFlushRequired = false;
+    try {
+      fIndexWriter.flush();
+    } catch (IOException e) {
+      fFlushRequired = true;
+      throw new PersistenceException(e);
+    }
+
+    fIndexReaderStale = true;
+    fUnflushedNews.clear();
+  }
+
+  /*
+   * Returns the Tokens of the Description as indexed for the given News or null
+   * if the Document of the News is not flushed or was indexed without Term
+   * Vector for the Description (e.g. from a previous Version).
+   */
+  private TokenStream getDescriptionTokens(INews news) throws IOException {
+    if (fUnflushedNews.contains(news.getId()))
+      return null;
+
+    IndexReader reader = getIndexReader();
+    if (reader == null)
+      return null;
+
+    int doc;
+    TermDocs termDocs = reader.termDocs(createTerm(news));
+    try {
+      if (!termDocs.next())
+        return null;
+
+      doc = termDocs.doc();
+    } finally {
+      termDocs.close();
+    }
+
+    TermFreqVector vector = reader.getTermFreqVector(doc, NewsDocument.DESCRIPTION_ID_TEXT);
+    if (vector instanceof TermPositionVector)
+      return TermVectorTokenStream.create((TermPositionVector) vector);
+
+    return null;
+  }
+
+  private IndexReader getIndexReader() throws IOException {
+    if (fIndexReader == null) {
+      if (!IndexReader.indexExists(fIndexDirectory))
+        return null;
+
+      fIndexReader = IndexReader.open(fIndexDirectory);
+    }
+
+    /* Pick up the Changes of the last Flush */
+    else if (fIndexReaderStale) {
+      IndexReader newReader = fIndexReader.reopen();
+      if (newReader != fIndexReader) {
+        fIndexReader.close();
+        fIndexReader = newReader;
+      }
+    }
+
+    fIndexReaderStale = false;
+    return fIndexReader;
+  }
+
+  private void scheduleCommit() {
+    if (InternalOwl.TESTING || fCommitInterval <= 0)
+      commit();
+
+    /* Commit Job already scheduled will pick up these News */
+    else if (fCommitJob.getState() == Job.NONE)
+      fCommitJob.schedule(fCommitInterval);
+  }
+
+  /*
+   * Flushes pending changes and removes all News that are flushed since the
+   * last commit from the list of outstanding News.
+   */
+  private void commit() {
+    EntityIdsByEventType committedNews;
+    synchronized (this) {
+
+      /* Indexer got shut down meanwhile */
+      if (fIndexWriter == null)
+        return;
+
+      if (fFlushRequired)
+        flush();
+
+      committedNews = new EntityIdsByEventType(fUncommittedNews);
+      fUncommittedNews.clear();
+    }
+
+    saveCommittedNews(true, committedNews);
+  }
+
   synchronized void shutdown(boolean emergency) {
+    fCommitJob.cancel();
+
     if (fJobQueue != null) {
       if (!emergency)
         fJobQueue.cancel(false, true);
@@ -442,12 +662,23 @@ public class Indexer {
         for (NewsEvent event : events)
           DBHelper.indexTypeForNewsUpdate(event, newsToRestore, newsToUpdate, newsToDelete);
 
+        /* Updates of metadata like the State do not need to analyze the Description */
+        Set<NewsEvent> newsToUpdateMetadata = new HashSet<NewsEvent>(3);
+        for (NewsEvent event : newsToUpdate) {
+          if (DBHelper.isMetadataUpdate(event))
+            newsToUpdateMetadata.add(event);
+        }
+        newsToUpdate.removeAll(newsToUpdateMetadata);
+
         if (!newsToRestore.isEmpty())
           handleEntitiesAdded(newsToRestore);
 
         if (!newsToUpdate.isEmpty())
           handleEntitiesUpdated(newsToUpdate);
 
+        if (!newsToUpdateMetadata.isEmpty())
+          handleEntitiesMetadataUpdated(newsToUpdateMetadata);
+
         if (!newsToDelete.isEmpty())
           handleEntitiesDeleted(newsToDelete);
       }
@@ -488,9 +719,9 @@ public class Indexer {
 
             if (!newsList.isEmpty()) {
               if (!InternalOwl.TESTING)
-                fJobQueue.schedule(new IndexingTask(Indexer.this, newsList, EventType.UPDATE));
+                fJobQueue.schedule(new IndexingTask(Indexer.this, newsList, EventType.UPDATE, true));
               else
-                new IndexingTask(Indexer.this, newsList, EventType.UPDATE).run(new NullProgressMonitor());
+                new IndexingTask(Indexer.this, newsList, EventType.UPDATE, true).run(new NullProgressMonitor());
             }
           }
         }
@@ -517,6 +748,13 @@ public class Indexer {
     handleEntityEvents(events, EventType.UPDATE);
   }
 
+  private void handleEntitiesMetadataUpdated(Set<NewsEvent> events) {
+    if (!InternalOwl.TESTING)
+      fJobQueue.schedule(new IndexingTask(Indexer.this, events));
+    else
+      new IndexingTask(Indexer.this, events).run(new NullProgressMonitor());
+  }
+
   private void handleEntitiesDeleted(Set<NewsEvent> events) {
     handleEntityEvents(events, EventType.REMOVE);
   }
@@ -532,7 +770,7 @@ public class Indexer {
   }
 
   private IndexWriter createIndexWriter(Directory directory, boolean create) throws IOException {
-    IndexWriter indexWriter = new IndexWriter(directory, false, createAnalyzer(), create);
+    IndexWriter indexWriter = new IndexWriter(directory, true, createAnalyzer(), create);
     indexWriter.setMergeFactor(6);
     fFlushRequired = false;
     return indexWriter;
@@ -553,13 +791,18 @@ public class Indexer {
       return;
 
     try {
+      if (fIndexReader != null)
+        fIndexReader.close();
       fIndexWriter.close();
     } catch (IOException e) {
       throw new PersistenceException(e);
+    } finally {
+      fIndexReader = null;
     }
 
     fIndexWriter = null;
     fFlushRequired = false;
+    fUnflushedNews.clear();
   }
 
   private static void saveCommittedNews(boolean sync, final EntityIdsByEventType uncommittedNews) {
@@ -65,11 +65,21 @@ public final class IndexingTask implements ITask {
   private final List<INews> fNews;
   private final Collection<NewsReference> fNewsRefs;
   private final RemovedNewsRefsListener fRemovedNewsRefsListener;
+  private final boolean fMetadataOnly;
 
   IndexingTask(Indexer indexer, Set<NewsEvent> events, EventType taskType) {
     this(indexer, getNews(events, taskType), taskType);
   }
 
+  /**
+   * @param indexer the indexer to use.
+   * @param events the events of news of which only metadata like state, flag,
+   * rating or labels changed.
+   */
+  IndexingTask(Indexer indexer, Set<NewsEvent> events) {
+    this(indexer, getNews(events, EventType.UPDATE), EventType.UPDATE, true);
+  }
+
   private static List<INews> getNews(Set<NewsEvent> events, EventType taskType) {
     List<INews> news = new ArrayList<INews>(events.size());
     for (NewsEvent event : events) {
@@ -82,8 +92,12 @@ public final class IndexingTask implements ITask {
     return news;
   }
 
-  @SuppressWarnings("unchecked")
   IndexingTask(Indexer indexer, Collection<INews> news, EventType taskType) {
+    this(indexer, news, taskType, false);
+  }
+
+  @SuppressWarnings("unchecked")
+  IndexingTask(Indexer indexer, Collection<INews> news, EventType taskType, boolean metadataOnly) {
     fIndexer = indexer;
 
     if (news instanceof List)
@@ -94,6 +108,7 @@ public final class IndexingTask implements ITask {
     fNewsRefs = null;
     fTaskType = taskType;
     fRemovedNewsRefsListener = null;
+    fMetadataOnly = metadataOnly;
   }
 
   IndexingTask(Indexer indexer, EventType taskType, Collection<NewsReference> newsRefs, RemovedNewsRefsListener removedNewsRefsListener) {
@@ -102,6 +117,7 @@ public final class IndexingTask implements ITask {
     fNews = null;
     fTaskType = taskType;
     fRemovedNewsRefsListener = removedNewsRefsListener;
+    fMetadataOnly = false;
   }
 
   /*
@@ -191,7 +207,10 @@ public final class IndexingTask implements ITask {
       return;
     }
 
-    fIndexer.index(fNews, true);
+    if (fMetadataOnly)
+      fIndexer.updateMetadata(fNews);
+    else
+      fIndexer.index(fNews, true);
   }
 
   private void deleteFromIndex() {
@@ -25,15 +25,19 @@
 package org.rssowl.core.internal.persist.search;
 
 import org.apache.lucene.document.Document;
+import org.apache.lucene.document.FieldSelector;
+import org.apache.lucene.document.MapFieldSelector;
 import org.apache.lucene.document.NumberTools;
 import org.apache.lucene.index.CorruptIndexException;
 import org.apache.lucene.index.IndexFileNameFilter;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermDocs;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.BooleanQuery.TooManyClauses;
+import org.apache.lucene.search.Filter;
 import org.apache.lucene.search.HitCollector;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
@@ -65,15 +69,27 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -85,11 +101,23 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class ModelSearchImpl implements IModelSearch {
 
-  /* Cached News States */
-  private static final INews.State[] NEWS_STATES = INews.State.values();
+  /* Search Hit Data for each News State */
+  private static final List<Map<Integer, INews.State>> NEWS_STATES_DATA = createNewsStatesData();
 
-  /* Number of news to resolve for indexing at once */
-  private static final int INDEX_CHUNK_SIZE = 500;
+  /* Fields to load from a Document if the ID and State Cache is not used */
+  private static final FieldSelector ID_STATE_FIELD_SELECTOR = new MapFieldSelector(new String[] { SearchDocument.ENTITY_ID_TEXT, NewsDocument.STATE_ID_TEXT });
+
+  /* Load the ID and State Cache of a Reader once 1 out of this many Documents is a Hit */
+  private static final int ID_STATE_CACHE_HIT_RATIO = 32;
+
+  /* Max. number of Threads to perform a batch of Searches */
+  private static final int MAX_SEARCH_THREADS = Runtime.getRuntime().availableProcessors();
+
+  /* Time in Seconds before an idle Search Thread is stopped */
+  private static final int SEARCH_THREAD_KEEP_ALIVE = 30;
+
+  /* Number of Threads to build Documents with while reindexing, defaults to the number of Processors */
+  private static final String REINDEX_THREADS_PROPERTY = "reindexThreads"; //$NON-NLS-1$
 
   /* An increased clauses count to set in case of a MaxClouseCountException */
   static final int MAX_CLAUSE_COUNT = 65536;
@@ -99,6 +127,8 @@ public class ModelSearchImpl implements IModelSearch {
   private volatile Directory fDirectory;
   private final List<IndexListener> fIndexListeners = new CopyOnWriteArrayList<IndexListener>();
   private final Map<IndexSearcher, AtomicInteger> fSearchers = new ConcurrentHashMap<IndexSearcher, AtomicInteger>(3, 0.75f, 1);
+  private final ConcurrentMap<IndexSearcher, NewsIdStateCache> fIdStateCaches = new ConcurrentHashMap<IndexSearcher, NewsIdStateCache>(3, 0.75f, 1);
+  private final ExecutorService fSearchExecutor = createSearchExecutor();
 
   /*
    * @see org.rssowl.core.model.search.IModelSearch#startup()
@@ -217,40 +247,169 @@ public class ModelSearchImpl implements IModelSearch {
     return new BooleanClause(termQuery, occur);
   }
 
-  private static final class SimpleHitCollector extends HitCollector {
+  /* Collects Document Numbers and Scores of all Hits */
+  private static final class DocCollector extends HitCollector {
+    private int[] fDocs = new int[16];
+    private float[] fScores = new float[16];
+    private int fSize;
+
+    @Override
+    public void collect(int doc, float score) {
+      if (fSize == fDocs.length) {
+        fDocs = Arrays.copyOf(fDocs, fSize * 2);
+        fScores = Arrays.copyOf(fScores, fSize * 2);
+      }
+
+      fDocs[fSize] = doc;
+      fScores[fSize] = score;
+      fSize++;
+    }
+  }
+
+  /* Filters Documents by the IDs of News, resolved once for a Reader */
+  private static final class NewsIdFilter extends Filter {
+    private static final long serialVersionUID = 1L;
+    private final transient BitSet fBits;
+
+    NewsIdFilter(IndexReader reader, Set<Long> newsIds) throws IOException {
+      fBits = new BitSet(reader.maxDoc());
+      TermDocs termDocs = reader.termDocs();
+      try {
+        for (Long newsId : newsIds) {
+          termDocs.seek(new Term(SearchDocument.ENTITY_ID_TEXT, String.valueOf(newsId)));
+          while (termDocs.next()) {
+            fBits.set(termDocs.doc());
+          }
+        }
+      } finally {
+        termDocs.close();
+      }
+    }
+
+    @Override
+    public BitSet bits(IndexReader reader) {
+      return fBits;
+    }
+  }
 
+  /* Performs Searches of a batch until all are done */
+  private final class SearchWorker implements Callable<Void> {
     private final IndexSearcher fSearcher;
-    private final List<NewsReference> fResultList;
-    private final Map<Long, Long> fSearchResultNewsIds = new HashMap<Long, Long>();
+    private final List<? extends ISearch> fSearches;
+    private final Filter fFilter;
+    private final AtomicInteger fNextSearch;
+    private final List<List<SearchHit<NewsReference>>> fResults;
 
-    SimpleHitCollector(IndexSearcher searcher, List<NewsReference> resultList) {
+    SearchWorker(IndexSearcher searcher, List<? extends ISearch> searches, Filter filter, AtomicInteger nextSearch, List<List<SearchHit<NewsReference>>> results) {
       fSearcher = searcher;
-      fResultList = resultList;
+      fSearches = searches;
+      fFilter = filter;
+      fNextSearch = nextSearch;
+      fResults = results;
     }
 
     @Override
-    public void collect(int doc, float score) {
-      try {
-        Document document = fSearcher.doc(doc);
+    public Void call() throws IOException {
+      for (int i = fNextSearch.getAndIncrement(); i < fSearches.size(); i = fNextSearch.getAndIncrement()) {
+        fResults.set(i, searchNews(fSearcher, fSearches.get(i), fFilter));
+      }
+
+      return null;
+    }
+  }
 
-        /* Receive Stored Fields */
-        long newsId = Long.parseLong(document.get(SearchDocument.ENTITY_ID_TEXT));
+  private static ExecutorService createSearchExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_SEARCH_THREADS, MAX_SEARCH_THREADS, SEARCH_THREAD_KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "Model Search"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    executor.allowCoreThreadTimeOut(true);
 
-        /*
-         * Under some circumstances the index might contain the same news twice.
-         * This can happen in situations where RSSOwl is quitting in an emergent
-         * way (e.g. the OS shutting down while RSSOwl is running). To avoid
-         * issues, we filter out duplicate results from the search. See
-         * http://dev.rssowl.org/show_bug.cgi?id=1264
-         */
-        if (!fSearchResultNewsIds.containsKey(newsId)) {
-          fResultList.add(new NewsReference(newsId));
-          fSearchResultNewsIds.put(newsId, newsId);
+    return executor;
+  }
+
+  private static List<Map<Integer, INews.State>> createNewsStatesData() {
+    INews.State[] states = INews.State.values();
+    List<Map<Integer, INews.State>> statesData = new ArrayList<Map<Integer, INews.State>>(states.length);
+    for (INews.State state : states) {
+      statesData.add(Collections.singletonMap(INews.STATE, state));
+    }
+
+    return statesData;
+  }
+
+  /*
+   * Returns the ID and State Cache of the given searcher if loaded or if it
+   * pays off to load it for the given number of hits. Returns null otherwise.
+   */
+  private NewsIdStateCache getIdStateCache(IndexSearcher searcher, int hits) throws IOException {
+    NewsIdStateCache cache = fIdStateCaches.get(searcher);
+    if (cache == null) {
+      cache = new NewsIdStateCache(searcher.getIndexReader());
+      NewsIdStateCache existingCache = fIdStateCaches.putIfAbsent(searcher, cache);
+      if (existingCache != null)
+        cache = existingCache;
+    }
+
+    if (!cache.isLoaded() && (long) hits * ID_STATE_CACHE_HIT_RATIO < searcher.maxDoc())
+      return null;
+
+    cache.load();
+    return cache;
+  }
+
+  /*
+   * Resolves ID and State of the collected Hits either from the ID and State
+   * Cache or from the stored fields of the Documents. State is only resolved if
+   * the given array is not null.
+   */
+  private int resolveHits(IndexSearcher searcher, DocCollector collector, long[] newsIds, byte[] newsStates) {
+    NewsIdStateCache cache = null;
+    try {
+      cache = getIdStateCache(searcher, collector.fSize);
+    } catch (IOException e) {
+      Activator.safeLogError(e.getMessage(), e);
+    }
+
+    int resolved = 0;
+    for (int i = 0; i < collector.fSize; i++) {
+      int doc = collector.fDocs[i];
+      long newsId = NewsIdStateCache.NO_ID;
+      byte newsState = NewsIdStateCache.NO_STATE;
+
+      /* Lookup from Cache */
+      if (cache != null) {
+        newsId = cache.getId(doc);
+        if (newsStates != null)
+          newsState = cache.getState(doc);
+      }
+
+      /* Receive Stored Fields */
+      if (newsId == NewsIdStateCache.NO_ID || (newsStates != null && newsState == NewsIdStateCache.NO_STATE)) {
+        try {
+          Document document = searcher.getIndexReader().document(doc, ID_STATE_FIELD_SELECTOR);
+          newsId = Long.parseLong(document.get(SearchDocument.ENTITY_ID_TEXT));
+          if (newsStates != null)
+            newsState = Byte.parseByte(document.get(NewsDocument.STATE_ID_TEXT));
+        } catch (IOException e) {
+          Activator.safeLogError(e.getMessage(), e);
+          continue;
         }
-      } catch (IOException e) {
-        Activator.safeLogError(e.getMessage(), e);
       }
+
+      collector.fDocs[resolved] = doc;
+      collector.fScores[resolved] = collector.fScores[i];
+      newsIds[resolved] = newsId;
+      if (newsStates != null)
+        newsStates[resolved] = newsState;
+      resolved++;
     }
+
+    return resolved;
   }
 
   /**
@@ -357,15 +516,33 @@ public class ModelSearchImpl implements IModelSearch {
   }
 
   private List<NewsReference> simpleSearch(IndexSearcher currentSearcher, Query query) {
-    List<NewsReference> resultList = new ArrayList<NewsReference>(2);
 
     /* Use custom hit collector for performance reasons */
+    DocCollector collector = new DocCollector();
     try {
-      currentSearcher.search(query, new SimpleHitCollector(currentSearcher, resultList));
-      return resultList;
+      currentSearcher.search(query, collector);
     } catch (IOException e) {
       throw new PersistenceException(e);
     }
+
+    long[] newsIds = new long[collector.fSize];
+    int hits = resolveHits(currentSearcher, collector, newsIds, null);
+    List<NewsReference> resultList = new ArrayList<NewsReference>(Math.max(hits, 2));
+    Set<Long> searchResultNewsIds = new HashSet<Long>(hits);
+    for (int i = 0; i < hits; i++) {
+
+      /*
+       * Under some circumstances the index might contain the same news twice.
+       * This can happen in situations where RSSOwl is quitting in an emergent
+       * way (e.g. the OS shutting down while RSSOwl is running). To avoid
+       * issues, we filter out duplicate results from the search. See
+       * http://dev.rssowl.org/show_bug.cgi?id=1264
+       */
+      if (searchResultNewsIds.add(newsIds[i]))
+        resultList.add(new NewsReference(newsIds[i]));
+    }
+
+    return resultList;
   }
 
   private void disposeIfNecessary(IndexSearcher currentSearcher) {
@@ -436,50 +613,135 @@ public class ModelSearchImpl implements IModelSearch {
       Query bQuery = ModelSearchQueries.createQuery(conditions, scope, matchAllConditions);
 
       /* Make sure the searcher is in sync */
-      final IndexSearcher currentSearcher = getCurrentSearcher();
-      final List<SearchHit<NewsReference>> resultList = new ArrayList<SearchHit<NewsReference>>();
-      final Map<Long, Long> searchResultNewsIds = new HashMap<Long, Long>();
-
-      /* Use custom hit collector for performance reasons */
-      HitCollector collector = new HitCollector() {
-        @Override
-        public void collect(int doc, float score) {
-          try {
-            Document document = currentSearcher.doc(doc);
+      IndexSearcher currentSearcher = getCurrentSearcher();
+      try {
+        return searchNews(currentSearcher, bQuery, null);
+      } finally {
+        disposeIfNecessary(currentSearcher);
+      }
+    } catch (IOException e) {
+      throw new PersistenceException(Messages.ModelSearchImpl_ERROR_SEARCH, e);
+    }
+  }
 
-            /* Receive Stored Fields */
-            long newsId = Long.parseLong(document.get(SearchDocument.ENTITY_ID_TEXT));
-            INews.State newsState = NEWS_STATES[Integer.parseInt(document.get(NewsDocument.STATE_ID_TEXT))];
+  private List<SearchHit<NewsReference>> searchNews(IndexSearcher searcher, Query query, Filter filter) throws IOException {
 
-            Map<Integer, INews.State> data = new HashMap<Integer, INews.State>(1);
-            data.put(INews.STATE, newsState);
+    /* Use custom hit collector for performance reasons */
+    DocCollector collector = new DocCollector();
 
-            /*
-             * Under some circumstances the index might contain the same news
-             * twice. This can happen in situations where RSSOwl is quitting in
-             * an emergent way (e.g. the OS shutting down while RSSOwl is
-             * running). To avoid issues, we filter out duplicate results from
-             * the search. See http://dev.rssowl.org/show_bug.cgi?id=1264
-             */
-            if (!searchResultNewsIds.containsKey(newsId)) {
-              resultList.add(new SearchHit<NewsReference>(new NewsReference(newsId), score, data));
-              searchResultNewsIds.put(newsId, newsId);
-            }
-          } catch (IOException e) {
-            Activator.safeLogError(e.getMessage(), e);
-          }
-        }
-      };
+    /* Perform the Search */
+    searcher.search(query, filter, collector);
+    long[] newsIds = new long[collector.fSize];
+    byte[] newsStates = new byte[collector.fSize];
+    int hits = resolveHits(searcher, collector, newsIds, newsStates);
+
+    List<SearchHit<NewsReference>> resultList = new ArrayList<SearchHit<NewsReference>>(hits);
+    Set<Long> searchResultNewsIds = new HashSet<Long>(hits);
+    for (int i = 0; i < hits; i++) {
+
+      /*
+       * Under some circumstances the index might contain the same news twice.
+       * This can happen in situations where RSSOwl is quitting in an emergent
+       * way (e.g. the OS shutting down while RSSOwl is running). To avoid
+       * issues, we filter out duplicate results from the search. See
+       * http://dev.rssowl.org/show_bug.cgi?id=1264
+       */
+      if (searchResultNewsIds.add(newsIds[i]))
+        resultList.add(new SearchHit<NewsReference>(new NewsReference(newsIds[i]), collector.fScores[i], NEWS_STATES_DATA.get(newsStates[i])));
+    }
+
+    return resultList;
+  }
+
+  /*
+   * @see
+   * org.rssowl.core.persist.service.IModelSearch#searchNews(java.util.List,
+   * java.util.Set)
+   */
+  @Override
+  public List<List<SearchHit<NewsReference>>> searchNews(List<? extends ISearch> searches, Set<Long> newsIds) throws PersistenceException {
+    List<List<SearchHit<NewsReference>>> results = new ArrayList<List<SearchHit<NewsReference>>>(searches.size());
+    for (int i = 0; i < searches.size(); i++) {
+      results.add(Collections.<SearchHit<NewsReference>> emptyList());
+    }
+
+    /* Nothing to search for */
+    if (searches.isEmpty() || (newsIds != null && newsIds.isEmpty()))
+      return results;
+
+    /* Make sure the searcher is in sync and use it for all searches */
+    IndexSearcher currentSearcher = getCurrentSearcher();
+    try {
+      Filter filter = (newsIds != null) ? new NewsIdFilter(currentSearcher.getIndexReader(), newsIds) : null;
+      AtomicInteger nextSearch = new AtomicInteger();
+      SearchWorker worker = new SearchWorker(currentSearcher, searches, filter, nextSearch, results);
+
+      /*
+       * Run Workers in parallel with the calling Thread as one of them. Each
+       * Worker only sets distinct elements of the results and waiting for the
+       * Workers makes their results visible to the calling Thread.
+       */
+      int workersCount = Math.min(MAX_SEARCH_THREADS, searches.size());
+      List<Future<Void>> futures = new ArrayList<Future<Void>>(workersCount - 1);
+      for (int i = 1; i < workersCount; i++) {
+        futures.add(fSearchExecutor.submit(worker));
+      }
 
-      /* Perform the Search */
       try {
-        currentSearcher.search(bQuery, collector);
-        return resultList;
+        worker.call();
       } finally {
-        disposeIfNecessary(currentSearcher);
+        for (Future<Void> future : futures) {
+          waitForSearches(future, nextSearch, searches.size());
+        }
       }
+
+      return results;
     } catch (IOException e) {
       throw new PersistenceException(Messages.ModelSearchImpl_ERROR_SEARCH, e);
+    } finally {
+      disposeIfNecessary(currentSearcher);
+    }
+  }
+
+  private List<SearchHit<NewsReference>> searchNews(IndexSearcher searcher, ISearch search, Filter filter) throws IOException {
+    try {
+      return searchNews(searcher, ModelSearchQueries.createQuery(search), filter);
+    }
+
+    /* Too Many Clauses - Increase Clauses Limit */
+    catch (TooManyClauses e) {
+
+      /* Disable Clauses Limit */
+      if (BooleanQuery.getMaxClauseCount() != ModelSearchImpl.MAX_CLAUSE_COUNT) {
+        BooleanQuery.setMaxClauseCount(MAX_CLAUSE_COUNT);
+        return searchNews(searcher, ModelSearchQueries.createQuery(search), filter);
+      }
+
+      /* Maximum reached */
+      throw new PersistenceException(Messages.ModelSearchImpl_ERROR_WILDCARDS, e);
+    }
+  }
+
+  private void waitForSearches(Future<Void> future, AtomicInteger nextSearch, int searchesCount) throws IOException {
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+
+      /* Make remaining Workers stop and restore interrupted state */
+      nextSearch.set(searchesCount);
+      future.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new PersistenceException(Messages.ModelSearchImpl_ERROR_SEARCH, e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException)
+        throw (IOException) cause;
+      else if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      else if (cause instanceof Error)
+        throw (Error) cause;
+
+      throw new PersistenceException(Messages.ModelSearchImpl_ERROR_SEARCH, cause);
     }
   }
 
@@ -551,6 +813,7 @@ public class ModelSearchImpl implements IModelSearch {
    */
   private void dispose(IndexSearcher searcher) throws IOException {
     fSearchers.remove(searcher);
+    fIdStateCaches.remove(searcher);
     searcher.close();
     searcher.getIndexReader().close();
   }
@@ -633,8 +896,9 @@ public class ModelSearchImpl implements IModelSearch {
     }
   }
 
-  void notifyIndexUpdated(int docCount) {
+  void notifyIndexUpdated(int docCount, Set<Long> newsIds) {
     for (IndexListener listener : fIndexListeners) {
+      listener.newsIndexed(newsIds);
       listener.indexUpdated(docCount);
     }
   }
@@ -678,7 +942,6 @@ public class ModelSearchImpl implements IModelSearch {
   }
 
   private void reindexInChunks(Iterator<INews> iterator, IProgressMonitor monitor) {
-    boolean isFirstRun = true;
 
     /* User might have cancelled the operation */
     if (monitor.isCanceled())
@@ -689,45 +952,12 @@ public class ModelSearchImpl implements IModelSearch {
 
     /* Lock the indexer for the duration of the reindexing */
     synchronized (fIndexer) {
-      boolean userCanceled = false;
 
       /* Delete the Index first */
       clearIndex();
 
-      /* Proceed until finished indexing all News Items */
-      while (iterator.hasNext()) {
-
-        /* Obtain the next chunk of news from the List */
-        List<INews> newsChunkToBeIndexed = new ArrayList<INews>(INDEX_CHUNK_SIZE);
-        for (int i = 0; i < INDEX_CHUNK_SIZE && iterator.hasNext(); i++)
-          newsChunkToBeIndexed.add(iterator.next());
-
-        /* Return if nothing to do */
-        if (newsChunkToBeIndexed.isEmpty())
-          break;
-
-        /* Flush frequently to optimize memory usage during reindexing */
-        if (!isFirstRun)
-          fIndexer.flushIfNecessary();
-
-        /* Index News Items */
-        for (INews newsitem : newsChunkToBeIndexed) {
-
-          /* User might have canceled, so give feedback that work needs to complete */
-          if (!userCanceled && monitor.isCanceled()) {
-            monitor.setTaskName(Messages.ModelSearchImpl_WAIT_TASK_COMPLETION);
-            userCanceled = true;
-          }
-
-          /* We don't pass the whole list at once to be able to report progress. */
-          List<INews> indexList = new ArrayList<INews>(1);
-          indexList.add(newsitem);
-          fIndexer.index(indexList, false, false); //Disable ACID Support
-          monitor.worked(1);
-        }
-
-        isFirstRun = false;
-      }
+      /* Resolve the News in Chunks and index them from several Threads */
+      new ReindexPipeline(fIndexer, getReindexThreads()).run(iterator, monitor);
     }
 
     /* Finally we refresh the searchers (this will trigger flushIfNecessary()) */
@@ -740,6 +970,21 @@ public class ModelSearchImpl implements IModelSearch {
     }
   }
 
+  private static int getReindexThreads() {
+    String strVal = System.getProperty(REINDEX_THREADS_PROPERTY);
+    if (strVal != null) {
+      try {
+        int threads = Integer.parseInt(strVal);
+        if (threads > 0)
+          return threads;
+      } catch (NumberFormatException e) {
+        Activator.getDefault().logError(e.getMessage(), e);
+      }
+    }
+
+    return Runtime.getRuntime().availableProcessors();
+  }
+
   /*
    * @see
    * org.rssowl.core.persist.service.IModelSearch#cleanUp(org.eclipse.core.runtime
@@ -807,4 +1052,4 @@ public class ModelSearchImpl implements IModelSearch {
       throw new PersistenceException(e);
     }
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -24,10 +24,12 @@
 
 package org.rssowl.core.internal.persist.search;
 
+import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.document.DateTools.Resolution;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.Field.Index;
 import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.Field.TermVector;
 import org.rssowl.core.persist.IAttachment;
 import org.rssowl.core.persist.ILabel;
 import org.rssowl.core.persist.INews;
@@ -48,6 +50,12 @@ public class NewsDocument extends SearchDocument<INews> {
   /* State ID as String */
   static final String STATE_ID_TEXT = String.valueOf(INews.STATE);
 
+  /* Description ID as String */
+  static final String DESCRIPTION_ID_TEXT = String.valueOf(INews.DESCRIPTION);
+
+  /* System Property to keep the Terms of Descriptions for metadata Updates */
+  private static final String TERM_VECTORS_PROPERTY = "rssowl.descriptionTermVectors"; //$NON-NLS-1$
+
   /**
    * @param type
    */
@@ -60,7 +68,24 @@ public class NewsDocument extends SearchDocument<INews> {
    */
   @Override
   public boolean addFields() {
-    return addFields(true);
+
+    /*
+     * Optionally keep the Terms of the Description to support metadata Updates.
+     * Any News can later change its State, so every Description keeps its
+     * Vector. This about doubles the Size of the Index, while replaying the
+     * Vector is not faster than analyzing the Description again (see
+     * PerformanceTest.updateIndexedNews), so it is off by default.
+     */
+    return addFields(true, isTermVectorsEnabled() ? TermVector.WITH_POSITIONS : TermVector.NO, null);
+  }
+
+  /**
+   * @return <code>true</code> if the terms of descriptions are kept in the
+   * index to update news without analyzing their description again and
+   * <code>false</code> otherwise (the default).
+   */
+  public static boolean isTermVectorsEnabled() {
+    return Boolean.getBoolean(TERM_VECTORS_PROPERTY);
   }
 
   /**
@@ -68,6 +93,22 @@ public class NewsDocument extends SearchDocument<INews> {
    * @return boolean
    */
   public boolean addFields(boolean indexDescription) {
+    return addFields(indexDescription, TermVector.NO, null);
+  }
+
+  /**
+   * Adds the fields of the news, but indexes the given tokens as description
+   * instead of loading and analyzing the description of the news. Used to
+   * update a news of which only metadata like the state has changed.
+   *
+   * @param descriptionTokens the tokens of the description as indexed before.
+   * @return boolean
+   */
+  public boolean addFields(TokenStream descriptionTokens) {
+    return addFields(false, TermVector.WITH_POSITIONS, descriptionTokens);
+  }
+
+  private boolean addFields(boolean indexDescription, TermVector descriptionVector, TokenStream descriptionTokens) {
     INews news = getType();
     List<Field> fields = new ArrayList<Field>();
 
@@ -76,8 +117,10 @@ public class NewsDocument extends SearchDocument<INews> {
 
     /* Add textual content */
     addField(fields, createHTMLField(INews.TITLE, news.getTitle()));
-    if (indexDescription)
-      addField(fields, createHTMLField(INews.DESCRIPTION, news.getDescription()));
+    if (descriptionTokens != null)
+      addField(fields, createTokenField(INews.DESCRIPTION, descriptionTokens, descriptionVector));
+    else if (indexDescription)
+      addField(fields, createHTMLField(INews.DESCRIPTION, news.getDescription(), descriptionVector));
 
     /* Add URIs */
     addField(fields, createURIField(INews.LINK, news.getLinkAsText(), Store.NO, Index.UN_TOKENIZED));
@@ -0,0 +1,165 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.internal.persist.search;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermDocs;
+import org.apache.lucene.index.TermEnum;
+import org.rssowl.core.persist.INews;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A cache of the ID and state of all news in an {@link IndexReader} held in
+ * primitive arrays indexed by document number. It allows collectors of search
+ * results to look up ID and state of a hit without loading the stored fields
+ * of the document.
+ * </p>
+ * <p>
+ * The cache is filled from the indexed terms of the ID and state fields on the
+ * first call to {@link #load()} and is valid for as long as the reader is not
+ * reopened. Documents without indexed ID or state are reported as missing.
+ * </p>
+ */
+public final class NewsIdStateCache {
+
+  /* Marks a Document without ID */
+  public static final long NO_ID = 0;
+
+  /* Marks a Document without State */
+  public static final byte NO_STATE = -1;
+
+  private final IndexReader fReader;
+  private volatile boolean fLoaded;
+  private long[] fIds;
+  private byte[] fStates;
+
+  /**
+   * @param reader the reader to cache ID and state of all news from.
+   */
+  public NewsIdStateCache(IndexReader reader) {
+    fReader = reader;
+  }
+
+  /**
+   * @return <code>true</code> if this cache has been loaded and
+   * <code>false</code> otherwise.
+   */
+  public boolean isLoaded() {
+    return fLoaded;
+  }
+
+  /**
+   * Loads the ID and state of all news from the reader unless loaded already.
+   *
+   * @throws IOException in case of an error reading from the index.
+   */
+  public void load() throws IOException {
+    if (fLoaded)
+      return;
+
+    synchronized (this) {
+      if (fLoaded)
+        return;
+
+      int maxDoc = fReader.maxDoc();
+      long[] ids = new long[maxDoc];
+      byte[] states = new byte[maxDoc];
+      Arrays.fill(states, NO_STATE);
+
+      TermEnum termEnum = fReader.terms(new Term(SearchDocument.ENTITY_ID_TEXT, "")); //$NON-NLS-1$
+      TermDocs termDocs = fReader.termDocs();
+      try {
+
+        /* Fill IDs */
+        do {
+          Term term = termEnum.term();
+          if (term == null || !SearchDocument.ENTITY_ID_TEXT.equals(term.field()))
+            break;
+
+          long id = parseLong(term.text(), NO_ID);
+          termDocs.seek(termEnum);
+          while (termDocs.next()) {
+            ids[termDocs.doc()] = id;
+          }
+        } while (termEnum.next());
+
+        /* Fill States */
+        termEnum.close();
+        termEnum = fReader.terms(new Term(NewsDocument.STATE_ID_TEXT, "")); //$NON-NLS-1$
+        int statesCount = INews.State.values().length;
+        do {
+          Term term = termEnum.term();
+          if (term == null || !NewsDocument.STATE_ID_TEXT.equals(term.field()))
+            break;
+
+          long state = parseLong(term.text(), NO_STATE);
+          if (state < 0 || state >= statesCount)
+            continue;
+
+          termDocs.seek(termEnum);
+          while (termDocs.next()) {
+            states[termDocs.doc()] = (byte) state;
+          }
+        } while (termEnum.next());
+      } finally {
+        termDocs.close();
+        termEnum.close();
+      }
+
+      fIds = ids;
+      fStates = states;
+      fLoaded = true;
+    }
+  }
+
+  /**
+   * @param doc the document number of a loaded cache.
+   * @return the ID of the news or {@link #NO_ID} if the document has none.
+   */
+  public long getId(int doc) {
+    return fIds[doc];
+  }
+
+  /**
+   * @param doc the document number of a loaded cache.
+   * @return the ordinal of the {@link INews.State} of the news or
+   * {@link #NO_STATE} if the document has none.
+   */
+  public byte getState(int doc) {
+    return fStates[doc];
+  }
+
+  private static long parseLong(String value, long defaultValue) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+}
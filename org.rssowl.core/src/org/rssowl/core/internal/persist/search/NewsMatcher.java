@@ -0,0 +1,365 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.internal.persist.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreRangeQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.search.WildcardTermEnum;
+import org.rssowl.core.internal.persist.search.NewsTerms.Positions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Matches the {@link NewsTerms} of a news against a Lucene {@link Query}
+ * without writing the news into an index first. A query is compiled once into
+ * a tree of matchers that can then be used for any number of news, from any
+ * number of threads.
+ * </p>
+ * <p>
+ * The supported queries are those that {@link ModelSearchQueries} creates for
+ * news filters: boolean, term, wildcard, prefix, exact phrase, range and match
+ * all queries. They match exactly the news that searching an index with the
+ * query would return. For any other query {@link #compile(Query)} returns
+ * <code>null</code> and the query needs to run against an index.
+ * </p>
+ */
+public abstract class NewsMatcher {
+
+  /* Matches all News */
+  private static final NewsMatcher ALL = new NewsMatcher() {
+    @Override
+    public boolean matches(NewsTerms terms) {
+      return true;
+    }
+  };
+
+  /* Matches no News */
+  private static final NewsMatcher NONE = new NewsMatcher() {
+    @Override
+    public boolean matches(NewsTerms terms) {
+      return false;
+    }
+  };
+
+  /**
+   * Compiles the given query into a matcher.
+   *
+   * @param query the query to compile.
+   * @return a matcher that matches the same news as the given query or
+   * <code>null</code> if the query contains queries that can not be matched
+   * without an index.
+   */
+  public static NewsMatcher compile(Query query) {
+    if (query instanceof BooleanQuery)
+      return compile((BooleanQuery) query);
+
+    if (query instanceof TermQuery)
+      return new TermMatcher(((TermQuery) query).getTerm());
+
+    if (query instanceof WildcardQuery)
+      return compile((WildcardQuery) query);
+
+    if (query instanceof PrefixQuery)
+      return new PrefixMatcher(((PrefixQuery) query).getPrefix());
+
+    if (query instanceof PhraseQuery)
+      return compile((PhraseQuery) query);
+
+    if (query instanceof ConstantScoreRangeQuery)
+      return new RangeMatcher((ConstantScoreRangeQuery) query);
+
+    if (query instanceof MatchAllDocsQuery)
+      return ALL;
+
+    /* Unsupported Query (e.g. Fuzzy) */
+    return null;
+  }
+
+  private static NewsMatcher compile(BooleanQuery query) {
+    BooleanClause[] clauses = query.getClauses();
+
+    /* A single Clause that is not prohibited is rewritten to its Query */
+    if (clauses.length == 1 && !clauses[0].isProhibited())
+      return compile(clauses[0].getQuery());
+
+    List<NewsMatcher> required = new ArrayList<NewsMatcher>();
+    List<NewsMatcher> optional = new ArrayList<NewsMatcher>();
+    List<NewsMatcher> prohibited = new ArrayList<NewsMatcher>();
+
+    for (BooleanClause clause : clauses) {
+      NewsMatcher matcher = compile(clause.getQuery());
+      if (matcher == null)
+        return null;
+
+      if (clause.isRequired())
+        required.add(matcher);
+      else if (clause.isProhibited())
+        prohibited.add(matcher);
+      else
+        optional.add(matcher);
+    }
+
+    return new BooleanMatcher(required, optional, prohibited, query.getMinimumNumberShouldMatch());
+  }
+
+  private static NewsMatcher compile(WildcardQuery query) {
+    Term term = query.getTerm();
+    String text = term.text();
+
+    /* Same as a Term Query if the Term contains no Wildcard */
+    int index = firstWildcard(text);
+    if (index < 0)
+      return new TermMatcher(term);
+
+    return new WildcardMatcher(term.field(), text.substring(0, index), text.substring(index));
+  }
+
+  private static int firstWildcard(String text) {
+    int stringWildcard = text.indexOf(WildcardTermEnum.WILDCARD_STRING);
+    int charWildcard = text.indexOf(WildcardTermEnum.WILDCARD_CHAR);
+    if (stringWildcard < 0)
+      return charWildcard;
+
+    if (charWildcard < 0)
+      return stringWildcard;
+
+    return Math.min(stringWildcard, charWildcard);
+  }
+
+  private static NewsMatcher compile(PhraseQuery query) {
+
+    /* Sloppy Phrases are scored by the distance of their Terms */
+    if (query.getSlop() != 0)
+      return null;
+
+    Term[] terms = query.getTerms();
+    if (terms.length == 0)
+      return NONE;
+
+    if (terms.length == 1)
+      return new TermMatcher(terms[0]);
+
+    return new PhraseMatcher(terms, query.getPositions());
+  }
+
+  /**
+   * @param terms the terms of the news to match.
+   * @return <code>true</code> if the news matches and <code>false</code>
+   * otherwise.
+   * @throws IOException in case of an error while analyzing the news.
+   */
+  public abstract boolean matches(NewsTerms terms) throws IOException;
+
+  /* Same Rules as the BooleanScorer2 of Lucene */
+  private static final class BooleanMatcher extends NewsMatcher {
+    private final NewsMatcher[] fRequired;
+    private final NewsMatcher[] fOptional;
+    private final NewsMatcher[] fProhibited;
+    private final int fMinimumOptional;
+
+    BooleanMatcher(List<NewsMatcher> required, List<NewsMatcher> optional, List<NewsMatcher> prohibited, int minimumNumberShouldMatch) {
+      fRequired = required.toArray(new NewsMatcher[required.size()]);
+      fOptional = optional.toArray(new NewsMatcher[optional.size()]);
+      fProhibited = prohibited.toArray(new NewsMatcher[prohibited.size()]);
+
+      /* Without required Clauses, at least one optional Clause has to match */
+      fMinimumOptional = fRequired.length == 0 ? Math.max(1, minimumNumberShouldMatch) : minimumNumberShouldMatch;
+    }
+
+    @Override
+    public boolean matches(NewsTerms terms) throws IOException {
+      if (fOptional.length < fMinimumOptional)
+        return false;
+
+      for (NewsMatcher matcher : fRequired) {
+        if (!matcher.matches(terms))
+          return false;
+      }
+
+      if (fMinimumOptional > 0) {
+        int matching = 0;
+        for (int i = 0; i < fOptional.length && matching < fMinimumOptional; i++) {
+          if (fOptional[i].matches(terms))
+            matching++;
+        }
+
+        if (matching < fMinimumOptional)
+          return false;
+      }
+
+      for (NewsMatcher matcher : fProhibited) {
+        if (matcher.matches(terms))
+          return false;
+      }
+
+      return true;
+    }
+  }
+
+  private static final class TermMatcher extends NewsMatcher {
+    private final String fField;
+    private final String fText;
+
+    TermMatcher(Term term) {
+      fField = term.field();
+      fText = term.text();
+    }
+
+    @Override
+    public boolean matches(NewsTerms terms) throws IOException {
+      return terms.getTerms(fField).containsKey(fText);
+    }
+  }
+
+  private static final class WildcardMatcher extends NewsMatcher {
+    private final String fField;
+    private final String fPrefix;
+    private final String fPattern;
+
+    WildcardMatcher(String field, String prefix, String pattern) {
+      fField = field;
+      fPrefix = prefix;
+      fPattern = pattern;
+    }
+
+    @Override
+    public boolean matches(NewsTerms terms) throws IOException {
+      for (String term : terms.getTerms(fField).keySet()) {
+        if (term.startsWith(fPrefix) && WildcardTermEnum.wildcardEquals(fPattern, 0, term, fPrefix.length()))
+          return true;
+      }
+
+      return false;
+    }
+  }
+
+  private static final class PrefixMatcher extends NewsMatcher {
+    private final String fField;
+    private final String fPrefix;
+
+    PrefixMatcher(Term prefix) {
+      fField = prefix.field();
+      fPrefix = prefix.text();
+    }
+
+    @Override
+    public boolean matches(NewsTerms terms) throws IOException {
+      for (String term : terms.getTerms(fField).keySet()) {
+        if (term.startsWith(fPrefix))
+          return true;
+      }
+
+      return false;
+    }
+  }
+
+  /* Same Bounds as the RangeFilter that the Query rewrites to */
+  private static final class RangeMatcher extends NewsMatcher {
+    private final String fField;
+    private final String fLower;
+    private final String fUpper;
+    private final boolean fIncludeLower;
+    private final boolean fIncludeUpper;
+
+    RangeMatcher(ConstantScoreRangeQuery query) {
+      fField = query.getField();
+      fLower = query.getLowerVal();
+      fUpper = query.getUpperVal();
+      fIncludeLower = query.includesLower();
+      fIncludeUpper = query.includesUpper() && fUpper != null;
+    }
+
+    @Override
+    public boolean matches(NewsTerms terms) throws IOException {
+      for (String term : terms.getTerms(fField).keySet()) {
+        if (fLower != null) {
+          int compare = term.compareTo(fLower);
+          if (compare < 0 || (compare == 0 && !fIncludeLower))
+            continue;
+        }
+
+        if (fUpper != null) {
+          int compare = fUpper.compareTo(term);
+          if (compare < 0 || (compare == 0 && !fIncludeUpper))
+            continue;
+        }
+
+        return true;
+      }
+
+      return false;
+    }
+  }
+
+  /* Terms at the same Offsets to each other as in the Query */
+  private static final class PhraseMatcher extends NewsMatcher {
+    private final String fField;
+    private final String[] fTexts;
+    private final int[] fOffsets;
+
+    PhraseMatcher(Term[] terms, int[] offsets) {
+      fField = terms[0].field();
+      fTexts = new String[terms.length];
+      for (int i = 0; i < terms.length; i++)
+        fTexts[i] = terms[i].text();
+      fOffsets = offsets;
+    }
+
+    @Override
+    public boolean matches(NewsTerms terms) throws IOException {
+      Map<String, Positions> fieldTerms = terms.getTerms(fField);
+      Positions[] positions = new Positions[fTexts.length];
+      for (int i = 0; i < fTexts.length; i++) {
+        positions[i] = fieldTerms.get(fTexts[i]);
+        if (positions[i] == null)
+          return false;
+      }
+
+      for (int i = 0; i < positions[0].size(); i++) {
+        int start = positions[0].get(i) - fOffsets[0];
+        boolean match = true;
+        for (int j = 1; j < positions.length && match; j++)
+          match = positions[j].contains(start + fOffsets[j]);
+
+        if (match)
+          return true;
+      }
+
+      return false;
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,216 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.internal.persist.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.Token;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.document.Fieldable;
+import org.apache.lucene.index.IndexWriter;
+import org.rssowl.core.persist.INews;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * The terms of a single news as an {@link IndexWriter} with default settings
+ * would write them into the index. The fields come from the
+ * {@link NewsDocument} of the news and are analyzed the same way, including
+ * the gap between values of the same field, the limit of terms per field and
+ * the limit of the term length.
+ * </p>
+ * <p>
+ * A field is only analyzed when it is first asked for, so that matching a news
+ * against queries that look at a few fields does not analyze the others.
+ * </p>
+ *
+ * @see NewsMatcher
+ */
+public final class NewsTerms {
+
+  /* Longest Term that is indexed, longer ones are skipped */
+  private static final int MAX_TERM_LENGTH = IndexWriter.MAX_TERM_LENGTH;
+
+  /* Terms per Field that are indexed, the rest is ignored */
+  private static final int MAX_FIELD_LENGTH = IndexWriter.DEFAULT_MAX_FIELD_LENGTH;
+
+  private final Analyzer fAnalyzer;
+  private final Map<String, List<Fieldable>> fFields = new HashMap<String, List<Fieldable>>();
+  private final Map<String, Map<String, Positions>> fTerms = new HashMap<String, Map<String, Positions>>();
+
+  /**
+   * The positions of a term in a field in ascending order.
+   */
+  static final class Positions {
+    private int[] fPositions = new int[1];
+    private int fSize;
+
+    private void add(int position) {
+      if (fSize == fPositions.length) {
+        int[] positions = new int[fSize * 2];
+        System.arraycopy(fPositions, 0, positions, 0, fSize);
+        fPositions = positions;
+      }
+
+      fPositions[fSize++] = position;
+    }
+
+    int size() {
+      return fSize;
+    }
+
+    int get(int index) {
+      return fPositions[index];
+    }
+
+    boolean contains(int position) {
+      for (int i = 0; i < fSize; i++) {
+        if (fPositions[i] == position)
+          return true;
+
+        if (fPositions[i] > position)
+          return false;
+      }
+
+      return false;
+    }
+  }
+
+  /**
+   * @param news the news to provide the terms of.
+   * @param indexDescription <code>true</code> to include the description of
+   * the news and <code>false</code> otherwise.
+   * @param analyzer the analyzer to analyze tokenized fields with, usually the
+   * one from {@link Indexer#createAnalyzer()}. Token streams that the analyzer
+   * offers for reuse are reused.
+   */
+  public NewsTerms(INews news, boolean indexDescription, Analyzer analyzer) {
+    fAnalyzer = analyzer;
+
+    NewsDocument document = new NewsDocument(news);
+    document.addFields(indexDescription);
+
+    /* Group Fields by Name in the Order they were added */
+    for (Object object : document.getDocument().getFields()) {
+      Fieldable field = (Fieldable) object;
+      if (!field.isIndexed())
+        continue;
+
+      List<Fieldable> fields = fFields.get(field.name());
+      if (fields == null) {
+        fields = new ArrayList<Fieldable>(1);
+        fFields.put(field.name(), fields);
+      }
+
+      fields.add(field);
+    }
+  }
+
+  /**
+   * @param field the name of the field.
+   * @return the terms of the given field mapped to their positions. Never
+   * <code>null</code>.
+   * @throws IOException in case of an error while analyzing the field.
+   */
+  Map<String, Positions> getTerms(String field) throws IOException {
+    Map<String, Positions> terms = fTerms.get(field);
+    if (terms == null) {
+      terms = analyze(field);
+      fTerms.put(field, terms);
+    }
+
+    return terms;
+  }
+
+  /* Mirrors how the IndexWriter inverts all values of a Field */
+  private Map<String, Positions> analyze(String field) throws IOException {
+    List<Fieldable> fields = fFields.get(field);
+    if (fields == null)
+      return new HashMap<String, Positions>(0);
+
+    Map<String, Positions> terms = new HashMap<String, Positions>();
+    Token reusableToken = new Token();
+    int length = 0;
+    int position = 0;
+    for (Fieldable value : fields) {
+      if (length > 0)
+        position += fAnalyzer.getPositionIncrementGap(field);
+
+      /* Un-Tokenized Field: the Value is a single Term */
+      if (!value.isTokenized()) {
+        position = add(terms, value.stringValue(), position);
+        length++;
+        continue;
+      }
+
+      /* Tokenized Field */
+      TokenStream stream = value.tokenStreamValue();
+      if (stream == null) {
+        Reader reader = value.readerValue();
+        if (reader == null)
+          reader = new StringReader(value.stringValue());
+
+        stream = fAnalyzer.reusableTokenStream(field, reader);
+      }
+
+      stream.reset();
+      try {
+        Token token;
+        while ((token = stream.next(reusableToken)) != null) {
+          position += token.getPositionIncrement() - 1;
+          position = add(terms, new String(token.termBuffer(), 0, token.termLength()), position);
+          if (++length >= MAX_FIELD_LENGTH)
+            break;
+        }
+      } finally {
+        stream.close();
+      }
+    }
+
+    return terms;
+  }
+
+  private int add(Map<String, Positions> terms, String term, int position) {
+
+    /* Skip immense Terms but keep their Position */
+    if (term.length() <= MAX_TERM_LENGTH) {
+      Positions positions = terms.get(term);
+      if (positions == null) {
+        positions = new Positions();
+        terms.put(term, positions);
+      }
+
+      positions.add(position);
+    }
+
+    return position + 1;
+  }
+}
\ No newline at end of file
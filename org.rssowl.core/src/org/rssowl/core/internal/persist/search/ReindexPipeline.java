@@ -0,0 +1,259 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.internal.persist.search;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.rssowl.core.Owl;
+import org.rssowl.core.persist.INews;
+import org.rssowl.core.persist.service.PersistenceException;
+import org.rssowl.core.util.CoreUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rebuilds the Index from all News. The calling Thread resolves the News in
+ * Chunks and hands them over to a number of Worker Threads that load the
+ * Descriptions of a Chunk in bulk and add its Documents to the
+ * {@link Indexer}. The IndexWriter analyzes the Documents of the Workers in
+ * parallel. Only a few Chunks wait for a Worker at any time to keep memory
+ * consumption low while resolving. The calling Thread also flushes the Index
+ * about once per Chunk, like the Indexer did when indexing on a single Thread.
+ */
+final class ReindexPipeline {
+
+  /* Number of news to resolve for indexing at once */
+  private static final int CHUNK_SIZE = 500;
+
+  /* Number of news to load the descriptions for at once while indexing */
+  private static final int DESCRIPTION_CHUNK_SIZE = 50;
+
+  /* Number of resolved Chunks that may wait for each Worker */
+  private static final int QUEUED_CHUNKS_PER_WORKER = 2;
+
+  /* Interval in millis to report Progress while waiting for the Workers */
+  private static final long PROGRESS_INTERVAL = 100;
+
+  /* Tells a Worker that no more Chunks follow */
+  private static final List<INews> END_OF_CHUNKS = Collections.emptyList();
+
+  private final Indexer fIndexer;
+  private final BlockingQueue<List<INews>> fChunks;
+  private final Thread[] fWorkers;
+  private final AtomicInteger fProcessedCount = new AtomicInteger();
+  private final AtomicReference<Throwable> fError = new AtomicReference<Throwable>();
+
+  /* IDs of News that Workers added to the Index since the last Flush */
+  private final Queue<Set<Long>> fUnflushedNews = new ConcurrentLinkedQueue<Set<Long>>();
+
+  private int fReportedCount;
+  private int fFlushedCount;
+  private boolean fUserCanceled;
+
+  /**
+   * @param indexer the Indexer to add the Documents to. The caller must hold
+   * its lock for the duration of {@link #run(Iterator, IProgressMonitor)}.
+   * @param workers the number of Threads that build and add Documents.
+   */
+  ReindexPipeline(Indexer indexer, int workers) {
+    fIndexer = indexer;
+    fChunks = new ArrayBlockingQueue<List<INews>>(workers * QUEUED_CHUNKS_PER_WORKER);
+    fWorkers = new Thread[workers];
+    for (int i = 0; i < workers; i++) {
+      fWorkers[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          work();
+        }
+      }, "Reindex Search Index"); //$NON-NLS-1$
+      fWorkers[i].setDaemon(true);
+    }
+  }
+
+  /**
+   * Indexes all News from the given Iterator and returns when all of them are
+   * indexed. Progress is reported to the monitor with one unit of work per
+   * News. Cancelling the monitor does not stop the reindexing, because the
+   * Index would be incomplete otherwise.
+   *
+   * @param news the News to index.
+   * @param monitor the monitor to report progress to.
+   * @throws PersistenceException in case a Worker failed.
+   */
+  void run(Iterator<INews> news, IProgressMonitor monitor) throws PersistenceException {
+    for (Thread worker : fWorkers)
+      worker.start();
+
+    try {
+
+      /* Resolve the next Chunk of News unless a Worker failed */
+      while (news.hasNext() && fError.get() == null && !Owl.isShuttingDown()) {
+        List<INews> chunk = new ArrayList<INews>(CHUNK_SIZE);
+        for (int i = 0; i < CHUNK_SIZE && news.hasNext(); i++)
+          chunk.add(news.next());
+
+        put(chunk, monitor);
+
+        /* Flush frequently to optimize memory usage during reindexing */
+        flushIfNecessary();
+      }
+    } finally {
+
+      /* Let the Workers complete the remaining Chunks */
+      for (int i = 0; i < fWorkers.length; i++)
+        put(END_OF_CHUNKS, monitor);
+
+      for (Thread worker : fWorkers)
+        join(worker, monitor);
+    }
+
+    reportProgress(monitor);
+
+    /* Remaining News get flushed when the Searcher is refreshed */
+    Set<Long> unflushedNews = new HashSet<Long>();
+    for (Set<Long> newsIds = fUnflushedNews.poll(); newsIds != null; newsIds = fUnflushedNews.poll())
+      unflushedNews.addAll(newsIds);
+    fIndexer.addUnflushedNews(unflushedNews);
+
+    Throwable error = fError.get();
+    if (error instanceof RuntimeException)
+      throw (RuntimeException) error;
+    else if (error instanceof Error)
+      throw (Error) error;
+    else if (error != null)
+      throw new PersistenceException(error);
+  }
+
+  private void put(List<INews> chunk, IProgressMonitor monitor) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          if (fChunks.offer(chunk, PROGRESS_INTERVAL, TimeUnit.MILLISECONDS))
+            return;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+
+        reportProgress(monitor);
+      }
+    } finally {
+      if (interrupted)
+        Thread.currentThread().interrupt();
+    }
+  }
+
+  /* Only called from the Thread that runs the Pipeline */
+  private void flushIfNecessary() {
+    int processedCount = fProcessedCount.get();
+    if (processedCount - fFlushedCount < CHUNK_SIZE)
+      return;
+
+    /* Workers add the Documents before their IDs, so the Flush includes all cleared News */
+    fUnflushedNews.clear();
+
+    fIndexer.flushIfNecessary();
+    fFlushedCount = processedCount;
+  }
+
+  private void join(Thread worker, IProgressMonitor monitor) {
+    boolean interrupted = false;
+    try {
+      while (worker.isAlive()) {
+        try {
+          worker.join(PROGRESS_INTERVAL);
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+
+        reportProgress(monitor);
+      }
+    } finally {
+      if (interrupted)
+        Thread.currentThread().interrupt();
+    }
+  }
+
+  /* Only called from the Thread that runs the Pipeline */
+  private void reportProgress(IProgressMonitor monitor) {
+    int processedCount = fProcessedCount.get();
+    if (processedCount > fReportedCount) {
+      monitor.worked(processedCount - fReportedCount);
+      fReportedCount = processedCount;
+    }
+
+    /* User might have canceled, so give feedback that work needs to complete */
+    if (!fUserCanceled && monitor.isCanceled()) {
+      monitor.setTaskName(Messages.ModelSearchImpl_WAIT_TASK_COMPLETION);
+      fUserCanceled = true;
+    }
+  }
+
+  private void work() {
+    while (true) {
+      List<INews> chunk;
+      try {
+        chunk = fChunks.take();
+      } catch (InterruptedException e) {
+        continue;
+      }
+
+      if (chunk == END_OF_CHUNKS)
+        return;
+
+      /* Skip remaining Chunks once a Worker failed */
+      if (fError.get() == null) {
+        try {
+          index(chunk);
+        } catch (Throwable t) {
+          fError.compareAndSet(null, t);
+        }
+      }
+    }
+  }
+
+  private void index(List<INews> chunk) {
+    for (int i = 0; i < chunk.size(); i += DESCRIPTION_CHUNK_SIZE) {
+      List<INews> news = chunk.subList(i, Math.min(i + DESCRIPTION_CHUNK_SIZE, chunk.size()));
+
+      /* Load Descriptions of the News in one pass */
+      CoreUtils.prefetchDescriptions(news);
+
+      fUnflushedNews.add(fIndexer.reindex(news));
+      fProcessedCount.addAndGet(news.size());
+    }
+  }
+}
\ No newline at end of file
@@ -24,12 +24,14 @@
 
 package org.rssowl.core.internal.persist.search;
 
+import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.document.DateTools;
 import org.apache.lucene.document.DateTools.Resolution;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.Field.Index;
 import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.Field.TermVector;
 import org.apache.lucene.document.NumberTools;
 import org.eclipse.core.runtime.Assert;
 import org.rssowl.core.persist.IAttachment;
@@ -239,10 +241,40 @@ public abstract class SearchDocument<T extends IEntity> {
    * @return Field the {@link Field} that can be used for indexing.
    */
   protected Field createHTMLField(int fieldConstant, String value) {
+    return createHTMLField(fieldConstant, value, TermVector.NO);
+  }
+
+  /**
+   * Creates a new <code>Field</code> from the given String value containing
+   * HTML. The HTML will be stripped from the field and entities replaced. The
+   * value is <em>not stored</em>and <em>tokenized indexed</em>.
+   *
+   * @param fieldConstant the constant identifying the target field
+   * @param value the value of the field
+   * @param termVector one of the {@link TermVector} constants.
+   * @return Field the {@link Field} that can be used for indexing.
+   */
+  protected Field createHTMLField(int fieldConstant, String value, TermVector termVector) {
     if (value == null)
       return null;
 
-    return new Field(String.valueOf(fieldConstant), new HTMLStripReader(new StringReader(value)));
+    return new Field(String.valueOf(fieldConstant), new HTMLStripReader(new StringReader(value)), termVector);
+  }
+
+  /**
+   * Creates a new <code>Field</code> from the given tokens that have been
+   * analyzed already. The value is <em>not stored</em>and <em>indexed</em>.
+   *
+   * @param fieldConstant the constant identifying the target field
+   * @param tokens the tokens of the field
+   * @param termVector one of the {@link TermVector} constants.
+   * @return Field the {@link Field} that can be used for indexing.
+   */
+  protected Field createTokenField(int fieldConstant, TokenStream tokens, TermVector termVector) {
+    if (tokens == null)
+      return null;
+
+    return new Field(String.valueOf(fieldConstant), tokens, termVector);
   }
 
   /**
@@ -0,0 +1,101 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.internal.persist.search;
+
+import org.apache.lucene.analysis.Token;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.index.TermPositionVector;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A {@link TokenStream} that replays the terms of a {@link TermPositionVector}
+ * in the order of their positions. Indexing these tokens reproduces the
+ * postings of an already analyzed field without analyzing its text again.
+ * </p>
+ * <p>
+ * Offsets are not part of the vector and are reported as <code>0</code>.
+ * </p>
+ */
+final class TermVectorTokenStream extends TokenStream {
+  private final String[] fTerms;
+  private final long[] fPositionsAndTerms;
+  private int fNext;
+  private int fLastPosition = -1;
+
+  private TermVectorTokenStream(String[] terms, long[] positionsAndTerms) {
+    fTerms = terms;
+    fPositionsAndTerms = positionsAndTerms;
+  }
+
+  /**
+   * @param vector the vector to replay the terms from.
+   * @return a {@link TokenStream} with the terms of the vector or
+   * <code>null</code> if the vector does not provide positions.
+   */
+  static TermVectorTokenStream create(TermPositionVector vector) {
+    String[] terms = vector.getTerms();
+    int[][] positions = new int[terms.length][];
+    int count = 0;
+    for (int i = 0; i < terms.length; i++) {
+      positions[i] = vector.getTermPositions(i);
+      if (positions[i] == null)
+        return null;
+
+      count += positions[i].length;
+    }
+
+    /* Sort by Position (high Bits) while keeping the Term (low Bits) */
+    long[] positionsAndTerms = new long[count];
+    int index = 0;
+    for (int i = 0; i < terms.length; i++) {
+      for (int position : positions[i])
+        positionsAndTerms[index++] = ((long) position << 32) | i;
+    }
+
+    Arrays.sort(positionsAndTerms);
+
+    return new TermVectorTokenStream(terms, positionsAndTerms);
+  }
+
+  /*
+   * @see org.apache.lucene.analysis.TokenStream#next()
+   */
+  @Override
+  public Token next() {
+    if (fNext == fPositionsAndTerms.length)
+      return null;
+
+    long positionAndTerm = fPositionsAndTerms[fNext++];
+    int position = (int) (positionAndTerm >>> 32);
+    Token token = new Token(fTerms[(int) positionAndTerm], 0, 0);
+    token.setPositionIncrement(position - fLastPosition);
+    fLastPosition = position;
+
+    return token;
+  }
+}
@@ -106,6 +106,14 @@ public final class BackupService {
         if (!fileToRename.renameTo(newFile)) {
           throw new PersistenceException("Failed to rename file from " + fileToRename + " to " + newFile); //$NON-NLS-1$ //$NON-NLS-2$
         }
+
+        /* Rotate the Descriptions along with the Database */
+        File descriptionStoreToRename = DBManager.getDescriptionStoreFile(fileToRename);
+        File newDescriptionStore = DBManager.getDescriptionStoreFile(newFile);
+        if (descriptionStoreToRename.exists())
+          DBHelper.rename(descriptionStoreToRename, newDescriptionStore);
+        else if (newDescriptionStore.exists() && !newDescriptionStore.delete())
+          throw new PersistenceException("Failed to delete file: " + newDescriptionStore); //$NON-NLS-1$
       }
     }
   }
@@ -117,6 +125,7 @@ public final class BackupService {
   private final Long fBackupFrequency;
   private BackupLayoutStrategy fLayoutStrategy;
   private File fFileToBackupAlias;
+  private File fDescriptionStoreFile;
   private BackupStrategy fBackupStrategy;
 
   public BackupService(File fileToBackup, String backupFileSuffix, int maxBackupsCount) {
@@ -155,8 +164,17 @@ public final class BackupService {
         /* Copy by IO */
         DBHelper.copyFileIO(originFile, destinationFile, monitor);
 
-        if (monitor.isCanceled())
+        /* Copy the Descriptions along with the Database */
+        File descriptionStoreBackupFile = DBManager.getDescriptionStoreFile(destinationFile);
+        if (fDescriptionStoreFile != null && fDescriptionStoreFile.exists())
+          DBHelper.copyFileIO(fDescriptionStoreFile, descriptionStoreBackupFile, monitor);
+        else
+          descriptionStoreBackupFile.delete();
+
+        if (monitor.isCanceled()) {
           destinationFile.delete();
+          descriptionStoreBackupFile.delete();
+        }
       }
     };
   }
@@ -177,6 +195,16 @@ public final class BackupService {
     fFileToBackupAlias = alias;
   }
 
+  /**
+   * Sets the file of the {@link DescriptionStore} that is backed up along with
+   * the file to backup by the default strategy.
+   *
+   * @param descriptionStoreFile
+   */
+  public void setDescriptionStoreFile(File descriptionStoreFile) {
+    fDescriptionStoreFile = descriptionStoreFile;
+  }
+
   public void setLayoutStrategy(BackupLayoutStrategy layoutStrategy) {
     fLayoutStrategy = layoutStrategy;
   }
@@ -310,6 +338,11 @@ public final class BackupService {
       if (!fileToDelete.delete()) {
         throw new PersistenceException("Failed to delete file: " + fileToDelete); //$NON-NLS-1$
       }
+
+      File descriptionStoreToDelete = DBManager.getDescriptionStoreFile(fileToDelete);
+      if (descriptionStoreToDelete.exists() && !descriptionStoreToDelete.delete()) {
+        throw new PersistenceException("Failed to delete file: " + descriptionStoreToDelete); //$NON-NLS-1$
+      }
     }
   }
 }
\ No newline at end of file
@@ -29,17 +29,65 @@ import org.rssowl.core.persist.service.IDGenerator;
 import com.db4o.ObjectContainer;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * db4o implementation of IDGenerator.
+ * <p>
+ * IDs are handed out from a block of IDs whose upper bound has been written to
+ * the {@link Counter} before, so that no ID is handed out twice even if the
+ * application does not shut down properly. Within a block, IDs are handed out
+ * without locking. The size of the next block grows while blocks are used up
+ * quickly (e.g. while importing or subscribing to large feeds) and shrinks
+ * again when IDs are rarely needed.
+ * </p>
  */
 public class DB4OIDGenerator implements IDGenerator, DatabaseListener {
   private final static int BATCH_SIZE = 100;
 
-  private long fCurrent = -1;
-  private long fMax;
+  /* Upper limit for the adaptive size of a block */
+  private final static int MAX_BATCH_SIZE = 10000;
+
+  /* A block used up faster than this doubles the size of the next block */
+  private final static long FAST_REFILL = TimeUnit.SECONDS.toNanos(1);
+
+  /* A block lasting longer than this halves the size of the next block */
+  private final static long SLOW_REFILL = TimeUnit.MINUTES.toNanos(1);
+
+  /* IDs from fLast + 1 up to and including fMax are free to hand out */
+  private static final class Block {
+    final AtomicLong fLast;
+    final long fMax;
+
+    Block(long last, long max) {
+      fLast = new AtomicLong(last);
+      fMax = max;
+    }
+
+    /* Returns the first of n contiguous IDs or -1 if the block has not enough left */
+    long reserve(int n) {
+      while (true) {
+        long last = fLast.get();
+        if (last + n > fMax || last + n < last)
+          return -1;
+
+        if (fLast.compareAndSet(last, last + n))
+          return last + 1;
+      }
+    }
+
+    /* Stops handing out IDs and returns the last ID handed out */
+    long close() {
+      return Math.min(fLast.getAndSet(fMax), fMax);
+    }
+  }
+
+  private volatile Block fBlock;
   private ObjectContainer fDb;
   private Counter fCounter;
+  private int fBatchSize = BATCH_SIZE;
+  private long fLastRefill;
 
   /**
    * Creates an instance of this class.
@@ -69,15 +117,18 @@ public class DB4OIDGenerator implements IDGenerator, DatabaseListener {
   }
 
   private synchronized void setObjectContainer(ObjectContainer db) {
+    if (fBlock != null)
+      fBlock.close();
+
     fDb = db;
+    fBatchSize = BATCH_SIZE;
     if (fDb == null) {
-      fCurrent = -1;
+      fBlock = null;
       fCounter = null;
-      fMax = 0;
     } else {
       fCounter = loadOrCreateCounter();
-      fCurrent = fCounter.getValue();
-      fMax = increaseMax(true);
+      long current = fCounter.getValue();
+      fBlock = new Block(current, increaseMax(0, true));
     }
   }
 
@@ -99,35 +150,107 @@ public class DB4OIDGenerator implements IDGenerator, DatabaseListener {
    * @param commit
    * @return a long value that has not been returned from this method before.
    */
-  public synchronized long getNext(boolean commit) {
-    checkCurrent();
-    ++fCurrent;
-    if (fCurrent > fMax) {
-      fMax = increaseMax(commit);
+  public long getNext(boolean commit) {
+    Block block = fBlock;
+    if (block != null) {
+      long id = block.fLast.incrementAndGet();
+      if (id <= block.fMax)
+        return id;
     }
-    return fCurrent;
+
+    return allocate(1, commit);
+  }
+
+  /**
+   * Reserves a contiguous range of IDs, e.g. for all new news of a feed.
+   *
+   * @param count the number of IDs to reserve.
+   * @return the first of <code>count</code> contiguous long values that have
+   * not been returned from this method or {@link #getNext()} before.
+   * @see #reserve(int, boolean)
+   */
+  public long reserve(int count) {
+    return reserve(count, true);
+  }
+
+  /**
+   * Implements the contract of {@link #reserve(int)} with additional control
+   * over whether this method is allowed to commit a db4o transaction. See
+   * {@link #getNext(boolean)}.
+   *
+   * @param count the number of IDs to reserve.
+   * @param commit
+   * @return the first of <code>count</code> contiguous long values that have
+   * not been returned from this method or {@link #getNext()} before.
+   */
+  public long reserve(int count, boolean commit) {
+    if (count <= 0)
+      throw new IllegalArgumentException("count must be positive: " + count); //$NON-NLS-1$
+
+    Block block = fBlock;
+    if (block != null) {
+      long first = block.reserve(count);
+      if (first != -1)
+        return first;
+    }
+
+    return allocate(count, commit);
+  }
+
+  /* Reserves IDs when the current block has not enough left */
+  private synchronized long allocate(int count, boolean commit) {
+    checkCurrent();
+
+    /* Another Thread may have started a new block meanwhile */
+    long first = fBlock.reserve(count);
+    if (first != -1)
+      return first;
+
+    /* Continue after the last ID that may have been handed out */
+    fBlock.close();
+    long current = fCounter.getValue();
+    adaptBatchSize();
+    fBlock = new Block(current + count, increaseMax(count, commit));
+
+    return current + 1;
   }
 
   private void checkCurrent() {
-    if (fCurrent == -1) {
+    if (fBlock == null) {
       throw new IllegalStateException("current has not been initialised yet."); //$NON-NLS-1$
     }
   }
 
-  private long increaseMax(boolean commit) {
-    fCounter.increment(BATCH_SIZE);
+  private void adaptBatchSize() {
+    long now = System.nanoTime();
+    long elapsed = now - fLastRefill;
+    if (elapsed < FAST_REFILL)
+      fBatchSize = Math.min(fBatchSize * 2, MAX_BATCH_SIZE);
+    else if (elapsed > SLOW_REFILL)
+      fBatchSize = Math.max(fBatchSize / 2, BATCH_SIZE);
+
+    fLastRefill = now;
+  }
+
+  /* Writes the new upper bound of handed out IDs before any of them is handed out */
+  private long increaseMax(int count, boolean commit) {
+    fCounter.setValue(fCounter.getValue() + count + fBatchSize);
     fDb.set(fCounter);
     if (commit)
       fDb.commit();
 
+    if (fLastRefill == 0)
+      fLastRefill = System.nanoTime();
+
     return fCounter.getValue();
   }
 
   @Override
   public synchronized void shutdown() {
     if (fCounter != null) { //Could be NULL if DB never opened
-      fMax = fCurrent;
-      fCounter.setValue(fCurrent + 1);
+      long current = fBlock.close();
+      fCounter.setValue(current + 1);
+      fBlock = new Block(fCounter.getValue(), fCounter.getValue());
       fDb.set(fCounter);
       fDb.commit();
     }
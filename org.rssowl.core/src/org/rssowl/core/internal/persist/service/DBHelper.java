@@ -30,7 +30,6 @@ import org.rssowl.core.Owl;
 import org.rssowl.core.internal.Activator;
 import org.rssowl.core.internal.InternalOwl;
 import org.rssowl.core.internal.persist.BookMark;
-import org.rssowl.core.internal.persist.Description;
 import org.rssowl.core.internal.persist.Feed;
 import org.rssowl.core.internal.persist.LazyList;
 import org.rssowl.core.internal.persist.News;
@@ -231,7 +230,11 @@ public final class DBHelper {
 
   public static final PersistenceException rollbackAndPE(ObjectContainer db, Exception e) {
     DBHelper.cleanUpEvents();
-    db.rollback();
+    try {
+      db.rollback();
+    } finally {
+      getDescriptionDAO().rollbackValues();
+    }
     return new PersistenceException(e);
   }
 
@@ -349,10 +352,10 @@ public final class DBHelper {
     saveEntities(db, news.getAttachments());
     saveEntity(db, news.getSource());
     db.ext().set(news, 2);
-    saveDescription(db, news);
+    saveDescription(news);
   }
 
-  private static void saveDescription(ObjectContainer db, INews news) {
+  private static void saveDescription(INews news) {
     News n = (News) news;
 
     /*
@@ -362,31 +365,15 @@ public final class DBHelper {
     if (!n.isTransientDescriptionSet())
       return;
 
-    Description dbDescription = null;
-    String dbDescriptionValue = null;
-
-    dbDescription = getDescriptionDAO().load(news.getId());
-    if (dbDescription != null)
-      dbDescriptionValue = dbDescription.getValue();
-
+    IDescriptionDAO descriptionDAO = getDescriptionDAO();
+    String dbDescriptionValue = descriptionDAO.loadValue(news.getId());
     String newsDescriptionValue = n.getTransientDescription();
 
-    /*
-     * If the description in the news has been set to null and it's already null
-     * in the database, there is nothing to do.
-     */
-    if (dbDescriptionValue == null && newsDescriptionValue == null)
+    /* Nothing to do if the description has not changed */
+    if (dbDescriptionValue == null ? newsDescriptionValue == null : dbDescriptionValue.equals(newsDescriptionValue))
       return;
-    else if (dbDescriptionValue == null && newsDescriptionValue != null)
-      db.set(new Description(news, newsDescriptionValue));
-    else if (dbDescriptionValue != null && newsDescriptionValue == null)
-      db.delete(dbDescription);
-    else if (dbDescriptionValue != null && !dbDescriptionValue.equals(newsDescriptionValue)) {
-      if (dbDescription != null) {
-        dbDescription.setDescription(newsDescriptionValue);
-        db.set(dbDescription);
-      }
-    }
+
+    descriptionDAO.saveValue(news.getId(), newsDescriptionValue);
   }
 
   public static IDescriptionDAO getDescriptionDAO() {
@@ -403,6 +390,15 @@ public final class DBHelper {
     updateNewsBins(db);
   }
 
+  /**
+   * Performs the work that has to wait until the transaction of the current
+   * thread is committed. Must be called right after the commit while still
+   * holding the write lock.
+   */
+  public static void postCommit() {
+    getDescriptionDAO().commitValues();
+  }
+
   public static EntitiesToBeIndexedDAOImpl getEntitiesToBeIndexedDAO() {
     DAOService service = InternalOwl.getInstance().getPersistenceService().getDAOService();
     if (service instanceof DAOServiceImpl) {
@@ -465,6 +461,37 @@ public final class DBHelper {
       newsToUpdate.add(event);
   }
 
+  /**
+   * Returns <code>true</code> if the update only changed metadata of the news
+   * like state, flag, rating or labels. Merges from a reload may change the
+   * description, which can not be compared with the old news, so they never
+   * count as metadata update.
+   *
+   * @param event the event of a news that got updated.
+   * @return <code>true</code> if only metadata of the news changed and
+   * <code>false</code> otherwise.
+   */
+  public static boolean isMetadataUpdate(NewsEvent event) {
+    INews oldNews = event.getOldNews();
+    INews news = event.getEntity();
+    if (event.isMerged() || oldNews == null)
+      return false;
+
+    /* Content must be unchanged */
+    if (!areEqual(oldNews.getTitle(), news.getTitle()) || !areEqual(oldNews.getLinkAsText(), news.getLinkAsText()))
+      return false;
+
+    if (!areEqual(oldNews.getPublishDate(), news.getPublishDate()) || !areEqual(oldNews.getModifiedDate(), news.getModifiedDate()))
+      return false;
+
+    /* Metadata must have changed */
+    return oldNews.getState() != news.getState() || oldNews.isFlagged() != news.isFlagged() || oldNews.getRating() != news.getRating() || !oldNews.getLabels().equals(news.getLabels());
+  }
+
+  private static boolean areEqual(Object o1, Object o2) {
+    return o1 == null ? o2 == null : o1.equals(o2);
+  }
+
   public static NewsEventRunnable getNewsEventRunnables(List<EventRunnable<?>> eventRunnables) {
     for (EventRunnable<?> eventRunnable : eventRunnables) {
       if (eventRunnable instanceof NewsEventRunnable)
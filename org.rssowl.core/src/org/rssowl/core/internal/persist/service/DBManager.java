@@ -87,6 +87,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -118,6 +119,8 @@ public class DBManager {
   private static final String FORMAT_FILE_NAME = "format2"; //$NON-NLS-1$
   private static final String DB_NAME = "rssowl.db"; //$NON-NLS-1$
   private static final String DB_RESTORE_NAME = "rssowl.db.restore"; //$NON-NLS-1$
+  private static final String DESCRIPTION_STORE_NAME = "descriptions.store"; //$NON-NLS-1$
+  private static final String DESCRIPTION_STORE_SUFFIX = ".descriptions"; //$NON-NLS-1$
 
   /* Some constants used when defragmenting to a larger block size */
   private static final long LARGE_DB_STARTING_SIZE = 1610612736; //1.5 GB in Bytes
@@ -167,6 +170,7 @@ public class DBManager {
   private static final int DEFRAG_SUB_WORK_FINISH = 100000; //1%
 
   private ObjectContainer fObjectContainer;
+  private volatile boolean fOpenedForRestore;
   private final AtomicLong fNextOnlineBackup = new AtomicLong();
   private final ReadWriteLock fLock = new ReentrantReadWriteLock();
   private final List<DatabaseListener> fEntityStoreListeners = new CopyOnWriteArrayList<DatabaseListener>();
@@ -200,6 +204,13 @@ public class DBManager {
         /* Atomic Rename Restore to Profile */
         DBHelper.rename(restoreDBFile, new File(getDBFilePath()));
 
+        /* Rename the Descriptions of the Restore to the Profile's */
+        File restoreDescriptionStoreFile = getDescriptionStoreFile(restoreDBFile);
+        if (restoreDescriptionStoreFile.exists())
+          DBHelper.rename(restoreDescriptionStoreFile, getDescriptionStoreFile());
+        else
+          safeDelete(getDescriptionStoreFile());
+
         Activator.safeLogInfo("End: Restoring a Backup (renaming rssowl.db.restore to rssowl.db"); //$NON-NLS-1$
       }
     }
@@ -454,6 +465,7 @@ public class DBManager {
 
       /* Open DB */
       fObjectContainer = Db4o.openFile(config, forRestore ? getDBRestoreFilePath() : getDBFilePath());
+      fOpenedForRestore = forRestore;
 
       /* Handle Fatal Error while opening DB */
       if (fObjectContainer == null)
@@ -555,8 +567,22 @@ public class DBManager {
           if (tmpBackupFile.exists() && !tmpBackupFile.delete())
             throw new PersistenceException("Failed to delete file: " + tmpBackupFile); //$NON-NLS-1$
 
-          /* Relies on fObjectContainer being set before calling backup */
-          fObjectContainer.ext().backup(tmpBackupFile.getAbsolutePath());
+          /* Block Writes while the Descriptions are kept in a Store to backup both in a consistent State */
+          File descriptionStoreFile = getDescriptionStoreFile();
+          File tmpDescriptionStoreBackupFile = getDescriptionStoreFile(tmpBackupFile);
+          boolean backupDescriptionStore = descriptionStoreFile.exists();
+          if (backupDescriptionStore)
+            fLock.writeLock().lock();
+          try {
+
+            /* Relies on fObjectContainer being set before calling backup */
+            fObjectContainer.ext().backup(tmpBackupFile.getAbsolutePath());
+            if (backupDescriptionStore)
+              DBHelper.copyFileIO(descriptionStoreFile, tmpDescriptionStoreBackupFile, new NullProgressMonitor());
+          } finally {
+            if (backupDescriptionStore)
+              fLock.writeLock().unlock();
+          }
 
           /* Store Backup as Weekly Backup if necessary */
           File weeklyBackup = onlineBackupService.getWeeklyBackupFile();
@@ -567,13 +593,20 @@ public class DBManager {
             renameToWeekly = true;
 
           /* Atomic Rename */
-          DBHelper.rename(tmpBackupFile, renameToWeekly ? weeklyBackup : backupFile);
+          File finalBackupFile = renameToWeekly ? weeklyBackup : backupFile;
+          if (backupDescriptionStore)
+            DBHelper.rename(tmpDescriptionStoreBackupFile, getDescriptionStoreFile(finalBackupFile));
+          else
+            safeDelete(getDescriptionStoreFile(finalBackupFile));
+          DBHelper.rename(tmpBackupFile, finalBackupFile);
         } catch (Exception e) {
           throw new PersistenceException(e);
         } finally {
           safeDelete(marker);
           if (tmpBackupFile != null && tmpBackupFile.exists()) //Cleanup if something went wrong
             safeDelete(tmpBackupFile);
+          if (tmpBackupFile != null && getDescriptionStoreFile(tmpBackupFile).exists())
+            safeDelete(getDescriptionStoreFile(tmpBackupFile));
         }
       }
     });
@@ -668,6 +701,31 @@ public class DBManager {
     return filePath;
   }
 
+  /**
+   * @return the File of the {@link DescriptionStore}.
+   */
+  public static File getDescriptionStoreFile() {
+    File dir = new File(Activator.getDefault().getStateLocation().toOSString());
+    return new File(dir, DESCRIPTION_STORE_NAME);
+  }
+
+  /**
+   * @param dbFile a backup of the database or the database to restore.
+   * @return the File of the {@link DescriptionStore} that belongs to the given
+   * database file.
+   */
+  public static File getDescriptionStoreFile(File dbFile) {
+    return new File(dbFile.getAbsolutePath() + DESCRIPTION_STORE_SUFFIX);
+  }
+
+  /**
+   * @return the File of the {@link DescriptionStore} that belongs to the
+   * database that is currently open.
+   */
+  public File getOpenDescriptionStoreFile() {
+    return fOpenedForRestore ? getDescriptionStoreFile(new File(getDBRestoreFilePath())) : getDescriptionStoreFile();
+  }
+
   private File getDBFormatFile() {
     File dir = new File(Activator.getDefault().getStateLocation().toOSString());
     File formatFile = new File(dir, FORMAT_FILE_NAME);
@@ -679,7 +737,10 @@ public class DBManager {
   }
 
   private BackupService createScheduledBackupService(Long backupFrequency) {
-    return new BackupService(new File(getDBFilePath()), OFFLINE_BACKUP_NAME, MAX_OFFLINE_BACKUPS_COUNT, getDBLastBackUpFile(), backupFrequency);
+    BackupService backupService = new BackupService(new File(getDBFilePath()), OFFLINE_BACKUP_NAME, MAX_OFFLINE_BACKUPS_COUNT, getDBLastBackUpFile(), backupFrequency);
+    backupService.setDescriptionStoreFile(getDescriptionStoreFile());
+
+    return backupService;
   }
 
   private void scheduledBackup(IProgressMonitor monitor) {
@@ -938,30 +999,39 @@ public class DBManager {
       return;
     }
 
-    /* Defrag */
+    /* Defrag (moving Descriptions into or out of the Store) */
     monitor.subTask(Messages.DBManager_IMPROVING_APP_PERFORMANCE);
-    copyDatabase(database, defragmentedDatabase, useLargeBlockSize, monitor);
+    DescriptionStore descriptionStore = openDescriptionStore();
+    try {
+      copyDatabase(database, defragmentedDatabase, useLargeBlockSize, descriptionStore, monitor);
 
-    /* User might have cancelled the operation */
-    if (!useLargeBlockSize && monitor.isCanceled()) {
-      Activator.safeLogInfo("Cancelled: Database Defragmentation"); //$NON-NLS-1$
-      defragmentedDatabase.delete();
-      return;
-    }
+      /* User might have cancelled the operation */
+      if (!useLargeBlockSize && monitor.isCanceled()) {
+        Activator.safeLogInfo("Cancelled: Database Defragmentation"); //$NON-NLS-1$
+        defragmentedDatabase.delete();
+        return;
+      }
 
-    /* Backup */
-    monitor.subTask(Messages.DBManager_CREATING_DB_BACKUP);
-    backupService.backup(true, monitor);
+      /* Backup */
+      monitor.subTask(Messages.DBManager_CREATING_DB_BACKUP);
+      backupService.backup(true, monitor);
 
-    /* User might have cancelled the operation */
-    if (!useLargeBlockSize && monitor.isCanceled()) {
-      Activator.safeLogInfo("Cancelled: Database Defragmentation"); //$NON-NLS-1$
-      defragmentedDatabase.delete();
-      return;
-    }
+      /* User might have cancelled the operation */
+      if (!useLargeBlockSize && monitor.isCanceled()) {
+        Activator.safeLogInfo("Cancelled: Database Defragmentation"); //$NON-NLS-1$
+        defragmentedDatabase.delete();
+        return;
+      }
 
-    /* Rename Defragmented DB to real DB */
-    DBHelper.rename(defragmentedDatabase, database);
+      /* Rename Defragmented DB to real DB */
+      DBHelper.rename(defragmentedDatabase, database);
+
+      /* Compact the Store or delete it if its Descriptions moved into the DB */
+      if (descriptionStore != null)
+        finishDescriptionStore(descriptionStore);
+    } finally {
+      closeDescriptionStore(descriptionStore);
+    }
 
     /*
      * Create the marker file in case the DB has been migrated to a larger block
@@ -982,6 +1052,42 @@ public class DBManager {
     Activator.safeLogInfo("Finished: Database Defragmentation"); //$NON-NLS-1$
   }
 
+  private DescriptionStore openDescriptionStore() {
+    File file = getDescriptionStoreFile();
+    if (!DescriptionStore.isEnabled() && !file.exists())
+      return null;
+
+    try {
+      return new DescriptionStore(file, false);
+    } catch (IOException e) {
+      Activator.getDefault().logError("Failed to open description store", e); //$NON-NLS-1$
+      return null;
+    }
+  }
+
+  private void finishDescriptionStore(DescriptionStore descriptionStore) {
+    try {
+      if (DescriptionStore.isEnabled())
+        descriptionStore.compact();
+      else {
+        descriptionStore.close();
+        safeDelete(getDescriptionStoreFile());
+      }
+    } catch (IOException e) {
+      Activator.getDefault().logError("Failed to compact description store", e); //$NON-NLS-1$
+    }
+  }
+
+  private void closeDescriptionStore(DescriptionStore descriptionStore) {
+    if (descriptionStore != null) {
+      try {
+        descriptionStore.close();
+      } catch (IOException e) {
+        Activator.getDefault().logError("Failed to close description store", e); //$NON-NLS-1$
+      }
+    }
+  }
+
   /**
    * Internal method. Made public for testing. Creates a copy of the database
    * that has all essential data structures. At the moment, this means not
@@ -994,6 +1100,23 @@ public class DBManager {
    * @param monitor
    */
   public final static void copyDatabase(File source, File destination, boolean useLargeBlockSize, IProgressMonitor monitor) {
+    copyDatabase(source, destination, useLargeBlockSize, null, monitor);
+  }
+
+  /**
+   * Internal method. Made public for testing. Creates a copy of the database
+   * like {@link #copyDatabase(File, File, boolean, IProgressMonitor)} and
+   * moves all descriptions into the given store if it is enabled or out of it
+   * otherwise.
+   *
+   * @param source
+   * @param destination
+   * @param useLargeBlockSize
+   * @param descriptionStore the store of descriptions or <code>null</code> if
+   * none.
+   * @param monitor
+   */
+  public final static void copyDatabase(File source, File destination, boolean useLargeBlockSize, DescriptionStore descriptionStore, IProgressMonitor monitor) {
     ObjectContainer sourceDb = null;
     ObjectContainer destinationDb = null;
     try {
@@ -1009,7 +1132,7 @@ public class DBManager {
       destinationDb = Db4o.openFile(destinationDbConfiguration, destination.getAbsolutePath());
 
       /* Copy (Defragment) */
-      internalCopyDatabase(sourceDb, destinationDb, useLargeBlockSize, monitor);
+      internalCopyDatabase(sourceDb, destinationDb, useLargeBlockSize, descriptionStore, monitor);
     } finally {
       if (sourceDb != null)
         sourceDb.close();
@@ -1020,6 +1143,10 @@ public class DBManager {
   }
 
   public final static void internalCopyDatabase(ObjectContainer sourceDb, ObjectContainer destinationDb, boolean useLargeBlockSize, IProgressMonitor monitor) {
+    internalCopyDatabase(sourceDb, destinationDb, useLargeBlockSize, null, monitor);
+  }
+
+  private static void internalCopyDatabase(ObjectContainer sourceDb, ObjectContainer destinationDb, boolean useLargeBlockSize, DescriptionStore descriptionStore, IProgressMonitor monitor) {
 
     /* User might have cancelled the operation */
     if (isCanceled(monitor, useLargeBlockSize, sourceDb, destinationDb))
@@ -1171,9 +1298,11 @@ public class DBManager {
     if (isCanceled(monitor, useLargeBlockSize, sourceDb, destinationDb))
       return;
 
-    /* Description */
+    /* Description (values in the DB take precedence over those in the Store) */
     available = DEFRAG_SUB_WORK_DESCRIPTIONS;
     int descriptionCounter = 0;
+    boolean moveToStore = descriptionStore != null && DescriptionStore.isEnabled();
+    Set<Long> copiedNewsIds = new HashSet<Long>();
     ObjectSet<Description> allDescriptions = sourceDb.query(Description.class);
     if (!allDescriptions.isEmpty()) {
       int chunk = Math.max(1, available / allDescriptions.size());
@@ -1183,7 +1312,18 @@ public class DBManager {
           return;
 
         sourceDb.activate(description, Integer.MAX_VALUE);
-        destinationDb.ext().set(description, Integer.MAX_VALUE);
+        if (moveToStore) {
+          if (description.getValue() != null || descriptionStore.contains(description.getNewsId()))
+            putDescription(descriptionStore, description.getNewsId(), description.getValue());
+        } else {
+
+          /* A Description without Value only hides the Value of the Store */
+          if (description.getValue() != null)
+            destinationDb.ext().store(description, Integer.MAX_VALUE);
+
+          if (descriptionStore != null)
+            copiedNewsIds.add(description.getNewsId());
+        }
 
         ++descriptionCounter;
         if (descriptionCounter % 600 == 0) {
@@ -1200,6 +1340,23 @@ public class DBManager {
     } else
       monitor.worked(available);
 
+    /* Move Descriptions out of a Store that is no longer enabled */
+    if (descriptionStore != null && !moveToStore) {
+      for (long newsId : descriptionStore.getNewsIds()) {
+        if (isCanceled(monitor, useLargeBlockSize, sourceDb, destinationDb))
+          return;
+
+        if (!copiedNewsIds.contains(newsId))
+          destinationDb.ext().store(new Description(newsId, getDescription(descriptionStore, newsId)), Integer.MAX_VALUE);
+
+        ++descriptionCounter;
+        if (descriptionCounter % 600 == 0)
+          destinationDb.commit();
+      }
+
+      destinationDb.commit();
+    }
+
     /* User might have cancelled the operation */
     if (isCanceled(monitor, useLargeBlockSize, sourceDb, destinationDb))
       return;
@@ -1324,6 +1481,22 @@ public class DBManager {
     monitor.worked(DEFRAG_SUB_WORK_FINISH);
   }
 
+  private static String getDescription(DescriptionStore descriptionStore, long newsId) {
+    try {
+      return descriptionStore.get(newsId);
+    } catch (IOException e) {
+      throw new PersistenceException(e);
+    }
+  }
+
+  private static void putDescription(DescriptionStore descriptionStore, long newsId, String value) {
+    try {
+      descriptionStore.put(newsId, value);
+    } catch (IOException e) {
+      throw new PersistenceException(e);
+    }
+  }
+
   private static boolean isCanceled(IProgressMonitor monitor, boolean useLargeBlockSize, ObjectContainer source, ObjectContainer dest) {
     if (monitor.isCanceled()) {
       if (useLargeBlockSize) { //Must not allow cancellation when migrating from small DB to 2 GB DB
@@ -1517,6 +1690,13 @@ public class DBManager {
     File db = new File(getDBRestoreFilePath());
     DBHelper.rename(backup, db);
 
+    /* Restore the Descriptions of the Backup along with it */
+    File backupDescriptionStoreFile = getDescriptionStoreFile(backup);
+    if (backupDescriptionStoreFile.exists())
+      DBHelper.rename(backupDescriptionStoreFile, getDescriptionStoreFile(db));
+    else
+      safeDelete(getDescriptionStoreFile(db));
+
     /* Handle Large Block Size properly */
     try {
       File largeBlockSizeMarkerFile = getLargeBlockSizeMarkerFile();
@@ -1555,6 +1735,11 @@ public class DBManager {
       /* Atomic Rename */
       DBHelper.rename(db, backupCandidate);
 
+      /* Keep the Descriptions along with the Backup */
+      File descriptionStoreFile = getDescriptionStoreFile();
+      if (descriptionStoreFile.exists())
+        DBHelper.rename(descriptionStoreFile, getDescriptionStoreFile(backupCandidate));
+
       Activator.safeLogInfo(NLS.bind("End: Backup and Delete Profile ({0})", backupCandidate.getName())); //$NON-NLS-1$
     }
   }
@@ -1573,7 +1758,7 @@ public class DBManager {
           Activator.getDefault().logError("Failed to delete db file", null); //$NON-NLS-1$
 
         /* Delete other marker files */
-        delete(getDBFormatFile(), getDefragmentFile(), getReIndexFile(), getCleanUpIndexFile());
+        delete(getDBFormatFile(), getDefragmentFile(), getReIndexFile(), getCleanUpIndexFile(), getDescriptionStoreFile());
       }
     });
   }
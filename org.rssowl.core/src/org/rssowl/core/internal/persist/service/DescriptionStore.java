@@ -0,0 +1,441 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.internal.persist.service;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <p>
+ * An optional store for the textual content of news descriptions that keeps
+ * them out of the database. Values are compressed with deflate, primed with a
+ * dictionary of markup that is common in feeds, and appended to a single
+ * segment file addressed by the identifier of the news. Reads go through a
+ * memory-mapping of the file.
+ * </p>
+ * <p>
+ * Updating or removing a value appends a record that supersedes the previous
+ * one. The file is a header (magic number and version) followed by records of
+ * the news identifier, the number of bytes of the value (or <code>-1</code>
+ * if it was removed), the number of compressed bytes and the compressed bytes.
+ * A record that was not written completely is dropped when opening the store
+ * and {@link #compact()} rewrites the file with the live records only.
+ * </p>
+ * <p>
+ * Records appended after the file was mapped are read from the file until
+ * enough bytes were appended to map the file again. This keeps the number of
+ * mappings low, as a mapping is only released once it is garbage collected.
+ * </p>
+ * <p>
+ * Note: Writes are not part of database transactions, callers have to write
+ * the previous values again if the transaction is rolled back. This class is
+ * thread-safe.
+ * </p>
+ */
+public class DescriptionStore {
+
+  /* System Property to keep Descriptions in the Store */
+  private static final String ENABLED_PROPERTY = "rssowl.descriptionStore"; //$NON-NLS-1$
+
+  /* File Layout */
+  private static final int MAGIC = 0x52534453;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 8;
+  private static final int RECORD_HEADER_SIZE = 16;
+  private static final int REMOVED = -1;
+
+  /* Number of Bytes appended after which the File is mapped again (4 MB) */
+  private static final int REMAP_THRESHOLD = 4 * 1024 * 1024;
+
+  /* Suffix of the File a Store is compacted into */
+  private static final String COMPACT_SUFFIX = ".compact"; //$NON-NLS-1$
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+
+  /* Markup common in Feeds (most frequent last) to prime the Compression with */
+  private static final byte[] DICTIONARY = ("<table><tr><td></td></tr></table><ul><li></li></ul><blockquote></blockquote><h3></h3>" + //$NON-NLS-1$
+      "<strong></strong><em></em><span style=\"\"></span><div class=\"\"></div>&quot;&lt;&gt;&amp;&nbsp;" + //$NON-NLS-1$
+      "<img src=\"http://\" alt=\"\" width=\"\" height=\"\" border=\"0\" /> target=\"_blank\" rel=\"nofollow\"" + //$NON-NLS-1$
+      "<a href=\"https://www.</a><a href=\"http://www.<br /><br/></p><p>").getBytes(UTF_8); //$NON-NLS-1$
+
+  private final File fFile;
+  private final boolean fMapped;
+  private final Map<Long, Long> fOffsets = new HashMap<Long, Long>();
+  private RandomAccessFile fRandomAccessFile;
+  private FileChannel fChannel;
+  private MappedByteBuffer fBuffer;
+  private long fSize;
+
+  /**
+   * @return <code>true</code> if descriptions should be kept in a
+   * {@link DescriptionStore} and <code>false</code> otherwise.
+   */
+  public static boolean isEnabled() {
+    return Boolean.getBoolean(ENABLED_PROPERTY);
+  }
+
+  /**
+   * Opens the store in the given file and creates the file if it does not
+   * exist.
+   *
+   * @param file the file of the store.
+   * @param mapped <code>true</code> to read values through a memory-mapping of
+   * the file and <code>false</code> to read them from the file. A store that
+   * is mapped can not be compacted on all platforms.
+   * @throws IOException in case of an error opening the file or if the file is
+   * not a store.
+   */
+  public DescriptionStore(File file, boolean mapped) throws IOException {
+    fFile = file;
+    fMapped = mapped;
+    open();
+  }
+
+  private void open() throws IOException {
+    fRandomAccessFile = new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+    fChannel = fRandomAccessFile.getChannel();
+
+    try {
+
+      /* New Store */
+      if (fChannel.size() == 0) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        write(header, 0);
+        fSize = HEADER_SIZE;
+      }
+
+      /* Existing Store */
+      else {
+        ByteBuffer header = read(0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION)
+          throw new IOException("Not a description store: " + fFile); //$NON-NLS-1$
+
+        scan();
+      }
+    } catch (IOException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /* Builds the Index of Offsets and drops an incomplete Record at the End */
+  private void scan() throws IOException {
+    long fileSize = fChannel.size();
+    long offset = HEADER_SIZE;
+
+    fChannel.position(offset);
+    DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(fChannel), 64 * 1024));
+    while (offset + RECORD_HEADER_SIZE <= fileSize) {
+      long newsId = in.readLong();
+      int length = in.readInt();
+      int compressedLength = in.readInt();
+      if (length < REMOVED || compressedLength < 0 || offset + RECORD_HEADER_SIZE + compressedLength > fileSize)
+        break;
+
+      if (in.skipBytes(compressedLength) != compressedLength)
+        break;
+
+      if (length == REMOVED)
+        fOffsets.remove(newsId);
+      else
+        fOffsets.put(newsId, offset);
+
+      offset += RECORD_HEADER_SIZE + compressedLength;
+    }
+
+    if (offset < fileSize)
+      fChannel.truncate(offset);
+
+    fSize = offset;
+  }
+
+  /**
+   * @param newsId the identifier of the news.
+   * @return <code>true</code> if the store contains a value for the news and
+   * <code>false</code> otherwise.
+   */
+  public synchronized boolean contains(long newsId) {
+    return fOffsets.containsKey(newsId);
+  }
+
+  /**
+   * @return the identifiers of all news the store contains a value for.
+   */
+  public synchronized long[] getNewsIds() {
+    long[] newsIds = new long[fOffsets.size()];
+    int i = 0;
+    for (Long newsId : fOffsets.keySet())
+      newsIds[i++] = newsId;
+
+    return newsIds;
+  }
+
+  /**
+   * @return the number of values in the store.
+   */
+  public synchronized int size() {
+    return fOffsets.size();
+  }
+
+  /**
+   * @return the number of bytes of the file of the store.
+   */
+  public synchronized long getFileSize() {
+    return fSize;
+  }
+
+  /**
+   * @param newsId the identifier of the news.
+   * @return the value for the news or <code>null</code> if the store does not
+   * contain a value for the news.
+   * @throws IOException in case of an error reading the value.
+   */
+  public synchronized String get(long newsId) throws IOException {
+    Long offset = fOffsets.get(newsId);
+    if (offset == null)
+      return null;
+
+    ByteBuffer header = read(offset, RECORD_HEADER_SIZE);
+    header.getLong();
+    int length = header.getInt();
+    int compressedLength = header.getInt();
+
+    ByteBuffer data = read(offset + RECORD_HEADER_SIZE, compressedLength);
+    byte[] compressed = new byte[compressedLength];
+    data.get(compressed);
+
+    return new String(decompress(compressed, length), UTF_8);
+  }
+
+  /**
+   * Stores the value for the news replacing any previous value.
+   *
+   * @param newsId the identifier of the news.
+   * @param value the value for the news or <code>null</code> to remove it.
+   * @throws IOException in case of an error writing the value.
+   */
+  public synchronized void put(long newsId, String value) throws IOException {
+    if (value == null) {
+      remove(newsId);
+      return;
+    }
+
+    byte[] bytes = value.getBytes(UTF_8);
+    byte[] compressed = compress(bytes);
+
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + compressed.length);
+    record.putLong(newsId).putInt(bytes.length).putInt(compressed.length).put(compressed).flip();
+    fOffsets.put(newsId, append(record));
+  }
+
+  /**
+   * @param newsId the identifier of the news.
+   * @return <code>true</code> if the store contained a value for the news and
+   * <code>false</code> otherwise.
+   * @throws IOException in case of an error writing the removal.
+   */
+  public synchronized boolean remove(long newsId) throws IOException {
+    if (!fOffsets.containsKey(newsId))
+      return false;
+
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    record.putLong(newsId).putInt(REMOVED).putInt(0).flip();
+    append(record);
+    fOffsets.remove(newsId);
+
+    return true;
+  }
+
+  /**
+   * Rewrites the file of the store with the live records only, in the order
+   * they were written. The store must not be memory-mapped.
+   *
+   * @throws IOException in case of an error rewriting the file.
+   */
+  public synchronized void compact() throws IOException {
+    if (fMapped)
+      throw new IllegalStateException("A memory-mapped store can not be compacted"); //$NON-NLS-1$
+
+    long[] offsets = new long[fOffsets.size()];
+    int i = 0;
+    for (Long offset : fOffsets.values())
+      offsets[i++] = offset;
+    Arrays.sort(offsets);
+
+    /* Copy live Records */
+    File compactFile = new File(fFile.getParentFile(), fFile.getName() + COMPACT_SUFFIX);
+    FileOutputStream out = new FileOutputStream(compactFile);
+    try {
+      FileChannel channel = out.getChannel();
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(MAGIC).putInt(VERSION).flip();
+      channel.write(header);
+
+      for (long offset : offsets) {
+        ByteBuffer recordHeader = read(offset, RECORD_HEADER_SIZE);
+        int compressedLength = recordHeader.getInt(12);
+        ByteBuffer record = read(offset, RECORD_HEADER_SIZE + compressedLength);
+        while (record.hasRemaining())
+          channel.write(record);
+      }
+
+      channel.force(true);
+    } finally {
+      DBHelper.closeQuietly(out);
+    }
+
+    /* Replace the File and open it again */
+    close();
+    fOffsets.clear();
+    DBHelper.rename(compactFile, fFile);
+    open();
+  }
+
+  /**
+   * Closes the store. The store can not be used afterwards.
+   *
+   * @throws IOException in case of an error closing the file.
+   */
+  public synchronized void close() throws IOException {
+    fBuffer = null;
+    fChannel = null;
+    fSize = 0;
+    if (fRandomAccessFile != null) {
+      fRandomAccessFile.close();
+      fRandomAccessFile = null;
+    }
+  }
+
+  private long append(ByteBuffer record) throws IOException {
+    long offset = fSize;
+    write(record, offset);
+    fSize += record.limit();
+
+    return offset;
+  }
+
+  private void write(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining())
+      fChannel.write(buffer, position + buffer.position());
+  }
+
+  private ByteBuffer read(long position, int length) throws IOException {
+    long end = position + length;
+
+    /* Read through the Mapping (map again once the Store has grown enough) */
+    if (fMapped && fSize > 0 && fSize <= Integer.MAX_VALUE) {
+      if (fBuffer == null || fSize - fBuffer.capacity() >= REMAP_THRESHOLD)
+        fBuffer = fChannel.map(FileChannel.MapMode.READ_ONLY, 0, fSize);
+
+      if (end <= fBuffer.capacity()) {
+        ByteBuffer buffer = fBuffer.duplicate();
+        buffer.limit((int) end);
+        buffer.position((int) position);
+        return buffer.slice();
+      }
+    }
+
+    /* Read from the File (Records appended after the Mapping) */
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (fChannel.read(buffer, position + buffer.position()) < 0)
+        throw new EOFException("Unexpected end of description store: " + fFile); //$NON-NLS-1$
+    }
+    buffer.flip();
+
+    return buffer;
+  }
+
+  private static byte[] compress(byte[] bytes) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setDictionary(DICTIONARY);
+      deflater.setInput(bytes);
+      deflater.finish();
+
+      byte[] buffer = new byte[bytes.length / 2 + 64];
+      int count = 0;
+      while (!deflater.finished()) {
+        if (count == buffer.length)
+          buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        count += deflater.deflate(buffer, count, buffer.length - count);
+      }
+
+      return Arrays.copyOf(buffer, count);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private byte[] decompress(byte[] compressed, int length) throws IOException {
+    if (length == 0)
+      return new byte[0];
+
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+
+      byte[] bytes = new byte[length];
+      int count = 0;
+      while (!inflater.finished()) {
+        int inflated = inflater.inflate(bytes, count, length - count);
+        if (inflated == 0) {
+          if (inflater.needsDictionary())
+            inflater.setDictionary(DICTIONARY);
+          else if (!inflater.finished())
+            throw new IOException("Corrupt value in description store: " + fFile); //$NON-NLS-1$
+        }
+        count += inflated;
+      }
+
+      if (count != length)
+        throw new IOException("Corrupt value in description store: " + fFile); //$NON-NLS-1$
+
+      return bytes;
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt value in description store: " + fFile, e); //$NON-NLS-1$
+    } finally {
+      inflater.end();
+    }
+  }
+}
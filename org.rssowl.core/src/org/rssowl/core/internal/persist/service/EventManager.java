@@ -238,6 +238,7 @@ public class EventManager implements DatabaseListener {
   }
 
   private void processUpdatedEvent(EventArgs args) {
+    invalidateDescription(args);
     IEntity entity = getEntity(args);
     if (entity == null)
       return;
@@ -267,6 +268,7 @@ public class EventManager implements DatabaseListener {
   }
 
   private void processCreatedEvent(EventArgs args) {
+    invalidateDescription(args);
     IEntity entity = getEntity(args);
     if (entity == null)
       return;
@@ -350,9 +352,7 @@ public class EventManager implements DatabaseListener {
     for (IAttachment attachment : ReverseIterator.createInstance(news.getAttachments()))
       fDb.delete(attachment);
 
-    Description description = DBHelper.getDescriptionDAO().load(news.getId());
-    if (description != null)
-      fDb.delete(description);
+    DBHelper.getDescriptionDAO().saveValue(news.getId(), null);
   }
 
   private void cascadeMarkDeletion(IMark mark) {
@@ -497,6 +497,7 @@ public class EventManager implements DatabaseListener {
   }
 
   private void processDeletedEvent(EventArgs args) {
+    invalidateDescription(args);
     IEntity entity = getEntity(args);
     if (entity == null)
       return;
@@ -506,6 +507,13 @@ public class EventManager implements DatabaseListener {
       EventsMap.getInstance().putRemoveEvent(event);
   }
 
+  /* Remove changed Descriptions from the Cache */
+  private void invalidateDescription(EventArgs args) {
+    Object o = ((ObjectEventArgs) args).object();
+    if (o instanceof Description)
+      DBHelper.getDescriptionDAO().getCache().remove(((Description) o).getNewsId());
+  }
+
   private IEntity getEntity(EventArgs args) {
     ObjectEventArgs queryArgs = ((ObjectEventArgs) args);
     Object o = queryArgs.object();
@@ -0,0 +1,427 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.core.internal.persist.service;
+
+import org.rssowl.core.internal.InternalOwl;
+import org.rssowl.core.persist.IBookMark;
+import org.rssowl.core.persist.IFolder;
+import org.rssowl.core.persist.IFolderChild;
+import org.rssowl.core.persist.IMark;
+import org.rssowl.core.persist.INews;
+import org.rssowl.core.persist.INewsBin;
+import org.rssowl.core.persist.INewsMark;
+import org.rssowl.core.persist.dao.DAOService;
+import org.rssowl.core.persist.event.BookMarkAdapter;
+import org.rssowl.core.persist.event.BookMarkEvent;
+import org.rssowl.core.persist.event.FolderAdapter;
+import org.rssowl.core.persist.event.FolderEvent;
+import org.rssowl.core.persist.event.MarkEvent;
+import org.rssowl.core.persist.event.NewsAdapter;
+import org.rssowl.core.persist.event.NewsBinAdapter;
+import org.rssowl.core.persist.event.NewsBinEvent;
+import org.rssowl.core.persist.event.NewsEvent;
+import org.rssowl.core.persist.event.SearchMarkAdapter;
+import org.rssowl.core.persist.event.SearchMarkEvent;
+import org.rssowl.core.persist.reference.FeedLinkReference;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Service that provides the number of new, unread and sticky news of all news
+ * marks contained in a folder and its sub folders. The totals of a folder are
+ * computed once when first asked for and are then kept up to date from events:
+ * <ul>
+ * <li>News events change the totals of all folders containing the affected
+ * bookmark or news bin by the difference in the counts of that mark. The counts
+ * of bookmarks are read from the news counter maintained by the
+ * {@link NewsCounterService}.</li>
+ * <li>Search mark events do the same for search marks with changed results.</li>
+ * <li>Marks and folders being added, deleted or reparented discard the totals
+ * of the old and new parent folders, which are computed again from their
+ * children when asked for the next time.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * As long as the totals of a folder are known, so are the totals of all its
+ * sub folders and the counts of all marks it contains.
+ * </p>
+ */
+public final class FolderNewsCounterService {
+
+  /* Indices into Counts */
+  private static final int NEW = 0;
+  private static final int UNREAD = 1;
+  private static final int STICKY = 2;
+
+  private static final EnumSet<INews.State> NEW_STATES = EnumSet.of(INews.State.NEW);
+  private static final EnumSet<INews.State> UNREAD_STATES = EnumSet.of(INews.State.NEW, INews.State.UNREAD, INews.State.UPDATED);
+
+  private static volatile FolderNewsCounterService fInstance;
+
+  /* Folder ID -> Totals of the Folder */
+  private final Map<Long, int[]> fFolderCounts = new HashMap<Long, int[]>();
+
+  /* Mark ID -> Counts of the Mark as contained in the Totals */
+  private final Map<Long, int[]> fMarkCounts = new HashMap<Long, int[]>();
+
+  /**
+   * @return Singleton Instance.
+   */
+  public static FolderNewsCounterService getInstance() {
+    if (fInstance == null)
+      synchronized (FolderNewsCounterService.class) {
+        if (fInstance == null)
+          fInstance = new FolderNewsCounterService();
+      }
+    return fInstance;
+  }
+
+  private FolderNewsCounterService() {
+    registerListeners();
+  }
+
+  /**
+   * @param folder the folder of interest.
+   * @return the number of news in state {@link INews.State#NEW} of all news
+   * marks contained in the folder and its sub folders.
+   */
+  public synchronized int getNewCount(IFolder folder) {
+    return getCounts(folder)[NEW];
+  }
+
+  /**
+   * @param folder the folder of interest.
+   * @return the number of unread news of all news marks contained in the folder
+   * and its sub folders.
+   */
+  public synchronized int getUnreadCount(IFolder folder) {
+    return getCounts(folder)[UNREAD];
+  }
+
+  /**
+   * @param folder the folder of interest.
+   * @return the number of sticky news of all bookmarks contained in the folder
+   * and its sub folders.
+   */
+  public synchronized int getStickyCount(IFolder folder) {
+    return getCounts(folder)[STICKY];
+  }
+
+  private void registerListeners() {
+
+    /* We register listeners as part of initialisation, we must use InternalOwl */
+    DAOService daoService = InternalOwl.getInstance().getPersistenceService().getDAOService();
+
+    /* News changed */
+    daoService.getNewsDAO().addEntityListener(new NewsAdapter() {
+      @Override
+      public void entitiesAdded(Set<NewsEvent> events) {
+        onNewsChanged(events);
+      }
+
+      @Override
+      public void entitiesUpdated(Set<NewsEvent> events) {
+        onNewsChanged(events);
+      }
+
+      @Override
+      public void entitiesDeleted(Set<NewsEvent> events) {
+        onNewsChanged(events);
+      }
+    });
+
+    /* Search Results changed */
+    daoService.getSearchMarkDAO().addEntityListener(new SearchMarkAdapter() {
+      @Override
+      public void newsChanged(Set<SearchMarkEvent> events) {
+        onMarksUpdated(events);
+      }
+
+      @Override
+      public void entitiesAdded(Set<SearchMarkEvent> events) {
+        onMarksAdded(events);
+      }
+
+      @Override
+      public void entitiesUpdated(Set<SearchMarkEvent> events) {
+        onMarksUpdated(events);
+      }
+
+      @Override
+      public void entitiesDeleted(Set<SearchMarkEvent> events) {
+        onMarksDeleted(events);
+      }
+    });
+
+    /* Bookmarks changed */
+    daoService.getBookMarkDAO().addEntityListener(new BookMarkAdapter() {
+      @Override
+      public void entitiesAdded(Set<BookMarkEvent> events) {
+        onMarksAdded(events);
+      }
+
+      @Override
+      public void entitiesUpdated(Set<BookMarkEvent> events) {
+        onMarksUpdated(events);
+      }
+
+      @Override
+      public void entitiesDeleted(Set<BookMarkEvent> events) {
+        onMarksDeleted(events);
+      }
+    });
+
+    /* News Bins changed */
+    daoService.getNewsBinDao().addEntityListener(new NewsBinAdapter() {
+      @Override
+      public void entitiesAdded(Set<NewsBinEvent> events) {
+        onMarksAdded(events);
+      }
+
+      @Override
+      public void entitiesUpdated(Set<NewsBinEvent> events) {
+        onMarksUpdated(events);
+      }
+
+      @Override
+      public void entitiesDeleted(Set<NewsBinEvent> events) {
+        onMarksDeleted(events);
+      }
+    });
+
+    /* Folders changed */
+    daoService.getFolderDAO().addEntityListener(new FolderAdapter() {
+      @Override
+      public void entitiesAdded(Set<FolderEvent> events) {
+        onFoldersAdded(events);
+      }
+
+      @Override
+      public void entitiesUpdated(Set<FolderEvent> events) {
+        onFoldersUpdated(events);
+      }
+
+      @Override
+      public void entitiesDeleted(Set<FolderEvent> events) {
+        onFoldersDeleted(events);
+      }
+    });
+
+    /* Start from scratch with every Database */
+    DBManager.getInstance().addEntityStoreListener(new DatabaseListener() {
+      @Override
+      public void databaseOpened(DatabaseEvent event) {
+        clear();
+      }
+
+      @Override
+      public void databaseClosed(DatabaseEvent event) {
+        clear();
+      }
+    });
+  }
+
+  private synchronized void clear() {
+    fFolderCounts.clear();
+    fMarkCounts.clear();
+  }
+
+  private void onNewsChanged(Set<NewsEvent> events) {
+    DAOService daoService = InternalOwl.getInstance().getPersistenceService().getDAOService();
+
+    /* Group by Feeds and Bins */
+    Set<FeedLinkReference> feedRefs = new HashSet<FeedLinkReference>();
+    Set<Long> binIds = new HashSet<Long>();
+    for (NewsEvent event : events) {
+      INews news = event.getEntity();
+      if (news.getParentId() != 0)
+        binIds.add(news.getParentId());
+      else
+        feedRefs.add(news.getFeedReference());
+    }
+
+    synchronized (this) {
+
+      /* Nothing computed yet */
+      if (fMarkCounts.isEmpty())
+        return;
+
+      /* Update affected Bookmarks */
+      for (FeedLinkReference feedRef : feedRefs) {
+        for (IBookMark bookmark : daoService.getBookMarkDAO().loadAll(feedRef))
+          update(bookmark);
+      }
+
+      /* Update affected Bins */
+      for (Long binId : binIds) {
+        INewsBin bin = daoService.getNewsBinDao().load(binId);
+        if (bin != null) //Could have been deleted meanwhile
+          update(bin);
+      }
+    }
+  }
+
+  private synchronized void onMarksAdded(Set<? extends MarkEvent> events) {
+    for (MarkEvent event : events)
+      invalidate(event.getEntity().getParent());
+  }
+
+  private synchronized void onMarksUpdated(Set<? extends MarkEvent> events) {
+    for (MarkEvent event : events) {
+      IMark mark = event.getEntity();
+
+      /* Mark was reparented */
+      if (event.getOldParent() != null) {
+        invalidate(event.getOldParent());
+        invalidate(mark.getParent());
+      }
+
+      /* Counts of Mark might have changed */
+      if (mark instanceof INewsMark)
+        update((INewsMark) mark);
+    }
+  }
+
+  private synchronized void onMarksDeleted(Set<? extends MarkEvent> events) {
+    for (MarkEvent event : events) {
+      IMark mark = event.getEntity();
+      invalidate(event.getOldParent() != null ? event.getOldParent() : mark.getParent());
+      fMarkCounts.remove(mark.getId());
+    }
+  }
+
+  private synchronized void onFoldersAdded(Set<FolderEvent> events) {
+    for (FolderEvent event : events)
+      invalidate(event.getEntity().getParent());
+  }
+
+  private synchronized void onFoldersUpdated(Set<FolderEvent> events) {
+    for (FolderEvent event : events) {
+
+      /* Folder was reparented */
+      if (event.getOldParent() != null) {
+        invalidate(event.getOldParent());
+        invalidate(event.getEntity().getParent());
+      }
+    }
+  }
+
+  private synchronized void onFoldersDeleted(Set<FolderEvent> events) {
+    for (FolderEvent event : events) {
+      IFolder folder = event.getEntity();
+      invalidate(event.getOldParent() != null ? event.getOldParent() : folder.getParent());
+      forget(folder);
+    }
+  }
+
+  /* Applies a change in the counts of the Mark to the Totals of its Folders */
+  private void update(INewsMark mark) {
+    int[] oldCounts = fMarkCounts.get(mark.getId());
+
+    /* Mark not contained in any Totals */
+    if (oldCounts == null)
+      return;
+
+    int[] counts = count(mark);
+    if (counts[NEW] == oldCounts[NEW] && counts[UNREAD] == oldCounts[UNREAD] && counts[STICKY] == oldCounts[STICKY])
+      return;
+
+    fMarkCounts.put(mark.getId(), counts);
+    for (IFolder folder = mark.getParent(); folder != null; folder = folder.getParent()) {
+      int[] folderCounts = fFolderCounts.get(folder.getId());
+      if (folderCounts == null)
+        break;
+
+      folderCounts[NEW] += counts[NEW] - oldCounts[NEW];
+      folderCounts[UNREAD] += counts[UNREAD] - oldCounts[UNREAD];
+      folderCounts[STICKY] += counts[STICKY] - oldCounts[STICKY];
+    }
+  }
+
+  /* Discards the Totals of the Folder and all its Parents */
+  private void invalidate(IFolder folder) {
+    for (; folder != null; folder = folder.getParent())
+      fFolderCounts.remove(folder.getId());
+  }
+
+  /* Discards the Totals of the Folder and everything it contains */
+  private void forget(IFolder folder) {
+    fFolderCounts.remove(folder.getId());
+    for (IFolderChild child : folder.getChildren()) {
+      if (child instanceof IFolder)
+        forget((IFolder) child);
+      else
+        fMarkCounts.remove(child.getId());
+    }
+  }
+
+  private int[] getCounts(IFolder folder) {
+    int[] counts = fFolderCounts.get(folder.getId());
+    if (counts != null)
+      return counts;
+
+    counts = new int[3];
+    for (IFolderChild child : folder.getChildren()) {
+      int[] childCounts;
+
+      /* Folder */
+      if (child instanceof IFolder)
+        childCounts = getCounts((IFolder) child);
+
+      /* News Mark */
+      else if (child instanceof INewsMark) {
+        childCounts = count((INewsMark) child);
+        if (child.getId() != null)
+          fMarkCounts.put(child.getId(), childCounts);
+      } else
+        continue;
+
+      counts[NEW] += childCounts[NEW];
+      counts[UNREAD] += childCounts[UNREAD];
+      counts[STICKY] += childCounts[STICKY];
+    }
+
+    if (folder.getId() != null)
+      fFolderCounts.put(folder.getId(), counts);
+
+    return counts;
+  }
+
+  private static int[] count(INewsMark mark) {
+    int[] counts = new int[3];
+    counts[NEW] = mark.getNewsCount(NEW_STATES);
+    counts[UNREAD] = mark.getNewsCount(UNREAD_STATES);
+    if (mark instanceof IBookMark)
+      counts[STICKY] = ((IBookMark) mark).getStickyNewsCount();
+
+    return counts;
+  }
+}
@@ -180,6 +180,10 @@ public class PersistenceServiceImpl extends AbstractPersistenceService {
     if (restoreDBFile.exists())
       restoreDBFile.delete();
 
+    File restoreDescriptionStoreFile = DBManager.getDescriptionStoreFile(restoreDBFile);
+    if (restoreDescriptionStoreFile.exists())
+      restoreDescriptionStoreFile.delete();
+
     /* Delete the large blocksize marker if present because we start with an empty profile again */
     File largeBlockSizeMarkerFile = DBManager.getLargeBlockSizeMarkerFile();
     if (largeBlockSizeMarkerFile.exists())
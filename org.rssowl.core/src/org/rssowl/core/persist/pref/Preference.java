@@ -340,6 +340,18 @@ public enum Preference {
   /** Global: Hide Completed Downloads */
   HIDE_COMPLETED_DOWNLOADS("org.rssowl.pref.HideCompletedDownloads", IPreferenceType.BOOLEAN), //$NON-NLS-1$
 
+  /** Global: Max. number of concurrent Downloads */
+  MAX_CONCURRENT_DOWNLOADS("org.rssowl.pref.MaxConcurrentDownloads", IPreferenceType.INTEGER), //$NON-NLS-1$
+
+  /** Global: Max. Rate of all Downloads in KB per Second (0 for no Limit) */
+  MAX_DOWNLOAD_RATE("org.rssowl.pref.MaxDownloadRate", IPreferenceType.INTEGER), //$NON-NLS-1$
+
+  /** Global: Number of Connections to download large Files over */
+  DOWNLOAD_CONNECTIONS("org.rssowl.pref.DownloadConnections", IPreferenceType.INTEGER), //$NON-NLS-1$
+
+  /** Global: Downloads to resume on next Startup */
+  PENDING_DOWNLOADS("org.rssowl.pref.PendingDownloads", IPreferenceType.STRINGS), //$NON-NLS-1$
+
   /** Global: List of Import Resources */
   IMPORT_RESOURCES("org.rssowl.pref.ImportResources", IPreferenceType.STRINGS), //$NON-NLS-1$
 
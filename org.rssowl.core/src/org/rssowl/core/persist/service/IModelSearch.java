@@ -32,6 +32,7 @@ import org.rssowl.core.util.SearchHit;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The central interface for searching types from the persistance layer. The
@@ -82,6 +83,24 @@ public interface IModelSearch {
    */
   List<SearchHit<NewsReference>> searchNews(Collection<ISearchCondition> conditions, ISearchCondition scope, boolean matchAllConditions) throws PersistenceException;
 
+  /**
+   * Search for the type <code>INews</code> in the persistance layer for each of
+   * the given searches. All searches are performed against the same state of
+   * the index and may run in parallel.
+   *
+   * @param searches the List of {@link ISearch} describing the searches to
+   * perform.
+   * @param newsIds if not <code>null</code>, only news with one of the given
+   * IDs are considered as results. This allows to only re-check the news that
+   * have been reported to {@link IndexListener#newsIndexed(Set)} since the
+   * last searches.
+   * @return Returns a <code>List</code> with the result of each search in the
+   * order of the given searches. In case no type is matching a search, its
+   * result is an empty <code>List</code>.
+   * @throws PersistenceException In case of an error while searching.
+   */
+  List<List<SearchHit<NewsReference>>> searchNews(List<? extends ISearch> searches, Set<Long> newsIds) throws PersistenceException;
+
   /**
    * Releases all resources used by the implementor of this interface. The
    * difference between this method and <code>stopIndexer</code> is that, in
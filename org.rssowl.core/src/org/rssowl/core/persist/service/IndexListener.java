@@ -24,6 +24,8 @@
 
 package org.rssowl.core.persist.service;
 
+import java.util.Set;
+
 /**
  * The <code>IndexListener</code> is listening on events that make the Index
  * of the <code>IModelSearch</code> implementation update.
@@ -32,6 +34,15 @@ package org.rssowl.core.persist.service;
  */
 public interface IndexListener {
 
+  /**
+   * Notifies about the news that have been added to, updated in or removed
+   * from the Index of the <code>IModelSearch</code> implementation. This is
+   * called right before {@link #indexUpdated(int)} for the same update.
+   *
+   * @param newsIds The IDs of the news that have been updated in the index.
+   */
+  void newsIndexed(Set<Long> newsIds);
+
   /**
    * Notifies that the Index of the <code>IModelSearch</code> implementation
    * has been updated (e.g. new entities indexed or existing entities updated).
@@ -34,7 +34,9 @@ import org.rssowl.core.connection.UnknownProtocolException;
 import org.rssowl.core.internal.Activator;
 import org.rssowl.core.internal.newsaction.CopyNewsAction;
 import org.rssowl.core.internal.newsaction.MoveNewsAction;
+import org.rssowl.core.internal.persist.News;
 import org.rssowl.core.internal.persist.pref.DefaultPreferences;
+import org.rssowl.core.internal.persist.service.DBHelper;
 import org.rssowl.core.interpreter.ITypeImporter;
 import org.rssowl.core.interpreter.InterpreterException;
 import org.rssowl.core.interpreter.ParserException;
@@ -1087,7 +1089,12 @@ public class CoreUtils {
    * Feed or <code>null</code> if none.
    */
   public static IBookMark getBookMark(FeedLinkReference feedRef) {
-    return getBookMark(feedRef.getLinkAsText());
+    IBookMarkDAO bookMarkDAO = Owl.getPersistenceService().getDAOService().getBookMarkDAO();
+    Collection<IBookMark> bookMarks = bookMarkDAO.loadAll(feedRef);
+    if (bookMarks.isEmpty())
+      return null;
+
+    return bookMarks.iterator().next();
   }
 
   /**
@@ -1099,14 +1106,32 @@ public class CoreUtils {
    * Feed or <code>null</code> if none.
    */
   public static IBookMark getBookMark(String feedRef) {
-    IBookMarkDAO bookMarkDAO = Owl.getPersistenceService().getDAOService().getBookMarkDAO();
-    Collection<IBookMark> bookMarks = bookMarkDAO.loadAll();
-    for (IBookMark bookMark : bookMarks) {
-      if (bookMark.getFeedLinkReference().getLinkAsText().equals(feedRef))
-        return bookMark;
+    try {
+      return getBookMark(new FeedLinkReference(new URI(feedRef)));
+    } catch (URISyntaxException e) {
+
+      /* Bookmarks only reference valid Links */
+      return null;
     }
+  }
 
-    return null;
+  /**
+   * Loads the descriptions of the given news in one pass, so that calling
+   * {@link INews#getDescription()} on them afterwards is answered from memory
+   * as long as the descriptions fit into the description cache.
+   *
+   * @param news the news to load the descriptions for.
+   */
+  public static void prefetchDescriptions(Collection<INews> news) {
+    long[] newsIds = new long[news.size()];
+    int count = 0;
+    for (INews item : news) {
+      if (item instanceof News && item.getId() != null && !((News) item).isTransientDescriptionSet())
+        newsIds[count++] = item.getId();
+    }
+
+    if (count > 0)
+      DBHelper.getDescriptionDAO().loadValues(Arrays.copyOf(newsIds, count));
   }
 
   /**
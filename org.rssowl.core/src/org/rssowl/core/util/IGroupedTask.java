@@ -0,0 +1,45 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.util;
+
+/**
+ * An {@link ITask} that belongs to a group of Tasks sharing a resource, for
+ * example feeds that are reloaded from the same host. The {@link JobQueue}
+ * takes turns between the groups of its Tasks, limits the number of Tasks of
+ * a group running at the same time and can hold back all Tasks of a group for
+ * a while.
+ *
+ * @see JobQueue#setMaxConcurrentTasksPerGroup(int)
+ * @see JobQueue#backoff(Object, long)
+ */
+public interface IGroupedTask extends ITask {
+
+  /**
+   * @return the group this Task belongs to or <code>null</code> if none. The
+   * group has to stay the same while the Task is queued or running and is
+   * compared using {@link Object#equals(Object)}.
+   */
+  Object getGroup();
+}
\ No newline at end of file
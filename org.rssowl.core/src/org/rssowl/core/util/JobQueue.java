@@ -40,14 +40,18 @@ import org.rssowl.core.internal.Activator;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class allows to add <code>Runnables</code> into a Queue to process them
- * in Jobs up to a certain amount of allowed parallel Jobs.
+ * in Jobs up to a certain amount of allowed parallel Jobs. Tasks are processed
+ * by their {@link ITask.Priority} first and in the order they were scheduled
+ * second. Tasks of the same Priority that are {@link IGroupedTask}s are
+ * processed in turns per group.
  *
  * @author bpasero
  */
@@ -70,6 +74,7 @@ public class JobQueue {
   private String fTaskPrefix;
   private final boolean fShowProgress;
   private boolean fIsUnknownProgress;
+  private volatile boolean fIsCoalescing;
   private final ListenerList<JobQueueListener> fListeners = new ListenerList<JobQueueListener>();
 
   /* These fields are accessed from N Jobs concurrently */
@@ -81,7 +86,56 @@ public class JobQueue {
   private final AtomicInteger fProgressBuf = new AtomicInteger(0); // Buffer for the Progress Monitor
   private final AtomicInteger fScheduledJobs = new AtomicInteger(0); // Count number of running Jobs
   private final AtomicBoolean fIsSealed = new AtomicBoolean(false);
-  private final BlockingQueue<ITask> fOpenTasksQueue;
+  private final Set<Job> fBackoffJobs = Collections.newSetFromMap(new ConcurrentHashMap<Job, Boolean>()); // Jobs sleeping until a backoff ends
+  private final TaskQueue fOpenTasksQueue;
+
+  /**
+   * The time Tasks of a group waited in the Queue until they were processed.
+   */
+  public static final class WaitTime {
+    private final int fTasks;
+    private final long fTotal;
+    private final long fMax;
+
+    WaitTime(int tasks, long total, long max) {
+      fTasks = tasks;
+      fTotal = total;
+      fMax = max;
+    }
+
+    /**
+     * @return the number of Tasks that waited.
+     */
+    public int getTasks() {
+      return fTasks;
+    }
+
+    /**
+     * @return the time in milliseconds all Tasks waited together.
+     */
+    public long getTotal() {
+      return fTotal;
+    }
+
+    /**
+     * @return the average time in milliseconds a Task waited.
+     */
+    public long getAverage() {
+      return fTasks > 0 ? fTotal / fTasks : 0;
+    }
+
+    /**
+     * @return the longest time in milliseconds a Task waited.
+     */
+    public long getMax() {
+      return fMax;
+    }
+
+    @Override
+    public String toString() {
+      return "Tasks: " + fTasks + ", Average: " + getAverage() + "ms, Max: " + fMax + "ms"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    }
+  }
 
   /**
    * Creates an instance of <code>JobQueue</code> that allows to add
@@ -128,7 +182,7 @@ public class JobQueue {
     fMaxConcurrentJobs = maxConcurrentJobs;
     fShowProgress = showProgress;
     fProgressDelay = progressDelay;
-    fOpenTasksQueue = new LinkedBlockingQueue<ITask>(maxQueueSize);
+    fOpenTasksQueue = new TaskQueue(maxQueueSize);
 
     /* Eagerly create the Progress-Job if we need one */
     if (showProgress)
@@ -146,6 +200,46 @@ public class JobQueue {
     fIsUnknownProgress = isUnknownProgress;
   }
 
+  /**
+   * @param isCoalescing if <code>true</code>, scheduling a Task that is equal
+   * to a Task that is already queued in this Queue does nothing, so that the
+   * Task only runs once. Tasks that are already running are not considered.
+   */
+  public void setCoalescing(boolean isCoalescing) {
+    fIsCoalescing = isCoalescing;
+  }
+
+  /**
+   * @param maxConcurrentTasks the maximum number of {@link IGroupedTask}s of
+   * the same group that are processed at the same time. Other Tasks are
+   * processed meanwhile.
+   */
+  public void setMaxConcurrentTasksPerGroup(int maxConcurrentTasks) {
+    Assert.isLegal(maxConcurrentTasks > 0, "JobQueue max concurrent Tasks per group is not positive"); //$NON-NLS-1$
+    fOpenTasksQueue.setMaxRunningPerGroup(maxConcurrentTasks);
+  }
+
+  /**
+   * Holds back the queued {@link IGroupedTask}s of the given group for the
+   * given time, for example because the host of the group asked to retry
+   * later. Tasks of the group that are already running are not affected.
+   *
+   * @param group the group of Tasks to hold back.
+   * @param millis the time in milliseconds to hold back the Tasks from now.
+   */
+  public void backoff(Object group, long millis) {
+    if (group != null && millis > 0)
+      fOpenTasksQueue.backoff(group, millis);
+  }
+
+  /**
+   * @return the time {@link IGroupedTask}s waited in this Queue until they
+   * were processed per group.
+   */
+  public Map<Object, WaitTime> getWaitTimes() {
+    return fOpenTasksQueue.getWaitTimes();
+  }
+
   /**
    * Cancels all Jobs that belong to this Queue. Optionally the caller may
    * decide to join the running Jobs that are not yet done. Note that this will
@@ -245,10 +339,11 @@ public class JobQueue {
     /* Add into List of open tasks */
     for (ITask task : tasks) {
       try {
-        fOpenTasksQueue.put(task);
+        if (fOpenTasksQueue.put(task, fIsCoalescing)) {
 
-        /* Adjust Total Work Counter */
-        fTotalWork.incrementAndGet();
+          /* Adjust Total Work Counter */
+          fTotalWork.incrementAndGet();
+        }
       } catch (InterruptedException e) {
         return false;
       }
@@ -260,6 +355,10 @@ public class JobQueue {
       fProgressJob.schedule(fProgressDelay);
     }
 
+    /* Wake up Jobs sleeping until a backoff ends since the new Tasks might run now */
+    for (Job job : fBackoffJobs)
+      job.wakeUp();
+
     /* Optimisation: We are able to release the calling thread without locking. */
     if (fScheduledJobs.get() >= fMaxConcurrentJobs)
       return true;
@@ -283,10 +382,16 @@ public class JobQueue {
         @Override
         public void done(IJobChangeEvent event) {
 
-          /* Re-Schedule this Job if there is work left to do */
-          if (!fOpenTasksQueue.isEmpty())
-            event.getJob().schedule();
-          else
+          /* Re-Schedule this Job if there is work left to do that may run now or after a backoff */
+          long delay = fOpenTasksQueue.getDelay();
+          if (delay >= 0) {
+            ITask.Priority priority = fOpenTasksQueue.peekPriority();
+            if (priority != null)
+              event.getJob().setPriority(toJobPriority(priority));
+            if (delay > 0)
+              fBackoffJobs.add(event.getJob());
+            event.getJob().schedule(delay);
+          } else
             fScheduledJobs.decrementAndGet();
         }
       });
@@ -302,22 +407,37 @@ public class JobQueue {
        */
       job.setSystem(true);
 
-      /* Schedule it immediately */
+      /* Schedule it immediately with the Priority of the next Task */
+      ITask.Priority priority = fOpenTasksQueue.peekPriority();
+      if (priority != null)
+        job.setPriority(toJobPriority(priority));
       job.schedule();
     }
     return true;
   }
 
+  private static int toJobPriority(ITask.Priority priority) {
+    switch (priority) {
+      case INTERACTIVE:
+        return Job.INTERACTIVE;
+      case SHORT:
+        return Job.SHORT;
+      default:
+        return Job.LONG;
+    }
+  }
+
   /* Create a Job for a Task to handle */
   private Job createJob() {
     Job job = new Job("") { //$NON-NLS-1$
       @Override
       protected IStatus run(final IProgressMonitor monitor) {
+        fBackoffJobs.remove(this);
 
         /* Poll the next Task */
         final ITask task = fOpenTasksQueue.poll();
 
-        /* Queue is empty - so all work is done */
+        /* Queue is empty or no Task may run right now */
         if (task == null)
           return Status.OK_STATUS;
 
@@ -351,6 +471,9 @@ public class JobQueue {
           }
         }
 
+        /* Allow the next Task of the same group to run */
+        fOpenTasksQueue.finished(task);
+
         /* Inform about cancelation if present */
         return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
       }
@@ -492,5 +615,6 @@ public class JobQueue {
     fProgressShown.set(0);
     fCurrentTask = ""; //$NON-NLS-1$
     fOpenTasksQueue.clear();
+    fBackoffJobs.clear();
   }
 }
\ No newline at end of file
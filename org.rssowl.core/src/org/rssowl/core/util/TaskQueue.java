@@ -0,0 +1,452 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.core.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded Queue of Tasks for the {@link JobQueue} that hands out Tasks by
+ * their {@link ITask.Priority} and in the order they were added within the
+ * same Priority. Next to the Tasks the Queue keeps the number of queued Tasks
+ * per Task, so that asking whether a Task is queued does not have to look at
+ * all queued Tasks.
+ * <p>
+ * Tasks of the same Priority are handed out in turns per group of
+ * {@link IGroupedTask}. A group is skipped while it has the maximum number of
+ * Tasks running or is backed off. Tasks without group form a single group
+ * without these limits. The state of a group is dropped once it has no Tasks
+ * queued or running and is not backed off anymore.
+ * </p>
+ */
+final class TaskQueue {
+  private static final ITask.Priority[] PRIORITIES = ITask.Priority.values();
+
+  /* Group of all Tasks that are not grouped */
+  private static final Object NO_GROUP = new Object();
+
+  private final int fCapacity;
+  private final List<Map<Object, ArrayDeque<Entry>>> fTasks;
+  private final Map<Object, Group> fGroups = new HashMap<Object, Group>();
+  private final Map<Object, Wait> fWaits = new HashMap<Object, Wait>();
+  private final Map<ITask, Integer> fQueuedCounts = new ConcurrentHashMap<ITask, Integer>();
+  private final ReentrantLock fLock = new ReentrantLock();
+  private final Condition fNotFull = fLock.newCondition();
+  private int fMaxRunningPerGroup = Integer.MAX_VALUE;
+  private int fSize;
+
+  /* A queued Task with the time it was queued at */
+  private static final class Entry {
+    final ITask fTask;
+    final long fQueuedAt;
+
+    Entry(ITask task, long queuedAt) {
+      fTask = task;
+      fQueuedAt = queuedAt;
+    }
+  }
+
+  /* State of a group of Tasks */
+  private static final class Group {
+    int fRunning;
+    long fBackoffUntil;
+  }
+
+  /* Time the Tasks of a group waited until they were handed out */
+  private static final class Wait {
+    int fCount;
+    long fTotal;
+    long fMax;
+  }
+
+  TaskQueue(int capacity) {
+    fCapacity = capacity;
+    fTasks = new ArrayList<Map<Object, ArrayDeque<Entry>>>(PRIORITIES.length);
+    for (int i = 0; i < PRIORITIES.length; i++)
+      fTasks.add(new LinkedHashMap<Object, ArrayDeque<Entry>>());
+  }
+
+  /**
+   * @param maxRunning the maximum number of Tasks of the same group that are
+   * handed out and not yet finished.
+   */
+  void setMaxRunningPerGroup(int maxRunning) {
+    fLock.lock();
+    try {
+      fMaxRunningPerGroup = maxRunning;
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  /**
+   * Adds the Task waiting if necessary for space to become available.
+   *
+   * @param task the Task to add.
+   * @param coalesce if <code>true</code>, the Task is not added in case an
+   * equal Task is queued already. If the queued Task has a lower Priority, it
+   * is replaced by the given Task.
+   * @return <code>true</code> if the Task was added and <code>false</code> if
+   * an equal Task is queued already.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  boolean put(ITask task, boolean coalesce) throws InterruptedException {
+    fLock.lockInterruptibly();
+    try {
+      if (coalesce && fQueuedCounts.containsKey(task)) {
+        raisePriority(task);
+        return false;
+      }
+
+      while (fSize == fCapacity) {
+        fNotFull.await();
+
+        /* An equal Task might have been added meanwhile */
+        if (coalesce && fQueuedCounts.containsKey(task)) {
+          raisePriority(task);
+          return false;
+        }
+      }
+
+      Object group = groupOf(task);
+      Map<Object, ArrayDeque<Entry>> groups = fTasks.get(priorityIndex(task));
+      ArrayDeque<Entry> tasks = groups.get(group);
+      if (tasks == null) {
+        tasks = new ArrayDeque<Entry>();
+        groups.put(group, tasks);
+      }
+
+      tasks.addLast(new Entry(task, System.nanoTime()));
+      Integer count = fQueuedCounts.get(task);
+      fQueuedCounts.put(task, count != null ? count + 1 : 1);
+      fSize++;
+
+      return true;
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  /* Replaces a queued Task equal to the given one if its Priority is lower */
+  private void raisePriority(ITask task) {
+    int priority = priorityIndex(task);
+    Object group = groupOf(task);
+    for (int i = priority + 1; i < fTasks.size(); i++) {
+      ArrayDeque<Entry> tasks = fTasks.get(i).get(group);
+      if (tasks == null)
+        continue;
+
+      Iterator<Entry> iterator = tasks.iterator();
+      while (iterator.hasNext()) {
+        Entry entry = iterator.next();
+        if (entry.fTask.equals(task)) {
+          iterator.remove();
+          if (tasks.isEmpty())
+            fTasks.get(i).remove(group);
+
+          Map<Object, ArrayDeque<Entry>> groups = fTasks.get(priority);
+          ArrayDeque<Entry> higherTasks = groups.get(group);
+          if (higherTasks == null) {
+            higherTasks = new ArrayDeque<Entry>();
+            groups.put(group, higherTasks);
+          }
+
+          higherTasks.addLast(new Entry(task, entry.fQueuedAt));
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Hands out the next Task that may run. The Task has to be passed to
+   * {@link #finished(ITask)} once it is done.
+   *
+   * @return the next Task to run or <code>null</code> if the Queue is empty or
+   * no queued Task may run right now.
+   */
+  ITask poll() {
+    fLock.lock();
+    try {
+      long now = System.nanoTime();
+      for (Map<Object, ArrayDeque<Entry>> groups : fTasks) {
+        Iterator<Map.Entry<Object, ArrayDeque<Entry>>> iterator = groups.entrySet().iterator();
+        while (iterator.hasNext()) {
+          Map.Entry<Object, ArrayDeque<Entry>> tasks = iterator.next();
+          Object groupKey = tasks.getKey();
+          Group group = fGroups.get(groupKey);
+          if (!mayRun(groupKey, group, now))
+            continue;
+
+          /* Take the Task and move its Group to the End of the Turn */
+          Entry entry = tasks.getValue().pollFirst();
+          iterator.remove();
+          if (!tasks.getValue().isEmpty())
+            groups.put(groupKey, tasks.getValue());
+
+          if (group == null) {
+            group = new Group();
+            fGroups.put(groupKey, group);
+          }
+
+          group.fRunning++;
+          if (groupKey != NO_GROUP) {
+            Wait wait = fWaits.get(groupKey);
+            if (wait == null) {
+              wait = new Wait();
+              fWaits.put(groupKey, wait);
+            }
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(now - entry.fQueuedAt);
+            wait.fCount++;
+            wait.fTotal += millis;
+            wait.fMax = Math.max(wait.fMax, millis);
+          }
+
+          Integer count = fQueuedCounts.get(entry.fTask);
+          if (count == null || count == 1)
+            fQueuedCounts.remove(entry.fTask);
+          else
+            fQueuedCounts.put(entry.fTask, count - 1);
+
+          fSize--;
+          fNotFull.signal();
+
+          return entry.fTask;
+        }
+      }
+
+      return null;
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  /**
+   * @param task a Task that was handed out from {@link #poll()} and is done.
+   */
+  void finished(ITask task) {
+    fLock.lock();
+    try {
+      Object groupKey = groupOf(task);
+      Group group = fGroups.get(groupKey);
+      if (group != null && group.fRunning > 0) {
+        group.fRunning--;
+        if (isIdle(groupKey, group, System.nanoTime()))
+          fGroups.remove(groupKey);
+      }
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  /**
+   * Holds back all Tasks of the given group.
+   *
+   * @param groupKey the group to hold back.
+   * @param millis the time in milliseconds to hold the group back from now.
+   */
+  void backoff(Object groupKey, long millis) {
+    fLock.lock();
+    try {
+      /* Drop Groups that were only kept for a Backoff that is over */
+      long now = System.nanoTime();
+      removeIdleGroups(now);
+
+      Group group = fGroups.get(groupKey);
+      if (group == null) {
+        group = new Group();
+        fGroups.put(groupKey, group);
+      }
+
+      long until = now + TimeUnit.MILLISECONDS.toNanos(millis);
+      if (group.fBackoffUntil == 0 || until - group.fBackoffUntil > 0)
+        group.fBackoffUntil = until;
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  /**
+   * @return <code>0</code> if a queued Task may run now, the time in
+   * milliseconds until a queued Task of a backed off group may run or
+   * <code>-1</code> if no queued Task may run until a running one finishes.
+   */
+  long getDelay() {
+    fLock.lock();
+    try {
+      long now = System.nanoTime();
+      long delay = -1;
+      for (Map<Object, ArrayDeque<Entry>> groups : fTasks) {
+        for (Object groupKey : groups.keySet()) {
+          Group group = fGroups.get(groupKey);
+          if (mayRun(groupKey, group, now))
+            return 0;
+
+          if (group.fBackoffUntil != 0 && group.fBackoffUntil - now > 0) {
+            long backoff = Math.max(1, TimeUnit.NANOSECONDS.toMillis(group.fBackoffUntil - now));
+            delay = (delay < 0) ? backoff : Math.min(delay, backoff);
+          }
+        }
+      }
+
+      return delay;
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  /**
+   * @return the Priority of the Task that {@link #poll()} would hand out next
+   * or <code>null</code> if none.
+   */
+  ITask.Priority peekPriority() {
+    fLock.lock();
+    try {
+      long now = System.nanoTime();
+      for (int i = 0; i < fTasks.size(); i++) {
+        for (Object groupKey : fTasks.get(i).keySet()) {
+          if (mayRun(groupKey, fGroups.get(groupKey), now))
+            return PRIORITIES[i];
+        }
+      }
+
+      return null;
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  /**
+   * @return the time queued Tasks waited until they were handed out per group.
+   * Tasks without group are not included.
+   */
+  Map<Object, JobQueue.WaitTime> getWaitTimes() {
+    fLock.lock();
+    try {
+      Map<Object, JobQueue.WaitTime> waitTimes = new HashMap<Object, JobQueue.WaitTime>();
+      for (Map.Entry<Object, Wait> entry : fWaits.entrySet()) {
+        Wait wait = entry.getValue();
+        waitTimes.put(entry.getKey(), new JobQueue.WaitTime(wait.fCount, wait.fTotal, wait.fMax));
+      }
+
+      return waitTimes;
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  /**
+   * @param task the Task to look for.
+   * @return <code>true</code> if a Task equal to the given one is queued and
+   * <code>false</code> otherwise.
+   */
+  boolean contains(ITask task) {
+    return fQueuedCounts.containsKey(task);
+  }
+
+  boolean isEmpty() {
+    fLock.lock();
+    try {
+      return fSize == 0;
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  void clear() {
+    fLock.lock();
+    try {
+      for (Map<Object, ArrayDeque<Entry>> groups : fTasks)
+        groups.clear();
+
+      /* Keep the Groups of running Tasks until they finish */
+      removeIdleGroups(System.nanoTime());
+
+      fQueuedCounts.clear();
+      fSize = 0;
+      fNotFull.signalAll();
+    } finally {
+      fLock.unlock();
+    }
+  }
+
+  private boolean mayRun(Object groupKey, Group group, long now) {
+    if (groupKey == NO_GROUP || group == null)
+      return true;
+
+    if (group.fBackoffUntil != 0 && group.fBackoffUntil - now > 0)
+      return false;
+
+    return group.fRunning < fMaxRunningPerGroup;
+  }
+
+  /* A Group is idle if none of its Tasks is queued or running and it is not backed off */
+  private boolean isIdle(Object groupKey, Group group, long now) {
+    if (group.fRunning > 0 || (group.fBackoffUntil != 0 && group.fBackoffUntil - now > 0))
+      return false;
+
+    for (Map<Object, ArrayDeque<Entry>> groups : fTasks) {
+      if (groups.containsKey(groupKey))
+        return false;
+    }
+
+    return true;
+  }
+
+  private void removeIdleGroups(long now) {
+    Iterator<Map.Entry<Object, Group>> iterator = fGroups.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Object, Group> entry = iterator.next();
+      if (isIdle(entry.getKey(), entry.getValue(), now))
+        iterator.remove();
+    }
+  }
+
+  private static Object groupOf(ITask task) {
+    if (task instanceof IGroupedTask) {
+      Object group = ((IGroupedTask) task).getGroup();
+      if (group != null)
+        return group;
+    }
+
+    return NO_GROUP;
+  }
+
+  /* Tasks without Priority run with the Default Priority */
+  private static int priorityIndex(ITask task) {
+    ITask.Priority priority = task.getPriority();
+    return (priority != null ? priority : ITask.Priority.DEFAULT).ordinal();
+  }
+}
\ No newline at end of file
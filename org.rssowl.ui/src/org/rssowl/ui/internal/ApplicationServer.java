@@ -734,6 +734,9 @@ public class ApplicationServer {
 
       /* Output each Element as HTML */
       for (int i = 0; i < children.length; i++) {
+        if (i % NewsBrowserLabelProvider.DESCRIPTION_PREFETCH_SIZE == 0)
+          labelProvider.prefetchDescriptions(children, i);
+
         String html = unicodeToEntities(labelProvider.getText(children[i], true, true, i));
         writer.write(html);
       }
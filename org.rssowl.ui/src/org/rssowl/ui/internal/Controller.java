@@ -49,6 +49,7 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IActionDelegate;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.commands.ICommandService;
+import org.rssowl.core.FeedReload;
 import org.rssowl.core.IApplicationService;
 import org.rssowl.core.Owl;
 import org.rssowl.core.connection.AuthenticationRequiredException;
@@ -57,6 +58,7 @@ import org.rssowl.core.connection.CredentialsException;
 import org.rssowl.core.connection.IConnectionPropertyConstants;
 import org.rssowl.core.connection.MonitorCanceledException;
 import org.rssowl.core.connection.NotModifiedException;
+import org.rssowl.core.connection.ServiceUnavailableException;
 import org.rssowl.core.connection.SyncConnectionException;
 import org.rssowl.core.connection.UnknownProtocolException;
 import org.rssowl.core.internal.InternalOwl;
@@ -91,6 +93,7 @@ import org.rssowl.core.persist.service.PersistenceException;
 import org.rssowl.core.util.CoreUtils;
 import org.rssowl.core.util.DateUtils;
 import org.rssowl.core.util.ExtensionUtils;
+import org.rssowl.core.util.IGroupedTask;
 import org.rssowl.core.util.ITask;
 import org.rssowl.core.util.JobQueue;
 import org.rssowl.core.util.LoggingSafeRunnable;
@@ -186,11 +189,38 @@ public class Controller {
   /* System Property to override default Max. number of concurrent running reload Jobs */
   private static final String MAX_CONCURRENT_RELOAD_JOBS_PROPERTY = "maxReloadJobs"; //$NON-NLS-1$
 
-  /* Max. number of concurrent Jobs for saving a Feed */
-  private static final int MAX_CONCURRENT_SAVE_JOBS = 1;
+  /* Default Max. number of concurrent running reload Jobs for Feeds of the same Host */
+  private static final int DEFAULT_MAX_CONCURRENT_RELOAD_JOBS_PER_HOST = 2;
 
-  /* Max number of jobs in the queue used for saving feeds before it blocks */
-  private static final int MAX_SAVE_QUEUE_SIZE = 1;
+  /* System Property to override default Max. number of concurrent running reload Jobs per Host */
+  private static final String MAX_CONCURRENT_RELOAD_JOBS_PER_HOST_PROPERTY = "maxReloadJobsPerHost"; //$NON-NLS-1$
+
+  /* Time in MS to hold back reloads from a Host that is unavailable without telling when to retry */
+  private static final long DEFAULT_HOST_BACKOFF = 60 * 1000;
+
+  /* Max. Time in MS to hold back reloads from a Host that is unavailable */
+  private static final long MAX_HOST_BACKOFF = 60 * 60 * 1000;
+
+  /* Default Max. number of concurrent Jobs for saving a Feed (only the final commit is serialized) */
+  private static final int DEFAULT_MAX_CONCURRENT_SAVE_JOBS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+  /* System Property to override default Max. number of concurrent Jobs for saving a Feed */
+  private static final String MAX_CONCURRENT_SAVE_JOBS_PROPERTY = "maxSaveJobs"; //$NON-NLS-1$
+
+  /* System Property to save reloaded Feeds in groups with a single transaction */
+  private static final String GROUP_COMMIT_PROPERTY = "groupCommit"; //$NON-NLS-1$
+
+  /* Default Max. time in MS a reloaded Feed waits for others to be saved with */
+  private static final int DEFAULT_GROUP_COMMIT_WINDOW = 2000;
+
+  /* System Property to override default Max. time a reloaded Feed waits for others to be saved with */
+  private static final String GROUP_COMMIT_WINDOW_PROPERTY = "groupCommitWindow"; //$NON-NLS-1$
+
+  /* Default Max. number of reloaded Feeds to save in a group */
+  private static final int DEFAULT_GROUP_COMMIT_SIZE = 25;
+
+  /* System Property to override default Max. number of reloaded Feeds to save in a group */
+  private static final String GROUP_COMMIT_SIZE_PROPERTY = "groupCommitSize"; //$NON-NLS-1$
 
   /* Connection Timeouts in MS */
   private static final int DEFAULT_FEED_CON_TIMEOUT = 30000;
@@ -219,6 +249,13 @@ public class Controller {
   /* Queue for saving Feeds */
   private final JobQueue fSaveFeedQueue;
 
+  /* Reloaded Feeds waiting to be saved in a group (only used if group commit is enabled) */
+  private final List<PendingFeedSave> fPendingFeedSaves = new ArrayList<PendingFeedSave>();
+  private int fPendingFeedSavesGroup; // Guarded by fPendingFeedSaves
+  private final boolean fGroupCommit;
+  private final int fGroupCommitWindow;
+  private final int fGroupCommitSize;
+
   /* Notification Service */
   private NotificationService fNotificationService;
 
@@ -309,10 +346,26 @@ public class Controller {
     void bookMarkDoneLoading(IBookMark bookmark);
   }
 
+  /* A reloaded Feed waiting to be saved in a group */
+  private static class PendingFeedSave {
+    private final IBookMark fBookMark;
+    private final IFeed fInterpretedFeed;
+    private final IConditionalGet fConditionalGet;
+    private final boolean fDeleteConditionalGet;
+
+    PendingFeedSave(IBookMark bookmark, IFeed interpretedFeed, IConditionalGet conditionalGet, boolean deleteConditionalGet) {
+      fBookMark = bookmark;
+      fInterpretedFeed = interpretedFeed;
+      fConditionalGet = conditionalGet;
+      fDeleteConditionalGet = deleteConditionalGet;
+    }
+  }
+
   /* Task to perform Reload-Operations */
-  private class ReloadTask implements ITask {
+  private class ReloadTask implements IGroupedTask {
     private final Long fId;
     private final IBookMark fBookMark;
+    private final String fHost;
     private final Shell fShell;
     private final Priority fPriority;
     private final Map<Object, Object> fProperties;
@@ -324,6 +377,7 @@ public class Controller {
 
       fBookMark = bookmark;
       fId = bookmark.getId();
+      fHost = getHost(bookmark.getFeedLinkReference().getLink());
       fShell = shell;
       fPriority = priority;
     }
@@ -344,6 +398,11 @@ public class Controller {
       return fPriority;
     }
 
+    @Override
+    public Object getGroup() {
+      return fHost;
+    }
+
     @Override
     public int hashCode() {
       return fId.hashCode();
@@ -368,8 +427,14 @@ public class Controller {
   private Controller() {
     int maxConcurrentReloadJobs = getSystemProperty(MAX_CONCURRENT_RELOAD_JOBS_PROPERTY, 0, DEFAULT_MAX_CONCURRENT_RELOAD_JOBS);
     fReloadFeedQueue = new JobQueue(Messages.Controller_UPDATING_FEEDS, Messages.Controller_UPDATING, maxConcurrentReloadJobs, Integer.MAX_VALUE, true, 0);
-    fSaveFeedQueue = new JobQueue(Messages.Controller_UPDATING_FEEDS, MAX_CONCURRENT_SAVE_JOBS, MAX_SAVE_QUEUE_SIZE, false, 0);
+    fReloadFeedQueue.setCoalescing(true); //Feeds that are queued already are not queued again
+    fReloadFeedQueue.setMaxConcurrentTasksPerGroup(getSystemProperty(MAX_CONCURRENT_RELOAD_JOBS_PER_HOST_PROPERTY, 0, DEFAULT_MAX_CONCURRENT_RELOAD_JOBS_PER_HOST));
+    int maxConcurrentSaveJobs = getSystemProperty(MAX_CONCURRENT_SAVE_JOBS_PROPERTY, 0, DEFAULT_MAX_CONCURRENT_SAVE_JOBS);
+    fSaveFeedQueue = new JobQueue(Messages.Controller_UPDATING_FEEDS, maxConcurrentSaveJobs, maxConcurrentSaveJobs, false, 0); //Queue blocks when all Jobs are busy
     fSaveFeedQueue.setUnknownProgress(true);
+    fGroupCommit = Boolean.getBoolean(GROUP_COMMIT_PROPERTY);
+    fGroupCommitWindow = getSystemProperty(GROUP_COMMIT_WINDOW_PROPERTY, -1, DEFAULT_GROUP_COMMIT_WINDOW);
+    fGroupCommitSize = getSystemProperty(GROUP_COMMIT_SIZE_PROPERTY, 0, DEFAULT_GROUP_COMMIT_SIZE);
     fEntityPropertyPages = loadEntityPropertyPages();
     fBookMarkDAO = OwlDAO.getDAO(IBookMarkDAO.class);
     fSearchMarkDAO = OwlDAO.getDAO(ISearchMarkDAO.class);
@@ -403,6 +468,12 @@ public class Controller {
     return defaultValue;
   }
 
+  /* Host of a Feed to group Reloads by or NULL if none */
+  private static String getHost(URI feedLink) {
+    String host = feedLink.getHost();
+    return host != null ? host.toLowerCase() : null;
+  }
+
   private void registerListeners() {
 
     /* Delete Favicon when Bookmark gets deleted and remember ID */
@@ -675,6 +746,14 @@ public class Controller {
     return fReloadFeedQueue;
   }
 
+  /**
+   * @return the time reloads of Feeds waited in the queue until they started
+   * per Host.
+   */
+  public Map<Object, JobQueue.WaitTime> getReloadWaitTimes() {
+    return fReloadFeedQueue.getWaitTimes();
+  }
+
   /**
    * @return Returns the reload-service.
    */
@@ -695,19 +774,21 @@ public class Controller {
    */
   public void reloadQueued(Set<IBookMark> bookmarks, Map<Object, Object> properties, final Shell shell) {
 
-    /* Decide wether this is a high prio Job */
-    boolean highPrio = bookmarks.size() == 1;
+    /* Decide wether this is a high prio Job (user initiated reloads come with a Shell) */
+    ITask.Priority priority;
+    if (shell != null)
+      priority = ITask.Priority.INTERACTIVE;
+    else if (bookmarks.size() == 1)
+      priority = ITask.Priority.SHORT;
+    else
+      priority = ITask.Priority.DEFAULT;
 
     /* Create a Task for each Feed to Reload */
     List<ITask> tasks = new ArrayList<ITask>();
-    for (final IBookMark bookmark : bookmarks) {
-      ReloadTask task = new ReloadTask(bookmark, properties, shell, highPrio ? ITask.Priority.SHORT : ITask.Priority.DEFAULT);
-
-      /* Check if Task is not yet Queued already */
-      if (!fReloadFeedQueue.isQueued(task))
-        tasks.add(task);
-    }
+    for (final IBookMark bookmark : bookmarks)
+      tasks.add(new ReloadTask(bookmark, properties, shell, priority));
 
+    /* Tasks that are queued already are skipped by the Queue */
     fReloadFeedQueue.schedule(tasks);
   }
 
@@ -725,11 +806,10 @@ public class Controller {
   public void reloadQueued(IBookMark bookmark, Map<Object, Object> properties, final Shell shell) {
 
     /* Create a Task for the Bookmark to Reload */
-    ReloadTask task = new ReloadTask(bookmark, properties, shell, ITask.Priority.DEFAULT);
+    ReloadTask task = new ReloadTask(bookmark, properties, shell, shell != null ? ITask.Priority.INTERACTIVE : ITask.Priority.DEFAULT);
 
-    /* Check if Task is not yet Queued already */
-    if (!fReloadFeedQueue.isQueued(task))
-      fReloadFeedQueue.schedule(task);
+    /* The Task is skipped by the Queue if queued already (but takes over a higher Priority) */
+    fReloadFeedQueue.schedule(task);
   }
 
   /**
@@ -846,8 +926,13 @@ public class Controller {
       if (!shouldProceedReloading(monitor, bookmark))
         return Status.CANCEL_STATUS;
 
+      /* Merge and Save Feed together with other Feeds */
+      if (!InternalOwl.TESTING && fGroupCommit) {
+        queueFeedSave(new PendingFeedSave(bookmark, result.getFirst(), conditionalGet, deleteConditionalGet));
+      }
+
       /* Merge and Save Feed */
-      if (!InternalOwl.TESTING) {
+      else if (!InternalOwl.TESTING) {
         final IConditionalGet finalConditionalGet = conditionalGet;
         final boolean finalDeleteConditionalGet = deleteConditionalGet;
         fSaveFeedQueue.schedule(new TaskAdapter() {
@@ -858,18 +943,8 @@ public class Controller {
             if (otherMonitor.isCanceled() || !shouldProceedReloading(monitor, bookmark))
               return Status.CANCEL_STATUS;
 
-            /* Find out if retention required or not */
-            INewsMark activeFeedViewNewsMark = OwlUI.getActiveFeedViewNewsMark();
-            boolean runRetention = true;
-            if (activeFeedViewNewsMark != null) {
-              if (activeFeedViewNewsMark.equals(bookmark))
-                runRetention = false; //Avoid clean up on feed the user is reading on
-              else if (activeFeedViewNewsMark instanceof FolderNewsMark && ((FolderNewsMark) activeFeedViewNewsMark).contains(bookmark))
-                runRetention = false; //Avoid clean up on folder the user is reading on if feed contained
-            }
-
             /* Handle Feed Reload */
-            fAppService.handleFeedReload(bookmark, result.getFirst(), finalConditionalGet, finalDeleteConditionalGet, runRetention, otherMonitor);
+            fAppService.handleFeedReload(bookmark, result.getFirst(), finalConditionalGet, finalDeleteConditionalGet, shouldRunRetention(bookmark), otherMonitor);
             return Status.OK_STATUS;
           }
 
@@ -991,6 +1066,12 @@ public class Controller {
         loadFavicon(bookmark, monitor, feedLink, feedHomepage);
       }
 
+      /* Host asked to slow down or is unavailable: hold back further Reloads from it */
+      if (e instanceof ServiceUnavailableException) {
+        long retryAfter = ((ServiceUnavailableException) e).getRetryAfter();
+        fReloadFeedQueue.backoff(getHost(feedLink), retryAfter >= 0 ? Math.min(retryAfter, MAX_HOST_BACKOFF) : DEFAULT_HOST_BACKOFF);
+      }
+
       /* Feed has not been Modified Since */
       if (e instanceof NotModifiedException)
         return Status.OK_STATUS;
@@ -1115,6 +1196,82 @@ public class Controller {
     }
   }
 
+  /* Find out if retention required or not */
+  private boolean shouldRunRetention(IBookMark bookmark) {
+    INewsMark activeFeedViewNewsMark = OwlUI.getActiveFeedViewNewsMark();
+    if (activeFeedViewNewsMark != null) {
+      if (activeFeedViewNewsMark.equals(bookmark))
+        return false; //Avoid clean up on feed the user is reading on
+      else if (activeFeedViewNewsMark instanceof FolderNewsMark && ((FolderNewsMark) activeFeedViewNewsMark).contains(bookmark))
+        return false; //Avoid clean up on folder the user is reading on if feed contained
+    }
+
+    return true;
+  }
+
+  private void queueFeedSave(PendingFeedSave save) {
+    int pendingSaves;
+    final int group;
+    synchronized (fPendingFeedSaves) {
+      fPendingFeedSaves.add(save);
+      pendingSaves = fPendingFeedSaves.size();
+      group = fPendingFeedSavesGroup;
+    }
+
+    /* Save the group once full or when the first Feed of the group waited long enough */
+    if (pendingSaves >= fGroupCommitSize) {
+      scheduleGroupSave(group);
+    } else if (pendingSaves == 1) {
+      JobRunner.runInBackgroundThread(fGroupCommitWindow, new Runnable() {
+        @Override
+        public void run() {
+          scheduleGroupSave(group);
+        }
+      });
+    }
+  }
+
+  /* Saves the pending Feeds unless the given group was saved already (e.g. once full) */
+  private void scheduleGroupSave(int group) {
+    final List<PendingFeedSave> saves;
+    synchronized (fPendingFeedSaves) {
+      if (group != fPendingFeedSavesGroup || fPendingFeedSaves.isEmpty())
+        return;
+
+      saves = new ArrayList<PendingFeedSave>(fPendingFeedSaves);
+      fPendingFeedSaves.clear();
+      fPendingFeedSavesGroup++;
+    }
+
+    fSaveFeedQueue.schedule(new TaskAdapter() {
+      @Override
+      public IStatus run(IProgressMonitor monitor) {
+        List<FeedReload> reloads = new ArrayList<FeedReload>(saves.size());
+        for (PendingFeedSave save : saves) {
+
+          /* Return on Cancelation or shutdown */
+          if (monitor.isCanceled() || fShuttingDown)
+            return Status.CANCEL_STATUS;
+
+          /* Skip deleted Feeds (the Reload of each Feed checked for Cancelation already) */
+          if (!isDeleted(save.fBookMark))
+            reloads.add(new FeedReload(save.fBookMark, save.fInterpretedFeed, save.fConditionalGet, save.fDeleteConditionalGet, shouldRunRetention(save.fBookMark)));
+        }
+
+        /* Handle Feed Reloads */
+        if (!reloads.isEmpty())
+          fAppService.handleFeedReloads(reloads, monitor);
+
+        return Status.OK_STATUS;
+      }
+
+      @Override
+      public String getName() {
+        return Messages.Controller_UPDATING_FEEDS_JOB;
+      }
+    });
+  }
+
   private boolean shouldProceedReloading(IProgressMonitor monitor, IBookMark mark) {
     if (InternalOwl.TESTING)
       return true;
@@ -1217,6 +1374,10 @@ public class Controller {
     /* Create the Download Service */
     fDownloadService = new DownloadService();
 
+    /* Resume Downloads from the last Session */
+    if (!InternalOwl.TESTING)
+      fDownloadService.resumeDownloads();
+
     /* Create the Sync Service */
     if (!InternalOwl.TESTING)
       fSyncService = new SyncService();
@@ -113,6 +113,9 @@ public class PreferencesInitializer implements IPreferencesInitializer {
     defaultScope.putBoolean(Preference.UPDATE_ON_STARTUP.id(), true);
     defaultScope.putString(Preference.BM_TRANSFORMER_ID.id(), "org.rssowl.ui.InstapaperTransformer"); //$NON-NLS-1$
     defaultScope.putInteger(Preference.NEWS_BROWSER_PAGE_SIZE.id(), 50);
+    defaultScope.putInteger(Preference.MAX_CONCURRENT_DOWNLOADS.id(), 3);
+    defaultScope.putInteger(Preference.MAX_DOWNLOAD_RATE.id(), 0);
+    defaultScope.putInteger(Preference.DOWNLOAD_CONNECTIONS.id(), 4);
 
     defaultScope.putIntegers(Preference.SEARCH_DIALOG_NEWS_COLUMNS.id(), new int[] {
       NewsColumn.RELEVANCE.ordinal(),
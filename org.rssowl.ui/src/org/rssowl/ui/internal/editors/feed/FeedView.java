@@ -217,6 +217,7 @@ public class FeedView extends EditorPart implements IReusableEditor {
   /* Shared Viewer classes */
   private NewsFilter fNewsFilter;
   private NewsGrouping fNewsGrouping;
+  private NewsSortKeys fNewsSortKeys;
   private NewsContentProvider fContentProvider;
 
   /* Container for the News Table Viewer */
@@ -1302,6 +1303,7 @@ public class FeedView extends EditorPart implements IReusableEditor {
         comparer.setSortBy(newSortBy);
         comparer.setAscending(newIsAscending);
         comparer.setRightToLeftSorting(newIsRightToLeftSorting);;
+        comparer.setSortKeys(fNewsSortKeys);
 
         fContentProvider.refreshCache(null, folderMark, comparer);
       }
@@ -2235,6 +2237,15 @@ public class FeedView extends EditorPart implements IReusableEditor {
     return fNewsGrouping;
   }
 
+  /**
+   * Get the shared Sort Keys used to sort and group News.
+   *
+   * @return the shared Sort Keys used to sort and group News.
+   */
+  NewsSortKeys getSortKeys() {
+    return fNewsSortKeys;
+  }
+
   NewsBrowserControl getNewsBrowserControl() {
     return fNewsBrowserControl;
   }
@@ -2257,8 +2268,11 @@ public class FeedView extends EditorPart implements IReusableEditor {
     fNewsFilter.setSearchTarget(fInitialSearchTarget);
     fNewsFilter.setNewsMark(fInput.getMark());
 
+    fNewsSortKeys = new NewsSortKeys();
+
     fNewsGrouping = new NewsGrouping();
     fNewsGrouping.setType(fInitialGroupType);
+    fNewsGrouping.setSortKeys(fNewsSortKeys);
 
     /* Top-Most root Composite in Editor */
     fRootComposite = new Composite(fParent, SWT.NONE);
@@ -2393,6 +2407,10 @@ public class FeedView extends EditorPart implements IReusableEditor {
     fNewsTableControl.initViewer(fContentProvider, fNewsFilter);
     fNewsBrowserControl.initViewer(fContentProvider, fNewsFilter);
 
+    /* Share the Sort Keys between Sorting and Grouping */
+    ((NewsComparator) fNewsTableControl.getViewer().getComparator()).setSortKeys(fNewsSortKeys);
+    ((NewsComparator) fNewsBrowserControl.getViewer().getComparator()).setSortKeys(fNewsSortKeys);
+
     /* Set Input to Viewers */
     setInput(fInput.getMark(), false);
   }
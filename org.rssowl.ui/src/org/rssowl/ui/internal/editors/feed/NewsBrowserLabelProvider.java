@@ -85,6 +85,7 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URI;
 import java.text.DateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
@@ -118,6 +119,9 @@ public class NewsBrowserLabelProvider extends LabelProvider {
   /* Windows only: Mark of the Web */
   private static final String IE_MOTW = "<!-- saved from url=(0014)about:internet -->"; //$NON-NLS-1$
 
+  /** Number of News to load the Descriptions for in one pass while rendering */
+  public static final int DESCRIPTION_PREFETCH_SIZE = 50;
+
   /* Dynamic HTML in Content */
   enum Dynamic {
     NEWS("newsitem"), //$NON-NLS-1$
@@ -333,6 +337,28 @@ public class NewsBrowserLabelProvider extends LabelProvider {
     return fHeadlinesOnly;
   }
 
+  /**
+   * Loads the descriptions of the news that are rendered with their content
+   * among the next {@link #DESCRIPTION_PREFETCH_SIZE} elements in one pass
+   * instead of one by one.
+   *
+   * @param elements the elements about to be rendered.
+   * @param from the index of the first element to load the description for.
+   */
+  public void prefetchDescriptions(Object[] elements, int from) {
+    if (fHeadlinesOnly)
+      return;
+
+    int to = Math.min(from + DESCRIPTION_PREFETCH_SIZE, elements.length);
+    List<INews> news = new ArrayList<INews>(to - from);
+    for (int i = from; i < to; i++) {
+      if (elements[i] instanceof INews && (isVisible((INews) elements[i]) || fForceNoPaging))
+        news.add((INews) elements[i]);
+    }
+
+    CoreUtils.prefetchDescriptions(news);
+  }
+
   /*
    * @see org.eclipse.jface.viewers.BaseLabelProvider#dispose()
    */
@@ -1598,6 +1624,9 @@ public class NewsBrowserLabelProvider extends LabelProvider {
 
     /* Write News */
     for (int i = 0; i < elements.length; i++) {
+      if (i % DESCRIPTION_PREFETCH_SIZE == 0)
+        prefetchDescriptions(elements, i);
+
       if (elements[i] instanceof INews)
         html.append(getText(elements[i], false, withManagedLinks, i));
     }
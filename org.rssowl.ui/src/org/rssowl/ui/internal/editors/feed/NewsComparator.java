@@ -26,28 +26,18 @@ package org.rssowl.ui.internal.editors.feed;
 
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerComparator;
-import org.rssowl.core.persist.IBookMark;
-import org.rssowl.core.persist.ICategory;
 import org.rssowl.core.persist.ILabel;
 import org.rssowl.core.persist.INews;
 import org.rssowl.core.persist.INews.State;
-import org.rssowl.core.persist.INewsBin;
-import org.rssowl.core.persist.IPerson;
 import org.rssowl.core.persist.event.NewsEvent;
-import org.rssowl.core.persist.reference.NewsBinReference;
 import org.rssowl.core.util.CoreUtils;
-import org.rssowl.core.util.DateUtils;
 import org.rssowl.ui.internal.EntityGroup;
 import org.rssowl.ui.internal.editors.feed.NewsGrouping.Group;
+import org.rssowl.ui.internal.editors.feed.NewsSortKeys.Keys;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * Sorts the elements of the feed view based on the choices provided by the
@@ -62,9 +52,11 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
   private boolean fAscending;
   private boolean fRightToLeftSorting;
 
-  /* A cache for the Location Column */
-  private Map<Long, String> fMapBinIdToLocation = new HashMap<Long, String>();
-  private Map<String, String> fMapFeedLinkToLocation = new HashMap<String, String>();
+  /* Sort Keys kept up to date by the Feed View or null if not shared */
+  private NewsSortKeys fSortKeys;
+
+  /* Creates Sort Keys that are not kept when no Sort Keys are shared */
+  private final NewsSortKeys fUnsharedSortKeys = new NewsSortKeys();
 
   /**
    * @return Returns the ascending.
@@ -103,7 +95,24 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
   }
 
   /**
-   * @param events the {@link Set} of NewsEvents that occured.
+   * @param sortKeys the {@link NewsSortKeys} to look up the values of news
+   * from. The owner of the keys must invalidate them when news change. If
+   * <code>null</code>, the values are looked up again on every sort.
+   */
+  public void setSortKeys(NewsSortKeys sortKeys) {
+    fSortKeys = sortKeys;
+  }
+
+  /**
+   * @return the {@link NewsSortKeys} set via
+   * {@link #setSortKeys(NewsSortKeys)} or <code>null</code> if none.
+   */
+  public NewsSortKeys getSortKeys() {
+    return fSortKeys;
+  }
+
+  /**
+   * @param events the {@link Collection} of NewsEvents that occured.
    * @return <code>true</code> if the sorter requires a refresh and
    * <code>false</code> otherwise
    */
@@ -163,11 +172,55 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
     return 0;
   }
 
+  /*
+   * @see org.eclipse.jface.viewers.ViewerComparator#sort(org.eclipse.jface.viewers.Viewer,
+   * java.lang.Object[])
+   */
+  @Override
+  public void sort(Viewer viewer, Object[] elements) {
+
+    /* Let the Viewer compare anything that is not a News (e.g. Entity Groups) */
+    for (Object element : elements) {
+      if (!(element instanceof INews)) {
+        super.sort(viewer, elements);
+        return;
+      }
+    }
+
+    /* Look up the Keys of each News once instead of once per Comparison */
+    Keys[] keys = new Keys[elements.length];
+    for (int i = 0; i < elements.length; i++) {
+      keys[i] = getKeys((INews) elements[i]);
+    }
+
+    Arrays.sort(keys, new Comparator<Keys>() {
+      @Override
+      public int compare(Keys keys1, Keys keys2) {
+        return NewsComparator.this.compare(keys1, keys2);
+      }
+    });
+
+    for (int i = 0; i < keys.length; i++) {
+      elements[i] = keys[i].getNews();
+    }
+  }
+
   /*
    * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
    */
   @Override
   public int compare(INews news1, INews news2) {
+    return compare(getKeys(news1), getKeys(news2));
+  }
+
+  private Keys getKeys(INews news) {
+    if (fSortKeys != null)
+      return fSortKeys.get(news);
+
+    return fUnsharedSortKeys.create(news);
+  }
+
+  private int compare(Keys news1, Keys news2) {
     int result = 0;
 
     if (fSortBy != null) {
@@ -175,7 +228,7 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
 
         /* Sort by Date */
         case DATE:
-          return compareByDate(news1, news2, false);
+          return compareByDate(news1.getRecentDate(), news2.getRecentDate(), false);
 
           /* Sort by Publish Date */
         case PUBLISHED:
@@ -191,59 +244,61 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
 
           /* Sort by Title */
         case TITLE:
-          result = compareByTitle(CoreUtils.getHeadline(news1, true), CoreUtils.getHeadline(news2, true));
+          result = compareByTitle(news1, news2);
           break;
 
         /* Sort by Author */
         case AUTHOR:
-          result = compareByAuthor(news1.getAuthor(), news2.getAuthor());
+          result = compareByAuthor(news1, news2);
           break;
 
         /* Sort by Category */
         case CATEGORY:
-          result = compareByCategory(news1.getCategories(), news2.getCategories());
+          result = compareByCategory(news1, news2);
           break;
 
         /* Sort by Stickyness */
         case STICKY:
-          result = compareByStickyness(news1.isFlagged(), news2.isFlagged());
+          result = compareByStickyness(news1.getNews().isFlagged(), news2.getNews().isFlagged());
           break;
 
         /* Sort by Feed */
         case FEED:
-          result = compareByFeed(news1.getFeedLinkAsText(), news2.getFeedLinkAsText());
+          result = compareByFeed(news1.getNews().getFeedLinkAsText(), news2.getNews().getFeedLinkAsText());
           break;
 
         /* Sort by "Has Attachments" */
         case ATTACHMENTS:
-          result = compareByHasAttachments(!news1.getAttachments().isEmpty(), !news2.getAttachments().isEmpty());
+          result = compareByHasAttachments(!news1.getNews().getAttachments().isEmpty(), !news2.getNews().getAttachments().isEmpty());
           break;
 
         /* Sort by Labels */
         case LABELS:
-          result = compareByLabels(CoreUtils.getSortedLabels(news1), CoreUtils.getSortedLabels(news2));
+          result = compareByLabels(news1.getLabels(), news2.getLabels());
           break;
 
         /* Sort by Status */
         case STATUS:
-          result = compareByStatus(news1.getState(), news2.getState());
+          result = compareByStatus(news1.getNews().getState(), news2.getNews().getState());
           break;
 
         /* Sort by Location */
         case LOCATION:
-          result = compareByLocation(news1, news2);
+          result = compareByString(news1.getLocation(), news2.getLocation());
+          result = fAscending ? result : result * -1;
           break;
 
         /* Sort by Link */
         case LINK:
-          result = compareByLink(news1, news2);
+          result = compareByString(news1.getLink(), news2.getLink());
+          result = fAscending ? result : result * -1;
           break;
       }
     }
 
     /* Fall Back to default sort if result is 0 */
     if (result == 0)
-      result = compareByDate(news1, news2, true);
+      result = compareByDate(news1.getRecentDate(), news2.getRecentDate(), true);
 
     return result;
   }
@@ -255,32 +310,25 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
     return fAscending ? result : result * -1;
   }
 
-  private int compareByDate(INews news1, INews news2, boolean forceDescending) {
-    Date date1 = DateUtils.getRecentDate(news1);
-    Date date2 = DateUtils.getRecentDate(news2);
-
-    return compareByDate(date1, date2, forceDescending);
-  }
-
-  private int compareByDate(Date date1, Date date2, boolean forceDescending) {
-    if (date1 == null)
+  private int compareByDate(long date1, long date2, boolean forceDescending) {
+    if (date1 == NewsSortKeys.NO_DATE)
       return fAscending && !forceDescending ? -1 : 1;
 
-    if (date2 == null)
+    if (date2 == NewsSortKeys.NO_DATE)
       return fAscending && !forceDescending ? 1 : -1;
 
-    int result = date1.compareTo(date2);
+    int result = date1 < date2 ? -1 : (date1 == date2 ? 0 : 1);
 
     /* Respect ascending / descending Order */
     return fAscending && !forceDescending ? result : result * -1;
   }
 
-  private int compareByTitle(String title1, String title2) {
+  private int compareByTitle(Keys news1, Keys news2) {
     int result;
     if (!fRightToLeftSorting)
-      result = compareByString(title1, title2);
+      result = compareByString(news1.getTitle(), news2.getTitle());
     else
-      result = compareByString(new StringBuilder(title1).reverse().toString(), new StringBuilder(title2).reverse().toString());
+      result = compareByString(news1.getReversedTitle(), news2.getReversedTitle());
     return fAscending ? result : result * -1;
   }
 
@@ -308,48 +356,6 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
     return fAscending ? result : result * -1;
   }
 
-  private int compareByLocation(INews n1, INews n2) {
-    int result = compareByString(getLocation(n1), getLocation(n2));
-
-    /* Respect ascending / descending Order */
-    return fAscending ? result : result * -1;
-  }
-
-  private int compareByLink(INews n1, INews n2) {
-    int result = compareByString(CoreUtils.getLink(n1), CoreUtils.getLink(n2));
-
-    /* Respect ascending / descending Order */
-    return fAscending ? result : result * -1;
-  }
-
-  private String getLocation(INews news) {
-
-    /* Location: Bin */
-    if (news.getParentId() > 0) {
-      String location = fMapBinIdToLocation.get(news.getParentId());
-      if (location == null) {
-        NewsBinReference ref = new NewsBinReference(news.getParentId());
-        INewsBin bin = ref.resolve();
-        location = bin.getName();
-        fMapBinIdToLocation.put(news.getParentId(), location);
-      }
-
-      return location;
-    }
-
-    /* Location: Bookmark */
-    String location = fMapFeedLinkToLocation.get(news.getFeedLinkAsText());
-    if (location == null) {
-      IBookMark bookmark = CoreUtils.getBookMark(news.getFeedLinkAsText());
-      if (bookmark != null) {
-        location = bookmark.getName();
-        fMapFeedLinkToLocation.put(news.getFeedLinkAsText(), location);
-      }
-    }
-
-    return location;
-  }
-
   private int compareByHasAttachments(boolean hasAttachments1, boolean hasAttachments2) {
     int result = 0;
 
@@ -363,33 +369,33 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
     return fAscending ? result : result * -1;
   }
 
-  private int compareByLabels(Set<ILabel> labels1, Set<ILabel> labels2) {
+  private int compareByLabels(ILabel[] labels1, ILabel[] labels2) {
 
     /* Detect cases of empty Labels first */
-    if (labels1.isEmpty() && labels2.isEmpty())
+    if (labels1.length == 0 && labels2.length == 0)
       return 0;
-    else if (labels1.isEmpty())
+    else if (labels1.length == 0)
       return fAscending ? 1 : -1;
-    else if (labels2.isEmpty())
+    else if (labels2.length == 0)
       return fAscending ? -1 : 1;
 
     /* Now compare all labels as there can be more than one assigned */
     int result = 0;
-    Iterator<ILabel> labels1Iterator = labels1.iterator();
-    Iterator<ILabel> labels2Iterator = labels2.iterator();
-    while (labels1Iterator.hasNext() && labels2Iterator.hasNext()) {
-      ILabel label1 = labels1Iterator.next();
-      ILabel label2 = labels2Iterator.next();
+    for (int i = 0; i < labels1.length && i < labels2.length; i++) {
+      int order1 = labels1[i].getOrder();
+      int order2 = labels2[i].getOrder();
 
       /* Labels identical at this point */
-      if (label1.getOrder() == label2.getOrder()) {
+      if (order1 == order2) {
+        boolean hasNext1 = i + 1 < labels1.length;
+        boolean hasNext2 = i + 1 < labels2.length;
 
         /* Look for the next label to compare if still labels present */
-        if (labels1Iterator.hasNext() && labels2Iterator.hasNext())
+        if (hasNext1 && hasNext2)
           continue;
 
         /* Sort news with more labels below */
-        if (labels1Iterator.hasNext())
+        if (hasNext1)
           result = -1;
 
         /* Otherwise keep label above */
@@ -400,7 +406,7 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
       }
 
       /* Labels not identical - compare order and break */
-      result = label1.getOrder() < label2.getOrder() ? -1 : 1;
+      result = order1 < order2 ? -1 : 1;
       break;
     }
 
@@ -408,57 +414,32 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
     return fAscending ? result : result * -1;
   }
 
-  private int compareByAuthor(IPerson author1, IPerson author2) {
+  private int compareByAuthor(Keys news1, Keys news2) {
     int result = 0;
 
-    if (author1 != null && author2 != null) {
-      String value1 = author1.getName();
-      if (value1 == null && author1.getEmail() != null)
-        value1 = author1.getEmail().toString();
-      else if (value1 == null && author1.getUri() != null)
-        value1 = author1.getUri().toString();
+    if (news1.hasAuthor() && news2.hasAuthor())
+      result = compareByString(news1.getAuthor(), news2.getAuthor());
 
-      String value2 = author2.getName();
-      if (value2 == null && author2.getEmail() != null)
-        value2 = author2.getEmail().toString();
-      else if (value2 == null && author2.getUri() != null)
-        value2 = author2.getUri().toString();
-
-      result = compareByString(value1, value2);
-    }
-
-    else if (author1 != null)
+    else if (news1.hasAuthor())
       result = -1;
 
-    else if (author2 != null)
+    else if (news2.hasAuthor())
       result = 1;
 
     /* Respect ascending / descending Order */
     return fAscending ? result : result * -1;
   }
 
-  private int compareByCategory(List<ICategory> categories1, List<ICategory> categories2) {
+  private int compareByCategory(Keys news1, Keys news2) {
     int result = 0;
 
-    if (categories1 != null && categories1.size() > 0 && categories2 != null && categories2.size() > 0) {
-      ICategory category1 = categories1.get(0);
-      ICategory category2 = categories2.get(0);
-
-      String value1 = category1.getName();
-      if (value1 == null)
-        value1 = category1.getDomain();
-
-      String value2 = category2.getName();
-      if (value2 == null)
-        value2 = category2.getName();
-
-      result = compareByString(value1, value2);
-    }
+    if (news1.hasCategory() && news2.hasCategory())
+      result = compareByString(news1.getCategory(), news2.getCategory());
 
-    else if (categories1 != null && categories1.size() > 0)
+    else if (news1.hasCategory())
       result = -1;
 
-    else if (categories2 != null && categories2.size() > 0)
+    else if (news2.hasCategory())
       result = 1;
 
     /* Respect ascending / descending Order */
@@ -478,9 +459,10 @@ public class NewsComparator extends ViewerComparator implements Comparator<INews
     return fAscending ? result : result * -1;
   }
 
+  /* Strings are case folded already, see NewsSortKeys */
   private int compareByString(String str1, String str2) {
     if (str1 != null && str2 != null)
-      return str1.compareToIgnoreCase(str2);
+      return str1.compareTo(str2);
     else if (str1 != null)
       return -1;
 
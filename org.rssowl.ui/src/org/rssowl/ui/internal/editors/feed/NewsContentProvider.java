@@ -320,6 +320,10 @@ public class NewsContentProvider implements ITreeContentProvider {
     if (fInput != null && fInput.equals(input))
       cacheCopy = new HashMap(fCachedNews);
 
+    /* Otherwise forget the Sort Keys of the old Input */
+    else
+      fFeedView.getSortKeys().clear();
+
     /* Update Input */
     fInput = input;
 
@@ -1320,6 +1324,9 @@ public class NewsContentProvider implements ITreeContentProvider {
       updatedNews.add(event.getEntity());
     }
 
+    /* Sort Keys need to be computed again */
+    fFeedView.getSortKeys().invalidate(updatedNews);
+
     /* Update Cache */
     Pair<List<NewsEvent>, List<INews>> result = updateCache(events, updatedNews);
     final List<NewsEvent> visibleEvents = result.getFirst();
@@ -1376,6 +1383,9 @@ public class NewsContentProvider implements ITreeContentProvider {
       deletedNews.add(event.getEntity());
     }
 
+    /* Forget Sort Keys */
+    fFeedView.getSortKeys().invalidate(deletedNews);
+
     /* Remove from Cache */
     Pair<List<NewsEvent>, List<INews>> result = removeFromCache(events, deletedNews);
     List<NewsEvent> visibleEvents = result.getFirst();
@@ -43,13 +43,13 @@ import org.rssowl.core.util.SyncUtils;
 import org.rssowl.ui.internal.EntityGroup;
 import org.rssowl.ui.internal.EntityGroupItem;
 import org.rssowl.ui.internal.OwlUI;
+import org.rssowl.ui.internal.editors.feed.NewsSortKeys.Keys;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -214,6 +214,12 @@ public class NewsGrouping {
   /* Current Type of Grouping */
   private Type fType = Type.NO_GROUPING;
 
+  /* Sort Keys kept up to date by the Feed View or null if not shared */
+  private NewsSortKeys fSortKeys;
+
+  /* Creates Sort Keys that are not kept when no Sort Keys are shared */
+  private final NewsSortKeys fUnsharedSortKeys = new NewsSortKeys();
+
   /* Get the Type of grouping as defined in the Type Enum */
   Type getType() {
     return fType;
@@ -228,6 +234,21 @@ public class NewsGrouping {
     fType = type;
   }
 
+  /**
+   * @param sortKeys the {@link NewsSortKeys} to look up the values of news
+   * from. These are shared with the {@link NewsComparator} of the same view.
+   */
+  public void setSortKeys(NewsSortKeys sortKeys) {
+    fSortKeys = sortKeys;
+  }
+
+  private Keys getKeys(INews news) {
+    if (fSortKeys != null)
+      return fSortKeys.get(news);
+
+    return fUnsharedSortKeys.create(news);
+  }
+
   boolean needsRefresh(Collection<NewsEvent> events, boolean isUpdate) {
 
     /* In case the Grouping is not active at all */
@@ -331,8 +352,7 @@ public class NewsGrouping {
         EntityGroup group = gDefault;
 
         /* Normalize Title */
-        String normalizedTitle = CoreUtils.getHeadline(news, true);
-        normalizedTitle = CoreUtils.normalizeTitle(normalizedTitle);
+        String normalizedTitle = getKeys(news).getTopic();
 
         /* Determine Group ID */
         String groupId;
@@ -474,11 +494,11 @@ public class NewsGrouping {
     for (Object object : input) {
       if (object instanceof INews) {
         INews news = (INews) object;
-        Set<ILabel> labels = CoreUtils.getSortedLabels(news);
+        ILabel[] labels = getKeys(news).getLabels();
         EntityGroup group = gDefault;
 
-        if (!labels.isEmpty()) {
-          ILabel label = labels.iterator().next();
+        if (labels.length > 0) {
+          ILabel label = labels[0];
           String name = label.getName();
           group = groupCache.get(name);
           if (group == null) {
@@ -609,14 +629,14 @@ public class NewsGrouping {
     long todayMillis = today.getTimeInMillis();
 
     /* Yesterday */
-    Date yesterday = new Date(todayMillis - DAY);
+    long yesterday = todayMillis - DAY;
 
     /* Earlier this Week */
     today.set(Calendar.DAY_OF_WEEK, today.getFirstDayOfWeek());
-    Date earlierThisWeek = today.getTime();
+    long earlierThisWeek = today.getTimeInMillis();
 
     /* Last Week */
-    Date lastWeek = new Date(earlierThisWeek.getTime() - WEEK);
+    long lastWeek = earlierThisWeek - WEEK;
 
     /* Build Groups */
     EntityGroup gToday = new EntityGroup(Group.TODAY.ordinal(), GROUP_CATEGORY_ID, Group.TODAY.getName());
@@ -629,22 +649,22 @@ public class NewsGrouping {
     for (Object object : input) {
       if (object instanceof INews) {
         INews news = (INews) object;
-        Date date = DateUtils.getRecentDate(news);
+        long date = getKeys(news).getRecentDate();
 
         /* Feed was visited Today */
-        if (date.getTime() >= todayMillis)
+        if (date >= todayMillis)
           new EntityGroupItem(gToday, news);
 
         /* Feed was visited Yesterday */
-        else if (date.compareTo(yesterday) >= 0)
+        else if (date >= yesterday)
           new EntityGroupItem(gYesterday, news);
 
         /* Feed was visited Two Weeks Ago */
-        else if (date.compareTo(earlierThisWeek) >= 0)
+        else if (date >= earlierThisWeek)
           new EntityGroupItem(gEarlierThisWeek, news);
 
         /* Feed was visited Last Week */
-        else if (date.compareTo(lastWeek) >= 0)
+        else if (date >= lastWeek)
           new EntityGroupItem(gLastWeek, news);
 
         /* Feed was visited more than a Week ago */
@@ -0,0 +1,393 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.ui.internal.editors.feed;
+
+import org.rssowl.core.persist.IBookMark;
+import org.rssowl.core.persist.ICategory;
+import org.rssowl.core.persist.ILabel;
+import org.rssowl.core.persist.INews;
+import org.rssowl.core.persist.INewsBin;
+import org.rssowl.core.persist.IPerson;
+import org.rssowl.core.persist.reference.NewsBinReference;
+import org.rssowl.core.util.CoreUtils;
+import org.rssowl.core.util.DateUtils;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A snapshot of the values that the {@link NewsComparator} and the
+ * {@link NewsGrouping} of a feed view look at. The values of a news are
+ * computed once when first asked for and then kept until the news is
+ * invalidated, so that sorting and grouping many news does not resolve the
+ * same headlines, labels or locations again for every comparison.
+ * <p>
+ * Dates are kept as milliseconds and strings are kept case folded, so that
+ * comparing two keys with {@link String#compareTo(String)} gives the same
+ * result as {@link String#compareToIgnoreCase(String)} on the original values.
+ * </p>
+ */
+public class NewsSortKeys {
+
+  /* Milliseconds of a Date that is not set */
+  static final long NO_DATE = Long.MIN_VALUE;
+
+  /* Sets the Bits of computed Keys atomically */
+  private static final AtomicIntegerFieldUpdater<Keys> COMPUTED_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Keys.class, "fComputed"); //$NON-NLS-1$
+
+  /* Keys of News */
+  private final Map<INews, Keys> fKeys = new ConcurrentHashMap<INews, Keys>();
+
+  /* A cache for the Location Column */
+  private final Map<Long, String> fMapBinIdToLocation = new ConcurrentHashMap<Long, String>();
+  private final Map<String, String> fMapFeedLinkToLocation = new ConcurrentHashMap<String, String>();
+
+  /**
+   * The sort keys of a single news. Every key is computed on first access.
+   */
+  final class Keys {
+    private static final int DATES = 1 << 0;
+    private static final int TITLE = 1 << 1;
+    private static final int REVERSED_TITLE = 1 << 2;
+    private static final int TOPIC = 1 << 3;
+    private static final int AUTHOR = 1 << 4;
+    private static final int CATEGORY = 1 << 5;
+    private static final int LABELS = 1 << 6;
+    private static final int LOCATION = 1 << 7;
+    private static final int LINK = 1 << 8;
+
+    private final INews fNews;
+
+    /* Bits of the Keys that are computed already (not private for the Updater) */
+    volatile int fComputed;
+
+    private long fRecentDate;
+    private long fPublishDate;
+    private long fModifiedDate;
+    private long fReceiveDate;
+    private String fTitle;
+    private String fReversedTitle;
+    private String fTopic;
+    private boolean fHasAuthor;
+    private String fAuthor;
+    private boolean fHasCategory;
+    private String fCategory;
+    private ILabel[] fLabels;
+    private String fLocation;
+    private String fLink;
+
+    Keys(INews news) {
+      fNews = news;
+    }
+
+    INews getNews() {
+      return fNews;
+    }
+
+    long getRecentDate() {
+      computeDates();
+      return fRecentDate;
+    }
+
+    long getPublishDate() {
+      computeDates();
+      return fPublishDate;
+    }
+
+    long getModifiedDate() {
+      computeDates();
+      return fModifiedDate;
+    }
+
+    long getReceiveDate() {
+      computeDates();
+      return fReceiveDate;
+    }
+
+    /* Case folded Headline */
+    String getTitle() {
+      if (!isComputed(TITLE)) {
+        fTitle = fold(CoreUtils.getHeadline(fNews, true));
+        setComputed(TITLE);
+      }
+
+      return fTitle;
+    }
+
+    /* Case folded Headline in reverse Order for Right to Left Sorting */
+    String getReversedTitle() {
+      if (!isComputed(REVERSED_TITLE)) {
+        fReversedTitle = new StringBuilder(getTitle()).reverse().toString();
+        setComputed(REVERSED_TITLE);
+      }
+
+      return fReversedTitle;
+    }
+
+    /* Normalized Headline as used to group by Topic */
+    String getTopic() {
+      if (!isComputed(TOPIC)) {
+        fTopic = CoreUtils.normalizeTitle(CoreUtils.getHeadline(fNews, true));
+        setComputed(TOPIC);
+      }
+
+      return fTopic;
+    }
+
+    boolean hasAuthor() {
+      computeAuthor();
+      return fHasAuthor;
+    }
+
+    /* Case folded Name, Email or URI of the Author */
+    String getAuthor() {
+      computeAuthor();
+      return fAuthor;
+    }
+
+    boolean hasCategory() {
+      computeCategory();
+      return fHasCategory;
+    }
+
+    /* Case folded Name or Domain of the first Category */
+    String getCategory() {
+      computeCategory();
+      return fCategory;
+    }
+
+    /* Labels sorted by their Order */
+    ILabel[] getLabels() {
+      if (!isComputed(LABELS)) {
+        Set<ILabel> labels = CoreUtils.getSortedLabels(fNews);
+        fLabels = labels.toArray(new ILabel[labels.size()]);
+        setComputed(LABELS);
+      }
+
+      return fLabels;
+    }
+
+    /* Case folded Name of the Bin or Bookmark */
+    String getLocation() {
+      if (!isComputed(LOCATION)) {
+        fLocation = fold(NewsSortKeys.this.getLocation(fNews));
+        setComputed(LOCATION);
+      }
+
+      return fLocation;
+    }
+
+    /* Case folded Link */
+    String getLink() {
+      if (!isComputed(LINK)) {
+        fLink = fold(CoreUtils.getLink(fNews));
+        setComputed(LINK);
+      }
+
+      return fLink;
+    }
+
+    private void computeDates() {
+      if (!isComputed(DATES)) {
+        fRecentDate = toMillis(DateUtils.getRecentDate(fNews));
+        fPublishDate = toMillis(fNews.getPublishDate());
+        fModifiedDate = toMillis(fNews.getModifiedDate());
+        fReceiveDate = toMillis(fNews.getReceiveDate());
+        setComputed(DATES);
+      }
+    }
+
+    private void computeAuthor() {
+      if (!isComputed(AUTHOR)) {
+        IPerson author = fNews.getAuthor();
+        if (author != null) {
+          String value = author.getName();
+          if (value == null && author.getEmail() != null)
+            value = author.getEmail().toString();
+          else if (value == null && author.getUri() != null)
+            value = author.getUri().toString();
+
+          fHasAuthor = true;
+          fAuthor = fold(value);
+        }
+
+        setComputed(AUTHOR);
+      }
+    }
+
+    private void computeCategory() {
+      if (!isComputed(CATEGORY)) {
+        List<ICategory> categories = fNews.getCategories();
+        if (categories != null && categories.size() > 0) {
+          ICategory category = categories.get(0);
+          String value = category.getName();
+          if (value == null)
+            value = category.getDomain();
+
+          fHasCategory = true;
+          fCategory = fold(value);
+        }
+
+        setComputed(CATEGORY);
+      }
+    }
+
+    private boolean isComputed(int key) {
+      return (fComputed & key) != 0;
+    }
+
+    /*
+     * Writing the volatile Bits publishes the Key to other Threads. Two Threads
+     * may both compute the same Key, which is harmless as they compute the same
+     * Value, but setting the Bit of one Key must not lose the Bit of another.
+     */
+    private void setComputed(int key) {
+      int computed;
+      do {
+        computed = fComputed;
+      } while (!COMPUTED_UPDATER.compareAndSet(this, computed, computed | key));
+    }
+  }
+
+  /**
+   * Returns the sort keys of the given news, computing them if the news was
+   * not yet asked for or got invalidated.
+   *
+   * @param news the news to get the sort keys for.
+   * @return the sort keys of the given news.
+   */
+  Keys get(INews news) {
+    Keys keys = fKeys.get(news);
+    if (keys == null) {
+      keys = new Keys(news);
+      fKeys.put(news, keys);
+    }
+
+    return keys;
+  }
+
+  /**
+   * Returns new sort keys for the given news without keeping them.
+   *
+   * @param news the news to create the sort keys for.
+   * @return new sort keys of the given news.
+   */
+  Keys create(INews news) {
+    return new Keys(news);
+  }
+
+  /**
+   * Forgets the sort keys of the given news, e.g. because they got updated or
+   * deleted.
+   *
+   * @param news the news whose sort keys are no longer valid.
+   */
+  public void invalidate(Collection<INews> news) {
+    for (INews item : news) {
+      fKeys.remove(item);
+    }
+  }
+
+  /**
+   * Forgets the sort keys of all news, e.g. because the input changed.
+   */
+  public void clear() {
+    fKeys.clear();
+    fMapBinIdToLocation.clear();
+    fMapFeedLinkToLocation.clear();
+  }
+
+  /**
+   * @return the number of news that sort keys are kept for.
+   */
+  int size() {
+    return fKeys.size();
+  }
+
+  private String getLocation(INews news) {
+
+    /* Location: Bin */
+    if (news.getParentId() > 0) {
+      String location = fMapBinIdToLocation.get(news.getParentId());
+      if (location == null) {
+        NewsBinReference ref = new NewsBinReference(news.getParentId());
+        INewsBin bin = ref.resolve();
+        location = bin.getName();
+        fMapBinIdToLocation.put(news.getParentId(), location);
+      }
+
+      return location;
+    }
+
+    /* Location: Bookmark */
+    String location = fMapFeedLinkToLocation.get(news.getFeedLinkAsText());
+    if (location == null) {
+      IBookMark bookmark = CoreUtils.getBookMark(news.getFeedLinkAsText());
+      if (bookmark != null) {
+        location = bookmark.getName();
+        fMapFeedLinkToLocation.put(news.getFeedLinkAsText(), location);
+      }
+    }
+
+    return location;
+  }
+
+  private static long toMillis(Date date) {
+    return date != null ? date.getTime() : NO_DATE;
+  }
+
+  /**
+   * Folds the case of the given String so that {@link String#compareTo(String)}
+   * on folded Strings orders them like
+   * {@link String#compareToIgnoreCase(String)} on the original ones.
+   *
+   * @param str the String to fold or <code>null</code>.
+   * @return the folded String or <code>null</code> if the String was
+   * <code>null</code>.
+   */
+  static String fold(String str) {
+    if (str == null)
+      return null;
+
+    char[] chars = null;
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+      char folded = Character.toLowerCase(Character.toUpperCase(c));
+      if (folded != c) {
+        if (chars == null)
+          chars = str.toCharArray();
+
+        chars[i] = folded;
+      }
+    }
+
+    return chars != null ? new String(chars) : str;
+  }
+}
\ No newline at end of file
@@ -675,6 +675,12 @@ public class NewsTableControl implements IFeedViewPart {
         JobRunner.runInUIThread(fViewer.getTree(), new Runnable() {
           @Override
           public void run() {
+
+            /* Label Order might have changed */
+            NewsSortKeys sortKeys = fNewsSorter.getSortKeys();
+            if (sortKeys != null)
+              sortKeys.clear();
+
             fViewer.refresh(true);
           }
         });
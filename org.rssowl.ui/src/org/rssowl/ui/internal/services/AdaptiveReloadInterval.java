@@ -0,0 +1,203 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.ui.internal.services;
+
+import org.rssowl.core.persist.IFeed;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Learns how often the news of a Feed change and proposes the Interval to
+ * reload the Feed with. The Interval is lengthened for each Reload that did not
+ * bring newer News and reset to the Interval set by the user once it did. It is
+ * bounded by half of the median time between the most recent News dates
+ * observed, by a multiple of the Interval set by the user and by the TTL of the
+ * Feed. The skipHours and skipDays of the Feed are honored when proposing the
+ * next Reload.
+ * <p>
+ * Note: This class is thread-safe.
+ * </p>
+ */
+public final class AdaptiveReloadInterval {
+
+  /* Number of most recent News dates to learn the cadence from */
+  private static final int MAX_DATES = 8;
+
+  /* Factor to lengthen the Interval by for each Reload without newer News */
+  private static final double BACKOFF_FACTOR = 1.5;
+
+  /* Max. Factor to lengthen the Interval set by the user by */
+  static final int MAX_INTERVAL_FACTOR = 8;
+
+  /* Max. Interval in millis to lengthen the Interval set by the user to (1 Day) */
+  static final long MAX_INTERVAL = 24 * 60 * 60 * 1000L;
+
+  private static final long MINUTE = 60 * 1000L;
+
+  private final long[] fDates = new long[MAX_DATES];
+  private int fDatesCount;
+  private long fMostRecentDate = -1;
+  private double fBackoff = 1;
+  private boolean fHasFeedHints;
+  private int fTTL;
+  private int[] fHoursToSkip;
+  private int[] fDaysToSkip;
+
+  /**
+   * Records the most recent News date of the Feed as observed right before the
+   * Feed is reloaded.
+   *
+   * @param mostRecentNewsDate the most recent News date of the Feed or
+   * <code>null</code> if none.
+   * @return <code>true</code> if the date is newer than the one observed before
+   * and <code>false</code> otherwise.
+   */
+  public synchronized boolean observe(Date mostRecentNewsDate) {
+    long date = (mostRecentNewsDate != null) ? mostRecentNewsDate.getTime() : -1;
+
+    /* No newer News since the last Reload: Lengthen Interval */
+    if (date <= fMostRecentDate) {
+      fBackoff = Math.min(fBackoff * BACKOFF_FACTOR, MAX_INTERVAL_FACTOR);
+      return false;
+    }
+
+    /* Newer News: Remember Date and reset Interval */
+    if (fDatesCount == MAX_DATES)
+      System.arraycopy(fDates, 1, fDates, 0, --fDatesCount);
+    fDates[fDatesCount++] = date;
+    fMostRecentDate = date;
+    fBackoff = 1;
+
+    return true;
+  }
+
+  /**
+   * @return <code>true</code> if the hints of the Feed on how often to reload
+   * it have been set and <code>false</code> otherwise.
+   */
+  public synchronized boolean hasFeedHints() {
+    return fHasFeedHints;
+  }
+
+  /**
+   * Sets the hints of the Feed on how often to reload it.
+   *
+   * @param feed the Feed to read the TTL, skipHours and skipDays from.
+   */
+  public synchronized void setFeedHints(IFeed feed) {
+    fTTL = feed.getTTL();
+    fHoursToSkip = feed.getHoursToSkip();
+    fDaysToSkip = feed.getDaysToSkip();
+    fHasFeedHints = true;
+  }
+
+  /**
+   * @param userInterval the Interval in millis set by the user.
+   * @return the Interval in millis to reload the Feed with.
+   */
+  public synchronized long getInterval(long userInterval) {
+    long maxInterval = Math.max(userInterval, Math.min(userInterval * MAX_INTERVAL_FACTOR, MAX_INTERVAL));
+    long interval = (long) (userInterval * fBackoff);
+
+    /* Do not lengthen beyond half of the cadence of the Feed */
+    long medianGap = getMedianGap();
+    if (medianGap > 0)
+      interval = Math.min(interval, Math.max(userInterval, medianGap / 2));
+
+    interval = Math.min(interval, maxInterval);
+
+    /* Do not reload before the TTL of the Feed expired */
+    return Math.max(interval, fTTL * MINUTE);
+  }
+
+  /**
+   * @param now the current time in millis.
+   * @param userInterval the Interval in millis set by the user.
+   * @return the time in millis the Feed is due for its next Reload.
+   */
+  public synchronized long getNextDueTime(long now, long userInterval) {
+    return skip(now + getInterval(userInterval), fHoursToSkip, fDaysToSkip);
+  }
+
+  /**
+   * @param time a time in millis.
+   * @param hoursToSkip the hours (in GMT) not to reload a Feed in or
+   * <code>null</code> if none.
+   * @param daysToSkip the days as defined by {@link IFeed} (in GMT) not to
+   * reload a Feed in or <code>null</code> if none.
+   * @return the given time or the start of the next hour that is not to skip.
+   * If all hours are to skip, the given time is returned.
+   */
+  static long skip(long time, int[] hoursToSkip, int[] daysToSkip) {
+    if (hoursToSkip == null && daysToSkip == null)
+      return time;
+
+    Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT")); //$NON-NLS-1$
+    calendar.setTimeInMillis(time);
+
+    /* Move to the next Hour until it is neither a Day nor an Hour to skip */
+    for (int i = 0; i < 7 * 24; i++) {
+      int hour = calendar.get(Calendar.HOUR_OF_DAY);
+      int day = (calendar.get(Calendar.DAY_OF_WEEK) + 5) % 7; //Sunday is 1 in Calendar and 6 in IFeed
+      if (!contains(hoursToSkip, hour) && !contains(daysToSkip, day))
+        return (i == 0) ? time : calendar.getTimeInMillis();
+
+      calendar.set(Calendar.MINUTE, 0);
+      calendar.set(Calendar.SECOND, 0);
+      calendar.set(Calendar.MILLISECOND, 0);
+      calendar.add(Calendar.HOUR_OF_DAY, 1);
+    }
+
+    return time;
+  }
+
+  private static boolean contains(int[] values, int value) {
+    if (values != null) {
+      for (int candidate : values) {
+        if (candidate == value)
+          return true;
+      }
+    }
+
+    return false;
+  }
+
+  private long getMedianGap() {
+    if (fDatesCount < 2)
+      return 0;
+
+    long[] gaps = new long[fDatesCount - 1];
+    for (int i = 1; i < fDatesCount; i++) {
+      gaps[i - 1] = fDates[i] - fDates[i - 1];
+    }
+
+    Arrays.sort(gaps);
+    return gaps[gaps.length / 2];
+  }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.ui.internal.services;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Limits the rate at which all downloads together consume bytes. Every thread
+ * that read some bytes acquires them from the limiter and is put to sleep for
+ * as long as needed to stay within the rate.
+ * <p>
+ * Note: This class is thread-safe.
+ * </p>
+ */
+public final class BandwidthLimiter {
+  private long fBytesPerSecond;
+  private long fNextFree = System.nanoTime();
+
+  /**
+   * @param bytesPerSecond the maximum number of bytes per second or a value of
+   * <code>0</code> or less to not limit the rate.
+   */
+  public synchronized void setRate(long bytesPerSecond) {
+    fBytesPerSecond = bytesPerSecond;
+  }
+
+  /**
+   * @return the maximum number of bytes per second or a value of <code>0</code>
+   * or less if the rate is not limited.
+   */
+  public synchronized long getRate() {
+    return fBytesPerSecond;
+  }
+
+  /**
+   * Waits until the given number of bytes can be consumed without exceeding
+   * the rate.
+   *
+   * @param bytes the number of bytes to consume.
+   * @throws InterruptedIOException if the thread is interrupted while waiting.
+   */
+  public void acquire(int bytes) throws InterruptedIOException {
+    long wait;
+    synchronized (this) {
+      if (fBytesPerSecond <= 0)
+        return;
+
+      /* Reserve the Time it takes to consume the Bytes at the Rate */
+      long now = System.nanoTime();
+      if (fNextFree - now < 0)
+        fNextFree = now;
+
+      wait = fNextFree - now;
+      fNextFree += bytes * 1000000000L / fBytesPerSecond;
+    }
+
+    if (wait > 0) {
+      try {
+        Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+  }
+}
\ No newline at end of file
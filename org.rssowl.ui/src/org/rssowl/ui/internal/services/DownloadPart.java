@@ -0,0 +1,394 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+
+package org.rssowl.ui.internal.services;
+
+import org.rssowl.core.util.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A partially downloaded file together with what is needed to resume its
+ * download with HTTP Range requests after an error or a restart: the link,
+ * the validators and the length of the content and the segments of the file.
+ * Each segment is downloaded over its own connection from its start up to its
+ * end and the position up to which it is downloaded is kept. The metadata is
+ * stored in a file next to the part file.
+ * <p>
+ * Note: Only {@link #advance(int, int)} and the getters may be called
+ * concurrently.
+ * </p>
+ */
+public final class DownloadPart {
+
+  /* Suffix of the File the Metadata is stored in */
+  private static final String INFO_SUFFIX = ".info"; //$NON-NLS-1$
+
+  /* Keys of the Metadata */
+  private static final String KEY_LINK = "link"; //$NON-NLS-1$
+  private static final String KEY_ENTITY_TAG = "entityTag"; //$NON-NLS-1$
+  private static final String KEY_LAST_MODIFIED = "lastModified"; //$NON-NLS-1$
+  private static final String KEY_CONTENT_DISPOSITION = "contentDisposition"; //$NON-NLS-1$
+  private static final String KEY_LENGTH = "length"; //$NON-NLS-1$
+  private static final String KEY_SEGMENTS = "segments"; //$NON-NLS-1$
+
+  /* Separators of Segments and their Values */
+  private static final String SEGMENT_SEPARATOR = ","; //$NON-NLS-1$
+  private static final String VALUE_SEPARATOR = ":"; //$NON-NLS-1$
+
+  /* Prefix of weak Entity Tags that can not be used to resume */
+  private static final String WEAK_ENTITY_TAG = "W/"; //$NON-NLS-1$
+
+  private final File fFile;
+  private final URI fLink;
+  private String fEntityTag;
+  private String fLastModified;
+  private String fContentDisposition;
+  private long fLength;
+  private long[] fStarts;
+  private long[] fEnds;
+  private AtomicLongArray fPositions;
+
+  /**
+   * Creates a part that is downloaded in one segment.
+   *
+   * @param file the part file.
+   * @param link the link to download from.
+   * @param length the length of the content or <code>-1</code> if unknown.
+   */
+  public DownloadPart(File file, URI link, long length) {
+    fFile = file;
+    fLink = link;
+    reset(length);
+  }
+
+  /**
+   * @param file the part file.
+   * @return the part stored for the given part file or <code>null</code> if
+   * the part file or its metadata does not exist or can not be read.
+   */
+  public static DownloadPart load(File file) {
+    File infoFile = getInfoFile(file);
+    if (!file.exists() || !infoFile.exists())
+      return null;
+
+    Properties info = new Properties();
+    try {
+      InputStream in = new FileInputStream(infoFile);
+      try {
+        info.load(in);
+      } finally {
+        in.close();
+      }
+
+      DownloadPart part = new DownloadPart(file, new URI(info.getProperty(KEY_LINK)), Long.parseLong(info.getProperty(KEY_LENGTH)));
+      part.fEntityTag = info.getProperty(KEY_ENTITY_TAG);
+      part.fLastModified = info.getProperty(KEY_LAST_MODIFIED);
+      part.fContentDisposition = info.getProperty(KEY_CONTENT_DISPOSITION);
+
+      String[] segments = info.getProperty(KEY_SEGMENTS).split(SEGMENT_SEPARATOR);
+      part.fStarts = new long[segments.length];
+      part.fEnds = new long[segments.length];
+      part.fPositions = new AtomicLongArray(segments.length);
+      for (int i = 0; i < segments.length; i++) {
+        String[] values = segments[i].split(VALUE_SEPARATOR);
+        part.fStarts[i] = Long.parseLong(values[0]);
+        part.fPositions.set(i, Long.parseLong(values[1]));
+        part.fEnds[i] = Long.parseLong(values[2]);
+      }
+
+      /* The Part File must contain everything that was downloaded */
+      for (int i = 0; i < segments.length; i++) {
+        if (part.getPosition(i) > file.length())
+          return null;
+      }
+
+      return part;
+    } catch (IOException e) {
+      return null;
+    } catch (URISyntaxException e) {
+      return null;
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Stores the metadata of this part next to the part file.
+   *
+   * @throws IOException in case of an error writing the metadata.
+   */
+  public void save() throws IOException {
+    Properties info = new Properties();
+    info.setProperty(KEY_LINK, fLink.toString());
+    info.setProperty(KEY_LENGTH, String.valueOf(fLength));
+    if (fEntityTag != null)
+      info.setProperty(KEY_ENTITY_TAG, fEntityTag);
+    if (fLastModified != null)
+      info.setProperty(KEY_LAST_MODIFIED, fLastModified);
+    if (fContentDisposition != null)
+      info.setProperty(KEY_CONTENT_DISPOSITION, fContentDisposition);
+
+    StringBuilder segments = new StringBuilder();
+    for (int i = 0; i < fStarts.length; i++) {
+      if (i > 0)
+        segments.append(SEGMENT_SEPARATOR);
+      segments.append(fStarts[i]).append(VALUE_SEPARATOR).append(getPosition(i)).append(VALUE_SEPARATOR).append(fEnds[i]);
+    }
+    info.setProperty(KEY_SEGMENTS, segments.toString());
+
+    OutputStream out = new FileOutputStream(getInfoFile(fFile));
+    try {
+      info.store(out, null);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Deletes the part file and its metadata.
+   */
+  public void delete() {
+    fFile.delete();
+    getInfoFile(fFile).delete();
+  }
+
+  /**
+   * Deletes the metadata of this part once the part file is complete.
+   */
+  public void deleteInfo() {
+    getInfoFile(fFile).delete();
+  }
+
+  private static File getInfoFile(File file) {
+    return new File(file.getParentFile(), file.getName() + INFO_SUFFIX);
+  }
+
+  /**
+   * Starts this part over in one segment.
+   *
+   * @param length the length of the content or <code>-1</code> if unknown.
+   */
+  public void reset(long length) {
+    fLength = length;
+    fStarts = new long[] { 0 };
+    fEnds = new long[] { length };
+    fPositions = new AtomicLongArray(1);
+  }
+
+  /**
+   * Splits a part of known length that is not downloaded yet into segments of
+   * about the same length.
+   *
+   * @param segments the number of segments.
+   */
+  public void split(int segments) {
+    if (fLength <= 0 || segments < 2 || getDownloaded() > 0)
+      return;
+
+    fStarts = new long[segments];
+    fEnds = new long[segments];
+    fPositions = new AtomicLongArray(segments);
+    long segmentLength = fLength / segments;
+    for (int i = 0; i < segments; i++) {
+      fStarts[i] = i * segmentLength;
+      fPositions.set(i, fStarts[i]);
+      fEnds[i] = (i == segments - 1) ? fLength : (i + 1) * segmentLength;
+    }
+  }
+
+  /**
+   * @param segment the index of the segment.
+   * @param bytes the number of bytes that were written at the position of the
+   * segment.
+   */
+  public void advance(int segment, int bytes) {
+    fPositions.addAndGet(segment, bytes);
+  }
+
+  /**
+   * Ends a segment of unknown length at its position.
+   *
+   * @param segment the index of the segment.
+   */
+  public void finish(int segment) {
+    fEnds[segment] = getPosition(segment);
+    if (fStarts.length == 1)
+      fLength = fEnds[segment];
+  }
+
+  /**
+   * @return the part file.
+   */
+  public File getFile() {
+    return fFile;
+  }
+
+  /**
+   * @return the link to download from.
+   */
+  public URI getLink() {
+    return fLink;
+  }
+
+  /**
+   * @return the length of the content or <code>-1</code> if unknown.
+   */
+  public long getLength() {
+    return fLength;
+  }
+
+  /**
+   * @return the number of segments.
+   */
+  public int getSegmentCount() {
+    return fStarts.length;
+  }
+
+  /**
+   * @param segment the index of the segment.
+   * @return the position up to which the segment is downloaded.
+   */
+  public long getPosition(int segment) {
+    return fPositions.get(segment);
+  }
+
+  /**
+   * @param segment the index of the segment.
+   * @return the position the segment ends at (exclusive) or <code>-1</code>
+   * if unknown.
+   */
+  public long getEnd(int segment) {
+    return fEnds[segment];
+  }
+
+  /**
+   * @param segment the index of the segment.
+   * @return <code>true</code> if the segment is downloaded completely.
+   */
+  public boolean isComplete(int segment) {
+    return fEnds[segment] >= 0 && getPosition(segment) >= fEnds[segment];
+  }
+
+  /**
+   * @return <code>true</code> if all segments are downloaded completely.
+   */
+  public boolean isComplete() {
+    for (int i = 0; i < fStarts.length; i++) {
+      if (!isComplete(i))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * @return the index of the first segment that is not downloaded completely
+   * or <code>-1</code> if none.
+   */
+  public int getIncompleteSegment() {
+    for (int i = 0; i < fStarts.length; i++) {
+      if (!isComplete(i))
+        return i;
+    }
+
+    return -1;
+  }
+
+  /**
+   * @return the number of bytes downloaded over all segments.
+   */
+  public long getDownloaded() {
+    long downloaded = 0;
+    for (int i = 0; i < fStarts.length; i++)
+      downloaded += getPosition(i) - fStarts[i];
+
+    return downloaded;
+  }
+
+  /**
+   * @param segment the index of the segment.
+   * @return the value of the HTTP Range header to request the rest of the
+   * segment.
+   */
+  public String getRange(int segment) {
+    StringBuilder range = new StringBuilder("bytes=").append(getPosition(segment)).append('-'); //$NON-NLS-1$
+    if (fEnds[segment] >= 0)
+      range.append(fEnds[segment] - 1);
+
+    return range.toString();
+  }
+
+  /**
+   * @return the value of the HTTP If-Range header to make sure the rest of the
+   * content is only sent if it did not change or <code>null</code> if the part
+   * can not be resumed safely.
+   */
+  public String getValidator() {
+    if (StringUtils.isSet(fEntityTag) && !fEntityTag.startsWith(WEAK_ENTITY_TAG))
+      return fEntityTag;
+
+    if (StringUtils.isSet(fLastModified))
+      return fLastModified;
+
+    return null;
+  }
+
+  /**
+   * @param entityTag the value of the ETag header of the content or
+   * <code>null</code> if none.
+   * @param lastModified the value of the Last-Modified header of the content or
+   * <code>null</code> if none.
+   */
+  public void setValidators(String entityTag, String lastModified) {
+    fEntityTag = entityTag;
+    fLastModified = lastModified;
+  }
+
+  /**
+   * @return the value of the Content-Disposition header of the content or
+   * <code>null</code> if none.
+   */
+  public String getContentDisposition() {
+    return fContentDisposition;
+  }
+
+  /**
+   * @param contentDisposition the value of the Content-Disposition header of
+   * the content or <code>null</code> if none.
+   */
+  public void setContentDisposition(String contentDisposition) {
+    fContentDisposition = contentDisposition;
+  }
+}
\ No newline at end of file
@@ -28,7 +28,9 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.window.Window;
@@ -48,7 +50,9 @@ import org.rssowl.core.internal.InternalOwl;
 import org.rssowl.core.internal.persist.pref.DefaultPreferences;
 import org.rssowl.core.persist.IAttachment;
 import org.rssowl.core.persist.INews;
+import org.rssowl.core.persist.dao.OwlDAO;
 import org.rssowl.core.persist.pref.IPreferenceScope;
+import org.rssowl.core.persist.service.PersistenceException;
 import org.rssowl.core.util.CoreUtils;
 import org.rssowl.core.util.DateUtils;
 import org.rssowl.core.util.StreamGobbler;
@@ -61,14 +65,19 @@ import org.rssowl.ui.internal.dialogs.LoginDialog;
 import org.rssowl.ui.internal.util.DownloadJobQueue;
 import org.rssowl.ui.internal.util.JobRunner;
 
+import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
@@ -77,17 +86,30 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A service to download files in a {@link DownloadJobQueue} with proper
- * progress reporting.
+ * progress reporting. Downloads are written to a part file first that is kept
+ * on errors and shutdown to resume the download later using HTTP ranges. Large
+ * files are downloaded over several connections if the server supports ranges
+ * and the rate of all downloads can be limited.
  *
  * @author bpasero
  */
 public class DownloadService {
 
-  /* Max. number of concurrent Jobs for downloading files */
-  private static final int MAX_CONCURRENT_DOWNLOAD_JOBS = 3;
+  /* Max. number of connections to download a single file */
+  private static final int MAX_DOWNLOAD_CONNECTIONS = 8;
+
+  /* Min. length of a file to download it over several connections */
+  private static final long SEGMENTED_DOWNLOAD_MIN_LENGTH = 8 * 1024 * 1024;
+
+  /* Interval in MS to store the state of a running download */
+  private static final long PART_SAVE_INTERVAL = 5000;
 
   /* Connection Timeouts in MS */
   private static final int DEFAULT_CON_TIMEOUT = 30000;
@@ -110,12 +132,28 @@ public class DownloadService {
   /* Filename portion of content disposition header */
   private static final String CONTENT_DISPOSITION_FILENAME = "filename="; //$NON-NLS-1$
 
+  /* Headers and Values to resume Downloads */
+  private static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding"; //$NON-NLS-1$
+  private static final String HEADER_RANGE = "Range"; //$NON-NLS-1$
+  private static final String HEADER_IF_RANGE = "If-Range"; //$NON-NLS-1$
+  private static final String IDENTITY_ENCODING = "identity"; //$NON-NLS-1$
+  private static final String ACCEPT_RANGES_BYTES = "bytes"; //$NON-NLS-1$
+  private static final String CONTENT_RANGE_BYTES = "bytes "; //$NON-NLS-1$
+  private static final int HTTP_STATUS_PARTIAL_CONTENT = 206;
+
+  /* Kinds of pending Downloads and the Separator of their Fields */
+  private static final String PENDING_ATTACHMENT = "a"; //$NON-NLS-1$
+  private static final String PENDING_NEWS = "n"; //$NON-NLS-1$
+  private static final char PENDING_SEPARATOR = '\n';
+
   /* Some Content Types that identify a HTML content */
   private static final List<String> HTML_CONTENT_TYPES = Arrays.asList(new String[] { "text/html", "application/xhtml+xml" }); //$NON-NLS-1$ //$NON-NLS-2$
 
   private DownloadJobQueue fDownloadQueue;
-  private Map<OutputStream, OutputStream> fOutputStreamMap = new ConcurrentHashMap<OutputStream, OutputStream>();
+  private Map<Closeable, Closeable> fOpenFiles = new ConcurrentHashMap<Closeable, Closeable>();
   private IPreferenceScope fPreferences = Owl.getPreferenceService().getGlobalScope();
+  private final BandwidthLimiter fBandwidthLimiter = new BandwidthLimiter();
+  private final Object fPendingLock = new Object();
 
   /* Task for a Download */
   private class AttachmentDownloadTask extends DownloadJobQueue.DownloadTask {
@@ -232,7 +270,8 @@ public class DownloadService {
 
   /** Default Constructor to create a Download Queue */
   public DownloadService() {
-    fDownloadQueue = new DownloadJobQueue(Messages.DownloadService_DOWNLOADING_TITLE, MAX_CONCURRENT_DOWNLOAD_JOBS, Integer.MAX_VALUE);
+    int maxConcurrentDownloads = Math.max(1, fPreferences.getInteger(DefaultPreferences.MAX_CONCURRENT_DOWNLOADS));
+    fDownloadQueue = new DownloadJobQueue(Messages.DownloadService_DOWNLOADING_TITLE, maxConcurrentDownloads, Integer.MAX_VALUE);
   }
 
   /**
@@ -242,8 +281,129 @@ public class DownloadService {
     AttachmentDownloadTask task = new AttachmentDownloadTask(download);
     if (InternalOwl.TESTING) //Support to test the download service from JUnit
       internalDownload(download, new StreamGobbler(null), new NullProgressMonitor());
-    else if (!fDownloadQueue.isQueued(task))
+    else if (!fDownloadQueue.isQueued(task)) {
+      addPending(download);
       fDownloadQueue.schedule(task);
+    }
+  }
+
+  /**
+   * Schedules the downloads that did not complete before the last shutdown.
+   * Downloads that were partially written to disk are resumed from where they
+   * stopped.
+   */
+  public void resumeDownloads() {
+    for (String entry : loadPending()) {
+      DownloadRequest request = fromPendingEntry(entry);
+      if (request != null) {
+        AttachmentDownloadTask task = new AttachmentDownloadTask(request);
+        if (!fDownloadQueue.isQueued(task))
+          fDownloadQueue.schedule(task);
+      } else
+        removePending(entry);
+    }
+  }
+
+  private void addPending(DownloadRequest request) {
+    String entry = toPendingEntry(request);
+    if (entry == null)
+      return;
+
+    synchronized (fPendingLock) {
+      List<String> pending = loadPending();
+      if (!pending.contains(entry)) {
+        pending.add(entry);
+        fPreferences.putStrings(DefaultPreferences.PENDING_DOWNLOADS, pending.toArray(new String[pending.size()]));
+      }
+    }
+  }
+
+  private void removePending(DownloadRequest request) {
+    String entry = toPendingEntry(request);
+    if (entry != null)
+      removePending(entry);
+  }
+
+  private void removePending(String entry) {
+    synchronized (fPendingLock) {
+      List<String> pending = loadPending();
+      if (pending.remove(entry)) {
+        if (pending.isEmpty())
+          fPreferences.delete(DefaultPreferences.PENDING_DOWNLOADS);
+        else
+          fPreferences.putStrings(DefaultPreferences.PENDING_DOWNLOADS, pending.toArray(new String[pending.size()]));
+      }
+    }
+  }
+
+  private List<String> loadPending() {
+    String[] pending = fPreferences.getStrings(DefaultPreferences.PENDING_DOWNLOADS);
+    if (pending == null)
+      return new ArrayList<String>();
+
+    return new ArrayList<String>(Arrays.asList(pending));
+  }
+
+  /* Kind, ID, Target Folder, Chosen Name, User Initiated and Link of the Download */
+  private String toPendingEntry(DownloadRequest request) {
+    String kind;
+    Long id;
+    if (request.isAttachmentDownloadRequest()) {
+      kind = PENDING_ATTACHMENT;
+      id = request.getAttachment().getId();
+    } else {
+      kind = PENDING_NEWS;
+      id = request.getNews().getId();
+    }
+
+    /* Only Entities that can be loaded again */
+    if (id == null)
+      return null;
+
+    StringBuilder entry = new StringBuilder();
+    entry.append(kind).append(PENDING_SEPARATOR);
+    entry.append(id).append(PENDING_SEPARATOR);
+    entry.append(request.getTargetFolder().getPath()).append(PENDING_SEPARATOR);
+    entry.append(StringUtils.isSet(request.getUserChosenFilename()) ? request.getUserChosenFilename() : "").append(PENDING_SEPARATOR); //$NON-NLS-1$
+    entry.append(request.isUserInitiated()).append(PENDING_SEPARATOR);
+    entry.append(request.getLink());
+
+    return entry.toString();
+  }
+
+  private DownloadRequest fromPendingEntry(String entry) {
+    String[] fields = entry.split(String.valueOf(PENDING_SEPARATOR), -1);
+    if (fields.length != 6)
+      return null;
+
+    try {
+      long id = Long.parseLong(fields[1]);
+      File targetFolder = new File(fields[2]);
+      String userChosenFilename = StringUtils.isSet(fields[3]) ? fields[3] : null;
+      boolean isUserInitiated = Boolean.parseBoolean(fields[4]);
+      URI link = new URI(fields[5]);
+
+      if (!targetFolder.isDirectory())
+        return null;
+
+      if (PENDING_ATTACHMENT.equals(fields[0])) {
+        IAttachment attachment = OwlDAO.load(IAttachment.class, id);
+        if (attachment != null)
+          return new DownloadRequest(link, targetFolder, attachment, null, isUserInitiated, userChosenFilename);
+      } else if (PENDING_NEWS.equals(fields[0])) {
+        INews news = OwlDAO.load(INews.class, id);
+        if (news != null)
+          return new DownloadRequest(link, targetFolder, null, news, isUserInitiated, userChosenFilename);
+      }
+    } catch (NumberFormatException e) {
+      /* Ignore */
+    } catch (URISyntaxException e) {
+      /* Ignore */
+    } catch (PersistenceException e) {
+      Activator.getDefault().logError(e.getMessage(), e);
+    }
+
+    return null;
   }
 
   private IStatus internalDownload(final DownloadRequest request, Job job, final IProgressMonitor monitor) {
@@ -261,38 +421,56 @@ public class DownloadService {
 
     job.setProperty(IProgressConstants.ICON_PROPERTY, OwlUI.getAttachmentImage(downloadFileName, request.getType()));
 
-    int bytesConsumed = 0;
+    long bytesConsumed = 0;
+    boolean keepPending = false;
     try {
       IProtocolHandler handler = Owl.getConnectionService().getHandler(request.getLink());
       if (handler != null) {
-        Map<Object, Object> properties = new HashMap<Object, Object>();
-        properties.put(IConnectionPropertyConstants.CON_TIMEOUT, DEFAULT_CON_TIMEOUT);
 
         /* Check for Cancellation and Shutdown */
-        if (monitor.isCanceled() || Controller.getDefault().isShuttingDown())
+        if (monitor.isCanceled() || Controller.getDefault().isShuttingDown()) {
+          keepPending = Controller.getDefault().isShuttingDown();
           return Status.CANCEL_STATUS;
+        }
 
-        /* Initialize Fields */
-        long bytesPerSecond = 0;
-        long lastTaskNameUpdate = 0;
-        long lastBytesCheck = 0;
-        int length = request.getLength();
-        byte[] buffer = new byte[8192];
+        /* Apply the Limit for the Rate of all Downloads */
+        fBandwidthLimiter.setRate(fPreferences.getInteger(DefaultPreferences.MAX_DOWNLOAD_RATE) * 1024L);
 
-        /* First Download to a temporary File */
-        int contentLength = length;
+        /* First Download to a temporary File (resume a previous Download if any) */
+        long contentLength = request.getLength();
+        DownloadPart part = findPart(request, downloadFileName);
+        int segment = (part != null) ? part.getIncompleteSegment() : 0;
         InputStream in = null;
-        FileOutputStream out = null;
-        File partFile = null;
+        RandomAccessFile out = null;
         boolean canceled = false;
         Exception error = null;
         try {
 
           /* Open Stream */
-          in = handler.openStream(request.getLink(), monitor, properties);
+          try {
+            in = handler.openStream(request.getLink(), monitor, getConnectionProperties(part, segment));
+          } catch (ConnectionException e) {
+            if (part == null || e instanceof AuthenticationRequiredException)
+              throw e;
+
+            /* The Part can no longer be resumed, start over */
+            part.delete();
+            part = null;
+            segment = 0;
+            in = handler.openStream(request.getLink(), monitor, getConnectionProperties(null, 0));
+          }
+
+          /* Start over unless the Server sends the rest of the Part */
+          if (part != null && !isPartialContent(in, part.getPosition(segment))) {
+            part.delete();
+            part = null;
+            segment = 0;
+          }
 
           /* Obtain real Content Length from Stream if available */
-          if (in instanceof HttpConnectionInputStream) {
+          if (part != null && part.getLength() > 0)
+            contentLength = part.getLength();
+          else if (in instanceof HttpConnectionInputStream) {
             int len = ((HttpConnectionInputStream) in).getContentLength();
             if (len > 0)
               contentLength = len;
@@ -307,66 +485,32 @@ public class DownloadService {
             }
           }
 
-          /* Begin Task (now because the real content length is known at this point) */
-          job.setName(NLS.bind(Messages.DownloadService_DOWNLOADING, downloadFileName));
-          monitor.beginTask(formatTask(bytesConsumed, contentLength, -1), contentLength > 0 ? contentLength : DEFAULT_TASK_LENGTH);
-
           /* Create tmp part File */
-          partFile = getPartFile(request.getTargetFolder(), downloadFileName);
-
-          /* Maybe the chosen directory is not writeable */
-          if (partFile == null) {
-            canceled = true;
-            return Status.CANCEL_STATUS;
-          }
-
-          /* Keep Outputstream for later */
-          out = new FileOutputStream(partFile);
-          fOutputStreamMap.put(out, out);
+          if (part == null) {
+            File partFile = getPartFile(request.getTargetFolder(), downloadFileName);
 
-          /* Download */
-          while (true) {
-
-            /* Check for Cancellation and Shutdown */
-            if (monitor.isCanceled() || Controller.getDefault().isShuttingDown()) {
+            /* Maybe the chosen directory is not writeable */
+            if (partFile == null) {
               canceled = true;
               return Status.CANCEL_STATUS;
             }
 
-            /* Read from Stream */
-            int read = in.read(buffer);
-            bytesConsumed += read;
-            if (read == -1)
-              break;
-
-            /* Write to File */
-            out.write(buffer, 0, read);
-
-            /* Update Task Name once per Second */
-            long now = System.currentTimeMillis();
-            long timeDiff = (now - lastTaskNameUpdate);
-            if (timeDiff > 1000) {
-              long bytesDiff = bytesConsumed - lastBytesCheck;
-              bytesPerSecond = bytesDiff / (timeDiff / 1000);
-              monitor.setTaskName(formatTask(bytesConsumed, contentLength, (int) bytesPerSecond));
-              lastTaskNameUpdate = now;
-              lastBytesCheck = bytesConsumed;
-            }
+            part = createPart(partFile, request.getLink(), contentLength, in);
+          }
 
-            /* Report accurate progress */
-            if (request.getLength() > 0)
-              monitor.worked(read);
+          /* Begin Task (now because the real content length is known at this point) */
+          job.setName(NLS.bind(Messages.DownloadService_DOWNLOADING, downloadFileName));
+          monitor.beginTask(formatTask(part.getDownloaded(), contentLength, -1), DEFAULT_TASK_LENGTH);
 
-            /* Report calculated progress if possible */
-            else if (contentLength > 0) {
-              float relWorked = read / (float) contentLength;
-              monitor.worked((int) (relWorked * DEFAULT_TASK_LENGTH));
-            }
+          /* Keep File for later */
+          out = new RandomAccessFile(part.getFile(), "rw"); //$NON-NLS-1$
+          fOpenFiles.put(out, out);
 
-            /* Use a generic Progress Value */
-            else
-              monitor.worked(DEFAULT_WORKED);
-          }
+          /* Download */
+          canceled = !transfer(request, handler, part, segment, in, out.getChannel(), contentLength, monitor);
+          bytesConsumed = part.getDownloaded();
+          if (canceled)
+            return Status.CANCEL_STATUS;
         } catch (FileNotFoundException e) {
           error = e;
           return Activator.getDefault().createErrorStatus(e.getMessage(), e);
@@ -426,6 +570,7 @@ public class DownloadService {
           /* User has Provided Login Credentials - cancel this Task */
           monitor.setCanceled(true);
           canceled = true;
+          keepPending = true;
           return Status.CANCEL_STATUS;
         } finally {
           monitor.done();
@@ -445,22 +590,29 @@ public class DownloadService {
             monitor.setTaskName(Messages.DownloadService_TRY_AGAIN);
           }
 
-          /* Close Output Stream */
+          /* Close File */
           if (out != null) {
             try {
               out.close();
-              fOutputStreamMap.remove(out);
-              if (partFile != null && (canceled || error != null))
-                partFile.delete();
+              fOpenFiles.remove(out);
             } catch (IOException e) {
-              return Activator.getDefault().createErrorStatus(e.getMessage(), e);
+              error = e;
             }
           }
 
-          /* Close Input Stream */
+          /* Keep the Part to resume it later unless the User canceled or nothing was downloaded */
+          if (part != null && (canceled || error != null)) {
+            boolean shuttingDown = Controller.getDefault().isShuttingDown();
+            if ((error != null || shuttingDown) && part.getDownloaded() > 0 && savePart(part))
+              keepPending = true;
+            else
+              part.delete();
+          }
+
+          /* Close Input Stream (abort if not read to the end) */
           if (in != null) {
             try {
-              if ((canceled || error != null) && in instanceof IAbortable)
+              if ((canceled || error != null || part == null || part.getSegmentCount() > 1) && in instanceof IAbortable)
                 ((IAbortable) in).abort();
               else
                 in.close();
@@ -472,27 +624,26 @@ public class DownloadService {
 
         /* Check for Cancellation and Shutdown */
         if (monitor.isCanceled() || Controller.getDefault().isShuttingDown()) {
-          if (partFile != null)
-            partFile.delete();
+          keepPending = Controller.getDefault().isShuttingDown() && savePart(part);
+          if (!keepPending)
+            part.delete();
           return Status.CANCEL_STATUS;
         }
 
-        /* Something was not working right if the part file is null */
-        if (partFile == null)
-          return Status.CANCEL_STATUS;
-
         /* Now copy over the part file to the actual file in an atomic operation */
         String finalFileName;
         if (StringUtils.isSet(request.getUserChosenFilename()))
           finalFileName = request.getUserChosenFilename();
         else
-          finalFileName = getDownloadFileName(request, in);
+          finalFileName = getDownloadFileName(request, part.getContentDisposition());
 
+        File partFile = part.getFile();
         File downloadFile = new File(request.getTargetFolder(), finalFileName);
         if (!partFile.renameTo(downloadFile)) {
           downloadFile.delete();
           partFile.renameTo(downloadFile);
         }
+        part.deleteInfo();
 
         /* Offer Action to Open Attachment by keeping Job in Viewer if set */
         if (!fPreferences.getBoolean(DefaultPreferences.HIDE_COMPLETED_DOWNLOADS)) {
@@ -502,6 +653,11 @@ public class DownloadService {
       }
     } catch (ConnectionException e) {
       return Activator.getDefault().createErrorStatus(e.getMessage(), e);
+    } finally {
+
+      /* Forget the Download unless it is to be resumed */
+      if (!keepPending)
+        removePending(request);
     }
 
     /* Update Job Name */
@@ -514,6 +670,303 @@ public class DownloadService {
     return new Status(IStatus.OK, Activator.PLUGIN_ID, Messages.DownloadService_OPEN_FOLDER);
   }
 
+  /*
+   * Downloads the missing segments of the part. The given stream serves the
+   * given segment while all other segments are downloaded over own
+   * connections in Jobs of the download queue, so that canceling the queue
+   * reaches them as well. Returns false if the download was canceled.
+   */
+  private boolean transfer(final DownloadRequest request, final IProtocolHandler handler, final DownloadPart part, int segment, InputStream in, final FileChannel channel, long contentLength, final IProgressMonitor monitor) throws IOException, ConnectionException {
+    final AtomicBoolean stop = new AtomicBoolean();
+    final AtomicReference<Exception> error = new AtomicReference<Exception>();
+    final Map<InputStream, InputStream> streams = new ConcurrentHashMap<InputStream, InputStream>();
+    DownloadProgress progress = new DownloadProgress(part, contentLength, monitor);
+
+    /* Collect the other Segments to download */
+    List<Integer> otherSegments = new ArrayList<Integer>();
+    for (int i = 0; i < part.getSegmentCount(); i++) {
+      if (i != segment && !part.isComplete(i))
+        otherSegments.add(i);
+    }
+
+    /* Download the other Segments over own Connections */
+    final CountDownLatch segmentsDone = new CountDownLatch(otherSegments.size());
+    for (final int otherSegment : otherSegments) {
+      Job job = new Job("Download Segment " + otherSegment) { //$NON-NLS-1$
+        @Override
+        protected IStatus run(IProgressMonitor segmentMonitor) {
+          InputStream otherIn = null;
+          try {
+            otherIn = handler.openStream(request.getLink(), segmentMonitor, getConnectionProperties(part, otherSegment));
+            streams.put(otherIn, otherIn);
+            if (!isPartialContent(otherIn, part.getPosition(otherSegment)))
+              throw new IOException(NLS.bind(Messages.DownloadService_ERROR_NO_RANGE, request.getLink()));
+
+            copy(otherIn, channel, part, otherSegment, stop, segmentMonitor, null);
+          } catch (Exception e) {
+            if (!stop.getAndSet(true))
+              error.set(e);
+          } finally {
+            if (otherIn != null) {
+              streams.remove(otherIn);
+              abort(otherIn);
+            }
+          }
+
+          return segmentMonitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+          return family == fDownloadQueue;
+        }
+      };
+
+      /* Count down even if the Job is canceled before it runs */
+      job.addJobChangeListener(new JobChangeAdapter() {
+        @Override
+        public void done(IJobChangeEvent event) {
+          segmentsDone.countDown();
+        }
+      });
+
+      job.setSystem(true);
+      job.schedule();
+    }
+
+    /* Download the Segment of the given Stream */
+    try {
+      copy(in, channel, part, segment, stop, monitor, progress);
+    } catch (IOException e) {
+      if (!stop.getAndSet(true))
+        error.set(e);
+    }
+
+    /* Wait for the other Segments while reporting Progress */
+    try {
+      while (!segmentsDone.await(250, TimeUnit.MILLISECONDS)) {
+        if (stop.get() || monitor.isCanceled() || Controller.getDefault().isShuttingDown()) {
+          stop.set(true);
+          for (InputStream stream : streams.keySet())
+            abort(stream);
+        }
+
+        progress.run();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      stop.set(true);
+    }
+
+    /* Report first Error */
+    Exception e = error.get();
+    if (e instanceof IOException)
+      throw (IOException) e;
+    else if (e instanceof ConnectionException)
+      throw (ConnectionException) e;
+    else if (e instanceof RuntimeException)
+      throw (RuntimeException) e;
+    else if (e != null)
+      throw new IOException(e.getMessage(), e);
+
+    if (!part.isComplete()) {
+      if (monitor.isCanceled() || Controller.getDefault().isShuttingDown())
+        return false;
+
+      throw new IOException(NLS.bind(Messages.DownloadService_ERROR_INCOMPLETE, request.getLink()));
+    }
+
+    return true;
+  }
+
+  /* Copies the Segment from the Stream into the Part File at the Position of the Segment */
+  private void copy(InputStream in, FileChannel channel, DownloadPart part, int segment, AtomicBoolean stop, IProgressMonitor monitor, Runnable progress) throws IOException {
+    byte[] buffer = new byte[8192];
+    while (!part.isComplete(segment)) {
+
+      /* Check for Cancellation and Shutdown */
+      if (stop.get() || monitor.isCanceled() || Controller.getDefault().isShuttingDown())
+        return;
+
+      /* Read from Stream (not beyond the End of the Segment) */
+      long end = part.getEnd(segment);
+      int max = end < 0 ? buffer.length : (int) Math.min(buffer.length, end - part.getPosition(segment));
+      int read = in.read(buffer, 0, max);
+      if (read == -1) {
+        if (end < 0) {
+          part.finish(segment);
+          return;
+        }
+
+        throw new EOFException(NLS.bind(Messages.DownloadService_ERROR_INCOMPLETE, part.getLink()));
+      }
+
+      /* Stay within the Rate of all Downloads */
+      fBandwidthLimiter.acquire(read);
+
+      /* Write to File */
+      ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+      long position = part.getPosition(segment);
+      while (bytes.hasRemaining())
+        channel.write(bytes, position + bytes.position());
+      part.advance(segment, read);
+
+      if (progress != null)
+        progress.run();
+    }
+  }
+
+  /* Reports the Progress of a Download and stores its Part regularly */
+  private class DownloadProgress implements Runnable {
+    private final DownloadPart fPart;
+    private final long fContentLength;
+    private final IProgressMonitor fMonitor;
+    private long fLastTaskNameUpdate;
+    private long fLastBytesCheck;
+    private long fLastPartSave = System.currentTimeMillis();
+    private int fWorked;
+
+    DownloadProgress(DownloadPart part, long contentLength, IProgressMonitor monitor) {
+      fPart = part;
+      fContentLength = contentLength;
+      fMonitor = monitor;
+      fLastBytesCheck = part.getDownloaded();
+      fWorked = getWorked(fLastBytesCheck);
+      monitor.worked(fWorked);
+    }
+
+    @Override
+    public void run() {
+      long bytesConsumed = fPart.getDownloaded();
+
+      /* Update Task Name once per Second */
+      long now = System.currentTimeMillis();
+      long timeDiff = (now - fLastTaskNameUpdate);
+      if (timeDiff > 1000) {
+        long bytesDiff = bytesConsumed - fLastBytesCheck;
+        long bytesPerSecond = bytesDiff / (timeDiff / 1000);
+        fMonitor.setTaskName(formatTask(bytesConsumed, fContentLength, bytesPerSecond));
+        fLastTaskNameUpdate = now;
+        fLastBytesCheck = bytesConsumed;
+      }
+
+      /* Report calculated progress if possible */
+      if (fContentLength > 0) {
+        int worked = getWorked(bytesConsumed);
+        if (worked > fWorked) {
+          fMonitor.worked(worked - fWorked);
+          fWorked = worked;
+        }
+      }
+
+      /* Use a generic Progress Value */
+      else
+        fMonitor.worked(DEFAULT_WORKED);
+
+      /* Store the Part regularly to resume from after a Crash */
+      if (now - fLastPartSave > PART_SAVE_INTERVAL) {
+        savePart(fPart);
+        fLastPartSave = now;
+      }
+    }
+
+    private int getWorked(long bytesConsumed) {
+      if (fContentLength <= 0)
+        return 0;
+
+      return (int) (Math.min(bytesConsumed, fContentLength) * DEFAULT_TASK_LENGTH / fContentLength);
+    }
+  }
+
+  private Map<Object, Object> getConnectionProperties(DownloadPart part, int segment) {
+    Map<Object, Object> properties = new HashMap<Object, Object>();
+    properties.put(IConnectionPropertyConstants.CON_TIMEOUT, DEFAULT_CON_TIMEOUT);
+
+    /* Byte Ranges are only meaningful for the Content as is */
+    Map<String, String> headers = new HashMap<String, String>();
+    headers.put(HEADER_ACCEPT_ENCODING, IDENTITY_ENCODING);
+
+    /* Ask for the Rest of the Segment if it did not change meanwhile */
+    if (part != null) {
+      headers.put(HEADER_RANGE, part.getRange(segment));
+      headers.put(HEADER_IF_RANGE, part.getValidator());
+    }
+
+    properties.put(IConnectionPropertyConstants.HEADERS, headers);
+    return properties;
+  }
+
+  /* Returns true if the Stream serves the Content from the given Position on */
+  private boolean isPartialContent(InputStream in, long position) {
+    if (!(in instanceof HttpConnectionInputStream))
+      return false;
+
+    HttpConnectionInputStream httpIn = (HttpConnectionInputStream) in;
+    String contentRange = httpIn.getContentRange();
+    if (httpIn.getStatusCode() != HTTP_STATUS_PARTIAL_CONTENT || contentRange == null)
+      return false;
+
+    /* Content-Range: bytes <first>-<last>/<length> */
+    String prefix = CONTENT_RANGE_BYTES + position + "-"; //$NON-NLS-1$
+    return contentRange.trim().startsWith(prefix);
+  }
+
+  /* Creates a new Part and splits it if the File is large and Ranges are supported */
+  private DownloadPart createPart(File partFile, URI link, long contentLength, InputStream in) {
+    DownloadPart part = new DownloadPart(partFile, link, contentLength > 0 ? contentLength : -1);
+    if (in instanceof HttpConnectionInputStream) {
+      HttpConnectionInputStream httpIn = (HttpConnectionInputStream) in;
+      part.setValidators(httpIn.getIfNoneMatch(), httpIn.getIfModifiedSince());
+      part.setContentDisposition(httpIn.getContentDisposition());
+
+      /* Download large Files over several Connections if they can be resumed */
+      boolean acceptsRanges = ACCEPT_RANGES_BYTES.equalsIgnoreCase(httpIn.getAcceptRanges());
+      if (acceptsRanges && part.getValidator() != null && contentLength >= SEGMENTED_DOWNLOAD_MIN_LENGTH)
+        part.split(Math.max(1, Math.min(MAX_DOWNLOAD_CONNECTIONS, fPreferences.getInteger(DefaultPreferences.DOWNLOAD_CONNECTIONS))));
+    }
+
+    return part;
+  }
+
+  /* Finds the Part of a previous Download of the same Link to resume */
+  private DownloadPart findPart(DownloadRequest request, String name) {
+    name = toValidFileName(name);
+    for (int i = 0; i < 10; i++) {
+      File partFile;
+      if (i == 0)
+        partFile = new File(request.getTargetFolder(), name + DOWNLOAD_PART_SUFFIX);
+      else
+        partFile = new File(request.getTargetFolder(), name + "_" + i + DOWNLOAD_PART_SUFFIX); //$NON-NLS-1$
+
+      DownloadPart part = DownloadPart.load(partFile);
+      if (part != null && part.getLink().equals(request.getLink()) && part.getValidator() != null && !part.isComplete())
+        return part;
+    }
+
+    return null;
+  }
+
+  private boolean savePart(DownloadPart part) {
+    try {
+      part.save();
+      return true;
+    } catch (IOException e) {
+      Activator.getDefault().logError(e.getMessage(), e);
+      return false;
+    }
+  }
+
+  private void abort(InputStream in) {
+    try {
+      if (in instanceof IAbortable)
+        ((IAbortable) in).abort();
+      else
+        in.close();
+    } catch (IOException e) {
+      /* Ignore */
+    }
+  }
+
   private boolean isTextualContent(String contentType) {
     if (StringUtils.isSet(contentType)) {
       for (String htmlContentType : HTML_CONTENT_TYPES) {
@@ -540,9 +993,6 @@ public class DownloadService {
         break;
     }
 
-    if (partFile != null)
-      partFile.deleteOnExit();
-
     return partFile;
   }
 
@@ -554,13 +1004,11 @@ public class DownloadService {
     return fileName;
   }
 
-  private String getDownloadFileName(DownloadRequest request, InputStream inS) {
+  private String getDownloadFileName(DownloadRequest request, String contentDisposition) {
     String downloadFileName = null;
 
     /* Try to read out the Content-Disposition header first */
-    if (inS instanceof HttpConnectionInputStream && StringUtils.isSet(((HttpConnectionInputStream) inS).getContentDisposition())) {
-      String contentDisposition = ((HttpConnectionInputStream) inS).getContentDisposition();
-
+    if (StringUtils.isSet(contentDisposition)) {
       int indexOfFileName = contentDisposition.indexOf(CONTENT_DISPOSITION_FILENAME);
       if (indexOfFileName != -1) {
         contentDisposition = contentDisposition.substring(indexOfFileName + CONTENT_DISPOSITION_FILENAME.length());
@@ -602,13 +1050,13 @@ public class DownloadService {
     return downloadFileName;
   }
 
-  private String formatTask(int bytesConsumed, int totalBytes, int bytesPerSecond) {
+  private String formatTask(long bytesConsumed, long totalBytes, long bytesPerSecond) {
     StringBuilder str = new StringBuilder();
 
     /* "Time Remaining" */
-    int bytesToGo = totalBytes - bytesConsumed;
+    long bytesToGo = totalBytes - bytesConsumed;
     if (bytesToGo > 0 && bytesPerSecond > 0) {
-      int secondsRemaining = bytesToGo / bytesPerSecond;
+      int secondsRemaining = (int) Math.min(Integer.MAX_VALUE, bytesToGo / bytesPerSecond);
       String period = OwlUI.getPeriod(secondsRemaining);
       if (period != null)
         str.append(NLS.bind(Messages.DownloadService_BYTES_REMAINING, period)).append(" - "); //$NON-NLS-1$
@@ -658,9 +1106,9 @@ public class DownloadService {
   public void stopService() {
     fDownloadQueue.cancel(false);
 
-    /* Need to properly close yet opened Streams */
-    Set<OutputStream> openStreams = fOutputStreamMap.keySet();
-    for (OutputStream out : openStreams) {
+    /* Need to properly close yet opened Files */
+    Set<Closeable> openFiles = fOpenFiles.keySet();
+    for (Closeable out : openFiles) {
       try {
         out.close();
       } catch (IOException e) {
@@ -24,10 +24,6 @@
 
 package org.rssowl.ui.internal.services;
 
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
@@ -35,15 +31,19 @@ import org.eclipse.ui.PlatformUI;
 import org.rssowl.core.Owl;
 import org.rssowl.core.internal.persist.pref.DefaultPreferences;
 import org.rssowl.core.persist.IBookMark;
+import org.rssowl.core.persist.IFeed;
 import org.rssowl.core.persist.INewsBin;
 import org.rssowl.core.persist.INewsMark;
 import org.rssowl.core.persist.dao.OwlDAO;
 import org.rssowl.core.persist.event.BookMarkAdapter;
 import org.rssowl.core.persist.event.BookMarkEvent;
 import org.rssowl.core.persist.pref.IPreferenceScope;
+import org.rssowl.core.persist.service.PersistenceException;
+import org.rssowl.ui.internal.Activator;
 import org.rssowl.ui.internal.Controller;
 import org.rssowl.ui.internal.OwlUI;
 import org.rssowl.ui.internal.OwlUI.FeedViewOpenMode;
+import org.rssowl.ui.internal.services.ReloadScheduler.ScheduledReload;
 import org.rssowl.ui.internal.util.EditorUtils;
 import org.rssowl.ui.internal.util.JobRunner;
 
@@ -54,6 +54,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -71,73 +72,60 @@ public class FeedReloadService {
   /* The delay-value in millis (30 Seconds) */
   private static final int DELAY_VALUE = 30 * 1000;
 
+  /* Max. random delay in millis to spread the first Reload of BookMarks (1 Minute) */
+  private static final int MAX_JITTER = 60 * 1000;
+
+  /* System Property to adapt Update-Intervals to how often Feeds change */
+  private static final String ADAPTIVE_RELOAD_PROPERTY = "adaptiveReload"; //$NON-NLS-1$
+
   /* Listen to Bookmark Updates */
   private BookMarkAdapter fBookMarkListener;
 
   /* Map IBookMark to Update-Intervals */
   private final Map<IBookMark, Long> fMapBookMarkToInterval;
 
+  /* Map IBookMark to learned Update-Intervals (only used if adaptive) */
+  private final Map<IBookMark, AdaptiveReloadInterval> fMapBookMarkToAdaptiveInterval;
+  private final boolean fAdaptiveReload;
+
+  /* Scheduled Reloads ordered by Due Time */
+  private final ReloadScheduler fScheduler = new ReloadScheduler();
+
+  private final Random fJitter = new Random();
+  private final Thread fSchedulerThread;
+
   /*
-   * This subclass of a Job is making sure to delay the operation for <code>WAKEUP_DELAY</code>
-   * millis in case it is detecting that the last run of the Job was some amount
-   * of time (<code>DELAY_THRESHOLD</code>) after it was meant to be run due
-   * to the given Update-Interval. This fixes a problem, where all Update-Jobs
-   * would immediately run after waking up from an OS hibernate (e.g. on
-   * Windows). Since all Jobs are scheduled based on a time-dif, once waking up
-   * from hibernate, the dif is usually telling the Jobs to schedule
+   * A single Thread is reloading all BookMarks when due. Reloads that are due
+   * at about the same time are batched into one call to the Controller. The
+   * Thread is making sure to delay the Reload for <code>DELAY_VALUE</code>
+   * millis in case it is detecting that a Reload is some amount of time
+   * (<code>DELAY_THRESHOLD</code>) late. This fixes a problem, where all
+   * Reloads would immediately run after waking up from an OS hibernate (e.g. on
+   * Windows). Since all Reloads are scheduled based on a time-dif, once waking
+   * up from hibernate, the dif is usually telling the Reloads to run
    * immediately, even before network interfaces had any chance to start. Thus,
    * all BookMarks will show errors.
    */
-  private class ReloadJob extends Job {
-    private final IBookMark fBookMark;
-    private long fLastRunInMillis;
-
-    ReloadJob(IBookMark bookMark, String name) {
-      super(name);
-      fBookMark = bookMark;
-      fLastRunInMillis = System.currentTimeMillis();
+  private class SchedulerThread extends Thread {
+
+    SchedulerThread() {
+      super("Feed Reload Scheduler"); //$NON-NLS-1$
+      setDaemon(true);
     }
 
     @Override
-    protected IStatus run(IProgressMonitor monitor) {
-
-      /* Update Interval of this BookMark */
-      Long updateIntervalInSeconds = fMapBookMarkToInterval.get(fBookMark);
-
-      /* Delay execution if required */
-      if (delay(updateIntervalInSeconds) && !monitor.isCanceled()) {
-        try {
-          Thread.sleep(DELAY_VALUE);
-        } catch (InterruptedException e) {
-          /* Ignore */
+    public void run() {
+      try {
+        while (true) {
+          List<ScheduledReload> dueReloads = fScheduler.takeDueReloads();
+          if (dueReloads == null)
+            return;
+
+          reload(dueReloads);
         }
+      } catch (InterruptedException e) {
+        /* Stopped */
       }
-
-      /* Update field */
-      fLastRunInMillis = System.currentTimeMillis();
-
-      /* Reload */
-      if (!monitor.isCanceled() && !Controller.getDefault().isShuttingDown())
-        Controller.getDefault().reloadQueued(fBookMark, null, null);
-
-      /* Re-Schedule */
-      if (!monitor.isCanceled() && !Controller.getDefault().isShuttingDown() && updateIntervalInSeconds != null)
-        schedule(updateIntervalInSeconds * 1000);
-
-      return Status.OK_STATUS;
-    }
-
-    @Override
-    public boolean belongsTo(Object family) {
-      return family.equals(fBookMark) || family.equals(FeedReloadService.this);
-    }
-
-    private boolean delay(Long updateIntervalInSeconds) {
-      if (fLastRunInMillis == 0 || updateIntervalInSeconds == null)
-        return false;
-
-      long dif = System.currentTimeMillis() - fLastRunInMillis;
-      return dif > ((updateIntervalInSeconds * 1000) + DELAY_THRESHOLD);
     }
   }
 
@@ -146,6 +134,9 @@ public class FeedReloadService {
    */
   public FeedReloadService() {
     fMapBookMarkToInterval = new ConcurrentHashMap<IBookMark, Long>();
+    fMapBookMarkToAdaptiveInterval = new ConcurrentHashMap<IBookMark, AdaptiveReloadInterval>();
+    fAdaptiveReload = Boolean.getBoolean(ADAPTIVE_RELOAD_PROPERTY);
+    fSchedulerThread = new SchedulerThread();
 
     /* Register Listeners */
     registerListeners();
@@ -159,10 +150,11 @@ public class FeedReloadService {
     });
   }
 
-  /** Unregister from Listeners and cancel all Jobs */
+  /** Unregister from Listeners and cancel all Reloads */
   public void stopService() {
     unregisterListeners();
-    Job.getJobManager().cancel(this);
+    fScheduler.stop();
+    fSchedulerThread.interrupt();
   }
 
   private void init() {
@@ -212,13 +204,15 @@ public class FeedReloadService {
       });
     }
 
-    /* Initialize the Jobs that manages Updates */
+    /* Schedule the Reloads and start the Scheduler */
     Set<Entry<IBookMark, Long>> entries = fMapBookMarkToInterval.entrySet();
     for (Entry<IBookMark, Long> entry : entries) {
       IBookMark bookMark = entry.getKey();
       scheduleUpdate(bookMark, entry.getValue());
     }
 
+    fSchedulerThread.start();
+
     /* Open BookMarks which are to open on startup */
     if (!newsmarksToOpenOnStartup.isEmpty()) {
       JobRunner.runInUIThread(null, new Runnable() {
@@ -242,10 +236,74 @@ public class FeedReloadService {
     }
   }
 
-  private void scheduleUpdate(final IBookMark bookMark, Long intervalInSeconds) {
-    Job updateJob = new ReloadJob(bookMark, ""); //$NON-NLS-1$
-    updateJob.setSystem(true);
-    updateJob.schedule(intervalInSeconds * 1000);
+  private void scheduleUpdate(IBookMark bookMark, Long intervalInSeconds) {
+
+    /* Spread the first Reload of BookMarks with the same Interval */
+    long intervalInMillis = intervalInSeconds * 1000;
+    int maxJitter = (int) Math.min(intervalInMillis / 10, MAX_JITTER);
+    long jitter = (maxJitter > 0) ? fJitter.nextInt(maxJitter) : 0;
+
+    fScheduler.schedule(bookMark, System.currentTimeMillis() + intervalInMillis + jitter);
+  }
+
+  private long getNextDueTime(IBookMark bookmark, long now, long intervalInMillis) {
+    if (!fAdaptiveReload)
+      return now + intervalInMillis;
+
+    AdaptiveReloadInterval adaptiveInterval = fMapBookMarkToAdaptiveInterval.get(bookmark);
+    if (adaptiveInterval == null) {
+      adaptiveInterval = new AdaptiveReloadInterval();
+      fMapBookMarkToAdaptiveInterval.put(bookmark, adaptiveInterval);
+    }
+
+    /* Learn from the News of the last Reload and refresh Hints of the Feed if it changed */
+    boolean changed = adaptiveInterval.observe(bookmark.getMostRecentNewsDate());
+    if (changed || !adaptiveInterval.hasFeedHints()) {
+      try {
+        IFeed feed = bookmark.getFeedLinkReference().resolve();
+        if (feed != null)
+          adaptiveInterval.setFeedHints(feed);
+      } catch (PersistenceException e) {
+        Activator.getDefault().logError(e.getMessage(), e);
+      }
+    }
+
+    return adaptiveInterval.getNextDueTime(now, intervalInMillis);
+  }
+
+  private void reload(List<ScheduledReload> dueReloads) throws InterruptedException {
+
+    /* Delay execution if required */
+    long now = System.currentTimeMillis();
+    for (ScheduledReload reload : dueReloads) {
+      if (now - reload.getDueTime() > DELAY_THRESHOLD) {
+        Thread.sleep(DELAY_VALUE);
+        break;
+      }
+    }
+
+    /* Re-Schedule BookMarks that were not cancelled meanwhile */
+    Set<IBookMark> bookmarksToReload = new HashSet<IBookMark>(dueReloads.size());
+    now = System.currentTimeMillis();
+    for (ScheduledReload reload : dueReloads) {
+      IBookMark bookmark = reload.getBookMark();
+      Long updateIntervalInSeconds = fMapBookMarkToInterval.get(bookmark);
+      if (updateIntervalInSeconds == null)
+        continue;
+
+      long dueTime = getNextDueTime(bookmark, now, updateIntervalInSeconds * 1000);
+      if (fScheduler.reschedule(reload, dueTime))
+        bookmarksToReload.add(bookmark);
+    }
+
+    /* Reload */
+    if (bookmarksToReload.isEmpty() || Controller.getDefault().isShuttingDown())
+      return;
+
+    if (bookmarksToReload.size() == 1)
+      Controller.getDefault().reloadQueued(bookmarksToReload.iterator().next(), null, null);
+    else
+      Controller.getDefault().reloadQueued(bookmarksToReload, null, null);
   }
 
   private void registerListeners() {
@@ -328,7 +386,7 @@ public class FeedReloadService {
 
       /* New Interval different to Old Interval */
       else if (!newInterval.equals(oldInterval)) {
-        Job.getJobManager().cancel(updatedBookmark);
+        fScheduler.cancel(updatedBookmark);
         fMapBookMarkToInterval.put(updatedBookmark, newInterval);
         scheduleUpdate(updatedBookmark, newInterval);
       }
@@ -342,7 +400,8 @@ public class FeedReloadService {
 
   private void removeUpdate(IBookMark bookmark) {
     fMapBookMarkToInterval.remove(bookmark);
-    Job.getJobManager().cancel(bookmark);
+    fMapBookMarkToAdaptiveInterval.remove(bookmark);
+    fScheduler.cancel(bookmark);
   }
 
   private void addUpdate(IBookMark bookmark, Long intervalInSeconds) {
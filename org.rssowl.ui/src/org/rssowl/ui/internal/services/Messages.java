@@ -37,6 +37,8 @@ public class Messages extends NLS {
   public static String DownloadService_DOWNLOADING_TITLE;
   public static String DownloadService_ERROR_DOWNLOADING;
   public static String DownloadService_ERROR_DOWNLOADING_N;
+  public static String DownloadService_ERROR_INCOMPLETE;
+  public static String DownloadService_ERROR_NO_RANGE;
   public static String DownloadService_N_OF_M;
   public static String DownloadService_OPEN_FOLDER;
   public static String DownloadService_RE_DOWNLOAD;
@@ -0,0 +1,196 @@
+/*   **********************************************************************  **
+ **   Copyright notice                                                       **
+ **                                                                          **
+ **   (c) 2005-2009 RSSOwl Development Team                                  **
+ **   http://www.rssowl.org/                                                 **
+ **                                                                          **
+ **   All rights reserved                                                    **
+ **                                                                          **
+ **   This program and the accompanying materials are made available under   **
+ **   the terms of the Eclipse Public License v1.0 which accompanies this    **
+ **   distribution, and is available at:                                     **
+ **   http://www.rssowl.org/legal/epl-v10.html                               **
+ **                                                                          **
+ **   A copy is found in the file epl-v10.html and important notices to the  **
+ **   license from the team is found in the textfile LICENSE.txt distributed **
+ **   in this package.                                                       **
+ **                                                                          **
+ **   This copyright notice MUST APPEAR in all copies of the file!           **
+ **                                                                          **
+ **   Contributors:                                                          **
+ **     RSSOwl Development Team - initial API and implementation             **
+ **                                                                          **
+ **  **********************************************************************  */
+
+package org.rssowl.ui.internal.services;
+
+import org.rssowl.core.persist.IBookMark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the Reloads of BookMarks ordered by the time they are due and hands
+ * them out in batches once due. A BookMark has at most one Reload scheduled at
+ * a time: scheduling it again replaces the Reload scheduled before.
+ * <p>
+ * Note: This class is thread-safe.
+ * </p>
+ */
+public final class ReloadScheduler {
+
+  /** Reloads due within this many millis are batched together (5 Seconds) */
+  public static final int BATCH_WINDOW = 5 * 1000;
+
+  /* Max. time in millis to wait before checking the clock again (1 Minute) */
+  private static final int MAX_WAIT = 60 * 1000;
+
+  /* Scheduled Reloads ordered by Due Time (guards all Fields) */
+  private final PriorityQueue<ScheduledReload> fScheduledReloads = new PriorityQueue<ScheduledReload>();
+
+  /* Map IBookMark to its current Scheduled Reload */
+  private final Map<IBookMark, ScheduledReload> fMapBookMarkToReload = new HashMap<IBookMark, ScheduledReload>();
+
+  private boolean fStopped;
+
+  /** A Reload of a BookMark that is due at a certain Time */
+  public static final class ScheduledReload implements Comparable<ScheduledReload> {
+    private final IBookMark fBookMark;
+    private final long fDueTime;
+
+    ScheduledReload(IBookMark bookMark, long dueTime) {
+      fBookMark = bookMark;
+      fDueTime = dueTime;
+    }
+
+    /**
+     * @return the BookMark to reload.
+     */
+    public IBookMark getBookMark() {
+      return fBookMark;
+    }
+
+    /**
+     * @return the time in millis the Reload is due at.
+     */
+    public long getDueTime() {
+      return fDueTime;
+    }
+
+    @Override
+    public int compareTo(ScheduledReload other) {
+      return fDueTime < other.fDueTime ? -1 : (fDueTime == other.fDueTime ? 0 : 1);
+    }
+  }
+
+  /**
+   * Schedules a Reload of the given BookMark, replacing any Reload scheduled
+   * before for it. Does nothing once stopped.
+   *
+   * @param bookMark the BookMark to reload.
+   * @param dueTime the time in millis the Reload is due at.
+   */
+  public void schedule(IBookMark bookMark, long dueTime) {
+    synchronized (fScheduledReloads) {
+      if (fStopped)
+        return;
+
+      ScheduledReload reload = new ScheduledReload(bookMark, dueTime);
+      fMapBookMarkToReload.put(bookMark, reload);
+      fScheduledReloads.add(reload);
+
+      /* Wake up the Scheduler in case this Reload is the next one due */
+      if (fScheduledReloads.peek() == reload)
+        fScheduledReloads.notifyAll();
+    }
+  }
+
+  /**
+   * Schedules the next Reload of the BookMark of the given Reload unless the
+   * BookMark was cancelled or rescheduled since.
+   *
+   * @param reload a Reload returned from {@link #takeDueReloads()}.
+   * @param dueTime the time in millis the next Reload is due at.
+   * @return <code>true</code> if the next Reload was scheduled and
+   * <code>false</code> if the BookMark was cancelled or rescheduled since.
+   */
+  public boolean reschedule(ScheduledReload reload, long dueTime) {
+    synchronized (fScheduledReloads) {
+      if (fMapBookMarkToReload.get(reload.fBookMark) != reload)
+        return false;
+
+      schedule(reload.fBookMark, dueTime);
+      return true;
+    }
+  }
+
+  /**
+   * Cancels the Reload scheduled for the given BookMark if any.
+   *
+   * @param bookMark the BookMark to no longer reload.
+   */
+  public void cancel(IBookMark bookMark) {
+
+    /* The Reload is removed from the Queue lazily once due */
+    synchronized (fScheduledReloads) {
+      fMapBookMarkToReload.remove(bookMark);
+    }
+  }
+
+  /**
+   * Cancels all Reloads and wakes up any Thread waiting for Reloads.
+   */
+  public void stop() {
+    synchronized (fScheduledReloads) {
+      fStopped = true;
+      fScheduledReloads.clear();
+      fMapBookMarkToReload.clear();
+      fScheduledReloads.notifyAll();
+    }
+  }
+
+  /**
+   * Blocks until at least one Reload is due and returns all Reloads due within
+   * the {@link #BATCH_WINDOW} ordered by due time. Cancelled and rescheduled
+   * Reloads are skipped.
+   *
+   * @return the Reloads that are due or <code>null</code> if stopped.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public List<ScheduledReload> takeDueReloads() throws InterruptedException {
+    synchronized (fScheduledReloads) {
+      while (!fStopped) {
+        long now = System.currentTimeMillis();
+        ScheduledReload next = fScheduledReloads.peek();
+
+        /* Nothing scheduled */
+        if (next == null)
+          fScheduledReloads.wait();
+
+        /* Next Reload not yet due (check the clock regularly as it may jump) */
+        else if (next.fDueTime > now)
+          fScheduledReloads.wait(Math.min(next.fDueTime - now, MAX_WAIT));
+
+        /* Reloads due */
+        else {
+          List<ScheduledReload> dueReloads = new ArrayList<ScheduledReload>();
+          while (!fScheduledReloads.isEmpty() && fScheduledReloads.peek().fDueTime <= now + BATCH_WINDOW) {
+            ScheduledReload reload = fScheduledReloads.poll();
+
+            /* Ignore cancelled or rescheduled Reloads */
+            if (fMapBookMarkToReload.get(reload.fBookMark) == reload)
+              dueReloads.add(reload);
+          }
+
+          if (!dueReloads.isEmpty())
+            return dueReloads;
+        }
+      }
+
+      return null;
+    }
+  }
+}
\ No newline at end of file
@@ -36,6 +36,7 @@ import org.rssowl.core.persist.IFolder;
 import org.rssowl.core.persist.INews;
 import org.rssowl.core.persist.INews.State;
 import org.rssowl.core.persist.INewsBin;
+import org.rssowl.core.persist.ISearchCondition;
 import org.rssowl.core.persist.ISearchMark;
 import org.rssowl.core.persist.dao.OwlDAO;
 import org.rssowl.core.persist.dao.ISearchMarkDAO;
@@ -57,6 +58,8 @@ import org.rssowl.ui.internal.Controller;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -81,10 +84,16 @@ public class SavedSearchService {
   /* Number of updated documents before using the long batch interval */
   private static final int SHORT_THRESHOLD = 1;
 
+  /* Max. number of updated news to only re-check instead of updating fully */
+  private static final int INCREMENTAL_UPDATE_LIMIT = 5000;
+
   private final Job fBatchJob;
   private final AtomicBoolean fBatchInProcess = new AtomicBoolean(false);
   private final AtomicBoolean fUpdatedOnce = new AtomicBoolean(false);
   private final AtomicBoolean fForceQuickUpdate = new AtomicBoolean(false);
+  private final Object fUpdatedNewsLock = new Object();
+  private Set<Long> fUpdatedNewsIds = new HashSet<Long>();
+  private boolean fFullUpdateRequired = true;
   private IndexListener fIndexListener;
   private BookMarkAdapter fBookmarkListener;
   private NewsBinAdapter fNewsBinListener;
@@ -108,7 +117,7 @@ public class SavedSearchService {
           @Override
           public void run() throws Exception {
             if (!Controller.getDefault().isShuttingDown())
-              updateSavedSearches(true);
+              updateSavedSearchesFromBatch();
           }
         });
 
@@ -126,6 +135,17 @@ public class SavedSearchService {
 
     /* Index Listener */
     fIndexListener = new IndexListener() {
+      @Override
+      public void newsIndexed(Set<Long> newsIds) {
+        synchronized (fUpdatedNewsLock) {
+          if (!fFullUpdateRequired) {
+            fUpdatedNewsIds.addAll(newsIds);
+            if (fUpdatedNewsIds.size() > INCREMENTAL_UPDATE_LIMIT)
+              requireFullUpdate();
+          }
+        }
+      }
+
       @Override
       public void indexUpdated(int entitiesCount) {
         updateSavedSearchesFromEvent(entitiesCount);
@@ -144,6 +164,7 @@ public class SavedSearchService {
             IFolder parent = event.getEntity().getParent();
 
             if (oldParent != null && !oldParent.equals(parent)) {
+              requireFullUpdate();
               updateSavedSearchesFromEvent(1);
               break;
             }
@@ -164,6 +185,7 @@ public class SavedSearchService {
             IFolder parent = event.getEntity().getParent();
 
             if (oldParent != null && !oldParent.equals(parent)) {
+              requireFullUpdate();
               updateSavedSearchesFromEvent(1);
               break;
             }
@@ -184,6 +206,7 @@ public class SavedSearchService {
             IFolder parent = event.getEntity().getParent();
 
             if (oldParent != null && !oldParent.equals(parent)) {
+              requireFullUpdate();
               updateSavedSearchesFromEvent(1);
               break;
             }
@@ -229,6 +252,44 @@ public class SavedSearchService {
     fForceQuickUpdate.set(true);
   }
 
+  /*
+   * Results of saved searches no longer depend only on the indexed news, e.g.
+   * after a folder got moved. Requires to update all saved searches fully.
+   */
+  private void requireFullUpdate() {
+    synchronized (fUpdatedNewsLock) {
+      fFullUpdateRequired = true;
+      fUpdatedNewsIds = new HashSet<Long>();
+    }
+  }
+
+  /*
+   * Returns the IDs of news updated in the index since the last update of all
+   * saved searches or null if all saved searches require a full update.
+   */
+  private Set<Long> takeUpdatedNewsIds() {
+    synchronized (fUpdatedNewsLock) {
+      Set<Long> updatedNewsIds = fFullUpdateRequired ? null : fUpdatedNewsIds;
+      fUpdatedNewsIds = new HashSet<Long>();
+      fFullUpdateRequired = false;
+
+      return updatedNewsIds;
+    }
+  }
+
+  private void updateSavedSearchesFromBatch() {
+    Set<Long> updatedNewsIds = takeUpdatedNewsIds();
+    Collection<ISearchMark> searchMarks = OwlDAO.loadAll(ISearchMark.class);
+
+    /* Update fully if required or if never done before */
+    if (updatedNewsIds == null || !fUpdatedOnce.get())
+      updateSavedSearches(searchMarks);
+
+    /* Otherwise only re-check the updated News */
+    else if (!updatedNewsIds.isEmpty())
+      updateSavedSearches(searchMarks, updatedNewsIds);
+  }
+
   /**
    * Update the results of all <code>ISearchMark</code>s stored in RSSOwl.
    *
@@ -239,6 +300,7 @@ public class SavedSearchService {
     if (!force && fUpdatedOnce.get())
       return;
 
+    takeUpdatedNewsIds();
     Collection<ISearchMark> searchMarks = OwlDAO.loadAll(ISearchMark.class);
     updateSavedSearches(searchMarks);
   }
@@ -261,53 +323,175 @@ public class SavedSearchService {
     boolean firstUpdate = !fUpdatedOnce.get();
 
     fUpdatedOnce.set(true);
+    List<ISearchMark> searchMarksToUpdate = new ArrayList<ISearchMark>(searchMarks);
+
+    /* Execute all searches at once */
+    List<List<SearchHit<NewsReference>>> results = Owl.getPersistenceService().getModelSearch().searchNews(searchMarksToUpdate, null);
+
+    Set<SearchMarkEvent> events = new HashSet<SearchMarkEvent>(searchMarksToUpdate.size());
+    for (int i = 0; i < searchMarksToUpdate.size(); i++) {
+      Map<INews.State, List<NewsReference>> resultsMap = toResultsMap(results.get(i));
+
+      /* Return early if shutting down */
+      if (resultsMap == null)
+        return;
+
+      setNewsRefs(searchMarksToUpdate.get(i), resultsMap, firstUpdate, fromUserEvent, events);
+    }
+
+    /* Notify Listeners */
+    if (!events.isEmpty() && !Controller.getDefault().isShuttingDown())
+      OwlDAO.getDAO(ISearchMarkDAO.class).fireNewsChanged(events);
+  }
+
+  /*
+   * Updates the results of the given saved searches by only re-checking the
+   * news with the given IDs. Saved searches with conditions relative to the
+   * current time are updated fully because their results change without any
+   * news being updated.
+   */
+  private void updateSavedSearches(Collection<ISearchMark> searchMarks, Set<Long> updatedNewsIds) {
+    List<ISearchMark> searchMarksToRecheck = new ArrayList<ISearchMark>(searchMarks.size());
+    List<ISearchMark> searchMarksToUpdate = new ArrayList<ISearchMark>();
+    for (ISearchMark searchMark : searchMarks) {
+      if (isTimeDependent(searchMark))
+        searchMarksToUpdate.add(searchMark);
+      else
+        searchMarksToRecheck.add(searchMark);
+    }
+
+    /* Execute all searches at once */
     IModelSearch modelSearch = Owl.getPersistenceService().getModelSearch();
+    List<List<SearchHit<NewsReference>>> recheckResults = modelSearch.searchNews(searchMarksToRecheck, updatedNewsIds);
+    List<List<SearchHit<NewsReference>>> updateResults = modelSearch.searchNews(searchMarksToUpdate, null);
+
     Set<SearchMarkEvent> events = new HashSet<SearchMarkEvent>(searchMarks.size());
 
-    /* For each Search Mark */
-    for (ISearchMark searchMark : searchMarks) {
+    /* Merge re-checked News into existing Results */
+    for (int i = 0; i < searchMarksToRecheck.size(); i++) {
+      ISearchMark searchMark = searchMarksToRecheck.get(i);
+      Map<INews.State, List<NewsReference>> resultsMap = toResultsMap(searchMark, recheckResults.get(i), updatedNewsIds);
 
       /* Return early if shutting down */
-      if (Controller.getDefault().isShuttingDown())
+      if (resultsMap == null)
         return;
 
-      /* Execute the search */
-      List<SearchHit<NewsReference>> results = modelSearch.searchNews(searchMark.getSearchConditions(), searchMark.matchAllConditions());
+      setNewsRefs(searchMark, resultsMap, false, false, events);
+    }
 
-      /* Fill Result into Map Buckets */
-      Map<INews.State, List<NewsReference>> resultsMap = new EnumMap<INews.State, List<NewsReference>>(INews.State.class);
+    /* Replace Results of time dependent searches */
+    for (int i = 0; i < searchMarksToUpdate.size(); i++) {
+      Map<INews.State, List<NewsReference>> resultsMap = toResultsMap(updateResults.get(i));
 
-      Set<State> visibleStates = INews.State.getVisible();
-      for (SearchHit<NewsReference> searchHit : results) {
+      /* Return early if shutting down */
+      if (resultsMap == null)
+        return;
 
-        /* Return early if shutting down */
-        if (Controller.getDefault().isShuttingDown())
-          return;
+      setNewsRefs(searchMarksToUpdate.get(i), resultsMap, false, false, events);
+    }
 
-        INews.State state = (State) searchHit.getData(INews.STATE);
-        if (visibleStates.contains(state)) {
-          List<NewsReference> newsRefs = resultsMap.get(state);
-          if (newsRefs == null) {
-            newsRefs = new ArrayList<NewsReference>(results.size() / 3);
-            resultsMap.put(state, newsRefs);
-          }
-          newsRefs.add(searchHit.getResult());
+    /* Notify Listeners */
+    if (!events.isEmpty() && !Controller.getDefault().isShuttingDown())
+      OwlDAO.getDAO(ISearchMarkDAO.class).fireNewsChanged(events);
+  }
+
+  private boolean isTimeDependent(ISearchMark searchMark) {
+    for (ISearchCondition condition : searchMark.getSearchConditions()) {
+      int fieldId = condition.getField().getId();
+      if (fieldId == INews.AGE_IN_DAYS || fieldId == INews.AGE_IN_MINUTES)
+        return true;
+    }
+
+    return false;
+  }
+
+  /* Fill Results into Map Buckets or return null if shutting down */
+  private Map<INews.State, List<NewsReference>> toResultsMap(List<SearchHit<NewsReference>> results) {
+    Map<INews.State, List<NewsReference>> resultsMap = new EnumMap<INews.State, List<NewsReference>>(INews.State.class);
+
+    Set<State> visibleStates = INews.State.getVisible();
+    for (SearchHit<NewsReference> searchHit : results) {
+
+      /* Return early if shutting down */
+      if (Controller.getDefault().isShuttingDown())
+        return null;
+
+      INews.State state = (State) searchHit.getData(INews.STATE);
+      if (visibleStates.contains(state)) {
+        List<NewsReference> newsRefs = resultsMap.get(state);
+        if (newsRefs == null) {
+          newsRefs = new ArrayList<NewsReference>(results.size() / 3);
+          resultsMap.put(state, newsRefs);
+        }
+        newsRefs.add(searchHit.getResult());
+      }
+    }
+
+    return resultsMap;
+  }
+
+  /*
+   * Merges the re-checked Results of the updated News into the existing Results
+   * of the Search Mark or returns null if shutting down. Existing Results keep
+   * their order as long as they still match with the same state.
+   */
+  private Map<INews.State, List<NewsReference>> toResultsMap(ISearchMark searchMark, List<SearchHit<NewsReference>> results, Set<Long> updatedNewsIds) {
+    Map<Long, INews.State> matchingNews = new HashMap<Long, INews.State>(results.size());
+    for (SearchHit<NewsReference> searchHit : results) {
+      matchingNews.put(searchHit.getResult().getId(), (State) searchHit.getData(INews.STATE));
+    }
+
+    Map<INews.State, List<NewsReference>> resultsMap = new EnumMap<INews.State, List<NewsReference>>(INews.State.class);
+    Set<State> visibleStates = INews.State.getVisible();
+    for (INews.State state : visibleStates) {
+
+      /* Return early if shutting down */
+      if (Controller.getDefault().isShuttingDown())
+        return null;
+
+      List<NewsReference> existingNewsRefs = searchMark.getNewsRefs(EnumSet.of(state));
+      List<NewsReference> newsRefs = new ArrayList<NewsReference>(existingNewsRefs.size());
+      for (NewsReference newsRef : existingNewsRefs) {
+        long newsId = newsRef.getId();
+        if (!updatedNewsIds.contains(newsId))
+          newsRefs.add(newsRef);
+        else if (state.equals(matchingNews.get(newsId))) {
+          newsRefs.add(newsRef);
+          matchingNews.remove(newsId);
         }
       }
 
-      /* Set Result */
-      Pair<Boolean, Boolean> result = searchMark.setNewsRefs(resultsMap);
-      boolean changed = result.getFirst();
-      boolean newNewsAdded = result.getSecond();
+      if (!newsRefs.isEmpty())
+        resultsMap.put(state, newsRefs);
+    }
 
-      /* Create Event to indicate changed results if any */
-      if (changed)
-        events.add(new SearchMarkEvent(searchMark, null, true, !firstUpdate && !fromUserEvent && newNewsAdded));
+    /* Add remaining matching News in the order of the Results */
+    for (SearchHit<NewsReference> searchHit : results) {
+      NewsReference newsRef = searchHit.getResult();
+      INews.State state = matchingNews.remove(newsRef.getId());
+      if (state != null && visibleStates.contains(state)) {
+        List<NewsReference> newsRefs = resultsMap.get(state);
+        if (newsRefs == null) {
+          newsRefs = new ArrayList<NewsReference>();
+          resultsMap.put(state, newsRefs);
+        }
+        newsRefs.add(newsRef);
+      }
     }
 
-    /* Notify Listeners */
-    if (!events.isEmpty() && !Controller.getDefault().isShuttingDown())
-      OwlDAO.getDAO(ISearchMarkDAO.class).fireNewsChanged(events);
+    return resultsMap;
+  }
+
+  private void setNewsRefs(ISearchMark searchMark, Map<INews.State, List<NewsReference>> resultsMap, boolean firstUpdate, boolean fromUserEvent, Set<SearchMarkEvent> events) {
+
+    /* Set Result */
+    Pair<Boolean, Boolean> result = searchMark.setNewsRefs(resultsMap);
+    boolean changed = result.getFirst();
+    boolean newNewsAdded = result.getSecond();
+
+    /* Create Event to indicate changed results if any */
+    if (changed)
+      events.add(new SearchMarkEvent(searchMark, null, true, !firstUpdate && !fromUserEvent && newNewsAdded));
   }
 
   /** Stops this service and unregisters any listeners added. */
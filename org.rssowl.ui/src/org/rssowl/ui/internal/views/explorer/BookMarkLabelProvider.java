@@ -39,9 +39,9 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Event;
 import org.rssowl.core.internal.persist.pref.DefaultPreferences;
+import org.rssowl.core.internal.persist.service.FolderNewsCounterService;
 import org.rssowl.core.persist.IBookMark;
 import org.rssowl.core.persist.IFolder;
-import org.rssowl.core.persist.IFolderChild;
 import org.rssowl.core.persist.INews;
 import org.rssowl.core.persist.INewsBin;
 import org.rssowl.core.persist.INewsMark;
@@ -50,7 +50,6 @@ import org.rssowl.ui.internal.EntityGroup;
 import org.rssowl.ui.internal.OwlUI;
 
 import java.util.EnumSet;
-import java.util.List;
 
 /**
  * @author bpasero
@@ -88,13 +87,6 @@ public class BookMarkLabelProvider extends CellLabelProvider {
   private final boolean fUseDialogFont;
   private boolean fUseFavicons = true;
 
-  /* Helper to compute a Folders Decoration */
-  private static class FolderDecorationHelper {
-    int fNewCount;
-    int fUnreadCount;
-    boolean fHasSticky;
-  }
-
   /** Default Constructor */
   public BookMarkLabelProvider() {
     this(true);
@@ -173,12 +165,10 @@ public class BookMarkLabelProvider extends CellLabelProvider {
       boolean hasSticky = false;
 
       if (fIndicateState) {
-        FolderDecorationHelper helper = new FolderDecorationHelper();
-        computeFolderDecoration(folder, helper);
-
-        hasSticky = helper.fHasSticky;
-        unreadNewsCount = helper.fUnreadCount;
-        newNewsCount = helper.fNewCount;
+        FolderNewsCounterService counterService = FolderNewsCounterService.getInstance();
+        hasSticky = counterService.getStickyCount(folder) > 0;
+        unreadNewsCount = counterService.getUnreadCount(folder);
+        newNewsCount = counterService.getNewCount(folder);
       }
 
       /* Image */
@@ -352,30 +342,6 @@ public class BookMarkLabelProvider extends CellLabelProvider {
     return false;
   }
 
-  private void computeFolderDecoration(IFolder folder, FolderDecorationHelper helper) {
-    List<IFolderChild> children = folder.getChildren();
-    for (IFolderChild child : children) {
-
-      /* News Mark */
-      if (child instanceof INewsMark) {
-        INewsMark newsMark = (INewsMark) child;
-        helper.fUnreadCount += getUnreadNewsCount(newsMark);
-        helper.fNewCount += newsMark.getNewsCount(EnumSet.of(INews.State.NEW));
-
-        if (!helper.fHasSticky && newsMark instanceof IBookMark && ((IBookMark) newsMark).getStickyNewsCount() > 0)
-          helper.fHasSticky = true;
-      }
-
-      /* Folder */
-      else if (child instanceof IFolder)
-        computeFolderDecoration((IFolder) child, helper);
-    }
-  }
-
-  private int getUnreadNewsCount(INewsMark newsMark) {
-    return newsMark.getNewsCount(EnumSet.of(INews.State.NEW, INews.State.UNREAD, INews.State.UPDATED));
-  }
-
   void erase(Event event, Object element) {
     if (element instanceof EntityGroup)
       OwlUI.codDrawGradient(event, fGradientFgColor, fGradientBgColor, fGradientEndColor);